@@ -0,0 +1,534 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.agent;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.apache.commons.lang3.StringUtils;
+import org.lightjason.agentspeak.beliefbase.IBaseBeliefbase;
+import org.lightjason.agentspeak.beliefbase.view.IViewGenerator;
+import org.lightjason.agentspeak.common.CCommon;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.error.CIllegalArgumentException;
+import org.lightjason.agentspeak.error.CIllegalStateException;
+import org.lightjason.agentspeak.language.CLiteralCodec;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ILiteral;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.IPlan;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.statistic.IPlanStatistic;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.trigger.CTrigger;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.trigger.ITrigger;
+import org.lightjason.agentspeak.metric.CHistogram;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+
+/**
+ * compact binary snapshot of the mutable agent state, the snapshot stores
+ * the beliefbase tree, the storage, the pending trigger, the sleeping state and
+ * the plan statistics, plans are referenced by an id only, so a snapshot can be restored
+ * into a fresh agent of the same program
+ *
+ * @note storage values, which cannot be encoded by the codec, are skipped
+ * @warning the agent must not run during writing or reading a snapshot
+ */
+public final class CAgentSnapshot
+{
+    /**
+     * logger
+     */
+    private static final Logger LOGGER = CCommon.logger( CAgentSnapshot.class );
+    /**
+     * magic number of the format
+     */
+    private static final int MAGIC = 0x4c4a5350;
+    /**
+     * format version
+     */
+    private static final byte VERSION = 2;
+    /**
+     * trigger types
+     */
+    private static final ITrigger.EType[] TRIGGERTYPES = ITrigger.EType.values();
+    /**
+     * empty duration histogram
+     */
+    private static final CHistogram.CSnapshot EMPTYDURATION = new CHistogram().snapshot();
+    /**
+     * view generator of the beliefbase
+     */
+    private final IViewGenerator m_generator;
+    /**
+     * literal codec
+     */
+    private final CLiteralCodec m_codec;
+
+    /**
+     * ctor
+     *
+     * @param p_generator view generator to restore the beliefbase tree
+     */
+    public CAgentSnapshot( @Nonnull final IViewGenerator p_generator )
+    {
+        this( p_generator, CLiteralCodec.SERIALIZATION );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_generator view generator to restore the beliefbase tree
+     * @param p_codec literal codec
+     */
+    public CAgentSnapshot( @Nonnull final IViewGenerator p_generator, @Nonnull final CLiteralCodec p_codec )
+    {
+        m_generator = p_generator;
+        m_codec = p_codec;
+    }
+
+    /**
+     * writes the snapshot of an agent
+     *
+     * @param p_agent agent
+     * @param p_output output stream
+     */
+    public void write( @Nonnull final IAgent<?> p_agent, @Nonnull final OutputStream p_output )
+    {
+        final IBaseAgent<?> l_agent = agent( p_agent );
+        try
+        {
+            final DataOutputStream l_output = new DataOutputStream( new BufferedOutputStream( p_output ) );
+            l_output.writeInt( MAGIC );
+            l_output.writeByte( VERSION );
+            l_output.writeLong( fingerprint( l_agent ) );
+
+            this.writesleeping( l_output, l_agent );
+            this.writetrigger( l_output, l_agent );
+            this.writestatistic( l_output, l_agent );
+            this.writestorage( l_output, l_agent );
+            this.writebelief( l_output, l_agent );
+
+            l_output.flush();
+        }
+        catch ( final IOException l_exception )
+        {
+            throw new CIllegalStateException( CCommon.languagestring( this, "write", p_agent, l_exception.getMessage() ), l_exception );
+        }
+    }
+
+    /**
+     * restores a snapshot into an agent, the agent must
+     * be generated from the same program
+     *
+     * @param p_agent agent
+     * @param p_input input stream
+     * @return agent
+     *
+     * @tparam T agent type
+     */
+    @Nonnull
+    public <T extends IAgent<?>> T read( @Nonnull final T p_agent, @Nonnull final InputStream p_input )
+    {
+        final IBaseAgent<?> l_agent = agent( p_agent );
+        try
+        {
+            final DataInputStream l_input = new DataInputStream( new BufferedInputStream( p_input ) );
+            if ( l_input.readInt() != MAGIC || l_input.readByte() != VERSION )
+                throw new CIllegalArgumentException( CCommon.languagestring( this, "format" ) );
+            if ( l_input.readLong() != fingerprint( l_agent ) )
+                throw new CIllegalArgumentException( CCommon.languagestring( this, "program", p_agent ) );
+
+            this.readsleeping( l_input, l_agent );
+            this.readtrigger( l_input, l_agent );
+            this.readstatistic( l_input, l_agent );
+            this.readstorage( l_input, l_agent );
+            this.readbelief( l_input, l_agent );
+        }
+        catch ( final IOException l_exception )
+        {
+            throw new CIllegalStateException( CCommon.languagestring( this, "read", p_agent, l_exception.getMessage() ), l_exception );
+        }
+
+        return p_agent;
+    }
+
+
+    // --- sections --------------------------------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * writes the sleeping state
+     *
+     * @param p_output output
+     * @param p_agent agent
+     * @throws IOException on encoding error
+     */
+    private void writesleeping( @Nonnull final DataOutput p_output, @Nonnull final IBaseAgent<?> p_agent ) throws IOException
+    {
+        final List<ITerm> l_term = p_agent.sleepingterm().collect( Collectors.toList() );
+
+        p_output.writeLong( p_agent.sleepingcycles() );
+        CLiteralCodec.writevarint( p_output, l_term.size() );
+        for ( final ITerm i : l_term )
+            m_codec.writeterm( p_output, i );
+    }
+
+    /**
+     * reads the sleeping state
+     *
+     * @param p_input input
+     * @param p_agent agent
+     * @throws IOException on decoding error
+     */
+    private void readsleeping( @Nonnull final DataInput p_input, @Nonnull final IBaseAgent<?> p_agent ) throws IOException
+    {
+        final long l_cycles = p_input.readLong();
+        final List<ITerm> l_term = new ArrayList<>();
+        for ( int i = CLiteralCodec.readvarint( p_input ); i > 0; i-- )
+            l_term.add( m_codec.readterm( p_input ) );
+
+        p_agent.sleeping( l_cycles, l_term.stream() );
+    }
+
+    /**
+     * writes the pending trigger
+     *
+     * @param p_output output
+     * @param p_agent agent
+     * @throws IOException on encoding error
+     */
+    private void writetrigger( @Nonnull final DataOutput p_output, @Nonnull final IBaseAgent<?> p_agent ) throws IOException
+    {
+        final List<Map.Entry<Integer, ITrigger>> l_trigger = new ArrayList<>( p_agent.m_trigger.entrySet() );
+
+        CLiteralCodec.writevarint( p_output, l_trigger.size() );
+        for ( final Map.Entry<Integer, ITrigger> i : l_trigger )
+        {
+            p_output.writeInt( i.getKey() );
+            p_output.writeByte( i.getValue().type().ordinal() );
+            m_codec.write( p_output, i.getValue().literal() );
+        }
+    }
+
+    /**
+     * reads the pending trigger, the initial
+     * trigger of the agent are replaced
+     *
+     * @param p_input input
+     * @param p_agent agent
+     * @throws IOException on decoding error
+     */
+    private void readtrigger( @Nonnull final DataInput p_input, @Nonnull final IBaseAgent<?> p_agent ) throws IOException
+    {
+        final Map<Integer, ITrigger> l_trigger = new HashMap<>();
+        for ( int i = CLiteralCodec.readvarint( p_input ); i > 0; i-- )
+        {
+            final int l_key = p_input.readInt();
+            final int l_type = p_input.readByte();
+            if ( l_type < 0 || l_type >= TRIGGERTYPES.length )
+                throw new IOException( CCommon.languagestring( this, "unknowntrigger", l_type ) );
+
+            l_trigger.put( l_key, CTrigger.of( TRIGGERTYPES[l_type], m_codec.read( p_input ) ) );
+        }
+
+        p_agent.m_trigger.clear();
+        p_agent.m_trigger.putAll( l_trigger );
+    }
+
+    /**
+     * writes the plan statistics
+     *
+     * @param p_output output
+     * @param p_agent agent
+     * @throws IOException on encoding error
+     */
+    private void writestatistic( @Nonnull final DataOutput p_output, @Nonnull final IBaseAgent<?> p_agent ) throws IOException
+    {
+        final List<IPlanStatistic> l_statistic = p_agent.plans().values().stream()
+                                                        .filter( i -> i.count() > 0 || i.conditionfail() > 0 )
+                                                        .collect( Collectors.toList() );
+
+        CLiteralCodec.writevarint( p_output, l_statistic.size() );
+        for ( final IPlanStatistic i : l_statistic )
+        {
+            p_output.writeLong( planid( i.plan() ) );
+            p_output.writeLong( i.successful() );
+            p_output.writeLong( i.fail() );
+            p_output.writeLong( i.conditionfail() );
+            p_output.writeLong( i.lastrun() );
+            writehistogram( p_output, i.duration() );
+        }
+    }
+
+    /**
+     * writes a histogram, only buckets
+     * with values are stored
+     *
+     * @param p_output output
+     * @param p_histogram histogram snapshot
+     * @throws IOException on encoding error
+     */
+    private static void writehistogram( @Nonnull final DataOutput p_output, @Nonnull final CHistogram.CSnapshot p_histogram ) throws IOException
+    {
+        final long[] l_buckets = p_histogram.buckets();
+
+        p_output.writeByte( p_histogram.precision() );
+        CLiteralCodec.writevarint( p_output, l_buckets.length );
+        p_output.writeLong( p_histogram.count() );
+        p_output.writeLong( p_histogram.sum() );
+        p_output.writeLong( p_histogram.min() );
+        p_output.writeLong( p_histogram.max() );
+
+        CLiteralCodec.writevarint( p_output, (int) Arrays.stream( l_buckets ).filter( i -> i != 0 ).count() );
+        for ( int i = 0; i < l_buckets.length; i++ )
+            if ( l_buckets[i] != 0 )
+            {
+                CLiteralCodec.writevarint( p_output, i );
+                p_output.writeLong( l_buckets[i] );
+            }
+    }
+
+    /**
+     * reads a histogram
+     *
+     * @param p_input input
+     * @return histogram snapshot
+     * @throws IOException on decoding error
+     */
+    @Nonnull
+    private static CHistogram.CSnapshot readhistogram( @Nonnull final DataInput p_input ) throws IOException
+    {
+        final int l_precision = p_input.readByte();
+        final long[] l_buckets = new long[CLiteralCodec.readvarint( p_input )];
+        final long l_count = p_input.readLong();
+        final long l_sum = p_input.readLong();
+        final long l_min = p_input.readLong();
+        final long l_max = p_input.readLong();
+
+        for ( int i = CLiteralCodec.readvarint( p_input ); i > 0; i-- )
+            l_buckets[CLiteralCodec.readvarint( p_input )] = p_input.readLong();
+
+        return CHistogram.CSnapshot.of( l_precision, l_buckets, l_count, l_sum, l_min, l_max );
+    }
+
+    /**
+     * reads the plan statistics
+     *
+     * @param p_input input
+     * @param p_agent agent
+     * @throws IOException on decoding error
+     */
+    private void readstatistic( @Nonnull final DataInput p_input, @Nonnull final IBaseAgent<?> p_agent ) throws IOException
+    {
+        final Map<Long, IPlanStatistic> l_statistic = p_agent.plans().values().stream()
+                                                             .collect( Collectors.toMap( i -> planid( i.plan() ), Function.identity(), ( i, j ) -> i ) );
+        l_statistic.values().forEach( i -> i.restore( 0, 0, 0, 0, EMPTYDURATION ) );
+
+        for ( int i = CLiteralCodec.readvarint( p_input ); i > 0; i-- )
+        {
+            final IPlanStatistic l_plan = l_statistic.get( p_input.readLong() );
+            final long l_successful = p_input.readLong();
+            final long l_fail = p_input.readLong();
+            final long l_conditionfail = p_input.readLong();
+            final long l_lastrun = p_input.readLong();
+            final CHistogram.CSnapshot l_duration = readhistogram( p_input );
+
+            if ( Objects.nonNull( l_plan ) )
+                l_plan.restore( l_successful, l_fail, l_conditionfail, l_lastrun, l_duration );
+        }
+    }
+
+    /**
+     * writes the storage
+     *
+     * @param p_output output
+     * @param p_agent agent
+     * @throws IOException on encoding error
+     */
+    private void writestorage( @Nonnull final DataOutput p_output, @Nonnull final IBaseAgent<?> p_agent ) throws IOException
+    {
+        final List<byte[]> l_entries = new ArrayList<>();
+        for ( final Map.Entry<String, Object> i : new ArrayList<>( p_agent.m_storage.entrySet() ) )
+        {
+            final ByteArrayOutputStream l_bytes = new ByteArrayOutputStream();
+            final DataOutputStream l_entry = new DataOutputStream( l_bytes );
+            try
+            {
+                CLiteralCodec.writestring( l_entry, i.getKey() );
+                l_entry.writeBoolean( i.getValue() instanceof ITerm );
+                m_codec.writeterm( l_entry, i.getValue() instanceof ITerm ? (ITerm) i.getValue() : CRawTerm.of( i.getValue() ) );
+                l_entries.add( l_bytes.toByteArray() );
+            }
+            catch ( final IOException l_exception )
+            {
+                LOGGER.warning( MessageFormat.format( "storage entry [{0}] cannot be encoded and is skipped: {1}", i.getKey(), l_exception.getMessage() ) );
+            }
+        }
+
+        CLiteralCodec.writevarint( p_output, l_entries.size() );
+        for ( final byte[] i : l_entries )
+            p_output.write( i );
+    }
+
+    /**
+     * reads the storage, existing entries of the
+     * agent are kept if they are not part of the snapshot
+     *
+     * @param p_input input
+     * @param p_agent agent
+     * @throws IOException on decoding error
+     */
+    private void readstorage( @Nonnull final DataInput p_input, @Nonnull final IBaseAgent<?> p_agent ) throws IOException
+    {
+        for ( int i = CLiteralCodec.readvarint( p_input ); i > 0; i-- )
+        {
+            final String l_key = CLiteralCodec.readstring( p_input );
+            final boolean l_isterm = p_input.readBoolean();
+            final ITerm l_value = m_codec.readterm( p_input );
+
+            final Object l_raw = l_isterm ? l_value : l_value.raw();
+            if ( Objects.nonNull( l_raw ) )
+                p_agent.m_storage.put( l_key, l_raw );
+        }
+    }
+
+    /**
+     * writes the beliefs
+     *
+     * @param p_output output
+     * @param p_agent agent
+     * @throws IOException on encoding error
+     */
+    private void writebelief( @Nonnull final DataOutput p_output, @Nonnull final IBaseAgent<?> p_agent ) throws IOException
+    {
+        final List<ILiteral> l_literal = IBaseBeliefbase.beliefs( p_agent.beliefbase() ).collect( Collectors.toList() );
+
+        CLiteralCodec.writevarint( p_output, l_literal.size() );
+        for ( final ILiteral i : l_literal )
+            m_codec.write( p_output, i );
+    }
+
+    /**
+     * reads the beliefs, the initial beliefs
+     * of the agent are replaced
+     *
+     * @param p_input input
+     * @param p_agent agent
+     * @throws IOException on decoding error
+     */
+    private void readbelief( @Nonnull final DataInput p_input, @Nonnull final IBaseAgent<?> p_agent ) throws IOException
+    {
+        final List<ILiteral> l_literal = new ArrayList<>();
+        for ( int i = CLiteralCodec.readvarint( p_input ); i > 0; i-- )
+            l_literal.add( m_codec.read( p_input ) );
+
+        p_agent.beliefbase().clear();
+        p_agent.beliefbase().generate(
+            m_generator,
+            l_literal.stream()
+                     .map( ILiteral::functorpath )
+                     .filter( i -> !i.empty() )
+                     .distinct()
+                     .toArray( IPath[]::new )
+        );
+        p_agent.beliefbase().add( l_literal.stream() );
+
+        // restored beliefs must not create events
+        p_agent.beliefbase().trigger().forEach( i -> { } );
+    }
+
+
+    // --- helper ----------------------------------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * casts the agent to the base agent
+     *
+     * @param p_agent agent
+     * @return base agent
+     */
+    @Nonnull
+    private static IBaseAgent<?> agent( @Nonnull final IAgent<?> p_agent )
+    {
+        final IAgent<?> l_agent = p_agent.raw();
+        if ( !( l_agent instanceof IBaseAgent<?> ) )
+            throw new CIllegalArgumentException( CCommon.languagestring( CAgentSnapshot.class, "notsupported", p_agent.getClass() ) );
+
+        return (IBaseAgent<?>) l_agent;
+    }
+
+    /**
+     * builds the id of a plan, which is
+     * independent of the virtual machine
+     *
+     * @param p_plan plan
+     * @return plan id
+     * @note the id is build on the plan source without the object
+     * prefix of the string representation, because not all executions
+     * have got a deterministic hashcode
+     * @warning the id depends on the string representation of the plan elements,
+     * so a changed string representation of any execution element invalidates
+     * all snapshots, which are written before
+     */
+    private static long planid( @Nonnull final IPlan p_plan )
+    {
+        return Hashing.sipHash24().hashString( StringUtils.substringAfter( p_plan.toString(), " " ), StandardCharsets.UTF_8 ).asLong();
+    }
+
+    /**
+     * builds the fingerprint of the program
+     * of an agent based on the plan ids
+     *
+     * @param p_agent agent
+     * @return fingerprint
+     * @note the fingerprint inherits the string dependency of the plan ids, so snapshots
+     * are rejected after a change of the string representation of the plan elements
+     */
+    private static long fingerprint( @Nonnull final IBaseAgent<?> p_agent )
+    {
+        final Hasher l_hasher = Hashing.sipHash24().newHasher();
+        p_agent.plans().values().stream().mapToLong( i -> planid( i.plan() ) ).sorted().forEachOrdered( l_hasher::putLong );
+        return l_hasher.hash().asLong();
+    }
+
+}
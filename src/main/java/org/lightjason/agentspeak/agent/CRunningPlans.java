@@ -0,0 +1,129 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.agent;
+
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.Multimap;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.ILiteral;
+import org.lightjason.agentspeak.language.execution.IContext;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+
+/**
+ * concurrent registry of the running plans
+ *
+ * @note the plan literals are allocated on adding, so they contain the
+ * variable values of the plan start, test-goals use the path index only
+ * and need not copy any structure
+ */
+final class CRunningPlans
+{
+    /**
+     * running plans with allocated plan literal
+     */
+    private final Map<IPath, Queue<ILiteral>> m_plans = new ConcurrentHashMap<>();
+
+
+    /**
+     * adds a running plan
+     *
+     * @param p_literal plan trigger literal
+     * @param p_context execution context
+     */
+    public void add( @Nonnull final ILiteral p_literal, @Nonnull final IContext p_context )
+    {
+        m_plans.computeIfAbsent( p_literal.fqnfunctor(), i -> new ConcurrentLinkedQueue<>() ).add( p_literal.allocate( p_context ) );
+    }
+
+    /**
+     * checks if a plan is running
+     *
+     * @param p_path plan path
+     * @return running flag
+     */
+    public boolean contains( @Nonnull final IPath p_path )
+    {
+        return m_plans.containsKey( p_path );
+    }
+
+    /**
+     * removes all running plans
+     */
+    public void clear()
+    {
+        m_plans.clear();
+    }
+
+    /**
+     * returns the paths of the running plans
+     *
+     * @return read-only path view
+     */
+    @Nonnull
+    public Set<IPath> paths()
+    {
+        return Collections.unmodifiableSet( m_plans.keySet() );
+    }
+
+    /**
+     * stream over the allocated literals
+     *
+     * @return literal stream
+     */
+    @Nonnull
+    public Stream<ILiteral> literals()
+    {
+        return m_plans.values().stream().flatMap( Collection::stream ).distinct();
+    }
+
+    /**
+     * creates an immutable copy
+     *
+     * @return multimap with path and allocated literals
+     */
+    @Nonnull
+    public Multimap<IPath, ILiteral> multimap()
+    {
+        final ImmutableSetMultimap.Builder<IPath, ILiteral> l_builder = ImmutableSetMultimap.builder();
+        m_plans.forEach( ( k, v ) -> l_builder.putAll( k, v ) );
+        return l_builder.build();
+    }
+
+    @Override
+    public String toString()
+    {
+        return m_plans.keySet().toString();
+    }
+
+}
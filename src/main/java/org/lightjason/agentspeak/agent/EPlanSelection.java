@@ -0,0 +1,151 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.agent;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.statistic.IPlanStatistic;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+
+/**
+ * strategies for selecting the plans of a trigger, the strategies
+ * get the plans of a trigger and a function, which unifies the trigger,
+ * instantiates the plan and checks the plan condition
+ *
+ * @note all strategies, which select a single plan, run the instantiation
+ * lazily, so the conditions of the remaining plans are not evaluated, the
+ * plans of a trigger are ordered by their source index
+ */
+public enum EPlanSelection
+{
+    /**
+     * all applicable plans are executed
+     */
+    ALL
+    {
+        @Nonnull
+        @Override
+        public Stream<Pair<IPlanStatistic, IContext>> select( @Nonnull final Collection<IPlanStatistic> p_plans,
+                                                              @Nonnull final Function<IPlanStatistic, Stream<Pair<IPlanStatistic, IContext>>> p_instantiate )
+        {
+            return p_plans.stream().flatMap( p_instantiate );
+        }
+    },
+    /**
+     * first applicable plan in source order
+     */
+    FIRST
+    {
+        @Nonnull
+        @Override
+        public Stream<Pair<IPlanStatistic, IContext>> select( @Nonnull final Collection<IPlanStatistic> p_plans,
+                                                              @Nonnull final Function<IPlanStatistic, Stream<Pair<IPlanStatistic, IContext>>> p_instantiate )
+        {
+            return first( p_plans.stream(), p_instantiate );
+        }
+    },
+    /**
+     * applicable plan with the best successful ratio,
+     * plans with equal ratio are used in source order
+     */
+    BEST
+    {
+        @Nonnull
+        @Override
+        public Stream<Pair<IPlanStatistic, IContext>> select( @Nonnull final Collection<IPlanStatistic> p_plans,
+                                                              @Nonnull final Function<IPlanStatistic, Stream<Pair<IPlanStatistic, IContext>>> p_instantiate )
+        {
+            return first( p_plans.stream().sorted( Comparator.comparingDouble( IPlanStatistic::successfulratio ).reversed() ), p_instantiate );
+        }
+    },
+    /**
+     * applicable plan is selected randomly, weighted by the successful ratio
+     *
+     * @note the ratio is smoothed, so plans without runs can be selected
+     */
+    WEIGHTEDRANDOM
+    {
+        @Nonnull
+        @Override
+        public Stream<Pair<IPlanStatistic, IContext>> select( @Nonnull final Collection<IPlanStatistic> p_plans,
+                                                              @Nonnull final Function<IPlanStatistic, Stream<Pair<IPlanStatistic, IContext>>> p_instantiate )
+        {
+            // weighted random order without replacement by exponential keys
+            final ThreadLocalRandom l_random = ThreadLocalRandom.current();
+            return first(
+                p_plans.stream()
+                       .map( i -> new AbstractMap.SimpleImmutableEntry<>( -Math.log( 1 - l_random.nextDouble() ) / weight( i ), i ) )
+                       .sorted( Map.Entry.comparingByKey() )
+                       .map( Map.Entry::getValue ),
+                p_instantiate
+            );
+        }
+    };
+
+    /**
+     * selects the plans of a trigger
+     *
+     * @param p_plans plans of the trigger
+     * @param p_instantiate instantiation function, which returns an empty stream iif the plan is not applicable
+     * @return selected plans with execution context
+     */
+    @Nonnull
+    public abstract Stream<Pair<IPlanStatistic, IContext>> select( @Nonnull final Collection<IPlanStatistic> p_plans,
+                                                                   @Nonnull final Function<IPlanStatistic, Stream<Pair<IPlanStatistic, IContext>>> p_instantiate );
+
+    /**
+     * returns the first applicable plan
+     *
+     * @param p_plans ordered plans
+     * @param p_instantiate instantiation function
+     * @return stream with zero or one element
+     */
+    @Nonnull
+    private static Stream<Pair<IPlanStatistic, IContext>> first( @Nonnull final Stream<IPlanStatistic> p_plans,
+                                                                 @Nonnull final Function<IPlanStatistic, Stream<Pair<IPlanStatistic, IContext>>> p_instantiate )
+    {
+        return p_plans.flatMap( p_instantiate ).findFirst().stream();
+    }
+
+    /**
+     * smoothed successful ratio
+     *
+     * @param p_plan plan statistic
+     * @return weight within (0, 1)
+     */
+    private static double weight( @Nonnull final IPlanStatistic p_plan )
+    {
+        return ( p_plan.successful() + 1.0 ) / ( p_plan.successful() + p_plan.fail() + 2.0 );
+    }
+
+}
@@ -31,6 +31,8 @@ import org.lightjason.agentspeak.common.IPath;
 import org.lightjason.agentspeak.generator.IAgentGenerator;
 import org.lightjason.agentspeak.language.ILiteral;
 import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.ESequentialExecution;
+import org.lightjason.agentspeak.language.execution.IParallelExecution;
 import org.lightjason.agentspeak.language.execution.IVariableBuilder;
 import org.lightjason.agentspeak.language.execution.instantiable.plan.statistic.IPlanStatistic;
 import org.lightjason.agentspeak.language.execution.instantiable.plan.trigger.ITrigger;
@@ -38,6 +40,7 @@ import org.lightjason.agentspeak.language.execution.instantiable.rule.IRule;
 import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
 import org.lightjason.agentspeak.language.fuzzy.bundle.IFuzzyBundle;
 import org.lightjason.agentspeak.language.unifier.IUnifier;
+import org.lightjason.agentspeak.metric.IMetrics;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
@@ -100,6 +103,12 @@ public interface IAgent<T extends IAgent<?>> extends Serializable, Callable<T>
             return ImmutableMultimap.of();
         }
 
+        @Override
+        public boolean isrunning( @Nonnull final IPath p_path )
+        {
+            return false;
+        }
+
         @Override
         public boolean sleeping()
         {
@@ -183,6 +192,34 @@ public interface IAgent<T extends IAgent<?>> extends Serializable, Callable<T>
             return ImmutableMultimap.of();
         }
 
+        @Nonnull
+        @Override
+        public IMetrics metrics()
+        {
+            return IMetrics.EMPTY;
+        }
+
+        @Nonnull
+        @Override
+        public ESequentialExecution sequentialexecution()
+        {
+            return ESequentialExecution.LOOP;
+        }
+
+        @Nonnull
+        @Override
+        public IParallelExecution parallelexecution()
+        {
+            return IParallelExecution.STREAM;
+        }
+
+        @Nonnull
+        @Override
+        public IAgent<?> fork()
+        {
+            return this;
+        }
+
         @Nonnull
         @Override
         @SuppressWarnings( "unchecked" )
@@ -238,10 +275,21 @@ public interface IAgent<T extends IAgent<?>> extends Serializable, Callable<T>
      * returns a map of the current running plans
      *
      * @return map with running plans and the instance literal
+     * @note the instance literal contains the variable values of the plan start
      */
     @Nonnull
     Multimap<IPath, ILiteral> runningplans();
 
+    /**
+     * checks if a plan is running
+     *
+     * @param p_path plan path
+     * @return running flag
+     * @note does not copy the running plans, so it
+     * should be used instead of runningplans() for queries
+     */
+    boolean isrunning( @Nonnull final IPath p_path );
+
     /**
      * returns sleeping state
      *
@@ -337,6 +385,30 @@ public interface IAgent<T extends IAgent<?>> extends Serializable, Callable<T>
     @Nonnull
     IVariableBuilder variablebuilder();
 
+    /**
+     * returns the metrics registry
+     *
+     * @return registry
+     */
+    @Nonnull
+    IMetrics metrics();
+
+    /**
+     * returns the strategy of the sequential execution
+     *
+     * @return execution strategy
+     */
+    @Nonnull
+    ESequentialExecution sequentialexecution();
+
+    /**
+     * returns the strategy of the parallel execution
+     *
+     * @return execution strategy
+     */
+    @Nonnull
+    IParallelExecution parallelexecution();
+
     /**
      * returns amultimap with literal-rule functor
      * and rle objects
@@ -346,6 +418,17 @@ public interface IAgent<T extends IAgent<?>> extends Serializable, Callable<T>
     @Nonnull
     Multimap<IPath, IRule> rules();
 
+    /**
+     * creates an independent agent, which shares the program and
+     * the unchanged structures, so that the fork can run cycles
+     * without changing this agent
+     *
+     * @return forked agent
+     * @note the agent should not run during forking
+     */
+    @Nonnull
+    T fork();
+
     /**
      * cast the interface agent object
      * to a specified agent object
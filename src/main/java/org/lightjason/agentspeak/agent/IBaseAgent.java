@@ -24,8 +24,6 @@
 package org.lightjason.agentspeak.agent;
 
 import com.codepoetics.protonpack.StreamUtils;
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
@@ -33,15 +31,22 @@ import com.google.common.collect.TreeMultimap;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.checkerframework.checker.index.qual.Positive;
+import org.lightjason.agentspeak.beliefbase.IBaseBeliefbase;
 import org.lightjason.agentspeak.beliefbase.view.IView;
+import org.lightjason.agentspeak.common.CCopyOnWrite;
+import org.lightjason.agentspeak.common.CCopyOnWriteMap;
+import org.lightjason.agentspeak.common.CCopyOnWriteMultimap;
 import org.lightjason.agentspeak.common.IPath;
 import org.lightjason.agentspeak.configuration.IAgentConfiguration;
 import org.lightjason.agentspeak.error.CIllegalArgumentException;
+import org.lightjason.agentspeak.error.CIllegalStateException;
 import org.lightjason.agentspeak.language.CCommon;
 import org.lightjason.agentspeak.language.CLiteral;
 import org.lightjason.agentspeak.language.ILiteral;
 import org.lightjason.agentspeak.language.IStructureHash;
 import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.ESequentialExecution;
+import org.lightjason.agentspeak.language.execution.IParallelExecution;
 import org.lightjason.agentspeak.language.execution.IContext;
 import org.lightjason.agentspeak.language.execution.IVariableBuilder;
 import org.lightjason.agentspeak.language.execution.instantiable.plan.statistic.CPlanStatistic;
@@ -52,21 +57,34 @@ import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
 import org.lightjason.agentspeak.language.fuzzy.bundle.IFuzzyBundle;
 import org.lightjason.agentspeak.language.unifier.IUnifier;
 import org.lightjason.agentspeak.language.variable.IVariable;
+import org.lightjason.agentspeak.metric.CCycleEvent;
+import org.lightjason.agentspeak.metric.CPlanEvent;
+import org.lightjason.agentspeak.metric.CPlanMatchEvent;
+import org.lightjason.agentspeak.metric.EMetric;
+import org.lightjason.agentspeak.metric.IMetrics;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -76,8 +94,11 @@ import java.util.stream.Stream;
  * agent base structure
  *
  * @tparam T agent type
+ * @note a fork is created by cloning, so a derived agent need not define a copy constructor,
+ * the fields of the mutable state are not final, because the fork replaces them with its own
+ * copy-on-write references, they are not changed anywhere else
  */
-public abstract class IBaseAgent<T extends IAgent<?>> implements IAgent<T>
+public abstract class IBaseAgent<T extends IAgent<?>> implements IAgent<T>, Cloneable
 {
     /**
      * logger
@@ -90,42 +111,49 @@ public abstract class IBaseAgent<T extends IAgent<?>> implements IAgent<T>
     /**
      * beliefbase
      */
-    protected final IView m_beliefbase;
+    protected IView m_beliefbase;
     /**
      * storage map
      *
      * @note must be thread-safe
      */
-    protected final Map<String, Object> m_storage = new ConcurrentHashMap<>();
+    protected CCopyOnWriteMap<String, Object> m_storage = new CCopyOnWriteMap<>( new ConcurrentHashMap<>(), ConcurrentHashMap::new );
     /**
      * execution trigger with content hash
      */
-    protected final Map<Integer, ITrigger> m_trigger = new ConcurrentHashMap<>();
+    protected CCopyOnWriteMap<Integer, ITrigger> m_trigger = new CCopyOnWriteMap<>( new ConcurrentHashMap<>(), ConcurrentHashMap::new );
     /**
      * multimap with rules
      */
-    protected final Multimap<IPath, IRule> m_rules = Multimaps.synchronizedMultimap( LinkedHashMultimap.create() );
+    protected CCopyOnWriteMultimap<IPath, IRule> m_rules = new CCopyOnWriteMultimap<>(
+        Multimaps.synchronizedMultimap( LinkedHashMultimap.create() ),
+        i -> Multimaps.synchronizedMultimap( LinkedHashMultimap.create( i ) )
+    );
     /**
      * map with all existing plans and successful / fail runs
+     *
+     * @note the plans and statistics are shared on fork, the first statistic change
+     * of the agent cycle copies the statistics, so each fork gets its own statistics
      */
-    @SuppressWarnings( "RedundantTypeArguments" )
-    protected final Multimap<ITrigger, IPlanStatistic> m_plans = Multimaps.synchronizedMultimap(
-        TreeMultimap.create( IStructureHash.COMPARATOR, Comparator.<IPlanStatistic>naturalOrder() ) );
+    protected CCopyOnWriteMultimap<ITrigger, IPlanStatistic> m_plans = new CCopyOnWriteMultimap<>( planmap(), IBaseAgent::planmap );
     /**
      * nano seconds at the last cycle
      */
-    private final AtomicLong m_cycletime = new AtomicLong();
+    private AtomicLong m_cycletime = new AtomicLong();
     /**
      * number of sleeping cycles
      *
      * @note values > 0 defines the sleeping time, Long.MAX_VALUE is infinity sleeping
      * zero and negative values defines the activity
      */
-    private final AtomicLong m_sleepingcycles = new AtomicLong( Long.MIN_VALUE );
+    private AtomicLong m_sleepingcycles = new AtomicLong( Long.MIN_VALUE );
     /**
      * set for waking-up literals
      */
-    private final Set<ITerm> m_sleepingterm = Collections.synchronizedSet( new HashSet<>() );
+    private CCopyOnWrite<Set<ITerm>> m_sleepingterm = new CCopyOnWrite<>(
+        Collections.synchronizedSet( new HashSet<>() ),
+        i -> Collections.synchronizedSet( new HashSet<>( i ) )
+    );
     /**
      * unifier
      */
@@ -141,7 +169,33 @@ public abstract class IBaseAgent<T extends IAgent<?>> implements IAgent<T>
     /**
      * running plans (thread-safe)
      */
-    private final Multimap<IPath, ILiteral> m_runningplans = Multimaps.synchronizedSetMultimap( HashMultimap.create() );
+    private transient CRunningPlans m_runningplans = new CRunningPlans();
+    /**
+     * metrics registry
+     *
+     * @note the registry can be shared between agents and is not serializable,
+     * so a deserialized agent uses the disabled registry
+     */
+    private transient IMetrics m_metrics;
+    /**
+     * sequential execution strategy
+     */
+    private final ESequentialExecution m_sequentialexecution;
+    /**
+     * parallel execution strategy
+     *
+     * @note the strategy can hold an executor and is not serializable,
+     * so a deserialized agent uses the stream strategy
+     */
+    private transient IParallelExecution m_parallelexecution;
+    /**
+     * default plan selection strategy
+     */
+    private final EPlanSelection m_planselection;
+    /**
+     * plan selection strategies of trigger functors
+     */
+    private final Map<IPath, EPlanSelection> m_planselectionfunctor;
 
 
 
@@ -157,9 +211,16 @@ public abstract class IBaseAgent<T extends IAgent<?>> implements IAgent<T>
         m_beliefbase = p_configuration.beliefbase();
         m_variablebuilder = p_configuration.variablebuilder();
         m_fuzzy = p_configuration.fuzzy();
+        m_metrics = p_configuration.metrics();
+        m_sequentialexecution = p_configuration.sequentialexecution();
+        m_parallelexecution = p_configuration.parallelexecution();
+        m_planselection = p_configuration.planselection();
+        m_planselectionfunctor = new HashMap<>( p_configuration.planselectionfunctor() );
 
         // initial plans and rules
-        p_configuration.plans().parallelStream().forEach( i -> m_plans.put( i.trigger(), CPlanStatistic.of( i ) ) );
+        // the plan order of the configuration is used as source index
+        final AtomicInteger l_index = new AtomicInteger();
+        p_configuration.plans().forEach( i -> m_plans.put( i.trigger(), CPlanStatistic.of( i, l_index.getAndIncrement() ) ) );
         p_configuration.rules().parallelStream().forEach( i -> m_rules.put( i.identifier().fqnfunctor(), i ) );
         if ( !ITrigger.EMPTY.equals( p_configuration.initialgoal() ) )
             m_trigger.put( p_configuration.initialgoal().hashCode(), p_configuration.initialgoal() );
@@ -182,7 +243,7 @@ public abstract class IBaseAgent<T extends IAgent<?>> implements IAgent<T>
               .peek( i -> i.inspectsleeping( m_sleepingcycles.get() ) )
               .peek( i -> i.inspectbelief( m_beliefbase.stream() ) )
               .peek( i -> i.inspectplans( m_plans.values().stream() ) )
-              .peek( i -> i.inspectrunningplans( m_runningplans.values().stream() ) )
+              .peek( i -> i.inspectrunningplans( m_runningplans.literals() ) )
               .peek( i -> i.inspectstorage( m_storage.entrySet().stream() ) )
               .peek( i -> i.inspectrules( m_rules.values().stream() ) )
               .forEach( i -> i.inspectpendingtrigger( m_trigger.values().stream() ) );
@@ -194,7 +255,13 @@ public abstract class IBaseAgent<T extends IAgent<?>> implements IAgent<T>
     @Override
     public final Multimap<IPath, ILiteral> runningplans()
     {
-        return ImmutableMultimap.copyOf( m_runningplans );
+        return m_runningplans.multimap();
+    }
+
+    @Override
+    public final boolean isrunning( @Nonnull final IPath p_path )
+    {
+        return m_runningplans.contains( p_path );
     }
 
     @Override
@@ -220,7 +287,7 @@ public abstract class IBaseAgent<T extends IAgent<?>> implements IAgent<T>
     public final IAgent<T> sleep( @Positive final long p_cycles, @Nonnull final Stream<ITerm> p_literal )
     {
         m_sleepingcycles.set( p_cycles );
-        p_literal.filter( i -> !i.hasVariable() ).forEach( m_sleepingterm::add );
+        p_literal.filter( i -> !i.hasVariable() ).forEach( m_sleepingterm.write()::add );
         return this;
     }
 
@@ -239,7 +306,7 @@ public abstract class IBaseAgent<T extends IAgent<?>> implements IAgent<T>
     @Override
     public final IAgent<T> wakeup( @Nonnull final Stream<ITerm> p_term )
     {
-        p_term.forEach( m_sleepingterm::add );
+        p_term.forEach( m_sleepingterm.write()::add );
         this.active( true );
         return this;
     }
@@ -286,6 +353,27 @@ public abstract class IBaseAgent<T extends IAgent<?>> implements IAgent<T>
         return m_variablebuilder;
     }
 
+    @Nonnull
+    @Override
+    public final IMetrics metrics()
+    {
+        return m_metrics;
+    }
+
+    @Nonnull
+    @Override
+    public final ESequentialExecution sequentialexecution()
+    {
+        return m_sequentialexecution;
+    }
+
+    @Nonnull
+    @Override
+    public final IParallelExecution parallelexecution()
+    {
+        return m_parallelexecution;
+    }
+
     @Nonnull
     @Override
     public final Multimap<IPath, IRule> rules()
@@ -293,6 +381,47 @@ public abstract class IBaseAgent<T extends IAgent<?>> implements IAgent<T>
         return m_rules;
     }
 
+    /**
+     * forks the agent, the beliefbase storages are forked by themselves,
+     * the other mutable structures are shared copy-on-write
+     *
+     * @return forked agent
+     * @note fields of a derived agent are copied shallow, so mutable
+     * fields of a derived agent must be copied by overwriting this method
+     * and the running plans of the fork are empty
+     */
+    @Nonnull
+    @Override
+    @SuppressWarnings( "unchecked" )
+    public T fork()
+    {
+        final IBaseAgent<T> l_fork;
+        try
+        {
+            l_fork = (IBaseAgent<T>) super.clone();
+        }
+        catch ( final CloneNotSupportedException l_exception )
+        {
+            throw new CIllegalStateException( l_exception );
+        }
+
+        synchronized ( this )
+        {
+            l_fork.m_trigger = m_trigger.fork();
+        }
+
+        l_fork.m_plans = m_plans.fork();
+        l_fork.m_rules = m_rules.fork();
+        l_fork.m_storage = m_storage.fork();
+        l_fork.m_sleepingterm = m_sleepingterm.fork();
+        l_fork.m_beliefbase = IBaseBeliefbase.fork( m_beliefbase );
+        l_fork.m_cycletime = new AtomicLong( m_cycletime.get() );
+        l_fork.m_sleepingcycles = new AtomicLong( m_sleepingcycles.get() );
+        l_fork.m_runningplans = new CRunningPlans();
+
+        return (T) l_fork;
+    }
+
     @Nonnull
     @Override
     @SuppressWarnings( "unchecked" )
@@ -301,6 +430,49 @@ public abstract class IBaseAgent<T extends IAgent<?>> implements IAgent<T>
         return (N) this;
     }
 
+    /**
+     * creates an empty plan map
+     *
+     * @return plan map
+     */
+    @Nonnull
+    @SuppressWarnings( "RedundantTypeArguments" )
+    private static Multimap<ITrigger, IPlanStatistic> planmap()
+    {
+        return Multimaps.synchronizedMultimap( TreeMultimap.create( IStructureHash.COMPARATOR, Comparator.<IPlanStatistic>naturalOrder() ) );
+    }
+
+    /**
+     * copies a plan map with new statistics
+     *
+     * @param p_plans plan map
+     * @return plan map
+     */
+    @Nonnull
+    private static Multimap<ITrigger, IPlanStatistic> planmap( @Nonnull final Multimap<ITrigger, IPlanStatistic> p_plans )
+    {
+        final Multimap<ITrigger, IPlanStatistic> l_plans = planmap();
+        p_plans.entries().forEach( i -> l_plans.put( i.getKey(), CPlanStatistic.of( i.getValue().plan(), i.getValue().index() ).restore( i.getValue() ) ) );
+        return l_plans;
+    }
+
+    /**
+     * deserializes the agent, the running plans, the metrics
+     * registry and the parallel execution strategy are runtime
+     * data, so they are not restored
+     *
+     * @param p_stream input stream
+     * @throws IOException on reading error
+     * @throws ClassNotFoundException on class error
+     */
+    private void readObject( @Nonnull final ObjectInputStream p_stream ) throws IOException, ClassNotFoundException
+    {
+        p_stream.defaultReadObject();
+        m_runningplans = new CRunningPlans();
+        m_metrics = IMetrics.EMPTY;
+        m_parallelexecution = IParallelExecution.STREAM;
+    }
+
     @Override
     public String toString()
     {
@@ -310,7 +482,7 @@ public abstract class IBaseAgent<T extends IAgent<?>> implements IAgent<T>
             StringUtils.join(
                 StreamUtils.zip(
                     Stream.of( "Trigger", "Running Plans", "Beliefbase" ),
-                    Stream.of( m_trigger.values(), m_runningplans.keySet(), m_beliefbase ),
+                    Stream.of( m_trigger.values(), m_runningplans.paths(), m_beliefbase ),
                     ( l, c ) -> MessageFormat.format( "{0}: {1}", l, c )
                 ).toArray(),
                 " / "
@@ -323,7 +495,11 @@ public abstract class IBaseAgent<T extends IAgent<?>> implements IAgent<T>
     public final Stream<IFuzzyValue<?>> trigger( @Nonnull final ITrigger p_trigger, @Nullable final boolean... p_immediately )
     {
         if ( m_sleepingcycles.get() > 0 )
+        {
+            if ( m_metrics.enabled() )
+                m_metrics.count( EMetric.TRIGGERDROPPED, 1 );
             return m_fuzzy.membership().fail();
+        }
 
         // check if literal does not store any variables
         if ( p_trigger.literal().hasVariable() )
@@ -334,11 +510,15 @@ public abstract class IBaseAgent<T extends IAgent<?>> implements IAgent<T>
             return this.executing( this.generateexecution( Stream.of( p_trigger ) ) );
 
         // add trigger for the next cycle must be synchronized to avoid indeterministic state during execution
+        final boolean l_queued;
         synchronized ( this )
         {
-            m_trigger.putIfAbsent( p_trigger.hashCode(), p_trigger );
+            l_queued = Objects.isNull( m_trigger.putIfAbsent( p_trigger.hashCode(), p_trigger ) );
         }
 
+        if ( m_metrics.enabled() )
+            m_metrics.count( l_queued ? EMetric.TRIGGERQUEUED : EMetric.TRIGGERDROPPED, 1 );
+
         return m_fuzzy.membership().success();
     }
 
@@ -346,13 +526,18 @@ public abstract class IBaseAgent<T extends IAgent<?>> implements IAgent<T>
     @SuppressWarnings( "unchecked" )
     public T call() throws Exception
     {
+        final CCycleEvent l_event = CCycleEvent.start( this );
         m_cycletime.set( System.nanoTime() );
 
         // run beliefbase update, because environment can be changed and decrement sleeping value
         m_beliefbase.update( this );
         if ( !this.active( false ) )
+        {
             // check wakup-event otherwise suspend
+            if ( Objects.nonNull( l_event ) )
+                l_event.finish( false );
             return (T) this;
+        }
 
         // update fuzzification
         m_fuzzy.update( this );
@@ -363,7 +548,12 @@ public abstract class IBaseAgent<T extends IAgent<?>> implements IAgent<T>
             {
             } );
 
-        m_cycletime.getAndUpdate( i -> System.nanoTime() - i );
+        final long l_cycletime = m_cycletime.updateAndGet( i -> System.nanoTime() - i );
+        if ( m_metrics.enabled() )
+            m_metrics.record( EMetric.CYCLE, "", l_cycletime );
+        if ( Objects.nonNull( l_event ) )
+            l_event.finish( true );
+
         return (T) this;
     }
 
@@ -381,7 +571,9 @@ public abstract class IBaseAgent<T extends IAgent<?>> implements IAgent<T>
         final Collection<Pair<IPlanStatistic, IContext>> l_execution = this.generateexecution(
             Stream.concat(
                 m_trigger.values().parallelStream(),
-                m_beliefbase.trigger().parallel()
+                m_metrics.enabled()
+                ? m_beliefbase.trigger().parallel().peek( this::beliefmetric )
+                : m_beliefbase.trigger().parallel()
             )
         );
         m_trigger.clear();
@@ -405,41 +597,81 @@ public abstract class IBaseAgent<T extends IAgent<?>> implements IAgent<T>
     /**
      * searchs a plan based on the given trigger, if no plan is found
      * reduce the trigger literal (suffix will be removed) and try to
-     * find plan again, if a plan is found rin instantiation
+     * find plan again, if a plan is found rin instantiation, the plan
+     * selection strategy of the trigger functor defines which plans are used
      *
      * @param p_trigger trigger
      * @return stream of matching plans
+     *
+     * @note with all plans the reduced trigger is searched for each plan with a
+     * failed condition, the other strategies use the reduced trigger iif no plan
+     * of the trigger is applicable and the condition of a plan has failed, so they
+     * try all plans of the trigger before a less specific plan is used
      */
     private Stream<Pair<IPlanStatistic, IContext>> planfinder( @Nonnull final ITrigger p_trigger )
     {
-        if ( m_plans.containsKey( p_trigger ) )
-            return m_plans.get( p_trigger ).stream().flatMap( i -> this.planinstantiation( p_trigger, i ) );
+        if ( !m_plans.containsKey( p_trigger ) )
+            return p_trigger.hasShallowcopywithoutsuffix()
+                   ? this.planfinder( p_trigger.shallowcopywithoutsuffix() )
+                   : Stream.empty();
+
+        final EPlanSelection l_selection = m_planselectionfunctor.getOrDefault( p_trigger.literal().fqnfunctor(), m_planselection );
+        if ( EPlanSelection.ALL.equals( l_selection ) )
+            return l_selection.select( m_plans.get( p_trigger ),
+                                       i -> this.planinstantiation( p_trigger, i, () -> this.planfinder( p_trigger.shallowcopywithoutsuffix() ) ) );
+
+        final AtomicBoolean l_conditionfail = new AtomicBoolean();
+        final Supplier<Stream<Pair<IPlanStatistic, IContext>>> l_fail = () ->
+        {
+            l_conditionfail.set( true );
+            return Stream.empty();
+        };
+        final List<Pair<IPlanStatistic, IContext>> l_plans = l_selection.select( m_plans.get( p_trigger ), i -> this.planinstantiation( p_trigger, i, l_fail ) )
+                                                                        .collect( Collectors.toList() );
 
-        return p_trigger.hasShallowcopywithoutsuffix()
+        return l_plans.isEmpty() && l_conditionfail.get() && p_trigger.hasShallowcopywithoutsuffix()
                ? this.planfinder( p_trigger.shallowcopywithoutsuffix() )
-               : Stream.empty();
+               : l_plans.stream();
     }
 
     /**
      * instantiate a plan and check the plan condition
-     * if the condition fails the trigger literal is reduced
-     * (suffix will be removed) and a plan will be searched
      *
      * @param p_trigger trigger
      * @param p_planstatistic plan for instantiation
+     * @param p_conditionfail supplier of the plans, which are used if the condition fails
      * @return instantiated plans with execution context
      */
-    private Stream<Pair<IPlanStatistic, IContext>> planinstantiation( @Nonnull final ITrigger p_trigger, @Nonnull final IPlanStatistic p_planstatistic )
+    private Stream<Pair<IPlanStatistic, IContext>> planinstantiation( @Nonnull final ITrigger p_trigger, @Nonnull final IPlanStatistic p_planstatistic,
+                                                                      @Nonnull final Supplier<Stream<Pair<IPlanStatistic, IContext>>> p_conditionfail )
     {
+        final CPlanMatchEvent l_event = CPlanMatchEvent.start( p_trigger, p_planstatistic.plan() );
         final Pair<Boolean, Set<IVariable<?>>> l_result = CCommon.unifytrigger( m_unifier, p_trigger, p_planstatistic.plan().trigger() );
+        if ( m_metrics.enabled() )
+        {
+            m_metrics.count( EMetric.UNIFICATION, 1 );
+            if ( l_result.getLeft() )
+                m_metrics.count( EMetric.UNIFICATIONHIT, 1 );
+        }
+
         if ( !l_result.getLeft() )
+        {
+            if ( Objects.nonNull( l_event ) )
+                l_event.finish( false );
             return Stream.empty();
+        }
 
-        final Pair<IPlanStatistic, IContext> l_instantiate = CCommon.instantiateplan( p_planstatistic, this, l_result.getRight() );
-        if ( l_instantiate.getLeft().plan().condition( l_instantiate.getRight() ) )
-            return Stream.of( l_instantiate );
+        // the body variables are instantiated only if the condition is successful
+        final Pair<IPlanStatistic, IContext> l_instantiate = CCommon.instantiateplancondition( p_planstatistic, this, l_result.getRight() );
+        final boolean l_condition = l_instantiate.getLeft().plan().condition( l_instantiate.getRight() );
+        if ( Objects.nonNull( l_event ) )
+            l_event.finish( l_condition );
 
-        return this.planfinder( p_trigger.shallowcopywithoutsuffix() );
+        if ( l_condition )
+            return Stream.of( CCommon.instantiateplan( l_instantiate ) );
+
+        this.statistic( l_instantiate.getLeft() ).incrementconditionfail();
+        return p_conditionfail.get();
     }
 
     /**
@@ -452,10 +684,7 @@ public abstract class IBaseAgent<T extends IAgent<?>> implements IAgent<T>
     private Stream<IFuzzyValue<?>> executing( @Nonnull final Collection<Pair<IPlanStatistic, IContext>> p_execution )
     {
         // update executable plan list, so that test-goals are defined all the time
-        p_execution.parallelStream().forEach( i -> m_runningplans.put(
-            i.getLeft().plan().trigger().literal().fqnfunctor(),
-            i.getLeft().plan().trigger().literal().allocate( i.getRight() )
-        ) );
+        p_execution.forEach( i -> m_runningplans.add( i.getLeft().plan().trigger().literal(), i.getRight() ) );
 
         // execute plan parallel and return values and return execution result
         return p_execution.parallelStream().flatMap( this::executeplan );
@@ -471,19 +700,29 @@ public abstract class IBaseAgent<T extends IAgent<?>> implements IAgent<T>
     private Stream<IFuzzyValue<?>> executeplan( @Nonnull final Pair<IPlanStatistic, IContext> p_plan )
     {
         // execute plan
+        final CPlanEvent l_event = CPlanEvent.start( p_plan.getLeft().plan() );
+        final long l_start = System.nanoTime();
         final Number l_result = p_plan.getRight().agent().fuzzy().defuzzification().apply(
             p_plan.getLeft().plan().execute( false, p_plan.getRight(), Collections.emptyList(), Collections.emptyList() )
         );
+        final long l_duration = System.nanoTime() - l_start;
+        final IPlanStatistic l_statistic = this.statistic( p_plan.getLeft() ).duration( l_duration );
+        if ( m_metrics.enabled() )
+            m_metrics.record( EMetric.PLAN, p_plan.getLeft().plan().trigger().toString(), l_duration );
 
         // check strict execution result
-        if ( p_plan.getRight().agent().fuzzy().defuzzification().success( l_result ) )
+        final boolean l_successful = p_plan.getRight().agent().fuzzy().defuzzification().success( l_result );
+        if ( Objects.nonNull( l_event ) )
+            l_event.finish( l_successful );
+
+        if ( l_successful )
         {
-            p_plan.getLeft().incrementsuccessful();
+            l_statistic.incrementsuccessful();
             return p_plan.getRight().agent().fuzzy().membership().success();
         }
         else
         {
-            p_plan.getLeft().incrementfail();
+            l_statistic.incrementfail();
             p_plan.getRight().agent().trigger(
                 ITrigger.EType.DELETEGOAL.builddefault( p_plan.getLeft().plan().literal().allocate( p_plan.getRight() ) )
             );
@@ -491,6 +730,72 @@ public abstract class IBaseAgent<T extends IAgent<?>> implements IAgent<T>
         }
     }
 
+    /**
+     * returns the statistic of a plan for write access, a plan map,
+     * which is shared with a fork, is copied once, so the agent and
+     * the fork do not change the statistics of each other
+     *
+     * @param p_statistic statistic of the instantiated plan
+     * @return statistic of the current plan map
+     */
+    @Nonnull
+    private IPlanStatistic statistic( @Nonnull final IPlanStatistic p_statistic )
+    {
+        return m_plans.writable( p_statistic.plan().trigger() ).stream()
+                      .filter( i -> i.plan() == p_statistic.plan() )
+                      .findFirst()
+                      .orElse( p_statistic );
+    }
+
+    /**
+     * counts the belief changes
+     *
+     * @param p_trigger belief trigger
+     */
+    private void beliefmetric( @Nonnull final ITrigger p_trigger )
+    {
+        if ( p_trigger.type() == ITrigger.EType.ADDBELIEF )
+            m_metrics.count( EMetric.BELIEFADD, 1 );
+        else if ( p_trigger.type() == ITrigger.EType.DELETEBELIEF )
+            m_metrics.count( EMetric.BELIEFREMOVE, 1 );
+    }
+
+    /**
+     * returns the current sleeping cycles
+     *
+     * @return sleeping cycles
+     */
+    final long sleepingcycles()
+    {
+        return m_sleepingcycles.get();
+    }
+
+    /**
+     * returns the terms of the wake-up goal
+     *
+     * @return term stream
+     */
+    @Nonnull
+    final Stream<ITerm> sleepingterm()
+    {
+        return new ArrayList<>( m_sleepingterm.read() ).stream();
+    }
+
+    /**
+     * restores the sleeping state without
+     * any check of the cycles
+     *
+     * @param p_cycles sleeping cycles
+     * @param p_term terms of the wake-up goal
+     */
+    final void sleeping( final long p_cycles, @Nonnull final Stream<ITerm> p_term )
+    {
+        final Set<ITerm> l_term = m_sleepingterm.write();
+        l_term.clear();
+        p_term.forEach( l_term::add );
+        m_sleepingcycles.set( p_cycles );
+    }
+
     /**
      * runs the wakeup goal
      *
@@ -515,12 +820,12 @@ public abstract class IBaseAgent<T extends IAgent<?>> implements IAgent<T>
     private void wakuptrigger()
     {
         (
-            m_sleepingterm.isEmpty()
+            m_sleepingterm.read().isEmpty()
             ? Stream.of( ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "wakeup" ) ) )
-            : m_sleepingterm.stream().map( i -> ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "wakeup", i ) ) )
+            : m_sleepingterm.read().stream().map( i -> ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "wakeup", i ) ) )
         ).forEach( i -> m_trigger.put( i.structurehash(), i ) );
 
-        m_sleepingterm.clear();
+        m_sleepingterm.write().clear();
         m_sleepingcycles.set( Long.MIN_VALUE );
     }
 
@@ -32,6 +32,7 @@ import org.lightjason.agentspeak.language.execution.instantiable.plan.trigger.IT
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 
@@ -76,11 +77,21 @@ public final class CBeliefbase extends IBaseBeliefbase
                : p_literal;
     }
 
+    @Nonnull
+    @Override
+    public IBeliefbase add( @Nonnull final Collection<ILiteral> p_literal )
+    {
+        p_literal.stream()
+                 .collect( Collectors.groupingBy( ILiteral::functor ) )
+                 .forEach( ( k, v ) -> this.event( ITrigger.EType.ADDBELIEF, m_storage.putmulti( k, v ) ) );
+        return this;
+    }
+
     @Nonnull
     @Override
     public IView add( @Nonnull final IView p_view )
     {
-        m_storage.putsingle( p_view.name(), p_view );
+        m_storage.putsingle( p_view.name(), this.journalreference( p_view ) );
         return p_view;
     }
 
@@ -101,6 +112,16 @@ public final class CBeliefbase extends IBaseBeliefbase
                : p_literal;
     }
 
+    @Nonnull
+    @Override
+    public IBeliefbase remove( @Nonnull final Collection<ILiteral> p_literal )
+    {
+        p_literal.stream()
+                 .collect( Collectors.groupingBy( ILiteral::functor ) )
+                 .forEach( ( k, v ) -> this.event( ITrigger.EType.DELETEBELIEF, m_storage.removemulti( k, v ) ) );
+        return this;
+    }
+
     @Override
     public boolean containsliteral( @Nonnull final String p_key )
     {
@@ -195,6 +216,19 @@ public final class CBeliefbase extends IBaseBeliefbase
         return m_storage.streamsingle();
     }
 
+    /**
+     * creates a beliefbase with the same literals
+     * but without any view
+     *
+     * @return new beliefbase
+     * @note the storage is forked by the storage itself
+     */
+    @Nonnull
+    CBeliefbase fork()
+    {
+        return new CBeliefbase( m_storage.fork() );
+    }
+
     @Override
     public String toString()
     {
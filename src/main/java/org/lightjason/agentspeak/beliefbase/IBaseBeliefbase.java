@@ -27,19 +27,28 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import org.lightjason.agentspeak.agent.IAgent;
+import org.lightjason.agentspeak.beliefbase.journal.IJournal;
 import org.lightjason.agentspeak.beliefbase.view.CView;
 import org.lightjason.agentspeak.beliefbase.view.IView;
+import org.lightjason.agentspeak.common.CCommon;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.error.CIllegalStateException;
 import org.lightjason.agentspeak.language.ILiteral;
 import org.lightjason.agentspeak.language.execution.instantiable.plan.trigger.ITrigger;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.lang.ref.PhantomReference;
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 
@@ -66,6 +75,14 @@ public abstract class IBaseBeliefbase implements IBeliefbase
      * weak reference queue of all masks to avoid memory-leaks of belief events
      */
     private final ReferenceQueue<IView> m_maskreference = new ReferenceQueue<>();
+    /**
+     * journal of belief changes
+     */
+    private volatile IJournal m_journal = IJournal.EMPTY;
+    /**
+     * path of the view, which the journal is attached through
+     */
+    private volatile IPath m_journalpath = IPath.EMPTY;
 
 
     @Nonnull
@@ -111,7 +128,7 @@ public abstract class IBaseBeliefbase implements IBeliefbase
             }
         }
 
-        return p_agent;
+        return m_journal.update( p_agent );
     }
 
     @Nonnull
@@ -121,6 +138,30 @@ public abstract class IBaseBeliefbase implements IBeliefbase
         return this.cleartrigger( p_view );
     }
 
+    /**
+     * sets the journal of the beliefbase
+     * and all sub-beliefbases
+     *
+     * @param p_journal journal
+     * @param p_view view of this beliefbase, which defines the path of the journal entries
+     * @return self reference
+     * @note a journal can be attached only if the beliefbase is referenced by a single view,
+     * otherwise the path of a belief change cannot be determined
+     */
+    @Nonnull
+    public final IBeliefbase journal( @Nonnull final IJournal p_journal, @Nonnull final IView p_view )
+    {
+        if ( p_journal != IJournal.EMPTY && m_views.stream().anyMatch( i -> !i.equals( p_view ) ) )
+            throw new CIllegalStateException( CCommon.languagestring( IBaseBeliefbase.class, "multipleviews", p_view.path() ) );
+
+        m_journal = p_journal;
+        m_journalpath = p_view.path();
+        this.streamview()
+            .filter( i -> i.beliefbase() instanceof IBaseBeliefbase )
+            .forEach( i -> ( (IBaseBeliefbase) i.beliefbase() ).journal( p_journal, i ) );
+        return this;
+    }
+
 
     /**
      * push an event and literal to the event map
@@ -133,6 +174,35 @@ public abstract class IBaseBeliefbase implements IBeliefbase
     {
         final ITrigger l_trigger = p_event.builddefault( p_literal );
         m_views.parallelStream().forEach( i -> m_events.put( i, l_trigger ) );
+
+        if ( m_journal != IJournal.EMPTY )
+            m_journal.append( p_event, p_literal.shallowcopy( m_journalpath ) );
+
+        return p_literal;
+    }
+
+    /**
+     * push an event for each literal to the event map, the trigger
+     * are added to each view at once
+     *
+     * @param p_event event
+     * @param p_literal literals
+     * @return input literals
+     */
+    protected Collection<ILiteral> event( final ITrigger.EType p_event, final Collection<ILiteral> p_literal )
+    {
+        if ( p_literal.isEmpty() )
+            return p_literal;
+
+        final List<ITrigger> l_trigger = p_literal.stream().map( p_event::builddefault ).collect( Collectors.toList() );
+        m_views.parallelStream().forEach( i -> m_events.putAll( i, l_trigger ) );
+
+        if ( m_journal != IJournal.EMPTY )
+        {
+            final IPath l_path = m_journalpath;
+            p_literal.forEach( i -> m_journal.append( p_event, i.shallowcopy( l_path ) ) );
+        }
+
         return p_literal;
     }
 
@@ -144,11 +214,86 @@ public abstract class IBaseBeliefbase implements IBeliefbase
      */
     protected final IView internalremove( final IView p_view )
     {
+        if ( m_journal != IJournal.EMPTY && p_view.beliefbase() instanceof IBaseBeliefbase )
+        {
+            beliefs( p_view ).forEach( i -> m_journal.append( ITrigger.EType.DELETEBELIEF, i ) );
+            ( (IBaseBeliefbase) p_view.beliefbase() ).journal( IJournal.EMPTY, p_view );
+        }
+
         m_views.remove( p_view );
         m_events.removeAll( p_view );
         return p_view;
     }
 
+    /**
+     * passes the journal to the beliefbase of a view
+     *
+     * @param p_view view
+     * @return input view
+     */
+    protected final IView journalreference( final IView p_view )
+    {
+        if ( m_journal != IJournal.EMPTY && p_view.beliefbase() instanceof IBaseBeliefbase )
+            ( (IBaseBeliefbase) p_view.beliefbase() ).journal( m_journal, p_view );
+        return p_view;
+    }
+
+    /**
+     * returns all beliefs of a view tree
+     *
+     * @param p_view view
+     * @return literal stream with full paths
+     */
+    @Nonnull
+    public static Stream<ILiteral> beliefs( @Nonnull final IView p_view )
+    {
+        final IPath l_path = p_view.path();
+        return Stream.concat(
+            p_view.beliefbase().streamliteral().map( i -> i.shallowcopy( l_path ) ),
+            p_view.beliefbase().streamview().flatMap( IBaseBeliefbase::beliefs )
+        );
+    }
+
+    /**
+     * forks a view tree, so that the fork can be changed independently,
+     * each storage is forked by itself and the pending events are shared
+     * with the origin
+     *
+     * @param p_view view
+     * @return forked view
+     * @note views, which are not based on a default beliefbase e.g. on-demand
+     * beliefbases, are shared and the journal is not passed to the fork
+     * @warning storages without fork support throw an illegal state exception
+     */
+    @Nonnull
+    public static IView fork( @Nonnull final IView p_view )
+    {
+        return fork( p_view, p_view.parent() );
+    }
+
+    /**
+     * forks a view tree recursively
+     *
+     * @param p_view view
+     * @param p_parent parent of the forked view
+     * @return forked view
+     */
+    @Nonnull
+    private static IView fork( @Nonnull final IView p_view, @Nullable final IView p_parent )
+    {
+        if ( !( p_view.beliefbase() instanceof CBeliefbase ) )
+            return p_view;
+
+        final CBeliefbase l_origin = (CBeliefbase) p_view.beliefbase();
+        final CBeliefbase l_beliefbase = l_origin.fork();
+        final IView l_view = l_beliefbase.create( p_view.name(), p_parent );
+
+        ( (IBaseBeliefbase) l_beliefbase ).m_events.putAll( l_view, new ArrayList<>( ( (IBaseBeliefbase) l_origin ).m_events.get( p_view ) ) );
+        l_origin.streamview().forEach( i -> l_beliefbase.add( fork( i, l_view ) ) );
+
+        return l_view;
+    }
+
     /**
      * adds a view to the event referencing structure
      *
@@ -157,6 +302,9 @@ public abstract class IBaseBeliefbase implements IBeliefbase
      */
     protected IView eventreference( final IView p_view )
     {
+        if ( m_journal != IJournal.EMPTY )
+            throw new CIllegalStateException( CCommon.languagestring( IBaseBeliefbase.class, "multipleviews", p_view.path() ) );
+
         new PhantomReference<>( p_view, m_maskreference );
         m_views.add( p_view );
         return p_view;
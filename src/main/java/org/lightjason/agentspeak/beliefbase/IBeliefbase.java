@@ -32,6 +32,9 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 
@@ -222,6 +225,37 @@ public interface IBeliefbase extends IStructure
     @Nonnull
     ILiteral add( @Nonnull final ILiteral p_literal );
 
+    /**
+     * adds literals in one batch
+     *
+     * @param p_literal literals without path
+     * @return beliefbase reference
+     */
+    @Nonnull
+    default IBeliefbase add( @Nonnull final Collection<ILiteral> p_literal )
+    {
+        p_literal.forEach( this::add );
+        return this;
+    }
+
+    /**
+     * replaces all literals, only literals which
+     * are not equal are removed or added, so that
+     * events are created only for changed literals
+     *
+     * @param p_literal new literals without path
+     * @return beliefbase reference
+     */
+    @Nonnull
+    default IBeliefbase replace( @Nonnull final Collection<ILiteral> p_literal )
+    {
+        final Set<ILiteral> l_literal = new HashSet<>( p_literal );
+        final Set<ILiteral> l_current = this.streamliteral().collect( Collectors.toSet() );
+
+        this.remove( l_current.stream().filter( i -> !l_literal.contains( i ) ).collect( Collectors.toList() ) );
+        return this.add( l_literal.stream().filter( i -> !l_current.contains( i ) ).collect( Collectors.toList() ) );
+    }
+
     /**
      * adds a view
      *
@@ -242,6 +276,19 @@ public interface IBeliefbase extends IStructure
     @Nonnull
     ILiteral remove( @Nonnull final ILiteral p_literal );
 
+    /**
+     * removes literals in one batch
+     *
+     * @param p_literal literals without path
+     * @return beliefbase reference
+     */
+    @Nonnull
+    default IBeliefbase remove( @Nonnull final Collection<ILiteral> p_literal )
+    {
+        p_literal.forEach( this::remove );
+        return this;
+    }
+
     /**
      * removes a view
      *
@@ -0,0 +1,428 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.beliefbase.journal;
+
+import org.lightjason.agentspeak.agent.IAgent;
+import org.lightjason.agentspeak.beliefbase.IBaseBeliefbase;
+import org.lightjason.agentspeak.beliefbase.view.IView;
+import org.lightjason.agentspeak.beliefbase.view.IViewGenerator;
+import org.lightjason.agentspeak.common.CCommon;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.error.CIllegalArgumentException;
+import org.lightjason.agentspeak.error.CIllegalStateException;
+import org.lightjason.agentspeak.language.CLiteralCodec;
+import org.lightjason.agentspeak.language.ILiteral;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.trigger.ITrigger;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+
+/**
+ * file-based write-ahead journal, belief changes are appended
+ * batched to a sequential log file, checkpoints are written
+ * periodically on the agent cycle and truncate the log
+ *
+ * @note each record is stored with length and checksum,
+ * so a torn record at the end of the log is ignored on restoring
+ * @warning a journal can be attached to a single beliefbase tree only
+ */
+public final class CJournal implements IJournal
+{
+    /**
+     * default number of buffered changes
+     */
+    public static final int DEFAULTBATCH = 256;
+    /**
+     * default number of changes between two checkpoints
+     */
+    public static final long DEFAULTCHECKPOINT = 100000;
+    /**
+     * logger
+     */
+    private static final Logger LOGGER = CCommon.logger( CJournal.class );
+    /**
+     * name of the log file
+     */
+    private static final String LOGFILE = "beliefbase.log";
+    /**
+     * name of the checkpoint file
+     */
+    private static final String CHECKPOINTFILE = "beliefbase.checkpoint";
+    /**
+     * literal codec
+     */
+    private final CLiteralCodec m_codec = CLiteralCodec.SERIALIZATION;
+    /**
+     * checksum
+     */
+    private final CRC32 m_checksum = new CRC32();
+    /**
+     * buffer of the changes
+     */
+    private final ByteArrayOutputStream m_buffer = new ByteArrayOutputStream();
+    /**
+     * output of the change buffer
+     */
+    private final DataOutputStream m_output = new DataOutputStream( m_buffer );
+    /**
+     * log file
+     */
+    private final Path m_log;
+    /**
+     * checkpoint file
+     */
+    private final Path m_checkpoint;
+    /**
+     * log file channel
+     */
+    private final FileChannel m_channel;
+    /**
+     * number of buffered changes before writing
+     */
+    private final int m_batch;
+    /**
+     * number of changes between two checkpoints
+     */
+    private final long m_checkpointinterval;
+    /**
+     * flag to force writing to the storage device
+     */
+    private final boolean m_fsync;
+    /**
+     * number of buffered changes
+     */
+    private int m_buffered;
+    /**
+     * number of changes since the last checkpoint
+     */
+    private long m_changes;
+    /**
+     * root view
+     */
+    private IView m_root;
+
+    /**
+     * ctor
+     *
+     * @param p_directory directory of the journal files
+     * @param p_batch number of buffered changes before writing
+     * @param p_fsync force writing to the storage device
+     * @param p_checkpoint number of changes between two checkpoints, zero disables checkpointing
+     */
+    public CJournal( @Nonnull final Path p_directory, @Nonnegative final int p_batch, final boolean p_fsync, @Nonnegative final long p_checkpoint )
+    {
+        m_log = p_directory.resolve( LOGFILE );
+        m_checkpoint = p_directory.resolve( CHECKPOINTFILE );
+        m_batch = Math.max( 1, p_batch );
+        m_fsync = p_fsync;
+        m_checkpointinterval = p_checkpoint;
+
+        try
+        {
+            Files.createDirectories( p_directory );
+            m_channel = FileChannel.open( m_log, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND );
+        }
+        catch ( final IOException l_exception )
+        {
+            throw new CIllegalArgumentException( CCommon.languagestring( this, "open", p_directory, l_exception.getMessage() ), l_exception );
+        }
+    }
+
+    /**
+     * factory
+     *
+     * @param p_directory directory of the journal files
+     * @return journal
+     */
+    @Nonnull
+    public static IJournal of( @Nonnull final Path p_directory )
+    {
+        return new CJournal( p_directory, DEFAULTBATCH, false, DEFAULTCHECKPOINT );
+    }
+
+    @Nonnull
+    @Override
+    public synchronized IView attach( @Nonnull final IView p_view )
+    {
+        if ( !( p_view.beliefbase() instanceof IBaseBeliefbase ) )
+            throw new CIllegalArgumentException( CCommon.languagestring( this, "notsupported", p_view.path() ) );
+        if ( Objects.nonNull( m_root ) )
+            throw new CIllegalStateException( CCommon.languagestring( this, "attached", m_root.path() ) );
+
+        ( (IBaseBeliefbase) p_view.beliefbase() ).journal( this, p_view );
+        m_root = p_view;
+        return p_view;
+    }
+
+    @Nonnull
+    @Override
+    public synchronized IJournal append( @Nonnull final ITrigger.EType p_type, @Nonnull final ILiteral p_literal )
+    {
+        try
+        {
+            this.record( m_output, p_type, p_literal );
+        }
+        catch ( final IOException l_exception )
+        {
+            throw new CIllegalStateException( CCommon.languagestring( this, "write", m_log, l_exception.getMessage() ), l_exception );
+        }
+
+        m_changes++;
+        if ( ++m_buffered >= m_batch )
+            this.flush();
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public synchronized IJournal flush()
+    {
+        if ( m_buffered == 0 )
+            return this;
+
+        try
+        {
+            final ByteBuffer l_data = ByteBuffer.wrap( m_buffer.toByteArray() );
+            while ( l_data.hasRemaining() )
+                m_channel.write( l_data );
+            if ( m_fsync )
+                m_channel.force( false );
+        }
+        catch ( final IOException l_exception )
+        {
+            throw new CIllegalStateException( CCommon.languagestring( this, "write", m_log, l_exception.getMessage() ), l_exception );
+        }
+
+        m_buffer.reset();
+        m_buffered = 0;
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public synchronized IJournal checkpoint( @Nonnull final IView p_view )
+    {
+        this.flush();
+
+        final Path l_temporary = m_checkpoint.resolveSibling( CHECKPOINTFILE + ".tmp" );
+        try
+        {
+            try ( FileOutputStream l_file = new FileOutputStream( l_temporary.toFile() ) )
+            {
+                final DataOutputStream l_output = new DataOutputStream( new BufferedOutputStream( l_file ) );
+                for ( final Iterator<ILiteral> l_iterator = IBaseBeliefbase.beliefs( p_view ).iterator(); l_iterator.hasNext(); )
+                    this.record( l_output, ITrigger.EType.ADDBELIEF, l_iterator.next() );
+                l_output.flush();
+
+                if ( m_fsync )
+                    l_file.getChannel().force( true );
+            }
+
+            Files.move( l_temporary, m_checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+            m_channel.truncate( 0 );
+            if ( m_fsync )
+                m_channel.force( true );
+        }
+        catch ( final IOException l_exception )
+        {
+            throw new CIllegalStateException( CCommon.languagestring( this, "write", m_checkpoint, l_exception.getMessage() ), l_exception );
+        }
+
+        m_changes = 0;
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public IView restore( @Nonnull final IView p_view, @Nonnull final IViewGenerator p_generator )
+    {
+        final Map<ILiteral, ITrigger.EType> l_beliefs = new HashMap<>();
+
+        synchronized ( this )
+        {
+            if ( Objects.nonNull( m_root ) )
+                throw new CIllegalStateException( CCommon.languagestring( this, "attached", m_root.path() ) );
+
+            try
+            {
+                if ( Files.exists( m_checkpoint ) )
+                    this.read( m_checkpoint, l_beliefs );
+
+                final long l_valid = this.read( m_log, l_beliefs );
+                if ( l_valid < m_channel.size() )
+                {
+                    LOGGER.warning( MessageFormat.format( "truncate torn journal tail of [{0}] at position [{1}]", m_log, l_valid ) );
+                    m_channel.truncate( l_valid );
+                }
+            }
+            catch ( final IOException l_exception )
+            {
+                throw new CIllegalStateException( CCommon.languagestring( this, "read", m_log, l_exception.getMessage() ), l_exception );
+            }
+        }
+
+        // the final state of each literal is independent of the order, so it can be applied in parallel
+        p_view.generate(
+            p_generator,
+            l_beliefs.entrySet().stream()
+                     .filter( i -> i.getValue() == ITrigger.EType.ADDBELIEF )
+                     .map( i -> i.getKey().functorpath() )
+                     .filter( i -> !i.empty() )
+                     .distinct()
+                     .toArray( IPath[]::new )
+        );
+        p_view.add( l_beliefs.entrySet().stream().filter( i -> i.getValue() == ITrigger.EType.ADDBELIEF ).map( Map.Entry::getKey ) );
+        p_view.remove( l_beliefs.entrySet().stream().filter( i -> i.getValue() == ITrigger.EType.DELETEBELIEF ).map( Map.Entry::getKey ) );
+
+        // clear all events of the restored beliefs
+        p_view.trigger().forEach( i -> { } );
+
+        return p_view;
+    }
+
+    @Override
+    public synchronized void close()
+    {
+        this.flush();
+        try
+        {
+            m_channel.close();
+        }
+        catch ( final IOException l_exception )
+        {
+            throw new CIllegalStateException( CCommon.languagestring( this, "write", m_log, l_exception.getMessage() ), l_exception );
+        }
+    }
+
+    @Nonnull
+    @Override
+    public synchronized IAgent<?> update( @Nonnull final IAgent<?> p_agent )
+    {
+        if ( m_checkpointinterval > 0 && m_changes >= m_checkpointinterval && Objects.nonNull( m_root ) )
+            this.checkpoint( m_root );
+        else
+            this.flush();
+
+        return p_agent;
+    }
+
+    @Override
+    public String toString()
+    {
+        return MessageFormat.format( "{0} ({1} / {2})", super.toString(), m_log, m_checkpoint );
+    }
+
+    /**
+     * writes a change record
+     *
+     * @param p_output output
+     * @param p_type belief trigger type
+     * @param p_literal literal
+     * @throws IOException on writing error
+     */
+    private void record( @Nonnull final DataOutput p_output, @Nonnull final ITrigger.EType p_type, @Nonnull final ILiteral p_literal ) throws IOException
+    {
+        final byte[] l_literal = m_codec.encode( p_literal );
+
+        m_checksum.reset();
+        m_checksum.update( p_type.ordinal() );
+        m_checksum.update( l_literal );
+
+        p_output.writeInt( l_literal.length + 1 );
+        p_output.writeInt( (int) m_checksum.getValue() );
+        p_output.writeByte( p_type.ordinal() );
+        p_output.write( l_literal );
+    }
+
+    /**
+     * reads all valid change records of a file
+     *
+     * @param p_file file
+     * @param p_beliefs map with the final change of each literal
+     * @return number of bytes of valid records
+     * @throws IOException on reading error
+     */
+    private long read( @Nonnull final Path p_file, @Nonnull final Map<ILiteral, ITrigger.EType> p_beliefs ) throws IOException
+    {
+        final ITrigger.EType[] l_types = ITrigger.EType.values();
+        final long l_size = Files.size( p_file );
+        long l_valid = 0;
+
+        try ( DataInputStream l_input = new DataInputStream( new BufferedInputStream( Channels.newInputStream( FileChannel.open( p_file ) ) ) ) )
+        {
+            while ( true )
+            {
+                final int l_length = l_input.readInt();
+                final int l_checksum = l_input.readInt();
+                if ( l_length < 1 || l_length > l_size - l_valid - 2 * Integer.BYTES )
+                    break;
+
+                final byte[] l_data = new byte[l_length];
+                l_input.readFully( l_data );
+
+                m_checksum.reset();
+                m_checksum.update( l_data );
+                if ( (int) m_checksum.getValue() != l_checksum || l_data[0] < 0 || l_data[0] >= l_types.length )
+                    break;
+
+                final byte[] l_literal = new byte[l_length - 1];
+                System.arraycopy( l_data, 1, l_literal, 0, l_literal.length );
+                p_beliefs.put( m_codec.decode( l_literal ), l_types[l_data[0]] );
+
+                l_valid += 2 * Integer.BYTES + l_length;
+            }
+        }
+        catch ( final EOFException l_exception )
+        {
+            // end of file or torn record at the end
+        }
+
+        return l_valid;
+    }
+
+}
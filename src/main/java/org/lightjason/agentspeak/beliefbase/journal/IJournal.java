@@ -0,0 +1,148 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.beliefbase.journal;
+
+import org.lightjason.agentspeak.agent.IAgent;
+import org.lightjason.agentspeak.agent.IAgentUpdateable;
+import org.lightjason.agentspeak.beliefbase.view.IView;
+import org.lightjason.agentspeak.beliefbase.view.IViewGenerator;
+import org.lightjason.agentspeak.language.ILiteral;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.trigger.ITrigger;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+
+
+/**
+ * interface of a write-ahead journal, which
+ * stores all belief changes of a beliefbase tree
+ */
+public interface IJournal extends IAgentUpdateable, Closeable
+{
+    /**
+     * empty journal
+     */
+    IJournal EMPTY = new IJournal()
+    {
+        @Nonnull
+        @Override
+        public IView attach( @Nonnull final IView p_view )
+        {
+            return p_view;
+        }
+
+        @Nonnull
+        @Override
+        public IJournal append( @Nonnull final ITrigger.EType p_type, @Nonnull final ILiteral p_literal )
+        {
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public IJournal flush()
+        {
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public IJournal checkpoint( @Nonnull final IView p_view )
+        {
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public IView restore( @Nonnull final IView p_view, @Nonnull final IViewGenerator p_generator )
+        {
+            return p_view;
+        }
+
+        @Override
+        public void close()
+        {
+        }
+
+        @Nonnull
+        @Override
+        public IAgent<?> update( @Nonnull final IAgent<?> p_agent )
+        {
+            return p_agent;
+        }
+    };
+
+    /**
+     * attaches the journal to a beliefbase tree,
+     * so all changes of the beliefs are stored
+     *
+     * @param p_view root view
+     * @return root view
+     */
+    @Nonnull
+    IView attach( @Nonnull final IView p_view );
+
+    /**
+     * appends a belief change
+     *
+     * @param p_type belief trigger type
+     * @param p_literal literal with full path
+     * @return self reference
+     */
+    @Nonnull
+    IJournal append( @Nonnull final ITrigger.EType p_type, @Nonnull final ILiteral p_literal );
+
+    /**
+     * writes all buffered changes
+     *
+     * @return self reference
+     */
+    @Nonnull
+    IJournal flush();
+
+    /**
+     * writes a checkpoint of all beliefs
+     * and truncates the change log
+     *
+     * @param p_view root view
+     * @return self reference
+     */
+    @Nonnull
+    IJournal checkpoint( @Nonnull final IView p_view );
+
+    /**
+     * restores beliefs of the checkpoint
+     * and the change log into a view
+     *
+     * @param p_view root view
+     * @param p_generator generator of missing views
+     * @return root view
+     */
+    @Nonnull
+    IView restore( @Nonnull final IView p_view, @Nonnull final IViewGenerator p_generator );
+
+    @Override
+    void close();
+
+}
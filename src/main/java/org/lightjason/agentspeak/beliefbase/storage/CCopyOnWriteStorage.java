@@ -0,0 +1,334 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.beliefbase.storage;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import org.lightjason.agentspeak.common.CCopyOnWrite;
+
+import javax.annotation.Nonnull;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * thread-safe copy-on-write storage of the data of
+ * single- and multi-elements, multi-elements are
+ * read from a shared immutable template until a
+ * key is written the first time, so only the changes
+ * are materialised within the storage
+ *
+ * @tparam N multi-element type
+ * @tparam M single-element type
+ * @note the template can be shared between many storages, the values of a key
+ * are copied once on the first write into a mutable set, so further writes are
+ * done in-place, a fork shares the template and the written keys in constant time,
+ * the first write after a fork copies the key map and the first write of a key
+ * copies the values of the key
+ * @note keys and values keep their insertion order, a written key of the template
+ * keeps the position of the template, the multi-elements are guarded by the
+ * monitor of the storage, so streams and collections of the multi-elements
+ * are snapshots
+ */
+public final class CCopyOnWriteStorage<N, M> extends IBaseStorage<N, M>
+{
+    /**
+     * shared immutable template
+     */
+    private ImmutableSetMultimap<String, N> m_template;
+    /**
+     * values of the written keys, an empty set hides the template
+     */
+    private CCopyOnWrite<Map<String, CCopyOnWrite<Set<N>>>> m_multielements = multielements();
+    /**
+     * map with single elements
+     **/
+    private final Map<String, M> m_singleelements = new ConcurrentHashMap<>();
+
+
+    /**
+     * ctor
+     */
+    public CCopyOnWriteStorage()
+    {
+        this( ImmutableSetMultimap.of() );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_template shared template
+     */
+    public CCopyOnWriteStorage( @Nonnull final ImmutableSetMultimap<String, N> p_template )
+    {
+        this( p_template, multielements() );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_template shared template
+     * @param p_multielements values of the written keys
+     */
+    private CCopyOnWriteStorage( @Nonnull final ImmutableSetMultimap<String, N> p_template,
+                                 @Nonnull final CCopyOnWrite<Map<String, CCopyOnWrite<Set<N>>>> p_multielements )
+    {
+        m_template = p_template;
+        m_multielements = p_multielements;
+    }
+
+    @Nonnull
+    @Override
+    public synchronized Stream<N> streammulti()
+    {
+        final List<N> l_values = this.keys().flatMap( i -> this.values( i ).stream() ).collect( Collectors.toList() );
+        return l_values.stream();
+    }
+
+    @Nonnull
+    @Override
+    public Stream<M> streamsingle()
+    {
+        return m_singleelements.values().stream();
+    }
+
+    @Override
+    public synchronized boolean containsmulti( @Nonnull final String p_key )
+    {
+        return !this.values( p_key ).isEmpty();
+    }
+
+    @Override
+    public boolean containssingle( @Nonnull final String p_key )
+    {
+        return m_singleelements.containsKey( p_key );
+    }
+
+    @Override
+    public synchronized boolean putmulti( @Nonnull final String p_key, final N p_value )
+    {
+        final Set<N> l_elements = this.written( p_key );
+        final boolean l_result = l_elements.add( p_value );
+        this.hidden( p_key, l_elements );
+        return l_result;
+    }
+
+    @Nonnull
+    @Override
+    public synchronized Collection<N> putmulti( @Nonnull final String p_key, @Nonnull final Collection<N> p_value )
+    {
+        final Set<N> l_elements = this.written( p_key );
+        final List<N> l_result = p_value.stream().filter( l_elements::add ).collect( Collectors.toList() );
+        this.hidden( p_key, l_elements );
+        return l_result;
+    }
+
+    @Override
+    public boolean putsingle( @Nonnull final String p_key, final M p_value )
+    {
+        return !p_value.equals( m_singleelements.put( p_key, p_value ) );
+    }
+
+    @Override
+    public synchronized boolean removemulti( @Nonnull final String p_key, final N p_value )
+    {
+        if ( !this.values( p_key ).contains( p_value ) )
+            return false;
+
+        final Set<N> l_elements = this.written( p_key );
+        l_elements.remove( p_value );
+        this.hidden( p_key, l_elements );
+        return true;
+    }
+
+    @Nonnull
+    @Override
+    public synchronized Collection<N> removemulti( @Nonnull final String p_key, @Nonnull final Collection<N> p_value )
+    {
+        final Set<N> l_elements = this.written( p_key );
+        final List<N> l_result = p_value.stream().filter( l_elements::remove ).collect( Collectors.toList() );
+        this.hidden( p_key, l_elements );
+        return l_result;
+    }
+
+    @Override
+    public boolean removesingle( @Nonnull final String p_key )
+    {
+        return Objects.nonNull( m_singleelements.remove( p_key ) );
+    }
+
+    @Override
+    public M single( @Nonnull final String p_key )
+    {
+        return m_singleelements.get( p_key );
+    }
+
+    @Override
+    public M singleordefault( @Nonnull final String p_key, final M p_default )
+    {
+        return m_singleelements.getOrDefault( p_key, p_default );
+    }
+
+    @Nonnull
+    @Override
+    public synchronized Collection<N> multi( @Nonnull final String p_key )
+    {
+        return ImmutableSet.copyOf( this.values( p_key ) );
+    }
+
+    @Override
+    public synchronized IStorage<N, M> clear()
+    {
+        m_template = ImmutableSetMultimap.of();
+        m_multielements = multielements();
+        m_singleelements.clear();
+        return this;
+    }
+
+    @Override
+    public boolean isempty()
+    {
+        return this.size() == 0 && m_singleelements.isEmpty();
+    }
+
+    @Override
+    public synchronized int size()
+    {
+        return this.keys().mapToInt( i -> this.values( i ).size() ).sum();
+    }
+
+    @Nonnull
+    @Override
+    public synchronized CCopyOnWriteStorage<N, M> fork()
+    {
+        return new CCopyOnWriteStorage<>( m_template, m_multielements.fork() );
+    }
+
+    /**
+     * creates an empty map of the written keys
+     *
+     * @tparam T multi-element type
+     * @return copy-on-write map
+     */
+    @Nonnull
+    private static <T> CCopyOnWrite<Map<String, CCopyOnWrite<Set<T>>>> multielements()
+    {
+        return new CCopyOnWrite<>( new LinkedHashMap<>(), CCopyOnWriteStorage::copy );
+    }
+
+    /**
+     * copies a map of the written keys, the
+     * values of the keys are shared
+     *
+     * @param p_multielements written keys
+     * @tparam T multi-element type
+     * @return map with forked values
+     */
+    @Nonnull
+    private static <T> Map<String, CCopyOnWrite<Set<T>>> copy( @Nonnull final Map<String, CCopyOnWrite<Set<T>>> p_multielements )
+    {
+        final Map<String, CCopyOnWrite<Set<T>>> l_multielements = new LinkedHashMap<>();
+        p_multielements.forEach( ( k, v ) -> l_multielements.put( k, v.fork() ) );
+        return l_multielements;
+    }
+
+    /**
+     * returns the keys in insertion order, the
+     * keys of the template are used first
+     *
+     * @return key stream
+     */
+    @Nonnull
+    private Stream<String> keys()
+    {
+        return Stream.concat(
+            m_template.keySet().stream(),
+            m_multielements.read().keySet().stream().filter( i -> !m_template.containsKey( i ) )
+        );
+    }
+
+    /**
+     * returns the current values of a key
+     *
+     * @param p_key key
+     * @return written values or values of the template
+     */
+    @Nonnull
+    private Set<N> values( @Nonnull final String p_key )
+    {
+        final CCopyOnWrite<Set<N>> l_elements = m_multielements.read().get( p_key );
+        return Objects.isNull( l_elements )
+               ? m_template.get( p_key )
+               : l_elements.read();
+    }
+
+    /**
+     * returns the written values of a key, the values
+     * of the template are copied on the first write
+     *
+     * @param p_key key
+     * @return mutable set
+     */
+    @Nonnull
+    private Set<N> written( @Nonnull final String p_key )
+    {
+        return m_multielements.write()
+                              .computeIfAbsent( p_key, i -> new CCopyOnWrite<>( new LinkedHashSet<>( m_template.get( i ) ), LinkedHashSet::new ) )
+                              .write();
+    }
+
+    /**
+     * removes the written values of a key,
+     * if they are empty and do not hide template values
+     *
+     * @param p_key key
+     * @param p_elements written values
+     */
+    private void hidden( @Nonnull final String p_key, @Nonnull final Set<N> p_elements )
+    {
+        if ( p_elements.isEmpty() && !m_template.containsKey( p_key ) )
+            m_multielements.write().remove( p_key );
+    }
+
+    @Override
+    public String toString()
+    {
+        final Object[] l_multi = this.streammulti().toArray();
+        return MessageFormat.format(
+            "{0} {1}",
+            l_multi.length == 0 ? "" : Arrays.toString( l_multi ),
+            m_singleelements.isEmpty() ? "" : m_singleelements.values()
+        ).trim();
+    }
+}
@@ -23,16 +23,21 @@
 
 package org.lightjason.agentspeak.beliefbase.storage;
 
-import com.google.common.collect.LinkedHashMultimap;
-import com.google.common.collect.Multimaps;
-import com.google.common.collect.SetMultimap;
+import com.google.common.collect.ImmutableSet;
+import org.lightjason.agentspeak.common.CCopyOnWrite;
 
 import javax.annotation.Nonnull;
 import java.text.MessageFormat;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 
@@ -43,24 +48,47 @@ import java.util.stream.Stream;
  * @tparam N multi-element type
  * @tparam M single-element type
  * @tparam T agent type
+ * @note keys and values keep their insertion order, the multi-elements are
+ * guarded by the monitor of the storage, a fork shares the multi-elements in
+ * constant time, the first write after a fork copies the key map and the first
+ * write of a key copies the values of the key
  */
 public final class CMultiStorage<N, M> extends IBaseStorage<N, M>
 {
     /**
      * map with elements
      **/
-    private final SetMultimap<String, N> m_multielements = Multimaps.synchronizedSetMultimap( LinkedHashMultimap.create() );
+    private CCopyOnWrite<Map<String, CCopyOnWrite<Set<N>>>> m_multielements;
     /**
      * map with single elements
      **/
     private final Map<String, M> m_singleelements = new ConcurrentHashMap<>();
 
 
+    /**
+     * ctor
+     */
+    public CMultiStorage()
+    {
+        this( multielements() );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_multielements map with elements
+     */
+    private CMultiStorage( @Nonnull final CCopyOnWrite<Map<String, CCopyOnWrite<Set<N>>>> p_multielements )
+    {
+        m_multielements = p_multielements;
+    }
+
     @Nonnull
     @Override
-    public Stream<N> streammulti()
+    public synchronized Stream<N> streammulti()
     {
-        return m_multielements.values().stream();
+        final List<N> l_values = m_multielements.read().values().stream().flatMap( i -> i.read().stream() ).collect( Collectors.toList() );
+        return l_values.stream();
     }
 
     @Nonnull
@@ -71,9 +99,9 @@ public final class CMultiStorage<N, M> extends IBaseStorage<N, M>
     }
 
     @Override
-    public boolean containsmulti( @Nonnull final String p_key )
+    public synchronized boolean containsmulti( @Nonnull final String p_key )
     {
-        return m_multielements.containsKey( p_key );
+        return m_multielements.read().containsKey( p_key );
     }
 
     @Override
@@ -83,9 +111,19 @@ public final class CMultiStorage<N, M> extends IBaseStorage<N, M>
     }
 
     @Override
-    public boolean putmulti( @Nonnull final String p_key, final N p_value )
+    public synchronized boolean putmulti( @Nonnull final String p_key, final N p_value )
+    {
+        return this.written( p_key ).add( p_value );
+    }
+
+    @Nonnull
+    @Override
+    public synchronized Collection<N> putmulti( @Nonnull final String p_key, @Nonnull final Collection<N> p_value )
     {
-        return m_multielements.put( p_key, p_value );
+        final Set<N> l_elements = this.written( p_key );
+        final List<N> l_result = p_value.stream().filter( l_elements::add ).collect( Collectors.toList() );
+        this.removeempty( p_key, l_elements );
+        return l_result;
     }
 
     @Override
@@ -95,9 +133,28 @@ public final class CMultiStorage<N, M> extends IBaseStorage<N, M>
     }
 
     @Override
-    public boolean removemulti( @Nonnull final String p_key, final N p_value )
+    public synchronized boolean removemulti( @Nonnull final String p_key, final N p_value )
     {
-        return m_multielements.remove( p_key, p_value );
+        if ( !this.values( p_key ).contains( p_value ) )
+            return false;
+
+        final Set<N> l_elements = this.written( p_key );
+        l_elements.remove( p_value );
+        this.removeempty( p_key, l_elements );
+        return true;
+    }
+
+    @Nonnull
+    @Override
+    public synchronized Collection<N> removemulti( @Nonnull final String p_key, @Nonnull final Collection<N> p_value )
+    {
+        if ( !m_multielements.read().containsKey( p_key ) )
+            return Collections.emptyList();
+
+        final Set<N> l_elements = this.written( p_key );
+        final List<N> l_result = p_value.stream().filter( l_elements::remove ).collect( Collectors.toList() );
+        this.removeempty( p_key, l_elements );
+        return l_result;
     }
 
     @Override
@@ -120,37 +177,112 @@ public final class CMultiStorage<N, M> extends IBaseStorage<N, M>
 
     @Nonnull
     @Override
-    public Collection<N> multi( @Nonnull final String p_key )
+    public synchronized Collection<N> multi( @Nonnull final String p_key )
     {
-        return m_multielements.get( p_key );
+        return ImmutableSet.copyOf( this.values( p_key ) );
     }
 
     @Override
-    public IStorage<N, M> clear()
+    public synchronized IStorage<N, M> clear()
     {
-        m_multielements.clear();
+        m_multielements = multielements();
         m_singleelements.clear();
         return this;
     }
 
     @Override
-    public boolean isempty()
+    public synchronized boolean isempty()
+    {
+        return m_multielements.read().isEmpty() && m_singleelements.isEmpty();
+    }
+
+    @Override
+    public synchronized int size()
     {
-        return m_multielements.isEmpty() && m_singleelements.isEmpty();
+        return m_multielements.read().values().stream().mapToInt( i -> i.read().size() ).sum();
     }
 
+    @Nonnull
     @Override
-    public int size()
+    public synchronized IStorage<N, M> fork()
+    {
+        return new CMultiStorage<>( m_multielements.fork() );
+    }
+
+    /**
+     * returns the values of a key
+     *
+     * @param p_key key
+     * @return values
+     */
+    @Nonnull
+    private Set<N> values( @Nonnull final String p_key )
+    {
+        final CCopyOnWrite<Set<N>> l_elements = m_multielements.read().get( p_key );
+        return Objects.isNull( l_elements ) ? Collections.emptySet() : l_elements.read();
+    }
+
+    /**
+     * returns the values of a key for writing
+     *
+     * @param p_key key
+     * @return mutable set
+     */
+    @Nonnull
+    private Set<N> written( @Nonnull final String p_key )
+    {
+        return m_multielements.write()
+                              .computeIfAbsent( p_key, i -> new CCopyOnWrite<>( new LinkedHashSet<>(), LinkedHashSet::new ) )
+                              .write();
+    }
+
+    /**
+     * removes a key without values
+     *
+     * @param p_key key
+     * @param p_elements values of the key
+     */
+    private void removeempty( @Nonnull final String p_key, @Nonnull final Set<N> p_elements )
+    {
+        if ( p_elements.isEmpty() )
+            m_multielements.write().remove( p_key );
+    }
+
+    /**
+     * creates an empty map of the elements
+     *
+     * @tparam T multi-element type
+     * @return copy-on-write map
+     */
+    @Nonnull
+    private static <T> CCopyOnWrite<Map<String, CCopyOnWrite<Set<T>>>> multielements()
+    {
+        return new CCopyOnWrite<>( new LinkedHashMap<>(), CMultiStorage::copy );
+    }
+
+    /**
+     * copies a map of the elements,
+     * the values of the keys are shared
+     *
+     * @param p_multielements elements
+     * @tparam T multi-element type
+     * @return map with forked values
+     */
+    @Nonnull
+    private static <T> Map<String, CCopyOnWrite<Set<T>>> copy( @Nonnull final Map<String, CCopyOnWrite<Set<T>>> p_multielements )
     {
-        return m_multielements.asMap().values().stream().mapToInt( Collection::size ).sum();
+        final Map<String, CCopyOnWrite<Set<T>>> l_multielements = new LinkedHashMap<>();
+        p_multielements.forEach( ( k, v ) -> l_multielements.put( k, v.fork() ) );
+        return l_multielements;
     }
 
     @Override
     public String toString()
     {
+        final List<N> l_multi = this.streammulti().collect( Collectors.toList() );
         return MessageFormat.format(
             "{0} {1}",
-            m_multielements.isEmpty() ? "" : m_multielements.values(),
+            l_multi.isEmpty() ? "" : l_multi,
             m_singleelements.isEmpty() ? "" : m_singleelements.values()
         ).trim();
     }
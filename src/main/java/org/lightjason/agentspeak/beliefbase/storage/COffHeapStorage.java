@@ -0,0 +1,904 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.beliefbase.storage;
+
+import org.lightjason.agentspeak.common.CCommon;
+import org.lightjason.agentspeak.error.CIllegalArgumentException;
+import org.lightjason.agentspeak.error.CIllegalStateException;
+import org.lightjason.agentspeak.language.CLiteralCodec;
+import org.lightjason.agentspeak.language.ILiteral;
+import org.lightjason.agentspeak.language.ITerm;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+
+/**
+ * thread-safe off-heap storage, literals are stored
+ * in a compact binary encoding within a direct byte buffer
+ * and indexed by an open-addressing hash table, so the
+ * garbage collector does not need to trace any literal
+ * object, literal objects are materialized on read only
+ *
+ * @tparam M single-element type
+ * @note raw values of primitive types, strings and literals are encoded
+ * in binary form, all other terms are stored as on-heap references
+ * @warning direct memory is limited by the jvm option -XX:MaxDirectMemorySize
+ */
+public final class COffHeapStorage<M> extends IBaseStorage<ILiteral, M>
+{
+    /**
+     * default data capacity in bytes
+     */
+    public static final int DEFAULTCAPACITY = 1 << 20;
+    /**
+     * default number of index slots
+     */
+    public static final int DEFAULTSLOTS = 1 << 14;
+    /**
+     * maximum data capacity in bytes
+     */
+    private static final int MAXIMUMCAPACITY = Integer.MAX_VALUE - 8;
+    /**
+     * maximum load factor of the index
+     */
+    private static final double LOADFACTOR = 0.75;
+    /**
+     * record header size (length, hash, key, previous, next)
+     */
+    private static final int HEADER = 5 * Integer.BYTES;
+    /**
+     * index slot size (hash, offset)
+     */
+    private static final int SLOT = 2 * Integer.BYTES;
+    /**
+     * empty index slot
+     */
+    private static final int EMPTY = 0;
+    /**
+     * deleted index slot
+     */
+    private static final int TOMBSTONE = -1;
+    /**
+     * end of a record chain
+     */
+    private static final int NIL = -1;
+    /**
+     * lock
+     */
+    private final ReadWriteLock m_lock = new ReentrantReadWriteLock();
+    /**
+     * map with single elements
+     **/
+    private final Map<String, M> m_singleelements = new ConcurrentHashMap<>();
+    /**
+     * map with key chains
+     */
+    private final Map<String, CChain> m_keys = new HashMap<>();
+    /**
+     * on-heap references of non-encodable terms
+     */
+    private final Map<Integer, ITerm> m_references = new HashMap<>();
+    /**
+     * codec which stores non-encodable terms as on-heap references
+     */
+    private final CLiteralCodec m_codec = new CLiteralCodec( new CLiteralCodec.IReference()
+    {
+        @Override
+        public void write( @Nonnull final DataOutput p_output, @Nonnull final ITerm p_term ) throws IOException
+        {
+            m_references.put( m_referencecounter, p_term );
+            p_output.writeInt( m_referencecounter++ );
+        }
+
+        @Nonnull
+        @Override
+        public ITerm read( @Nonnull final DataInput p_input ) throws IOException
+        {
+            return m_references.get( p_input.readInt() );
+        }
+    } );
+    /**
+     * codec which releases on-heap references
+     */
+    private final CLiteralCodec m_release = new CLiteralCodec( new CLiteralCodec.IReference()
+    {
+        @Override
+        public void write( @Nonnull final DataOutput p_output, @Nonnull final ITerm p_term )
+        {
+            throw new CIllegalStateException();
+        }
+
+        @Nonnull
+        @Override
+        public ITerm read( @Nonnull final DataInput p_input ) throws IOException
+        {
+            return m_references.remove( p_input.readInt() );
+        }
+    } );
+    /**
+     * initial data capacity
+     */
+    private final int m_initialcapacity;
+    /**
+     * initial number of index slots
+     */
+    private final int m_initialslots;
+    /**
+     * literal data
+     */
+    private ByteBuffer m_data;
+    /**
+     * index data
+     */
+    private ByteBuffer m_index;
+    /**
+     * number of index slots
+     */
+    private int m_slots;
+    /**
+     * number of used index slots (elements and tombstones)
+     */
+    private int m_usedslots;
+    /**
+     * write position of the data
+     */
+    private int m_position;
+    /**
+     * number of bytes of removed records
+     */
+    private int m_garbage;
+    /**
+     * number of elements
+     */
+    private int m_size;
+    /**
+     * key id counter
+     */
+    private int m_keycounter;
+    /**
+     * reference id counter
+     */
+    private int m_referencecounter;
+
+    /**
+     * ctor
+     */
+    public COffHeapStorage()
+    {
+        this( DEFAULTCAPACITY, DEFAULTSLOTS );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_capacity initial data capacity in bytes
+     * @param p_slots initial number of index slots
+     */
+    public COffHeapStorage( @Nonnegative final int p_capacity, @Nonnegative final int p_slots )
+    {
+        if ( p_capacity < HEADER || p_slots < 1 )
+            throw new CIllegalArgumentException( CCommon.languagestring( this, "capacity", p_capacity, p_slots ) );
+
+        m_initialcapacity = p_capacity;
+        m_initialslots = Integer.highestOneBit( p_slots ) == p_slots ? p_slots : Integer.highestOneBit( p_slots ) << 1;
+        this.allocate();
+    }
+
+    @Nonnull
+    @Override
+    public Stream<ILiteral> streammulti()
+    {
+        final List<String> l_keys;
+
+        m_lock.readLock().lock();
+        try
+        {
+            l_keys = new ArrayList<>( m_keys.keySet() );
+        }
+        finally
+        {
+            m_lock.readLock().unlock();
+        }
+
+        return l_keys.stream().flatMap( i -> this.multi( i ).stream() );
+    }
+
+    @Nonnull
+    @Override
+    public Stream<M> streamsingle()
+    {
+        return m_singleelements.values().stream();
+    }
+
+    @Override
+    public boolean containsmulti( @Nonnull final String p_key )
+    {
+        m_lock.readLock().lock();
+        try
+        {
+            return m_keys.containsKey( p_key );
+        }
+        finally
+        {
+            m_lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean containssingle( @Nonnull final String p_key )
+    {
+        return m_singleelements.containsKey( p_key );
+    }
+
+    @Override
+    public boolean putmulti( @Nonnull final String p_key, final ILiteral p_value )
+    {
+        m_lock.writeLock().lock();
+        try
+        {
+            final CChain l_chain = m_keys.get( p_key );
+            final int l_hash = hash( p_key, p_value );
+            if ( Objects.nonNull( l_chain ) && this.find( l_hash, l_chain.id(), p_value ) != NIL )
+                return false;
+
+            final CChain l_target = Objects.isNull( l_chain ) ? new CChain( m_keycounter++ ) : l_chain;
+            final int l_offset = this.write( l_hash, l_target, m_codec.encode( p_value ) );
+            this.index( l_hash, l_offset );
+
+            m_keys.putIfAbsent( p_key, l_target );
+            m_size++;
+            return true;
+        }
+        finally
+        {
+            m_lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean putsingle( @Nonnull final String p_key, final M p_value )
+    {
+        return !p_value.equals( m_singleelements.put( p_key, p_value ) );
+    }
+
+    @Override
+    public boolean removemulti( @Nonnull final String p_key, final ILiteral p_value )
+    {
+        m_lock.writeLock().lock();
+        try
+        {
+            final CChain l_chain = m_keys.get( p_key );
+            if ( Objects.isNull( l_chain ) )
+                return false;
+
+            final int l_slot = this.find( hash( p_key, p_value ), l_chain.id(), p_value );
+            if ( l_slot == NIL )
+                return false;
+
+            final int l_offset = m_index.getInt( l_slot * SLOT + Integer.BYTES ) - 1;
+            m_index.putInt( l_slot * SLOT + Integer.BYTES, TOMBSTONE );
+
+            this.release( l_offset );
+            this.unlink( l_offset, l_chain );
+            m_garbage += m_data.getInt( l_offset );
+            m_size--;
+
+            if ( l_chain.size() == 0 )
+                m_keys.remove( p_key );
+
+            if ( m_garbage > m_position / 2 )
+                this.compact( m_data.capacity() );
+
+            return true;
+        }
+        finally
+        {
+            m_lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean removesingle( @Nonnull final String p_key )
+    {
+        return Objects.nonNull( m_singleelements.remove( p_key ) );
+    }
+
+    @Override
+    public M single( @Nonnull final String p_key )
+    {
+        return m_singleelements.get( p_key );
+    }
+
+    @Override
+    public M singleordefault( @Nonnull final String p_key, final M p_default )
+    {
+        return m_singleelements.getOrDefault( p_key, p_default );
+    }
+
+    @Nonnull
+    @Override
+    public Collection<ILiteral> multi( @Nonnull final String p_key )
+    {
+        m_lock.readLock().lock();
+        try
+        {
+            final CChain l_chain = m_keys.get( p_key );
+            if ( Objects.isNull( l_chain ) )
+                return Collections.emptyList();
+
+            final List<ILiteral> l_literals = new ArrayList<>( l_chain.size() );
+            for ( int i = l_chain.head(); i != NIL; i = m_data.getInt( i + 4 * Integer.BYTES ) )
+                l_literals.add( this.decode( i, m_codec ) );
+
+            return Collections.unmodifiableList( l_literals );
+        }
+        finally
+        {
+            m_lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public IStorage<ILiteral, M> clear()
+    {
+        m_lock.writeLock().lock();
+        try
+        {
+            this.allocate();
+            m_singleelements.clear();
+            return this;
+        }
+        finally
+        {
+            m_lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isempty()
+    {
+        return this.size() == 0 && m_singleelements.isEmpty();
+    }
+
+    @Override
+    public int size()
+    {
+        m_lock.readLock().lock();
+        try
+        {
+            return m_size;
+        }
+        finally
+        {
+            m_lock.readLock().unlock();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public IStorage<ILiteral, M> fork()
+    {
+        final COffHeapStorage<M> l_storage = new COffHeapStorage<>( m_initialcapacity, m_initialslots );
+
+        m_lock.readLock().lock();
+        try
+        {
+            m_keys.keySet().forEach( i -> l_storage.putmulti( i, this.multi( i ) ) );
+        }
+        finally
+        {
+            m_lock.readLock().unlock();
+        }
+
+        return l_storage;
+    }
+
+    /**
+     * returns the capacity of the literal data
+     *
+     * @return capacity in bytes
+     */
+    @Nonnegative
+    public long capacity()
+    {
+        m_lock.readLock().lock();
+        try
+        {
+            return m_data.capacity();
+        }
+        finally
+        {
+            m_lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * returns the used bytes of the literal data
+     *
+     * @return used bytes of live literals
+     */
+    @Nonnegative
+    public long used()
+    {
+        m_lock.readLock().lock();
+        try
+        {
+            return m_position - m_garbage;
+        }
+        finally
+        {
+            m_lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * returns the bytes of removed literals,
+     * which are freed on the next compaction
+     *
+     * @return garbage bytes
+     */
+    @Nonnegative
+    public long garbage()
+    {
+        m_lock.readLock().lock();
+        try
+        {
+            return m_garbage;
+        }
+        finally
+        {
+            m_lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * returns the number of index slots
+     *
+     * @return slot number
+     */
+    @Nonnegative
+    public int slots()
+    {
+        m_lock.readLock().lock();
+        try
+        {
+            return m_slots;
+        }
+        finally
+        {
+            m_lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * returns the allocated off-heap memory
+     * of data and index
+     *
+     * @return memory in bytes
+     */
+    @Nonnegative
+    public long memory()
+    {
+        m_lock.readLock().lock();
+        try
+        {
+            return (long) m_data.capacity() + m_index.capacity();
+        }
+        finally
+        {
+            m_lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        m_lock.readLock().lock();
+        try
+        {
+            return MessageFormat.format(
+                "{0} [elements: {1} / used: {2} / garbage: {3} / capacity: {4} / slots: {5}] {6}",
+                super.toString(),
+                m_size, m_position - m_garbage, m_garbage, m_data.capacity(), m_slots,
+                m_singleelements.isEmpty() ? "" : m_singleelements.values()
+            ).trim();
+        }
+        finally
+        {
+            m_lock.readLock().unlock();
+        }
+    }
+
+
+    // --- index structure -------------------------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * index hash of a literal
+     *
+     * @param p_key key
+     * @param p_literal literal
+     * @return hash value
+     */
+    private static int hash( @Nonnull final String p_key, @Nonnull final ILiteral p_literal )
+    {
+        final int l_hash = 31 * p_key.hashCode() + p_literal.hashCode();
+        return l_hash ^ ( l_hash >>> 16 );
+    }
+
+    /**
+     * allocates empty buffers
+     */
+    private void allocate()
+    {
+        m_data = ByteBuffer.allocateDirect( m_initialcapacity );
+        m_index = ByteBuffer.allocateDirect( m_initialslots * SLOT );
+        m_slots = m_initialslots;
+        m_usedslots = 0;
+        m_position = 0;
+        m_garbage = 0;
+        m_size = 0;
+        m_keys.clear();
+        m_references.clear();
+    }
+
+    /**
+     * finds the index slot of a literal
+     *
+     * @param p_hash index hash
+     * @param p_key key id
+     * @param p_literal literal
+     * @return slot or nil
+     */
+    private int find( final int p_hash, final int p_key, @Nonnull final ILiteral p_literal )
+    {
+        for ( int i = p_hash & ( m_slots - 1 ); ; i = ( i + 1 ) & ( m_slots - 1 ) )
+        {
+            final int l_offset = m_index.getInt( i * SLOT + Integer.BYTES );
+            if ( l_offset == EMPTY )
+                return NIL;
+
+            if ( l_offset != TOMBSTONE
+                 && m_index.getInt( i * SLOT ) == p_hash
+                 && m_data.getInt( l_offset - 1 + 2 * Integer.BYTES ) == p_key
+                 && p_literal.equals( this.decode( l_offset - 1, m_codec ) ) )
+                return i;
+        }
+    }
+
+    /**
+     * adds a record to the index
+     *
+     * @param p_hash index hash
+     * @param p_offset record offset
+     */
+    private void index( final int p_hash, final int p_offset )
+    {
+        if ( m_usedslots + 1 > m_slots * LOADFACTOR )
+            this.rehash( m_size + 1 > m_slots * LOADFACTOR / 2 ? m_slots << 1 : m_slots );
+
+        int l_slot = p_hash & ( m_slots - 1 );
+        while ( m_index.getInt( l_slot * SLOT + Integer.BYTES ) > EMPTY )
+            l_slot = ( l_slot + 1 ) & ( m_slots - 1 );
+
+        if ( m_index.getInt( l_slot * SLOT + Integer.BYTES ) == EMPTY )
+            m_usedslots++;
+
+        m_index.putInt( l_slot * SLOT, p_hash );
+        m_index.putInt( l_slot * SLOT + Integer.BYTES, p_offset + 1 );
+    }
+
+    /**
+     * rebuilds the index and removes all tombstones
+     *
+     * @param p_slots new number of slots
+     */
+    private void rehash( final int p_slots )
+    {
+        if ( p_slots <= 0 || (long) p_slots * SLOT > MAXIMUMCAPACITY )
+            throw new CIllegalStateException( CCommon.languagestring( this, "capacityexceeded", p_slots ) );
+
+        final ByteBuffer l_index = m_index;
+        final int l_slots = m_slots;
+
+        m_index = ByteBuffer.allocateDirect( p_slots * SLOT );
+        m_slots = p_slots;
+        m_usedslots = 0;
+
+        IntStream.range( 0, l_slots )
+                 .filter( i -> l_index.getInt( i * SLOT + Integer.BYTES ) > EMPTY )
+                 .forEach( i -> this.index( l_index.getInt( i * SLOT ), l_index.getInt( i * SLOT + Integer.BYTES ) - 1 ) );
+    }
+
+
+    // --- record structure ------------------------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * writes a record at the end of the data
+     * and links it into the key chain
+     *
+     * @param p_hash index hash
+     * @param p_chain key chain
+     * @param p_data encoded literal
+     * @return record offset
+     */
+    private int write( final int p_hash, @Nonnull final CChain p_chain, @Nonnull final byte[] p_data )
+    {
+        final int l_length = HEADER + p_data.length;
+        if ( (long) m_position + l_length > m_data.capacity() )
+            this.compact( (long) m_position - m_garbage + l_length > m_data.capacity() / 2
+                          ? (int) Math.min( MAXIMUMCAPACITY, Math.max( 2L * m_data.capacity(), (long) m_position - m_garbage + l_length ) )
+                          : m_data.capacity() );
+
+        if ( (long) m_position + l_length > m_data.capacity() )
+            throw new CIllegalStateException( CCommon.languagestring( this, "capacityexceeded", (long) m_position + l_length ) );
+
+        final int l_offset = m_position;
+        m_data.putInt( l_offset, l_length );
+        m_data.putInt( l_offset + Integer.BYTES, p_hash );
+        m_data.putInt( l_offset + 2 * Integer.BYTES, p_chain.id() );
+        m_data.putInt( l_offset + 3 * Integer.BYTES, p_chain.tail() );
+        m_data.putInt( l_offset + 4 * Integer.BYTES, NIL );
+
+        final ByteBuffer l_data = m_data.duplicate();
+        l_data.position( l_offset + HEADER );
+        l_data.put( p_data );
+        m_position += l_length;
+
+        if ( p_chain.tail() == NIL )
+            p_chain.head( l_offset );
+        else
+            m_data.putInt( p_chain.tail() + 4 * Integer.BYTES, l_offset );
+        p_chain.tail( l_offset ).increment( 1 );
+
+        return l_offset;
+    }
+
+    /**
+     * unlinks a record of the key chain
+     *
+     * @param p_offset record offset
+     * @param p_chain key chain
+     */
+    private void unlink( final int p_offset, @Nonnull final CChain p_chain )
+    {
+        final int l_previous = m_data.getInt( p_offset + 3 * Integer.BYTES );
+        final int l_next = m_data.getInt( p_offset + 4 * Integer.BYTES );
+
+        if ( l_previous == NIL )
+            p_chain.head( l_next );
+        else
+            m_data.putInt( l_previous + 4 * Integer.BYTES, l_next );
+
+        if ( l_next == NIL )
+            p_chain.tail( l_previous );
+        else
+            m_data.putInt( l_next + 3 * Integer.BYTES, l_previous );
+
+        p_chain.increment( -1 );
+    }
+
+    /**
+     * copies all live records into a new buffer
+     * and rebuilds the index
+     *
+     * @param p_capacity capacity of the new buffer
+     */
+    private void compact( final int p_capacity )
+    {
+        final ByteBuffer l_source = m_data;
+        final ByteBuffer l_target = ByteBuffer.allocateDirect( p_capacity );
+
+        m_index = ByteBuffer.allocateDirect( m_slots * SLOT );
+        m_usedslots = 0;
+        m_position = 0;
+        m_garbage = 0;
+
+        m_keys.values().forEach( i ->
+        {
+            int l_tail = NIL;
+            for ( int j = i.head(); j != NIL; j = l_source.getInt( j + 4 * Integer.BYTES ) )
+            {
+                final int l_length = l_source.getInt( j );
+                final ByteBuffer l_record = l_source.duplicate();
+                l_record.position( j ).limit( j + l_length );
+
+                final int l_offset = m_position;
+                l_target.position( l_offset );
+                l_target.put( l_record );
+                l_target.putInt( l_offset + 3 * Integer.BYTES, l_tail );
+                l_target.putInt( l_offset + 4 * Integer.BYTES, NIL );
+                if ( l_tail == NIL )
+                    i.head( l_offset );
+                else
+                    l_target.putInt( l_tail + 4 * Integer.BYTES, l_offset );
+
+                l_tail = l_offset;
+                m_position += l_length;
+            }
+            i.tail( l_tail );
+        } );
+
+        m_data = l_target;
+        for ( int i = 0; i < m_position; i += m_data.getInt( i ) )
+            this.index( m_data.getInt( i + Integer.BYTES ), i );
+    }
+
+    /**
+     * releases all references of a record
+     *
+     * @param p_offset record offset
+     */
+    private void release( final int p_offset )
+    {
+        this.decode( p_offset, m_release );
+    }
+
+
+    // --- literal encoding ------------------------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * decodes a record
+     *
+     * @param p_offset record offset
+     * @param p_codec codec
+     * @return literal
+     */
+    @Nonnull
+    private ILiteral decode( final int p_offset, @Nonnull final CLiteralCodec p_codec )
+    {
+        final byte[] l_bytes = new byte[m_data.getInt( p_offset ) - HEADER];
+        final ByteBuffer l_data = m_data.duplicate();
+        l_data.position( p_offset + HEADER );
+        l_data.get( l_bytes );
+        return p_codec.decode( l_bytes );
+    }
+
+
+    /**
+     * chain of records with the same key
+     */
+    private static final class CChain
+    {
+        /**
+         * key id
+         */
+        private final int m_id;
+        /**
+         * offset of the first record
+         */
+        private int m_head = NIL;
+        /**
+         * offset of the last record
+         */
+        private int m_tail = NIL;
+        /**
+         * number of records
+         */
+        private int m_size;
+
+        /**
+         * ctor
+         *
+         * @param p_id key id
+         */
+        CChain( final int p_id )
+        {
+            m_id = p_id;
+        }
+
+        /**
+         * key id
+         *
+         * @return id
+         */
+        final int id()
+        {
+            return m_id;
+        }
+
+        /**
+         * offset of the first record
+         *
+         * @return offset or nil
+         */
+        final int head()
+        {
+            return m_head;
+        }
+
+        /**
+         * sets the offset of the first record
+         *
+         * @param p_offset offset
+         * @return self reference
+         */
+        final CChain head( final int p_offset )
+        {
+            m_head = p_offset;
+            return this;
+        }
+
+        /**
+         * offset of the last record
+         *
+         * @return offset or nil
+         */
+        final int tail()
+        {
+            return m_tail;
+        }
+
+        /**
+         * sets the offset of the last record
+         *
+         * @param p_offset offset
+         * @return self reference
+         */
+        final CChain tail( final int p_offset )
+        {
+            m_tail = p_offset;
+            return this;
+        }
+
+        /**
+         * number of records
+         *
+         * @return size
+         */
+        final int size()
+        {
+            return m_size;
+        }
+
+        /**
+         * changes the number of records
+         *
+         * @param p_value increment value
+         * @return self reference
+         */
+        final CChain increment( final int p_value )
+        {
+            m_size += p_value;
+            return this;
+        }
+    }
+}
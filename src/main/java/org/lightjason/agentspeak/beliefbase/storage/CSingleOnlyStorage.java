@@ -130,4 +130,11 @@ public final class CSingleOnlyStorage<N, M> extends IBaseStorage<N, M>
         return 0;
     }
 
+    @Nonnull
+    @Override
+    public IStorage<N, M> fork()
+    {
+        return new CSingleOnlyStorage<>();
+    }
+
 }
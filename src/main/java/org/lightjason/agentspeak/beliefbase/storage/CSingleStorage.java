@@ -153,6 +153,18 @@ public final class CSingleStorage<N, M> extends IBaseStorage<N, M>
         return m_multielements.size();
     }
 
+    @Nonnull
+    @Override
+    public IStorage<N, M> fork()
+    {
+        final CSingleStorage<N, M> l_storage = new CSingleStorage<>();
+        synchronized ( m_multielements )
+        {
+            l_storage.m_multielements.putAll( m_multielements );
+        }
+        return l_storage;
+    }
+
 
     @Override
     public String toString()
@@ -0,0 +1,562 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.beliefbase.storage;
+
+import com.google.common.collect.ImmutableSet;
+import org.apache.commons.lang3.mutable.MutableBoolean;
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.lightjason.agentspeak.agent.IAgent;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * versioned storage of the data of single- and multi-elements,
+ * multi-elements are read from immutable versions without any lock,
+ * writes are buffered and applied atomically on commit, which
+ * is called on each agent cycle, so all plans of a cycle read
+ * the same beliefs
+ *
+ * @tparam N multi-element type
+ * @tparam M single-element type
+ * @note written elements are not visible before the commit, single elements
+ * are not versioned and written immediately, the writes are buffered as added
+ * and removed elements of each key, so a commit creates a new version of the
+ * changed keys only
+ */
+public final class CVersionedStorage<N, M> extends IBaseStorage<N, M>
+{
+    /**
+     * current version
+     */
+    private volatile CVersion m_version;
+    /**
+     * versioned values of the keys
+     */
+    private final Map<String, CValue<N>> m_elements = new ConcurrentHashMap<>();
+    /**
+     * buffered changes of the written keys
+     */
+    private final Map<String, CDelta<N>> m_buffer = new ConcurrentHashMap<>();
+    /**
+     * keys, which are empty since the last commit
+     *
+     * @note is used within the exclusive lock only
+     */
+    private final Set<String> m_empty = new HashSet<>();
+    /**
+     * buffered clear flag
+     */
+    private volatile boolean m_cleared;
+    /**
+     * lock of the buffer, writers share the lock, the commit is exclusive
+     */
+    private final ReadWriteLock m_lock = new ReentrantReadWriteLock();
+    /**
+     * map with single elements
+     **/
+    private final Map<String, M> m_singleelements = new ConcurrentHashMap<>();
+
+
+    /**
+     * ctor
+     */
+    public CVersionedStorage()
+    {
+        this( new CVersion( 0, 0 ) );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_version initial version
+     */
+    private CVersionedStorage( @Nonnull final CVersion p_version )
+    {
+        m_version = p_version;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<N> streammulti()
+    {
+        final long l_version = m_version.m_version;
+        return m_elements.values().stream().flatMap( i -> i.get( l_version ).stream() );
+    }
+
+    @Nonnull
+    @Override
+    public Stream<M> streamsingle()
+    {
+        return m_singleelements.values().stream();
+    }
+
+    @Override
+    public boolean containsmulti( @Nonnull final String p_key )
+    {
+        return !this.multi( p_key ).isEmpty();
+    }
+
+    @Override
+    public boolean containssingle( @Nonnull final String p_key )
+    {
+        return m_singleelements.containsKey( p_key );
+    }
+
+    @Override
+    public boolean putmulti( @Nonnull final String p_key, final N p_value )
+    {
+        final MutableBoolean l_result = new MutableBoolean();
+        this.buffer( p_key, ( l_elements, l_delta ) -> l_result.setValue( l_delta.add( l_elements, p_value ) ) );
+        return l_result.booleanValue();
+    }
+
+    @Nonnull
+    @Override
+    public Collection<N> putmulti( @Nonnull final String p_key, @Nonnull final Collection<N> p_value )
+    {
+        final List<N> l_result = new ArrayList<>();
+        this.buffer( p_key, ( l_elements, l_delta ) -> p_value.stream().filter( i -> l_delta.add( l_elements, i ) ).forEach( l_result::add ) );
+        return l_result;
+    }
+
+    @Override
+    public boolean putsingle( @Nonnull final String p_key, final M p_value )
+    {
+        return !p_value.equals( m_singleelements.put( p_key, p_value ) );
+    }
+
+    @Override
+    public boolean removemulti( @Nonnull final String p_key, final N p_value )
+    {
+        final MutableBoolean l_result = new MutableBoolean();
+        this.buffer( p_key, ( l_elements, l_delta ) -> l_result.setValue( l_delta.remove( l_elements, p_value ) ) );
+        return l_result.booleanValue();
+    }
+
+    @Nonnull
+    @Override
+    public Collection<N> removemulti( @Nonnull final String p_key, @Nonnull final Collection<N> p_value )
+    {
+        final List<N> l_result = new ArrayList<>();
+        this.buffer( p_key, ( l_elements, l_delta ) -> p_value.stream().filter( i -> l_delta.remove( l_elements, i ) ).forEach( l_result::add ) );
+        return l_result;
+    }
+
+    @Override
+    public boolean removesingle( @Nonnull final String p_key )
+    {
+        return Objects.nonNull( m_singleelements.remove( p_key ) );
+    }
+
+    @Override
+    public M single( @Nonnull final String p_key )
+    {
+        return m_singleelements.get( p_key );
+    }
+
+    @Override
+    public M singleordefault( @Nonnull final String p_key, final M p_default )
+    {
+        return m_singleelements.getOrDefault( p_key, p_default );
+    }
+
+    @Nonnull
+    @Override
+    public Collection<N> multi( @Nonnull final String p_key )
+    {
+        final CValue<N> l_value = m_elements.get( p_key );
+        return Objects.isNull( l_value )
+               ? ImmutableSet.of()
+               : l_value.get( m_version.m_version );
+    }
+
+    @Override
+    public IStorage<N, M> clear()
+    {
+        m_lock.writeLock().lock();
+        try
+        {
+            m_buffer.clear();
+            m_cleared = true;
+        }
+        finally
+        {
+            m_lock.writeLock().unlock();
+        }
+
+        m_singleelements.clear();
+        return this;
+    }
+
+    @Override
+    public boolean isempty()
+    {
+        return m_version.m_size == 0 && m_singleelements.isEmpty();
+    }
+
+    @Override
+    public int size()
+    {
+        return m_version.m_size;
+    }
+
+    @Nonnull
+    @Override
+    public IStorage<N, M> fork()
+    {
+        m_lock.writeLock().lock();
+        try
+        {
+            final CVersionedStorage<N, M> l_storage = new CVersionedStorage<>( m_version );
+            l_storage.m_elements.putAll( m_elements );
+            m_buffer.forEach( ( k, v ) -> l_storage.m_buffer.put( k, v.copy() ) );
+            l_storage.m_empty.addAll( m_empty );
+            l_storage.m_cleared = m_cleared;
+            return l_storage;
+        }
+        finally
+        {
+            m_lock.writeLock().unlock();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public IAgent<?> update( @Nonnull final IAgent<?> p_agent )
+    {
+        this.commit();
+        return p_agent;
+    }
+
+    /**
+     * applies all buffered writes atomically
+     * and creates a new version
+     *
+     * @return self reference
+     */
+    @Nonnull
+    public CVersionedStorage<N, M> commit()
+    {
+        m_lock.writeLock().lock();
+        try
+        {
+            if ( m_buffer.isEmpty() && !m_cleared )
+                return this;
+
+            final CVersion l_current = m_version;
+            final MutableInt l_size = new MutableInt( l_current.m_size );
+
+            // keys, which are empty within the current version, are not read anymore
+            m_empty.stream()
+                   .filter( i -> !m_buffer.containsKey( i ) )
+                   .forEach( i -> m_elements.computeIfPresent( i, ( k, v ) -> v.get( l_current.m_version ).isEmpty() ? null : v ) );
+            m_empty.clear();
+
+            if ( m_cleared )
+                m_elements.keySet().stream()
+                          .filter( i -> !m_buffer.containsKey( i ) )
+                          .collect( Collectors.toList() )
+                          .forEach( i -> this.apply( i, ImmutableSet.of(), l_current.m_version, l_size ) );
+
+            m_buffer.forEach( ( k, v ) -> this.apply(
+                k,
+                v.apply( m_cleared ? ImmutableSet.of() : this.multi( k ) ),
+                l_current.m_version,
+                l_size
+            ) );
+
+            m_buffer.clear();
+            m_cleared = false;
+            m_version = new CVersion( l_current.m_version + 1, l_size.intValue() );
+        }
+        finally
+        {
+            m_lock.writeLock().unlock();
+        }
+
+        return this;
+    }
+
+    /**
+     * returns the current version
+     *
+     * @return version, which is incremented on each commit with changes
+     */
+    @Nonnegative
+    public long version()
+    {
+        return m_version.m_version;
+    }
+
+    /**
+     * changes the buffered elements of a key
+     *
+     * @param p_key key
+     * @param p_function consumer of the current elements and the buffered changes
+     */
+    private void buffer( @Nonnull final String p_key, @Nonnull final BiConsumer<Collection<N>, CDelta<N>> p_function )
+    {
+        m_lock.readLock().lock();
+        try
+        {
+            m_buffer.compute( p_key, ( k, v ) ->
+            {
+                final CDelta<N> l_delta = Objects.isNull( v ) ? new CDelta<>() : v;
+                p_function.accept( m_cleared ? ImmutableSet.of() : this.multi( k ), l_delta );
+                return l_delta.isempty() ? null : l_delta;
+            } );
+        }
+        finally
+        {
+            m_lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * sets the elements of a key within the next version
+     *
+     * @param p_key key
+     * @param p_elements elements
+     * @param p_version current version
+     * @param p_size number of elements
+     */
+    private void apply( @Nonnull final String p_key, @Nonnull final ImmutableSet<N> p_elements, final long p_version, @Nonnull final MutableInt p_size )
+    {
+        m_elements.compute( p_key, ( k, v ) ->
+        {
+            final CValue<N> l_current = Objects.isNull( v ) ? null : v.truncate( p_version );
+            final int l_size = Objects.isNull( l_current ) ? 0 : l_current.m_elements.size();
+            if ( l_size == 0 && p_elements.isEmpty() )
+                return null;
+
+            if ( p_elements.isEmpty() )
+                m_empty.add( k );
+
+            p_size.add( p_elements.size() - l_size );
+            return new CValue<>( p_version + 1, p_elements, l_current );
+        } );
+    }
+
+    @Override
+    public String toString()
+    {
+        final List<N> l_elements = this.streammulti().collect( Collectors.toList() );
+        return MessageFormat.format(
+            "{0} {1}",
+            l_elements.isEmpty() ? "" : l_elements,
+            m_singleelements.isEmpty() ? "" : m_singleelements.values()
+        ).trim();
+    }
+
+
+    /**
+     * immutable version
+     */
+    private static final class CVersion
+    {
+        /**
+         * version
+         */
+        private final long m_version;
+        /**
+         * number of elements
+         */
+        private final int m_size;
+
+        /**
+         * ctor
+         *
+         * @param p_version version
+         * @param p_size number of elements
+         */
+        CVersion( @Nonnegative final long p_version, @Nonnegative final int p_size )
+        {
+            m_version = p_version;
+            m_size = p_size;
+        }
+    }
+
+    /**
+     * immutable elements of a key with the
+     * elements of the previous version
+     *
+     * @tparam T element type
+     */
+    private static final class CValue<T>
+    {
+        /**
+         * version
+         */
+        private final long m_version;
+        /**
+         * elements
+         */
+        private final ImmutableSet<T> m_elements;
+        /**
+         * previous value
+         */
+        private final CValue<T> m_previous;
+
+        /**
+         * ctor
+         *
+         * @param p_version version
+         * @param p_elements elements
+         * @param p_previous previous value
+         */
+        CValue( @Nonnegative final long p_version, @Nonnull final ImmutableSet<T> p_elements, @Nullable final CValue<T> p_previous )
+        {
+            m_version = p_version;
+            m_elements = p_elements;
+            m_previous = p_previous;
+        }
+
+        /**
+         * returns the elements of a version
+         *
+         * @param p_version version
+         * @return elements
+         */
+        @Nonnull
+        ImmutableSet<T> get( final long p_version )
+        {
+            final CValue<T> l_value = this.truncate( p_version );
+            return Objects.isNull( l_value ) ? ImmutableSet.of() : l_value.m_elements;
+        }
+
+        /**
+         * returns the value of a version
+         * without any previous value
+         *
+         * @param p_version version
+         * @return value or null
+         */
+        @Nullable
+        CValue<T> truncate( final long p_version )
+        {
+            for ( CValue<T> l_value = this; Objects.nonNull( l_value ); l_value = l_value.m_previous )
+                if ( l_value.m_version <= p_version )
+                    return Objects.isNull( l_value.m_previous ) ? l_value : new CValue<>( l_value.m_version, l_value.m_elements, null );
+
+            return null;
+        }
+    }
+
+    /**
+     * buffered changes of a key
+     *
+     * @tparam T element type
+     * @note is used within the compute function of the buffer only
+     */
+    private static final class CDelta<T>
+    {
+        /**
+         * added elements
+         */
+        private final Set<T> m_add = new LinkedHashSet<>();
+        /**
+         * removed elements
+         */
+        private final Set<T> m_remove = new HashSet<>();
+
+        /**
+         * adds an element
+         *
+         * @param p_elements current elements
+         * @param p_value element
+         * @return boolean if the element is added
+         */
+        boolean add( @Nonnull final Collection<T> p_elements, final T p_value )
+        {
+            return m_remove.remove( p_value ) || !p_elements.contains( p_value ) && m_add.add( p_value );
+        }
+
+        /**
+         * removes an element
+         *
+         * @param p_elements current elements
+         * @param p_value element
+         * @return boolean if the element is removed
+         */
+        boolean remove( @Nonnull final Collection<T> p_elements, final T p_value )
+        {
+            return m_add.remove( p_value ) || p_elements.contains( p_value ) && m_remove.add( p_value );
+        }
+
+        /**
+         * checks if there are no changes
+         *
+         * @return empty flag
+         */
+        boolean isempty()
+        {
+            return m_add.isEmpty() && m_remove.isEmpty();
+        }
+
+        /**
+         * applies the changes
+         *
+         * @param p_elements current elements
+         * @return new elements
+         */
+        @Nonnull
+        ImmutableSet<T> apply( @Nonnull final Collection<T> p_elements )
+        {
+            return Stream.concat( p_elements.stream().filter( i -> !m_remove.contains( i ) ), m_add.stream() )
+                         .collect( ImmutableSet.toImmutableSet() );
+        }
+
+        /**
+         * copies the changes
+         *
+         * @return new changes
+         */
+        @Nonnull
+        CDelta<T> copy()
+        {
+            final CDelta<T> l_delta = new CDelta<>();
+            l_delta.m_add.addAll( m_add );
+            l_delta.m_remove.addAll( m_remove );
+            return l_delta;
+        }
+    }
+}
@@ -24,9 +24,12 @@
 package org.lightjason.agentspeak.beliefbase.storage;
 
 import org.lightjason.agentspeak.agent.IAgent;
+import org.lightjason.agentspeak.common.CCommon;
+import org.lightjason.agentspeak.error.CIllegalStateException;
 
 import javax.annotation.Nonnull;
 import java.util.Collection;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 
@@ -82,6 +85,19 @@ public interface IStorage<N, M>
      */
     boolean putmulti( @Nonnull final String p_key, final N p_value );
 
+    /**
+     * puts multi-elements of the same key into the storage
+     *
+     * @param p_key key
+     * @param p_value multi-elements
+     * @return collection of the stored elements
+     */
+    @Nonnull
+    default Collection<N> putmulti( @Nonnull final String p_key, @Nonnull final Collection<N> p_value )
+    {
+        return p_value.stream().filter( i -> this.putmulti( p_key, i ) ).collect( Collectors.toList() );
+    }
+
     /**
      * puts a single-element into the storage
      *
@@ -100,6 +116,19 @@ public interface IStorage<N, M>
      */
     boolean removemulti( @Nonnull final String p_key, final N p_value );
 
+    /**
+     * removes multi-elements of the same key of the storage
+     *
+     * @param p_key key
+     * @param p_value multi-elements
+     * @return collection of the removed elements
+     */
+    @Nonnull
+    default Collection<N> removemulti( @Nonnull final String p_key, @Nonnull final Collection<N> p_value )
+    {
+        return p_value.stream().filter( i -> this.removemulti( p_key, i ) ).collect( Collectors.toList() );
+    }
+
     /**
      * removes a single-element of the storage
      *
@@ -164,4 +193,17 @@ public interface IStorage<N, M>
      */
     int size();
 
+    /**
+     * forks the storage, so that the fork
+     * and the storage can be changed independently
+     *
+     * @return new storage with the multi-elements
+     * @note single elements are not part of the fork
+     */
+    @Nonnull
+    default IStorage<N, M> fork()
+    {
+        throw new CIllegalStateException( CCommon.languagestring( IStorage.class, "forknotsupported", this ) );
+    }
+
 }
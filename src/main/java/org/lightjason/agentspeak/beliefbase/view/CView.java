@@ -36,7 +36,11 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.text.MessageFormat;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 
@@ -59,6 +63,14 @@ public final class CView implements IView
      * parent name
      */
     private final IView m_parent;
+    /**
+     * path of the view
+     */
+    private final IPath m_path;
+    /**
+     * path of the trigger without the root element
+     */
+    private final IPath m_triggerpath;
 
 
 
@@ -89,6 +101,10 @@ public final class CView implements IView
         m_name = p_name;
         m_beliefbase = p_beliefbase;
         m_parent = p_parent;
+
+        // the path is immutable, because name and parent cannot be changed
+        m_path = Objects.isNull( p_parent ) ? new CPath( Stream.empty() ) : new CPath( p_parent.path(), p_name );
+        m_triggerpath = new CPath( m_path ).remove( 0 );
     }
 
 
@@ -98,10 +114,9 @@ public final class CView implements IView
     @Override
     public Stream<ITrigger> trigger()
     {
-        // remove the root element (position 0), because the root element
+        // the root element (position 0) is removed, because the root element
         // is not used on the agent (asl) side
-        final IPath l_path = this.path().remove( 0 );
-        return m_beliefbase.trigger( this ).map( i -> i.shallowcopy( l_path ) );
+        return m_beliefbase.trigger( this ).map( i -> i.shallowcopy( m_triggerpath ) );
     }
 
     @Nonnull
@@ -121,7 +136,7 @@ public final class CView implements IView
     public IView add( @Nonnull final Stream<ILiteral> p_literal )
     {
         p_literal.parallel()
-                 .forEach( i -> this.leafview( this.walk( i.functorpath() ) ).beliefbase().add( i.shallowcopysuffix() ) );
+                 .forEach( i -> this.resolve( i.functorpath(), i.functorpath().size() ).beliefbase().add( i.shallowcopysuffix() ) );
         return this;
     }
 
@@ -162,12 +177,33 @@ public final class CView implements IView
         return this;
     }
 
+    @Nonnull
+    @Override
+    public IView batch( @Nonnull final Stream<ILiteral> p_add, @Nonnull final Stream<ILiteral> p_remove )
+    {
+        group( p_remove ).entrySet()
+                         .parallelStream()
+                         .forEach( i -> this.resolve( i.getKey(), i.getKey().size() ).beliefbase().remove( i.getValue() ) );
+        group( p_add ).entrySet()
+                      .parallelStream()
+                      .forEach( i -> this.resolve( i.getKey(), i.getKey().size() ).beliefbase().add( i.getValue() ) );
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public IView replace( @Nonnull final Stream<ILiteral> p_literal )
+    {
+        replace( this, IPath.EMPTY, group( p_literal ) );
+        return this;
+    }
+
     @Nonnull
     @Override
     public IView remove( @Nonnull final Stream<ILiteral> p_literal )
     {
         p_literal.parallel()
-                 .forEach( i -> this.leafview( this.walk( i.functorpath() ) ).beliefbase().remove( i.shallowcopysuffix() ) );
+                 .forEach( i -> this.resolve( i.functorpath(), i.functorpath().size() ).beliefbase().remove( i.shallowcopysuffix() ) );
         return this;
     }
 
@@ -186,7 +222,7 @@ public final class CView implements IView
             m_beliefbase.clear();
         else
             Arrays.stream( p_path ).parallel()
-                  .forEach( i -> this.leafview( this.walk( i ) ).clear() );
+                  .forEach( i -> this.resolve( i, i.size() ).clear() );
 
         return this;
     }
@@ -194,19 +230,13 @@ public final class CView implements IView
     @Override
     public boolean containsview( @Nonnull final IPath p_path )
     {
-        return p_path.size() > 1
-               ? this.leafview( this.walk( p_path.subpath( 0, p_path.size() - 1 ) ) )
-                     .containsview( p_path.subpath( p_path.size() - 1, p_path.size() ) )
-               : m_beliefbase.containsview( p_path.get( 0 ) );
+        return !p_path.empty() && this.resolve( p_path, p_path.size() - 1 ).beliefbase().containsview( p_path.get( -1 ) );
     }
 
     @Override
     public boolean containsliteral( @Nonnull final IPath p_path )
     {
-        return p_path.size() > 1
-               ? this.leafview( this.walk( p_path.subpath( 0, p_path.size() - 1 ) ) )
-                     .containsliteral( p_path.subpath( p_path.size() - 1, p_path.size() ) )
-               : m_beliefbase.containsliteral( p_path.get( 0 ) );
+        return !p_path.empty() && this.resolve( p_path, p_path.size() - 1 ).beliefbase().containsliteral( p_path.get( -1 ) );
     }
 
     // ---------------------------------------------------------------------------------------------------------------------------------------------------------
@@ -218,30 +248,26 @@ public final class CView implements IView
     @Override
     public Stream<ILiteral> stream( @Nullable final IPath... p_path )
     {
-        // build path relative to this view
-        final IPath l_path = this.path();
         return ( Objects.isNull( p_path ) || p_path.length == 0
                  ? Stream.concat( m_beliefbase.streamliteral(), m_beliefbase.streamview().flatMap( IView::stream ) )
                  : Arrays.stream( p_path )
-                         .flatMap( i -> this.leafview( this.walk( i.subpath( 0, -1 ) ) ).beliefbase().literal( i.suffix() ).stream() )
-        ).map( i -> i.shallowcopy( l_path ) );
+                         .flatMap( i -> this.resolve( i, i.size() - 1 ).beliefbase().literal( i.suffix() ).stream() )
+        ).map( i -> i.shallowcopy( m_path ) );
     }
 
     @Nonnull
     @Override
     public Stream<ILiteral> stream( final boolean p_negated, @Nullable final IPath... p_path )
     {
-        // build path relative to this view
-        final IPath l_path = this.path();
         return ( Objects.isNull( p_path ) || p_path.length == 0
                  ? Stream.concat(
             m_beliefbase.streamliteral().filter( i -> i.negated() == p_negated ),
             m_beliefbase.streamview().flatMap( i -> i.stream( p_negated ) )
         )
                  : Arrays.stream( p_path )
-                         .flatMap( i -> this.leafview( this.walk( i.subpath( 0, -1 ) ) ).beliefbase().literal( i.suffix() ).stream() )
+                         .flatMap( i -> this.resolve( i, i.size() - 1 ).beliefbase().literal( i.suffix() ).stream() )
                          .filter( j -> j.negated() == p_negated )
-        ).map( i -> i.shallowcopy( l_path ) );
+        ).map( i -> i.shallowcopy( m_path ) );
     }
 
     @Nonnull
@@ -274,24 +300,25 @@ public final class CView implements IView
         if ( p_path.empty() )
             return Stream.of( this );
 
-        final IView l_view;
         final String l_root = p_path.get( 0 );
-
-        synchronized ( this )
-        {
-            // add is run here for avoid overwriting view with a new object reference
-            l_view = m_beliefbase.viewordefault(
-                l_root,
-
-                Objects.isNull( p_generator ) || p_generator.length == 0
-                ? null
-                : p_generator[0].apply( l_root, this )
-            );
-
-            if ( Objects.isNull( l_view ) )
-                return Stream.empty();
-            m_beliefbase.add( l_view );
-        }
+        IView l_view = m_beliefbase.viewordefault( l_root, null );
+
+        // the lock is used only to generate a missing view, so
+        // the view is not overwritten with a new object reference
+        if ( Objects.isNull( l_view ) && Objects.nonNull( p_generator ) && p_generator.length > 0 )
+            synchronized ( this )
+            {
+                l_view = m_beliefbase.viewordefault( l_root, null );
+                if ( Objects.isNull( l_view ) )
+                {
+                    l_view = p_generator[0].apply( l_root, this );
+                    if ( Objects.nonNull( l_view ) )
+                        m_beliefbase.add( l_view );
+                }
+            }
+
+        if ( Objects.isNull( l_view ) )
+            return Stream.empty();
 
         return Stream.concat(
             Stream.of( this ),
@@ -300,17 +327,52 @@ public final class CView implements IView
     }
 
     /**
-     * returns the leaf of a view path
+     * groups literals by their path
+     *
+     * @param p_literal literal stream
+     * @return map with path and literals without path
+     */
+    @Nonnull
+    private static Map<IPath, List<ILiteral>> group( @Nonnull final Stream<ILiteral> p_literal )
+    {
+        return p_literal.collect( Collectors.groupingBy( ILiteral::functorpath, Collectors.mapping( ILiteral::shallowcopysuffix, Collectors.toList() ) ) );
+    }
+
+    /**
+     * replaces the literals of a view tree recursively
+     *
+     * @param p_view view
+     * @param p_path path of the view relative to the replacing view
+     * @param p_literal map with path and new literals
+     */
+    private static void replace( @Nonnull final IView p_view, @Nonnull final IPath p_path, @Nonnull final Map<IPath, List<ILiteral>> p_literal )
+    {
+        p_view.beliefbase().replace( p_literal.getOrDefault( p_path, Collections.emptyList() ) );
+        p_view.beliefbase()
+              .streamview()
+              .parallel()
+              .forEach( i -> replace( i, p_path.empty() ? CPath.of( i.name() ) : p_path.append( i.name() ), p_literal ) );
+    }
+
+    /**
+     * resolves a view relative to this view
+     * without any lock and path copy
      *
-     * @param p_stream stream of views
-     * @return last / leaf view
+     * @param p_path path
+     * @param p_length number of path elements, which are used
+     * @return view or empty view if the path does not exist
      */
     @Nonnull
-    private IView leafview( @Nonnull final Stream<IView> p_stream )
+    private IView resolve( @Nonnull final IPath p_path, final int p_length )
     {
-        return p_stream
-            .reduce( ( i, j ) -> j )
-            .orElse( IView.EMPTY );
+        IView l_view = this;
+        for ( int i = 0; i < p_length; i++ )
+        {
+            l_view = l_view.beliefbase().viewordefault( p_path.get( i ), null );
+            if ( Objects.isNull( l_view ) )
+                return IView.EMPTY;
+        }
+        return l_view;
     }
 
     // ---------------------------------------------------------------------------------------------------------------------------------------------------------
@@ -357,7 +419,7 @@ public final class CView implements IView
     @Override
     public IPath path()
     {
-        return this.root().map( IView::name ).collect( CPath.collect() ).reverse();
+        return new CPath( m_path );
     }
 
     @Nullable
@@ -103,6 +103,10 @@ public final class CViewMap implements IView
      * remove-literal consumer
      */
     private final BiConsumer<String, Map<String, Object>> m_removeliteralconsumer;
+    /**
+     * path of the view
+     */
+    private final IPath m_path;
 
     /**
      * ctor
@@ -183,6 +187,7 @@ public final class CViewMap implements IView
         m_addliteralconsumer = p_addliteralconsumer;
         m_removeviewconsumer = p_removeviewconsumer;
         m_removeliteralconsumer = p_removeliteralconsumer;
+        m_path = Objects.isNull( p_parent ) ? new CPath( Stream.empty() ) : new CPath( p_parent.path(), p_name );
     }
 
     @Nonnull
@@ -219,7 +224,7 @@ public final class CViewMap implements IView
     @Override
     public IPath path()
     {
-        return this.root().map( IView::name ).collect( CPath.collect() ).reverse();
+        return new CPath( m_path );
     }
 
     @Nonnull
@@ -254,13 +259,11 @@ public final class CViewMap implements IView
     @SuppressWarnings( "unchecked" )
     public Stream<ILiteral> stream( @Nullable final IPath... p_path )
     {
-        // build path relative to this view
-        final IPath l_path = this.path();
         return ( Objects.isNull( p_path ) || p_path.length == 0
                  ? Stream.concat( m_beliefbase.streamliteral(), m_beliefbase.streamview().flatMap( IView::stream ) )
                  : Arrays.stream( p_path )
                          .flatMap( i -> this.leafview( this.walk( i.subpath( 0, -1 ) ) ).beliefbase().literal( i.suffix() ).stream() )
-        ).map( i -> i.shallowcopy( l_path ) );
+        ).map( i -> i.shallowcopy( m_path ) );
     }
 
     @Nonnull
@@ -331,6 +334,21 @@ public final class CViewMap implements IView
         return this;
     }
 
+    @Nonnull
+    @Override
+    public IView batch( @Nonnull final Stream<ILiteral> p_add, @Nonnull final Stream<ILiteral> p_remove )
+    {
+        return this.remove( p_remove ).add( p_add );
+    }
+
+    @Nonnull
+    @Override
+    public IView replace( @Nonnull final Stream<ILiteral> p_literal )
+    {
+        m_beliefbase.replace( p_literal.collect( Collectors.toList() ) );
+        return this;
+    }
+
     @Override
     @SuppressWarnings( "unchecked" )
     public boolean containsliteral( @Nonnull final IPath p_path )
@@ -154,6 +154,20 @@ public interface IView extends IStructure
             return this;
         }
 
+        @Nonnull
+        @Override
+        public IView batch( @Nonnull final Stream<ILiteral> p_add, @Nonnull final Stream<ILiteral> p_remove )
+        {
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public IView replace( @Nonnull final Stream<ILiteral> p_literal )
+        {
+            return this;
+        }
+
         @Nonnull
         @Override
         public IView remove( @Nonnull final Stream<ILiteral> p_literal )
@@ -385,6 +399,33 @@ public interface IView extends IStructure
 
 
 
+    /**
+     * removes and adds literals in one batch, the literals are grouped
+     * by their path, so each view is resolved once and the changes are
+     * passed in bulk to the beliefbase
+     *
+     * @param p_add literals to add
+     * @param p_remove literals to remove
+     * @return self reference
+     * @note literals are removed before literals are added
+     */
+    @Nonnull
+    IView batch( @Nonnull final Stream<ILiteral> p_add, @Nonnull final Stream<ILiteral> p_remove );
+
+    /**
+     * replaces all literals of the view tree, only the difference
+     * between the current and the new literals is changed, so
+     * that events are created only for changed literals
+     *
+     * @param p_literal new literals
+     * @return self reference
+     * @note literals of a non-existing view are ignored, views are not removed
+     */
+    @Nonnull
+    IView replace( @Nonnull final Stream<ILiteral> p_literal );
+
+
+
     /**
      * checks if a literal exists
      *
@@ -0,0 +1,136 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.common;
+
+import javax.annotation.Nonnull;
+import java.io.Serializable;
+
+
+/**
+ * copy-on-write reference of a mutable structure,
+ * which can be shared between forks
+ *
+ * @tparam T structure type
+ * @note a fork shares the structure in constant time, each side
+ * copies the structure on its first write access after the fork,
+ * so a shared structure is never changed
+ * @warning references of the structure, which are requested for
+ * writing before a fork, must not be used after the fork
+ */
+public final class CCopyOnWrite<T> implements Serializable
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 2983646715069829046L;
+    /**
+     * copy function
+     */
+    private final IFunction<T, T> m_copy;
+    /**
+     * structure
+     */
+    private volatile T m_value;
+    /**
+     * shared flag
+     */
+    private volatile boolean m_shared;
+
+    /**
+     * ctor
+     *
+     * @param p_value structure
+     * @param p_copy copy function of the structure
+     */
+    public CCopyOnWrite( @Nonnull final T p_value, @Nonnull final IFunction<T, T> p_copy )
+    {
+        this( p_value, p_copy, false );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_value structure
+     * @param p_copy copy function of the structure
+     * @param p_shared shared flag
+     */
+    private CCopyOnWrite( @Nonnull final T p_value, @Nonnull final IFunction<T, T> p_copy, final boolean p_shared )
+    {
+        m_value = p_value;
+        m_copy = p_copy;
+        m_shared = p_shared;
+    }
+
+    /**
+     * returns the structure for read access
+     *
+     * @return structure, which must not be changed
+     */
+    @Nonnull
+    public T read()
+    {
+        return m_value;
+    }
+
+    /**
+     * returns the structure for write access,
+     * a shared structure is copied
+     *
+     * @return structure
+     */
+    @Nonnull
+    public T write()
+    {
+        if ( !m_shared )
+            return m_value;
+
+        synchronized ( this )
+        {
+            if ( m_shared )
+            {
+                m_value = m_copy.apply( m_value );
+                m_shared = false;
+            }
+            return m_value;
+        }
+    }
+
+    /**
+     * forks the reference
+     *
+     * @return new reference, which shares the structure
+     */
+    @Nonnull
+    public synchronized CCopyOnWrite<T> fork()
+    {
+        m_shared = true;
+        return new CCopyOnWrite<>( m_value, m_copy, true );
+    }
+
+    @Override
+    public String toString()
+    {
+        return m_value.toString();
+    }
+}
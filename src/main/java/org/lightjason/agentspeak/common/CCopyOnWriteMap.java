@@ -0,0 +1,228 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.common;
+
+import com.google.common.collect.ForwardingMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+
+/**
+ * copy-on-write map, which can be forked in constant time
+ *
+ * @tparam K key type
+ * @tparam V value type
+ * @note read access and the views use the shared map, so the views
+ * are unmodifiable, any other access copies a shared map once
+ */
+public final class CCopyOnWriteMap<K, V> extends ForwardingMap<K, V> implements Serializable
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 8379308193410934167L;
+    /**
+     * map reference
+     */
+    private final CCopyOnWrite<Map<K, V>> m_map;
+
+    /**
+     * ctor
+     *
+     * @param p_map map
+     * @param p_copy copy function of the map
+     */
+    public CCopyOnWriteMap( @Nonnull final Map<K, V> p_map, @Nonnull final IFunction<Map<K, V>, Map<K, V>> p_copy )
+    {
+        this( new CCopyOnWrite<>( p_map, p_copy ) );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_map map reference
+     */
+    private CCopyOnWriteMap( @Nonnull final CCopyOnWrite<Map<K, V>> p_map )
+    {
+        m_map = p_map;
+    }
+
+    /**
+     * forks the map
+     *
+     * @return new map, which shares the data
+     */
+    @Nonnull
+    public CCopyOnWriteMap<K, V> fork()
+    {
+        return new CCopyOnWriteMap<>( m_map.fork() );
+    }
+
+    @Override
+    protected Map<K, V> delegate()
+    {
+        return m_map.write();
+    }
+
+    @Override
+    public int size()
+    {
+        return m_map.read().size();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return m_map.read().isEmpty();
+    }
+
+    @Override
+    public boolean containsKey( @Nullable final Object p_key )
+    {
+        return m_map.read().containsKey( p_key );
+    }
+
+    @Override
+    public boolean containsValue( @Nullable final Object p_value )
+    {
+        return m_map.read().containsValue( p_value );
+    }
+
+    @Override
+    public V get( @Nullable final Object p_key )
+    {
+        return m_map.read().get( p_key );
+    }
+
+    @Override
+    public V getOrDefault( final Object p_key, final V p_default )
+    {
+        return m_map.read().getOrDefault( p_key, p_default );
+    }
+
+    @Override
+    public void forEach( final BiConsumer<? super K, ? super V> p_action )
+    {
+        m_map.read().forEach( p_action );
+    }
+
+    @Override
+    public Set<K> keySet()
+    {
+        return Collections.unmodifiableSet( m_map.read().keySet() );
+    }
+
+    @Override
+    public Collection<V> values()
+    {
+        return Collections.unmodifiableCollection( m_map.read().values() );
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet()
+    {
+        return Collections.unmodifiableMap( m_map.read() ).entrySet();
+    }
+
+    @Override
+    public V putIfAbsent( final K p_key, final V p_value )
+    {
+        return m_map.write().putIfAbsent( p_key, p_value );
+    }
+
+    @Override
+    public boolean remove( final Object p_key, final Object p_value )
+    {
+        return m_map.write().remove( p_key, p_value );
+    }
+
+    @Override
+    public boolean replace( final K p_key, final V p_oldvalue, final V p_newvalue )
+    {
+        return m_map.write().replace( p_key, p_oldvalue, p_newvalue );
+    }
+
+    @Override
+    public V replace( final K p_key, final V p_value )
+    {
+        return m_map.write().replace( p_key, p_value );
+    }
+
+    @Override
+    public void replaceAll( final BiFunction<? super K, ? super V, ? extends V> p_function )
+    {
+        m_map.write().replaceAll( p_function );
+    }
+
+    @Override
+    public V computeIfAbsent( final K p_key, final Function<? super K, ? extends V> p_function )
+    {
+        return m_map.write().computeIfAbsent( p_key, p_function );
+    }
+
+    @Override
+    public V computeIfPresent( final K p_key, final BiFunction<? super K, ? super V, ? extends V> p_function )
+    {
+        return m_map.write().computeIfPresent( p_key, p_function );
+    }
+
+    @Override
+    public V compute( final K p_key, final BiFunction<? super K, ? super V, ? extends V> p_function )
+    {
+        return m_map.write().compute( p_key, p_function );
+    }
+
+    @Override
+    public V merge( final K p_key, final V p_value, final BiFunction<? super V, ? super V, ? extends V> p_function )
+    {
+        return m_map.write().merge( p_key, p_value, p_function );
+    }
+
+    @Override
+    public boolean equals( @Nullable final Object p_object )
+    {
+        return p_object == this || m_map.read().equals( p_object );
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return m_map.read().hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        return m_map.read().toString();
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.common;
+
+import com.google.common.collect.ForwardingMultimap;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
+import com.google.common.collect.Multiset;
+import com.google.common.collect.Multisets;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+
+/**
+ * copy-on-write multimap, which can be forked in constant time
+ *
+ * @tparam K key type
+ * @tparam V value type
+ * @note read access and the views use the shared multimap, so the views
+ * are unmodifiable, any other access copies a shared multimap once
+ */
+public final class CCopyOnWriteMultimap<K, V> extends ForwardingMultimap<K, V> implements Serializable
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 8698385676558435283L;
+    /**
+     * multimap reference
+     */
+    private final CCopyOnWrite<Multimap<K, V>> m_multimap;
+
+    /**
+     * ctor
+     *
+     * @param p_multimap multimap
+     * @param p_copy copy function of the multimap
+     */
+    public CCopyOnWriteMultimap( @Nonnull final Multimap<K, V> p_multimap, @Nonnull final IFunction<Multimap<K, V>, Multimap<K, V>> p_copy )
+    {
+        this( new CCopyOnWrite<>( p_multimap, p_copy ) );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_multimap multimap reference
+     */
+    private CCopyOnWriteMultimap( @Nonnull final CCopyOnWrite<Multimap<K, V>> p_multimap )
+    {
+        m_multimap = p_multimap;
+    }
+
+    /**
+     * forks the multimap
+     *
+     * @return new multimap, which shares the data
+     */
+    @Nonnull
+    public CCopyOnWriteMultimap<K, V> fork()
+    {
+        return new CCopyOnWriteMultimap<>( m_multimap.fork() );
+    }
+
+    @Override
+    protected Multimap<K, V> delegate()
+    {
+        return m_multimap.write();
+    }
+
+    /**
+     * returns the values of a key for write access,
+     * a shared multimap is copied once
+     *
+     * @param p_key key
+     * @return modifiable values
+     */
+    @Nonnull
+    public Collection<V> writable( @Nullable final K p_key )
+    {
+        return m_multimap.write().get( p_key );
+    }
+
+    @Override
+    public Collection<V> get( @Nullable final K p_key )
+    {
+        return Collections.unmodifiableCollection( m_multimap.read().get( p_key ) );
+    }
+
+    @Override
+    public Set<K> keySet()
+    {
+        return Collections.unmodifiableSet( m_multimap.read().keySet() );
+    }
+
+    @Override
+    public Multiset<K> keys()
+    {
+        return Multisets.unmodifiableMultiset( m_multimap.read().keys() );
+    }
+
+    @Override
+    public Collection<V> values()
+    {
+        return Collections.unmodifiableCollection( m_multimap.read().values() );
+    }
+
+    @Override
+    public Collection<Map.Entry<K, V>> entries()
+    {
+        return Multimaps.unmodifiableMultimap( m_multimap.read() ).entries();
+    }
+
+    @Override
+    public Map<K, Collection<V>> asMap()
+    {
+        return Multimaps.unmodifiableMultimap( m_multimap.read() ).asMap();
+    }
+
+    @Override
+    public int size()
+    {
+        return m_multimap.read().size();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return m_multimap.read().isEmpty();
+    }
+
+    @Override
+    public boolean containsKey( @Nullable final Object p_key )
+    {
+        return m_multimap.read().containsKey( p_key );
+    }
+
+    @Override
+    public boolean containsValue( @Nullable final Object p_value )
+    {
+        return m_multimap.read().containsValue( p_value );
+    }
+
+    @Override
+    public boolean containsEntry( @Nullable final Object p_key, @Nullable final Object p_value )
+    {
+        return m_multimap.read().containsEntry( p_key, p_value );
+    }
+
+    @Override
+    public void forEach( final BiConsumer<? super K, ? super V> p_action )
+    {
+        m_multimap.read().forEach( p_action );
+    }
+
+    @Override
+    public boolean equals( @Nullable final Object p_object )
+    {
+        return p_object == this || m_multimap.read().equals( p_object );
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return m_multimap.read().hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        return m_multimap.read().toString();
+    }
+}
@@ -23,24 +23,33 @@
 
 package org.lightjason.agentspeak.configuration;
 
+import com.google.common.collect.ImmutableSetMultimap;
 import org.apache.commons.lang3.StringUtils;
+import org.lightjason.agentspeak.agent.EPlanSelection;
 import org.lightjason.agentspeak.agent.IAgent;
 import org.lightjason.agentspeak.beliefbase.CBeliefbase;
-import org.lightjason.agentspeak.beliefbase.storage.CMultiStorage;
+import org.lightjason.agentspeak.beliefbase.storage.CCopyOnWriteStorage;
+import org.lightjason.agentspeak.beliefbase.storage.CVersionedStorage;
+import org.lightjason.agentspeak.beliefbase.storage.IStorage;
 import org.lightjason.agentspeak.beliefbase.view.IView;
 import org.lightjason.agentspeak.common.CCommon;
+import org.lightjason.agentspeak.common.IPath;
 import org.lightjason.agentspeak.language.ILiteral;
+import org.lightjason.agentspeak.language.execution.ESequentialExecution;
+import org.lightjason.agentspeak.language.execution.IParallelExecution;
 import org.lightjason.agentspeak.language.execution.IVariableBuilder;
 import org.lightjason.agentspeak.language.execution.instantiable.plan.IPlan;
 import org.lightjason.agentspeak.language.execution.instantiable.plan.trigger.ITrigger;
 import org.lightjason.agentspeak.language.execution.instantiable.rule.IRule;
 import org.lightjason.agentspeak.language.fuzzy.bundle.IFuzzyBundle;
 import org.lightjason.agentspeak.language.unifier.IUnifier;
+import org.lightjason.agentspeak.metric.IMetrics;
 
 import javax.annotation.Nonnull;
 import java.text.MessageFormat;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.logging.Logger;
@@ -80,6 +89,10 @@ public class CDefaultAgentConfiguration<T extends IAgent<?>> implements IAgentCo
      * instance of initial beliefs
      */
     protected final Collection<ILiteral> m_initialbeliefs;
+    /**
+     * shared template of the root-level initial beliefs
+     */
+    protected final ImmutableSetMultimap<String, ILiteral> m_initialtemplate;
     /**
      * fuzzy operator
      */
@@ -133,6 +146,7 @@ public class CDefaultAgentConfiguration<T extends IAgent<?>> implements IAgentCo
         m_plans = Collections.unmodifiableSet( p_plans );
         m_rules = Collections.unmodifiableSet( p_rules );
         m_initialbeliefs = Collections.unmodifiableCollection( p_initialbeliefs );
+        m_initialtemplate = CDefaultAgentConfiguration.template( m_initialbeliefs );
 
         LOGGER.info( MessageFormat.format( "create agent configuration: {0}", this ) );
     }
@@ -141,8 +155,17 @@ public class CDefaultAgentConfiguration<T extends IAgent<?>> implements IAgentCo
     @Override
     public IView beliefbase()
     {
-        final IView l_beliefbase = new CBeliefbase( new CMultiStorage<>() ).create( BELIEFBASEROOTNAME );
-        m_initialbeliefs.forEach( i -> l_beliefbase.add( i.shallowcopy() ) );
+        final IStorage<ILiteral, IView> l_storage = this.storage();
+        final IView l_beliefbase = new CBeliefbase( l_storage ).create( BELIEFBASEROOTNAME );
+
+        // root-level beliefs, which are already part of a shared template, are not written again
+        m_initialbeliefs.stream()
+                        .filter( i -> !i.functorpath().empty() || !l_storage.multi( i.functor() ).contains( i.shallowcopysuffix() ) )
+                        .forEach( i -> l_beliefbase.add( i.shallowcopy() ) );
+
+        // a versioned storage makes the initial beliefs visible before the first cycle
+        if ( l_storage instanceof CVersionedStorage<?, ?> )
+            ( (CVersionedStorage<?, ?>) l_storage ).commit();
 
         // clear all events of the initial beliefs
         l_beliefbase.trigger();
@@ -150,6 +173,105 @@ public class CDefaultAgentConfiguration<T extends IAgent<?>> implements IAgentCo
         return l_beliefbase;
     }
 
+    /**
+     * creates the storage of the root beliefbase
+     *
+     * @return storage
+     * @note can be overwritten to use another storage e.g. an off-heap storage
+     * or a versioned storage, which isolates the reads of a cycle from the writes,
+     * the default storage shares the root-level initial beliefs between all agents
+     * and copies them only on the first write
+     */
+    @Nonnull
+    protected IStorage<ILiteral, IView> storage()
+    {
+        return new CCopyOnWriteStorage<>( m_initialtemplate );
+    }
+
+    /**
+     * creates the template of the root-level initial beliefs
+     *
+     * @param p_initialbeliefs initial beliefs
+     * @return immutable template
+     */
+    @Nonnull
+    private static ImmutableSetMultimap<String, ILiteral> template( @Nonnull final Collection<ILiteral> p_initialbeliefs )
+    {
+        final ImmutableSetMultimap.Builder<String, ILiteral> l_template = ImmutableSetMultimap.builder();
+        p_initialbeliefs.stream()
+                        .filter( i -> i.functorpath().empty() )
+                        .forEach( i -> l_template.put( i.functor(), i.shallowcopysuffix() ) );
+        return l_template.build();
+    }
+
+    /**
+     * returns the metrics registry
+     *
+     * @return registry
+     * @note metrics are disabled by default, a shared
+     * registry can be returned to aggregate the metrics of all agents
+     */
+    @Nonnull
+    @Override
+    public IMetrics metrics()
+    {
+        return IMetrics.EMPTY;
+    }
+
+    /**
+     * returns the strategy of the sequential execution
+     *
+     * @return execution strategy
+     * @note the stream strategy can be returned to use the
+     * previous execution, which defuzzificates all results after each step
+     */
+    @Nonnull
+    @Override
+    public ESequentialExecution sequentialexecution()
+    {
+        return ESequentialExecution.LOOP;
+    }
+
+    /**
+     * returns the strategy of the parallel execution
+     *
+     * @return execution strategy
+     * @note a structured execution can be returned to run parallel
+     * elements on an own executor with cancellation
+     */
+    @Nonnull
+    @Override
+    public IParallelExecution parallelexecution()
+    {
+        return IParallelExecution.STREAM;
+    }
+
+    /**
+     * returns the default strategy of the plan selection
+     *
+     * @return plan selection strategy
+     * @note all applicable plans are executed by default
+     */
+    @Nonnull
+    @Override
+    public EPlanSelection planselection()
+    {
+        return EPlanSelection.ALL;
+    }
+
+    /**
+     * returns the plan selection strategies of trigger functors
+     *
+     * @return map with trigger literal functor and plan selection strategy
+     * @note no strategy is overridden by default
+     */
+    @Nonnull
+    @Override
+    public Map<IPath, EPlanSelection> planselectionfunctor()
+    {
+        return Collections.emptyMap();
+    }
+
     @Nonnull
     @Override
     public final ITrigger initialgoal()
@@ -0,0 +1,670 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.configuration;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.SetMultimap;
+import org.lightjason.agentspeak.agent.EPlanSelection;
+import org.lightjason.agentspeak.agent.IAgent;
+import org.lightjason.agentspeak.beliefbase.view.IView;
+import org.lightjason.agentspeak.common.CPath;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.ILiteral;
+import org.lightjason.agentspeak.language.execution.ESequentialExecution;
+import org.lightjason.agentspeak.language.execution.IExecution;
+import org.lightjason.agentspeak.language.execution.IParallelExecution;
+import org.lightjason.agentspeak.language.execution.IVariableBuilder;
+import org.lightjason.agentspeak.language.execution.achievementtest.CAchievementGoalLiteral;
+import org.lightjason.agentspeak.language.execution.achievementtest.CAchievementGoalVariable;
+import org.lightjason.agentspeak.language.execution.achievementtest.CAchievementRuleInline;
+import org.lightjason.agentspeak.language.execution.achievementtest.CAchievementRuleLiteral;
+import org.lightjason.agentspeak.language.execution.achievementtest.CAchievementRuleVariable;
+import org.lightjason.agentspeak.language.execution.instantiable.IInstantiable;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.CPlan;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.IPlan;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.trigger.ITrigger;
+import org.lightjason.agentspeak.language.execution.instantiable.rule.CRule;
+import org.lightjason.agentspeak.language.execution.instantiable.rule.IRule;
+import org.lightjason.agentspeak.language.fuzzy.bundle.IFuzzyBundle;
+import org.lightjason.agentspeak.language.unifier.IUnifier;
+import org.lightjason.agentspeak.metric.IMetrics;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * static analysis of a plan library, builds the call graph of plans and rules,
+ * calculates the reachable plans and rules and reports recursive rules
+ * and rules which can be inlined, inlining and pruning of an agent
+ * configuration must be called explicitly
+ *
+ * @note belief plans are always reachable, because beliefs can be changed by perceiving,
+ * plans with a goal trigger are reachable by the given root triggers or by
+ * achievement-goal calls of reachable plans and rules
+ *
+ * @warning actions can trigger goals, so the reachable plans are only
+ * correct iif all external triggers are set as root triggers
+ */
+public final class CPlanLibraryAnalysis
+{
+    /**
+     * maximum number of body elements of a rule to be an inline candidate
+     */
+    private static final int INLINELIMIT = 3;
+    /**
+     * prefix of the renamed variables of an inlined rule
+     */
+    private static final String INLINEPREFIX = "inline";
+    /**
+     * all plans
+     */
+    private final Set<IPlan> m_plans;
+    /**
+     * all rules
+     */
+    private final Set<IRule> m_rules;
+    /**
+     * rule calls of each plan and rule
+     */
+    private final SetMultimap<IInstantiable, IPath> m_rulecalls;
+    /**
+     * goal calls of each plan and rule
+     */
+    private final SetMultimap<IInstantiable, IPath> m_goalcalls;
+    /**
+     * plans and rules with variable rule calls
+     */
+    private final Set<IInstantiable> m_dynamicrule;
+    /**
+     * plans and rules with variable goal calls
+     */
+    private final Set<IInstantiable> m_dynamicgoal;
+    /**
+     * rules grouped by the functor
+     */
+    private final SetMultimap<IPath, IRule> m_rulefunctor;
+    /**
+     * goal plans grouped by the functor
+     */
+    private final SetMultimap<IPath, IPlan> m_goalfunctor;
+    /**
+     * reachable plans
+     */
+    private final Set<IPlan> m_reachableplans;
+    /**
+     * reachable rules
+     */
+    private final Set<IRule> m_reachablerules;
+    /**
+     * recursive rules
+     */
+    private final Set<IRule> m_recursive;
+
+    /**
+     * ctor
+     *
+     * @param p_plans plans
+     * @param p_rules rules
+     * @param p_root root triggers
+     */
+    private CPlanLibraryAnalysis( @Nonnull final Collection<IPlan> p_plans, @Nonnull final Collection<IRule> p_rules,
+                                  @Nonnull final Collection<ITrigger> p_root )
+    {
+        m_plans = ImmutableSet.copyOf( p_plans );
+        m_rules = ImmutableSet.copyOf( p_rules );
+
+        final ImmutableSetMultimap.Builder<IInstantiable, IPath> l_rulecalls = ImmutableSetMultimap.builder();
+        final ImmutableSetMultimap.Builder<IInstantiable, IPath> l_goalcalls = ImmutableSetMultimap.builder();
+        final ImmutableSet.Builder<IInstantiable> l_dynamicrule = ImmutableSet.builder();
+        final ImmutableSet.Builder<IInstantiable> l_dynamicgoal = ImmutableSet.builder();
+
+        Stream.concat( m_plans.stream(), m_rules.stream() ).forEach( i -> i.children().flatMap( CPlanLibraryAnalysis::flatten ).forEach( j ->
+        {
+            if ( j instanceof CAchievementRuleLiteral )
+                l_rulecalls.put( i, ( (CAchievementRuleLiteral) j ).literal().fqnfunctor() );
+            if ( j instanceof CAchievementGoalLiteral )
+                l_goalcalls.put( i, ( (CAchievementGoalLiteral) j ).literal().fqnfunctor() );
+            if ( j instanceof CAchievementRuleVariable )
+                l_dynamicrule.add( i );
+            if ( j instanceof CAchievementGoalVariable )
+                l_dynamicgoal.add( i );
+        } ) );
+
+        m_rulecalls = l_rulecalls.build();
+        m_goalcalls = l_goalcalls.build();
+        m_dynamicrule = l_dynamicrule.build();
+        m_dynamicgoal = l_dynamicgoal.build();
+
+        m_rulefunctor = m_rules.stream().collect( ImmutableSetMultimap.toImmutableSetMultimap( i -> i.identifier().fqnfunctor(), i -> i ) );
+        m_goalfunctor = m_plans.stream()
+                               .filter( i -> isgoal( i.trigger() ) )
+                               .collect( ImmutableSetMultimap.toImmutableSetMultimap( i -> i.trigger().literal().fqnfunctor(), i -> i ) );
+
+        final Set<IInstantiable> l_reachable = this.reachable( p_root );
+        m_reachableplans = m_plans.stream().filter( l_reachable::contains ).collect( ImmutableSet.toImmutableSet() );
+        m_reachablerules = m_rules.stream().filter( l_reachable::contains ).collect( ImmutableSet.toImmutableSet() );
+        m_recursive = m_rules.stream().filter( this::isrecursive ).collect( ImmutableSet.toImmutableSet() );
+    }
+
+    /**
+     * analysis of an agent configuration, the initial goal is used as root trigger
+     *
+     * @param p_configuration agent configuration
+     * @param p_root additional root triggers, which are triggered outside of the plan library
+     * @return analysis
+     */
+    @Nonnull
+    public static CPlanLibraryAnalysis of( @Nonnull final IAgentConfiguration<?> p_configuration, @Nonnull final ITrigger... p_root )
+    {
+        return of(
+            p_configuration,
+            Stream.concat( Stream.of( p_configuration.initialgoal() ), Arrays.stream( p_root ) ).collect( Collectors.toSet() )
+        );
+    }
+
+    /**
+     * analysis of a configuration
+     *
+     * @param p_configuration configuration
+     * @param p_root root triggers, which are triggered outside of the plan library
+     * @return analysis
+     */
+    @Nonnull
+    public static CPlanLibraryAnalysis of( @Nonnull final IConfiguration p_configuration, @Nonnull final Collection<ITrigger> p_root )
+    {
+        return of( p_configuration.plans(), p_configuration.rules(), p_root );
+    }
+
+    /**
+     * analysis of plans and rules
+     *
+     * @param p_plans plans
+     * @param p_rules rules
+     * @param p_root root triggers, which are triggered outside of the plan library
+     * @return analysis
+     */
+    @Nonnull
+    public static CPlanLibraryAnalysis of( @Nonnull final Collection<IPlan> p_plans, @Nonnull final Collection<IRule> p_rules,
+                                           @Nonnull final Collection<ITrigger> p_root )
+    {
+        return new CPlanLibraryAnalysis( p_plans, p_rules, p_root );
+    }
+
+    /**
+     * removes all plans which can never be triggered and
+     * all rules which can never be called
+     *
+     * @param p_configuration agent configuration
+     * @param p_root additional root triggers, which are triggered outside of the plan library
+     * @tparam T agent type
+     * @return configuration with the reachable plans and rules
+     */
+    @Nonnull
+    public static <T extends IAgent<?>> IAgentConfiguration<T> prune( @Nonnull final IAgentConfiguration<T> p_configuration,
+                                                                       @Nonnull final ITrigger... p_root )
+    {
+        final CPlanLibraryAnalysis l_analysis = of( p_configuration, p_root );
+        return l_analysis.m_reachableplans.size() == l_analysis.m_plans.size() && l_analysis.m_reachablerules.size() == l_analysis.m_rules.size()
+               ? p_configuration
+               : new CConfiguration<>( p_configuration, l_analysis.m_reachableplans, l_analysis.m_reachablerules );
+    }
+
+    /**
+     * inlines the calls of the inline candidates, each call which is a direct body element
+     * of a plan or rule is replaced by the rule body with renamed variables
+     *
+     * @param p_configuration agent configuration
+     * @param p_root additional root triggers, which are triggered outside of the plan library
+     * @tparam T agent type
+     * @return configuration with inlined plans and rules
+     *
+     * @note nested calls e.g. within lambda expressions are not inlined, so the inlined rules
+     * are kept, use prune afterwards to remove the rules which are not called anymore
+     */
+    @Nonnull
+    public static <T extends IAgent<?>> IAgentConfiguration<T> inline( @Nonnull final IAgentConfiguration<T> p_configuration,
+                                                                        @Nonnull final ITrigger... p_root )
+    {
+        final Map<IPath, IRule> l_candidates = of( p_configuration, p_root ).inlinecandidates()
+                                                                             .collect( Collectors.toMap( i -> i.identifier().fqnfunctor(), i -> i ) );
+        return l_candidates.isEmpty()
+               ? p_configuration
+               : new CConfiguration<>(
+                   p_configuration,
+                   p_configuration.plans().stream().map( i -> inline( i, l_candidates ) ).collect( ImmutableSet.toImmutableSet() ),
+                   p_configuration.rules().stream().map( i -> inline( i, l_candidates ) ).collect( ImmutableSet.toImmutableSet() )
+               );
+    }
+
+    /**
+     * returns the reachable plans
+     *
+     * @return plan set
+     */
+    @Nonnull
+    public Set<IPlan> plans()
+    {
+        return m_reachableplans;
+    }
+
+    /**
+     * returns the reachable rules
+     *
+     * @return rule set
+     */
+    @Nonnull
+    public Set<IRule> rules()
+    {
+        return m_reachablerules;
+    }
+
+    /**
+     * returns the plans which can never be triggered
+     *
+     * @return plan stream
+     */
+    @Nonnull
+    public Stream<IPlan> unreachableplans()
+    {
+        return m_plans.stream().filter( i -> !m_reachableplans.contains( i ) );
+    }
+
+    /**
+     * returns the rules which can never be called
+     *
+     * @return rule stream
+     */
+    @Nonnull
+    public Stream<IRule> unreachablerules()
+    {
+        return m_rules.stream().filter( i -> !m_reachablerules.contains( i ) );
+    }
+
+    /**
+     * returns the recursive rules
+     *
+     * @return rule stream
+     *
+     * @note rules with variable rule calls are recursive
+     */
+    @Nonnull
+    public Stream<IRule> recursiverules()
+    {
+        return m_recursive.stream();
+    }
+
+    /**
+     * returns the rules which can be inlined, a rule is an inline candidate
+     * iif it is not recursive, is the only rule of its functor, calls no other
+     * rules and has a small body
+     *
+     * @return rule stream
+     */
+    @Nonnull
+    public Stream<IRule> inlinecandidates()
+    {
+        return m_reachablerules.stream()
+                               .filter( i -> !m_recursive.contains( i ) )
+                               .filter( i -> m_rulefunctor.get( i.identifier().fqnfunctor() ).size() == 1 )
+                               .filter( i -> m_rulecalls.get( i ).isEmpty() && !m_dynamicrule.contains( i ) )
+                               .filter( i -> i.children().count() <= INLINELIMIT );
+    }
+
+    /**
+     * returns the rule calls of each plan and rule
+     *
+     * @return multimap with plan / rule and called rule functor
+     */
+    @Nonnull
+    public SetMultimap<IInstantiable, IPath> rulecalls()
+    {
+        return m_rulecalls;
+    }
+
+    /**
+     * returns the goal calls of each plan and rule
+     *
+     * @return multimap with plan / rule and called goal functor
+     */
+    @Nonnull
+    public SetMultimap<IInstantiable, IPath> goalcalls()
+    {
+        return m_goalcalls;
+    }
+
+    @Override
+    public String toString()
+    {
+        return MessageFormat.format(
+            "plans: {0} of {1} reachable, rules: {2} of {3} reachable\nunreachable plans: {4}\nunreachable rules: {5}\nrecursive rules: {6}\ninline candidates: {7}",
+            m_reachableplans.size(), m_plans.size(),
+            m_reachablerules.size(), m_rules.size(),
+            this.unreachableplans().map( i -> i.trigger().toString() ).sorted().collect( Collectors.joining( ", " ) ),
+            this.unreachablerules().map( i -> i.identifier().toString() ).sorted().collect( Collectors.joining( ", " ) ),
+            this.recursiverules().map( i -> i.identifier().toString() ).sorted().collect( Collectors.joining( ", " ) ),
+            this.inlinecandidates().map( i -> i.identifier().toString() ).sorted().collect( Collectors.joining( ", " ) )
+        );
+    }
+
+    /**
+     * calculates all reachable plans and rules
+     *
+     * @param p_root root triggers
+     * @return set with plans and rules
+     */
+    @Nonnull
+    private Set<IInstantiable> reachable( @Nonnull final Collection<ITrigger> p_root )
+    {
+        final Set<IInstantiable> l_reachable = new HashSet<>();
+        final Deque<IInstantiable> l_queue = new ArrayDeque<>();
+
+        m_plans.stream()
+               .filter( i -> !isgoal( i.trigger() ) )
+               .forEach( l_queue::add );
+        p_root.stream()
+              .filter( CPlanLibraryAnalysis::isgoal )
+              .flatMap( i -> m_goalfunctor.get( i.literal().fqnfunctor() ).stream() )
+              .forEach( l_queue::add );
+
+        while ( !l_queue.isEmpty() )
+        {
+            final IInstantiable l_instantiable = l_queue.poll();
+            if ( !l_reachable.add( l_instantiable ) )
+                continue;
+
+            // a goal call triggers the add- and the delete-goal plans, because a failing plan triggers the delete-goal
+            m_goalcalls.get( l_instantiable ).stream().flatMap( i -> m_goalfunctor.get( i ).stream() ).forEach( l_queue::add );
+            m_rulecalls.get( l_instantiable ).stream().flatMap( i -> m_rulefunctor.get( i ).stream() ).forEach( l_queue::add );
+
+            if ( m_dynamicgoal.contains( l_instantiable ) )
+                l_queue.addAll( m_goalfunctor.values() );
+            if ( m_dynamicrule.contains( l_instantiable ) )
+                l_queue.addAll( m_rules );
+        }
+
+        return l_reachable;
+    }
+
+    /**
+     * checks if a rule calls itself directly or indirectly
+     *
+     * @param p_rule rule
+     * @return recursive flag
+     */
+    private boolean isrecursive( @Nonnull final IRule p_rule )
+    {
+        final Set<IRule> l_visited = new HashSet<>();
+        final Deque<IRule> l_queue = new ArrayDeque<>();
+        l_queue.add( p_rule );
+
+        while ( !l_queue.isEmpty() )
+        {
+            final IRule l_rule = l_queue.poll();
+            if ( m_dynamicrule.contains( l_rule ) )
+                return true;
+
+            for ( final IPath i : m_rulecalls.get( l_rule ) )
+                for ( final IRule j : m_rulefunctor.get( i ) )
+                {
+                    if ( p_rule.equals( j ) )
+                        return true;
+                    if ( l_visited.add( j ) )
+                        l_queue.add( j );
+                }
+        }
+
+        return false;
+    }
+
+    /**
+     * inlines the rule calls of a plan
+     *
+     * @param p_plan plan
+     * @param p_candidates inline candidates
+     * @return plan with inlined rules
+     */
+    @Nonnull
+    private static IPlan inline( @Nonnull final IPlan p_plan, @Nonnull final Map<IPath, IRule> p_candidates )
+    {
+        if ( !( p_plan instanceof CPlan ) )
+            return p_plan;
+
+        final IExecution[] l_body = inline( ( (CPlan) p_plan ).body(), p_candidates );
+        return Objects.isNull( l_body ) ? p_plan : new CPlan( (CPlan) p_plan, l_body );
+    }
+
+    /**
+     * inlines the rule calls of a rule
+     *
+     * @param p_rule rule
+     * @param p_candidates inline candidates
+     * @return rule with inlined rules
+     */
+    @Nonnull
+    private static IRule inline( @Nonnull final IRule p_rule, @Nonnull final Map<IPath, IRule> p_candidates )
+    {
+        if ( !( p_rule instanceof CRule ) )
+            return p_rule;
+
+        final IExecution[] l_body = inline( ( (CRule) p_rule ).body(), p_candidates );
+        return Objects.isNull( l_body ) ? p_rule : new CRule( p_rule.identifier(), l_body );
+    }
+
+    /**
+     * replaces the rule calls of a body, the position of the call
+     * is used as prefix for renaming the variables of the rule
+     *
+     * @param p_body body
+     * @param p_candidates inline candidates
+     * @return new body or null if no call is inlined
+     */
+    @Nullable
+    private static IExecution[] inline( @Nonnull final Stream<IExecution> p_body, @Nonnull final Map<IPath, IRule> p_candidates )
+    {
+        final IExecution[] l_body = p_body.toArray( IExecution[]::new );
+        boolean l_inlined = false;
+
+        for ( int i = 0; i < l_body.length; i++ )
+        {
+            if ( !( l_body[i] instanceof CAchievementRuleLiteral ) )
+                continue;
+
+            final ILiteral l_literal = ( (CAchievementRuleLiteral) l_body[i] ).literal();
+            final IRule l_rule = p_candidates.get( l_literal.fqnfunctor() );
+            if ( Objects.isNull( l_rule ) )
+                continue;
+
+            l_body[i] = new CAchievementRuleInline( l_literal, l_rule, CPath.of( INLINEPREFIX + i ) );
+            l_inlined = true;
+        }
+
+        return l_inlined ? l_body : null;
+    }
+
+    /**
+     * checks if a trigger is a goal trigger
+     *
+     * @param p_trigger trigger
+     * @return goal flag
+     */
+    private static boolean isgoal( @Nonnull final ITrigger p_trigger )
+    {
+        return ITrigger.EType.ADDGOAL.equals( p_trigger.type() ) || ITrigger.EType.DELETEGOAL.equals( p_trigger.type() );
+    }
+
+    /**
+     * flats an execution tree
+     *
+     * @param p_execution execution
+     * @return stream with the execution and all nested executions
+     */
+    @Nonnull
+    private static Stream<IExecution> flatten( @Nonnull final IExecution p_execution )
+    {
+        return Objects.isNull( p_execution )
+               ? Stream.empty()
+               : Stream.concat( Stream.of( p_execution ), p_execution.children().flatMap( CPlanLibraryAnalysis::flatten ) );
+    }
+
+
+    /**
+     * agent configuration with replaced plans and rules
+     *
+     * @tparam T agent type
+     */
+    private static final class CConfiguration<T extends IAgent<?>> implements IAgentConfiguration<T>
+    {
+        /**
+         * source configuration
+         */
+        private final IAgentConfiguration<T> m_configuration;
+        /**
+         * plans
+         */
+        private final Set<IPlan> m_plans;
+        /**
+         * rules
+         */
+        private final Set<IRule> m_rules;
+
+        /**
+         * ctor
+         *
+         * @param p_configuration source configuration
+         * @param p_plans plans
+         * @param p_rules rules
+         */
+        CConfiguration( @Nonnull final IAgentConfiguration<T> p_configuration, @Nonnull final Set<IPlan> p_plans, @Nonnull final Set<IRule> p_rules )
+        {
+            m_configuration = p_configuration;
+            m_plans = p_plans;
+            m_rules = p_rules;
+        }
+
+        @Nonnull
+        @Override
+        public Set<IPlan> plans()
+        {
+            return m_plans;
+        }
+
+        @Nonnull
+        @Override
+        public Set<IRule> rules()
+        {
+            return m_rules;
+        }
+
+        @Nonnull
+        @Override
+        public IView beliefbase()
+        {
+            return m_configuration.beliefbase();
+        }
+
+        @Nonnull
+        @Override
+        public ITrigger initialgoal()
+        {
+            return m_configuration.initialgoal();
+        }
+
+        @Nonnull
+        @Override
+        public IUnifier unifier()
+        {
+            return m_configuration.unifier();
+        }
+
+        @Nonnull
+        @Override
+        public IVariableBuilder variablebuilder()
+        {
+            return m_configuration.variablebuilder();
+        }
+
+        @Nonnull
+        @Override
+        public IFuzzyBundle fuzzy()
+        {
+            return m_configuration.fuzzy();
+        }
+
+        @Nonnull
+        @Override
+        public Collection<ILiteral> initialbeliefs()
+        {
+            return m_configuration.initialbeliefs();
+        }
+
+        @Nonnull
+        @Override
+        public IMetrics metrics()
+        {
+            return m_configuration.metrics();
+        }
+
+        @Nonnull
+        @Override
+        public ESequentialExecution sequentialexecution()
+        {
+            return m_configuration.sequentialexecution();
+        }
+
+        @Nonnull
+        @Override
+        public IParallelExecution parallelexecution()
+        {
+            return m_configuration.parallelexecution();
+        }
+
+        @Nonnull
+        @Override
+        public EPlanSelection planselection()
+        {
+            return m_configuration.planselection();
+        }
+
+        @Nonnull
+        @Override
+        public Map<IPath, EPlanSelection> planselectionfunctor()
+        {
+            return m_configuration.planselectionfunctor();
+        }
+    }
+
+}
@@ -23,16 +23,22 @@
 
 package org.lightjason.agentspeak.configuration;
 
+import org.lightjason.agentspeak.agent.EPlanSelection;
 import org.lightjason.agentspeak.agent.IAgent;
 import org.lightjason.agentspeak.beliefbase.view.IView;
+import org.lightjason.agentspeak.common.IPath;
 import org.lightjason.agentspeak.language.ILiteral;
 import org.lightjason.agentspeak.language.execution.IVariableBuilder;
+import org.lightjason.agentspeak.language.execution.ESequentialExecution;
+import org.lightjason.agentspeak.language.execution.IParallelExecution;
 import org.lightjason.agentspeak.language.execution.instantiable.plan.trigger.ITrigger;
 import org.lightjason.agentspeak.language.fuzzy.bundle.IFuzzyBundle;
 import org.lightjason.agentspeak.language.unifier.IUnifier;
+import org.lightjason.agentspeak.metric.IMetrics;
 
 import javax.annotation.Nonnull;
 import java.util.Collection;
+import java.util.Map;
 
 
 /**
@@ -91,4 +97,45 @@ public interface IAgentConfiguration<T extends IAgent<?>> extends IConfiguration
     @Nonnull
     Collection<ILiteral> initialbeliefs();
 
+    /**
+     * returns the metrics registry
+     *
+     * @return registry
+     */
+    @Nonnull
+    IMetrics metrics();
+
+    /**
+     * returns the strategy of the sequential execution
+     *
+     * @return execution strategy
+     */
+    @Nonnull
+    ESequentialExecution sequentialexecution();
+
+    /**
+     * returns the strategy of the parallel execution
+     *
+     * @return execution strategy
+     */
+    @Nonnull
+    IParallelExecution parallelexecution();
+
+    /**
+     * returns the default strategy of the plan selection
+     *
+     * @return plan selection strategy
+     */
+    @Nonnull
+    EPlanSelection planselection();
+
+    /**
+     * returns the plan selection strategies of trigger functors,
+     * which override the default strategy
+     *
+     * @return map with trigger literal functor and plan selection strategy
+     */
+    @Nonnull
+    Map<IPath, EPlanSelection> planselectionfunctor();
+
 }
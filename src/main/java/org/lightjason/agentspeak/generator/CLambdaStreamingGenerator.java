@@ -29,12 +29,14 @@ import org.lightjason.agentspeak.common.CCommon;
 import org.lightjason.agentspeak.language.execution.lambda.ILambdaStreaming;
 
 import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -49,9 +51,9 @@ public final class CLambdaStreamingGenerator implements ILambdaStreamingGenerato
      */
     private static final long serialVersionUID = 7363854226211845413L;
     /**
-     * loaded lambdas
+     * lambdas of the assignable classes, which are scanned once on construction
      */
-    private final Map<Class<?>, ILambdaStreaming<?>> m_lambdas = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ILambdaStreaming<?>> m_lambdas;
     /**
      * Java package for searching
      */
@@ -60,6 +62,10 @@ public final class CLambdaStreamingGenerator implements ILambdaStreamingGenerato
      * use cache
      */
     private final boolean m_usecache;
+    /**
+     * resolution cache of classes, which stores also missing lambdas
+     */
+    private transient ClassValue<ILambdaStreaming<?>> m_resolution;
 
 
     /**
@@ -103,15 +109,16 @@ public final class CLambdaStreamingGenerator implements ILambdaStreamingGenerato
     {
         m_usecache = p_usecache;
         m_packages = p_packages.collect( Collectors.toUnmodifiableSet() );
+        m_lambdas = m_usecache ? this.scan() : Collections.emptyMap();
+        m_resolution = this.resolution();
     }
 
     @Override
     public ILambdaStreaming<?> apply( @NonNull final Class<?> p_class )
     {
-        final Set<Class<?>> l_hierarchie = org.lightjason.agentspeak.language.CCommon.classhierarchie( p_class ).collect( Collectors.toSet() );
         return m_usecache
-               ? this.withcache( l_hierarchie )
-               : this.withoutcache( l_hierarchie );
+               ? m_resolution.get( p_class )
+               : this.withoutcache( org.lightjason.agentspeak.language.CCommon.classhierarchie( p_class ).collect( Collectors.toSet() ) );
     }
 
     /**
@@ -130,26 +137,54 @@ public final class CLambdaStreamingGenerator implements ILambdaStreamingGenerato
     }
 
     /**
-     * search lambda expression within cache
+     * scans the packages and maps each assignable
+     * class to the first lambda expression
      *
-     * @param p_hierarchie hierarchie of the searching class
-     * @return lambda streaming object
+     * @return unmodifiable map with class and lambda streaming object
+     */
+    @Nonnull
+    private Map<Class<?>, ILambdaStreaming<?>> scan()
+    {
+        final Map<Class<?>, ILambdaStreaming<?>> l_lambdas = new HashMap<>();
+        CCommon.lambdastreamingFromPackage( m_packages.toArray( String[]::new ) )
+               .forEachOrdered( i -> i.assignable().forEach( j -> l_lambdas.putIfAbsent( j, i ) ) );
+        return Collections.unmodifiableMap( l_lambdas );
+    }
+
+    /**
+     * creates the resolution cache, which uses the lambda expression
+     * of the most specific class within the class hierarchie
+     *
+     * @return class value
+     */
+    @Nonnull
+    private ClassValue<ILambdaStreaming<?>> resolution()
+    {
+        return new ClassValue<>()
+        {
+            @Override
+            protected ILambdaStreaming<?> computeValue( final Class<?> p_class )
+            {
+                return org.lightjason.agentspeak.language.CCommon.classhierarchie( p_class )
+                                                                 .map( m_lambdas::get )
+                                                                 .filter( Objects::nonNull )
+                                                                 .findFirst()
+                                                                 .orElse( ILambdaStreaming.EMPTY );
+            }
+        };
+    }
+
+    /**
+     * deserialize call
+     *
+     * @param p_stream object stream
+     * @throws IOException is thrown on io error
+     * @throws ClassNotFoundException is thrown on deserialization error
      */
-    private ILambdaStreaming<?> withcache( @NonNull final Set<Class<?>> p_hierarchie )
+    private void readObject( final ObjectInputStream p_stream ) throws IOException, ClassNotFoundException
     {
-        // get lambda from cache if possible
-        final Optional<? extends ILambdaStreaming<?>> l_cache = p_hierarchie.stream()
-                                                                            .map( m_lambdas::get )
-                                                                            .filter( Objects::nonNull )
-                                                                            .findFirst();
-
-        if ( l_cache.isPresent() )
-            return l_cache.get();
-
-        // search lambda object
-        final ILambdaStreaming<?> l_stream = this.withoutcache( p_hierarchie );
-        l_stream.assignable().forEach( i -> m_lambdas.putIfAbsent( i, l_stream ) );
-        return l_stream;
+        p_stream.defaultReadObject();
+        m_resolution = this.resolution();
     }
 
 }
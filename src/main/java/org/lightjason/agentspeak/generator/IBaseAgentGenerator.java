@@ -29,6 +29,7 @@ import org.lightjason.agentspeak.agent.IPlanBundle;
 import org.lightjason.agentspeak.configuration.CDefaultAgentConfiguration;
 import org.lightjason.agentspeak.configuration.IAgentConfiguration;
 import org.lightjason.agentspeak.grammar.CParserAgent;
+import org.lightjason.agentspeak.grammar.builder.COptimizer;
 import org.lightjason.agentspeak.grammar.IASTVisitorAgent;
 import org.lightjason.agentspeak.language.ILiteral;
 import org.lightjason.agentspeak.language.execution.IVariableBuilder;
@@ -103,7 +104,24 @@ public abstract class IBaseAgentGenerator<T extends IAgent<?>> implements IAgent
                                 @Nonnull final ILambdaStreamingGenerator p_lambda, @Nonnull final Set<IPlanBundle> p_planbundle,
                                 @Nonnull final IVariableBuilder p_variablebuilder )
     {
-        final IASTVisitorAgent l_visitor = new CParserAgent( p_actions, p_lambda ).parse( p_stream );
+        this( p_stream, p_actions, p_lambda, p_planbundle, p_variablebuilder, COptimizer.DEFAULT );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_stream input stream
+     * @param p_actions action generator
+     * @param p_lambda lambda generator
+     * @param p_planbundle set with planbundles
+     * @param p_variablebuilder variable builder (can be set to null)
+     * @param p_optimizer optimizer of the parser
+     */
+    public IBaseAgentGenerator( @Nonnull final InputStream p_stream, @Nonnull final IActionGenerator p_actions,
+                                @Nonnull final ILambdaStreamingGenerator p_lambda, @Nonnull final Set<IPlanBundle> p_planbundle,
+                                @Nonnull final IVariableBuilder p_variablebuilder, @Nonnull final COptimizer p_optimizer )
+    {
+        final IASTVisitorAgent l_visitor = new CParserAgent( p_actions, p_lambda, p_optimizer ).parse( p_stream );
         m_configuration = this.configuration(
             DEFAULTFUZZYBUNDLE,
 
@@ -114,8 +132,8 @@ public abstract class IBaseAgentGenerator<T extends IAgent<?>> implements IAgent
 
             Stream.concat(
                 l_visitor.plans().stream(),
-                p_planbundle.parallelStream().flatMap( i -> i.plans().stream() )
-            ).collect( Collectors.toSet() ),
+                p_planbundle.stream().flatMap( i -> i.plans().stream() )
+            ).collect( Collectors.toCollection( LinkedHashSet::new ) ),
 
             Stream.concat(
                 l_visitor.rules().stream(),
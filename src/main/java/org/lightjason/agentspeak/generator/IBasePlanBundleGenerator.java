@@ -27,6 +27,7 @@ import org.lightjason.agentspeak.agent.IPlanBundle;
 import org.lightjason.agentspeak.configuration.CDefaultPlanBundleConfiguration;
 import org.lightjason.agentspeak.configuration.IPlanBundleConfiguration;
 import org.lightjason.agentspeak.grammar.CParserPlanBundle;
+import org.lightjason.agentspeak.grammar.builder.COptimizer;
 import org.lightjason.agentspeak.grammar.IASTVisitorPlanBundle;
 
 import javax.annotation.Nonnull;
@@ -57,7 +58,21 @@ public abstract class IBasePlanBundleGenerator implements IPlanBundleGenerator
     public IBasePlanBundleGenerator( @Nonnull final InputStream p_stream, @Nonnull final IActionGenerator p_actions,
                                      @Nonnull final ILambdaStreamingGenerator p_lambda )
     {
-        final IASTVisitorPlanBundle l_visitor = new CParserPlanBundle( p_actions, p_lambda ).parse( p_stream );
+        this( p_stream, p_actions, p_lambda, COptimizer.DEFAULT );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_stream input stream
+     * @param p_actions action generator
+     * @param p_lambda lambda generator
+     * @param p_optimizer optimizer of the parser
+     */
+    public IBasePlanBundleGenerator( @Nonnull final InputStream p_stream, @Nonnull final IActionGenerator p_actions,
+                                     @Nonnull final ILambdaStreamingGenerator p_lambda, @Nonnull final COptimizer p_optimizer )
+    {
+        final IASTVisitorPlanBundle l_visitor = new CParserPlanBundle( p_actions, p_lambda, p_optimizer ).parse( p_stream );
 
         m_configuration = new CDefaultPlanBundleConfiguration(
             l_visitor.plans(),
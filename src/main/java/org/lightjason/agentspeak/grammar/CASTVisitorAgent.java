@@ -30,6 +30,7 @@ import org.lightjason.agentspeak.common.IPath;
 import org.lightjason.agentspeak.generator.IActionGenerator;
 import org.lightjason.agentspeak.generator.ILambdaStreamingGenerator;
 import org.lightjason.agentspeak.grammar.builder.CAgentSpeak;
+import org.lightjason.agentspeak.grammar.builder.COptimizer;
 import org.lightjason.agentspeak.grammar.builder.CTerm;
 import org.lightjason.agentspeak.language.CLiteral;
 import org.lightjason.agentspeak.language.ILiteral;
@@ -66,7 +67,7 @@ public final class CASTVisitorAgent extends AbstractParseTreeVisitor<Object> imp
     /**
      * map with plans
      */
-    private final Set<IPlan> m_plans = new HashSet<>();
+    private final Set<IPlan> m_plans = new LinkedHashSet<>();
     /**
      * map with logical rules
      */
@@ -79,6 +80,10 @@ public final class CASTVisitorAgent extends AbstractParseTreeVisitor<Object> imp
      * lambda generator
      */
     private final ILambdaStreamingGenerator m_lambda;
+    /**
+     * optimizer
+     */
+    private final COptimizer m_optimizer;
 
     /**
      * ctor
@@ -87,9 +92,23 @@ public final class CASTVisitorAgent extends AbstractParseTreeVisitor<Object> imp
      * @param p_lambda lambda generator
      */
     public CASTVisitorAgent( @Nonnull final IActionGenerator p_actions, @Nonnull final ILambdaStreamingGenerator p_lambda )
+    {
+        this( p_actions, p_lambda, COptimizer.DEFAULT );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_actions action generator
+     * @param p_lambda lambda generator
+     * @param p_optimizer optimizer
+     */
+    public CASTVisitorAgent( @Nonnull final IActionGenerator p_actions, @Nonnull final ILambdaStreamingGenerator p_lambda,
+                             @Nonnull final COptimizer p_optimizer )
     {
         m_lambda = p_lambda;
         m_actions = p_actions;
+        m_optimizer = p_optimizer;
     }
 
     // ---------------------------------------------------------------------------------------------------------------------------------------------------------
@@ -138,6 +157,7 @@ public final class CASTVisitorAgent extends AbstractParseTreeVisitor<Object> imp
     {
         return CAgentSpeak.rule(
             this,
+            m_optimizer,
             p_context.literal(),
             p_context.body()
         );
@@ -148,6 +168,7 @@ public final class CASTVisitorAgent extends AbstractParseTreeVisitor<Object> imp
     {
         return CAgentSpeak.plan(
             this,
+            m_optimizer,
             p_context.ANNOTATION(),
             p_context.plantrigger(),
             p_context.literal(),
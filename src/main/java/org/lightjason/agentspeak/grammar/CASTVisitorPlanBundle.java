@@ -30,6 +30,7 @@ import org.lightjason.agentspeak.common.IPath;
 import org.lightjason.agentspeak.generator.IActionGenerator;
 import org.lightjason.agentspeak.generator.ILambdaStreamingGenerator;
 import org.lightjason.agentspeak.grammar.builder.CAgentSpeak;
+import org.lightjason.agentspeak.grammar.builder.COptimizer;
 import org.lightjason.agentspeak.grammar.builder.CTerm;
 import org.lightjason.agentspeak.language.ILiteral;
 import org.lightjason.agentspeak.language.execution.instantiable.plan.IPlan;
@@ -59,7 +60,7 @@ public final class CASTVisitorPlanBundle extends AbstractParseTreeVisitor<Object
     /**
      * map with plans
      */
-    private final Set<IPlan> m_plans = new HashSet<>();
+    private final Set<IPlan> m_plans = new LinkedHashSet<>();
     /**
      * map with logical rules
      */
@@ -72,6 +73,10 @@ public final class CASTVisitorPlanBundle extends AbstractParseTreeVisitor<Object
      * lambda generator
      */
     private final ILambdaStreamingGenerator m_lambda;
+    /**
+     * optimizer
+     */
+    private final COptimizer m_optimizer;
 
     /**
      * ctor
@@ -80,9 +85,23 @@ public final class CASTVisitorPlanBundle extends AbstractParseTreeVisitor<Object
      * @param p_lambda lambda generator
      */
     public CASTVisitorPlanBundle( @Nonnull final IActionGenerator p_actions, @Nonnull final ILambdaStreamingGenerator p_lambda )
+    {
+        this( p_actions, p_lambda, COptimizer.DEFAULT );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_actions action generator
+     * @param p_lambda lambda generator
+     * @param p_optimizer optimizer
+     */
+    public CASTVisitorPlanBundle( @Nonnull final IActionGenerator p_actions, @Nonnull final ILambdaStreamingGenerator p_lambda,
+                                  @Nonnull final COptimizer p_optimizer )
     {
         m_lambda = p_lambda;
         m_actions = p_actions;
+        m_optimizer = p_optimizer;
     }
 
 
@@ -125,6 +144,7 @@ public final class CASTVisitorPlanBundle extends AbstractParseTreeVisitor<Object
     {
         return CAgentSpeak.rule(
             this,
+            m_optimizer,
             p_context.literal(),
             p_context.body()
         );
@@ -135,6 +155,7 @@ public final class CASTVisitorPlanBundle extends AbstractParseTreeVisitor<Object
     {
         return CAgentSpeak.plan(
             this,
+            m_optimizer,
             p_context.ANNOTATION(),
             p_context.plantrigger(),
             p_context.literal(),
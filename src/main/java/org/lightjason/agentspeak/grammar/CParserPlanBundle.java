@@ -25,6 +25,7 @@ package org.lightjason.agentspeak.grammar;
 
 import org.lightjason.agentspeak.generator.IActionGenerator;
 import org.lightjason.agentspeak.generator.ILambdaStreamingGenerator;
+import org.lightjason.agentspeak.grammar.builder.COptimizer;
 
 import javax.annotation.Nonnull;
 import java.io.InputStream;
@@ -43,6 +44,10 @@ public final class CParserPlanBundle extends IBaseParser<IASTVisitorPlanBundle,
      * lambda generator
      */
     private final ILambdaStreamingGenerator m_lambda;
+    /**
+     * optimizer
+     */
+    private final COptimizer m_optimizer;
 
     /**
      * ctor
@@ -51,17 +56,31 @@ public final class CParserPlanBundle extends IBaseParser<IASTVisitorPlanBundle,
      * @param p_lambda lambda generator
      */
     public CParserPlanBundle( @Nonnull final IActionGenerator p_actions, @Nonnull final ILambdaStreamingGenerator p_lambda )
+    {
+        this( p_actions, p_lambda, COptimizer.DEFAULT );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_actions action generator
+     * @param p_lambda lambda generator
+     * @param p_optimizer optimizer
+     */
+    public CParserPlanBundle( @Nonnull final IActionGenerator p_actions, @Nonnull final ILambdaStreamingGenerator p_lambda,
+                              @Nonnull final COptimizer p_optimizer )
     {
         super( new CErrorListener() );
         m_lambda = p_lambda;
         m_actions = p_actions;
+        m_optimizer = p_optimizer;
     }
 
     @Nonnull
     @Override
     public IASTVisitorPlanBundle parse( final InputStream p_stream )
     {
-        final IASTVisitorPlanBundle l_visitor = new CASTVisitorPlanBundle( m_actions, m_lambda );
+        final IASTVisitorPlanBundle l_visitor = new CASTVisitorPlanBundle( m_actions, m_lambda, m_optimizer );
         l_visitor.visit( this.parser( p_stream ).planbundle() );
         return l_visitor;
     }
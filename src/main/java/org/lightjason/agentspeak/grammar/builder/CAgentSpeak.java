@@ -32,6 +32,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.lightjason.agentspeak.action.IAction;
 import org.lightjason.agentspeak.common.CCommon;
 import org.lightjason.agentspeak.common.CPath;
+import org.lightjason.agentspeak.common.IPath;
 import org.lightjason.agentspeak.error.CIllegalArgumentException;
 import org.lightjason.agentspeak.error.CNoSuchElementException;
 import org.lightjason.agentspeak.error.parser.CParserSyntaxException;
@@ -55,6 +56,7 @@ import org.lightjason.agentspeak.language.execution.base.CBelief;
 import org.lightjason.agentspeak.language.execution.base.CRepair;
 import org.lightjason.agentspeak.language.execution.base.CTernaryOperation;
 import org.lightjason.agentspeak.language.execution.expression.CBinaryExpression;
+import org.lightjason.agentspeak.language.execution.expression.CExpressionCompiler;
 import org.lightjason.agentspeak.language.execution.expression.CUnaryExpression;
 import org.lightjason.agentspeak.language.execution.expression.EBinaryOperator;
 import org.lightjason.agentspeak.language.execution.expression.EUnaryOperator;
@@ -85,7 +87,9 @@ import org.lightjason.agentspeak.language.variable.IVariable;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -120,6 +124,7 @@ public final class CAgentSpeak
      * build a plan object
      *
      * @param p_visitor visitor
+     * @param p_optimizer optimizer
      * @param p_annotation annotation
      * @param p_trigger trigger
      * @param p_literal plan literal
@@ -128,7 +133,7 @@ public final class CAgentSpeak
      */
     @Nonnull
     @SuppressWarnings( "unchecked" )
-    public static Stream<IPlan> plan( @Nonnull final ParseTreeVisitor<?> p_visitor,
+    public static Stream<IPlan> plan( @Nonnull final ParseTreeVisitor<?> p_visitor, @Nonnull final COptimizer p_optimizer,
                                       @Nullable final List<TerminalNode> p_annotation, @Nonnull final RuleContext p_trigger,
                                       @Nonnull final RuleContext p_literal, @Nonnull final List<? extends RuleContext> p_body
     )
@@ -139,9 +144,15 @@ public final class CAgentSpeak
         );
 
         final IAnnotation<?>[] l_annotation = annotation( p_annotation );
+        final Map<IPath, Object> l_constant = COptimizer.constants( l_annotation, l_trigger.literal() );
         return p_body.stream()
                      .map( i -> (Pair<IExecution, IExecution[]>) p_visitor.visit( i ) )
-                     .map( i -> new CPlan( l_annotation, l_trigger, i.getLeft(), i.getRight() ) );
+                     .map( i -> new CPlan(
+                         l_annotation, l_trigger,
+                         p_optimizer.condition( i.getLeft(), l_constant ),
+                         p_optimizer.body( i.getRight(), l_constant )
+                     ) )
+                     .map( p_optimizer::dump );
     }
 
     /**
@@ -180,13 +191,14 @@ public final class CAgentSpeak
      * build a rule
      *
      * @param p_visitor visitor
+     * @param p_optimizer optimizer
      * @param p_literal literal
      * @param p_body execution body
      * @return rule stream
      */
     @Nonnull
     @SuppressWarnings( "unchecked" )
-    public static Stream<IRule> rule( @Nonnull final ParseTreeVisitor<?> p_visitor,
+    public static Stream<IRule> rule( @Nonnull final ParseTreeVisitor<?> p_visitor, @Nonnull final COptimizer p_optimizer,
                                       @Nullable final RuleContext p_literal, @Nullable final List<? extends RuleContext> p_body
     )
     {
@@ -196,7 +208,8 @@ public final class CAgentSpeak
         final ILiteral l_literal = (ILiteral) p_visitor.visit( p_literal );
         return p_body.stream()
                      .map( i -> ( (Stream<IExecution>) p_visitor.visit( i ) ).toArray( IExecution[]::new ) )
-                     .map( i -> new CRule( l_literal, i ) );
+                     .map( i -> new CRule( l_literal, p_optimizer.body( i, Collections.emptyMap() ) ) )
+                     .map( p_optimizer::dump );
     }
 
 
@@ -472,10 +485,12 @@ public final class CAgentSpeak
                                              @Nonnull final RuleContext p_expression, @Nonnull final RuleContext p_true, @Nonnull final RuleContext p_false
     )
     {
-        return new CTernaryOperation(
-            (IExpression) p_visitor.visit( p_expression ),
-            (IExecution) p_visitor.visit( p_true ),
-            (IExecution) p_visitor.visit( p_false )
+        return CExpressionCompiler.compile(
+            new CTernaryOperation(
+                (IExpression) p_visitor.visit( p_expression ),
+                (IExecution) p_visitor.visit( p_true ),
+                (IExecution) p_visitor.visit( p_false )
+            )
         );
     }
 
@@ -657,7 +672,9 @@ public final class CAgentSpeak
                                                 @Nullable final RuleContext p_lhs, @Nullable final RuleContext p_rhs )
     {
         return Objects.nonNull( p_binaryoperator ) && Objects.nonNull( p_lhs ) && Objects.nonNull( p_rhs )
-               ? new CBinaryExpression( EBinaryOperator.of( p_binaryoperator.getText() ), (IExecution) p_visitor.visit( p_lhs ), (IExecution) p_visitor.visit( p_rhs ) )
+               ? CExpressionCompiler.compile(
+                   new CBinaryExpression( EBinaryOperator.of( p_binaryoperator.getText() ), (IExecution) p_visitor.visit( p_lhs ), (IExecution) p_visitor.visit( p_rhs ) )
+               )
                : null;
     }
 
@@ -687,7 +704,7 @@ public final class CAgentSpeak
                                                @Nullable final TerminalNode p_unaryoperator, @Nullable final RuleContext p_expression )
     {
         return Objects.nonNull( p_unaryoperator ) && Objects.nonNull( p_expression )
-               ? new CUnaryExpression( EUnaryOperator.of( p_unaryoperator.getText() ), (IExecution) p_visitor.visit( p_expression ) )
+               ? CExpressionCompiler.compile( new CUnaryExpression( EUnaryOperator.of( p_unaryoperator.getText() ), (IExecution) p_visitor.visit( p_expression ) ) )
                : null;
     }
 
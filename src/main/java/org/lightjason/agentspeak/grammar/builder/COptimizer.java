@@ -0,0 +1,415 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.grammar.builder;
+
+import org.lightjason.agentspeak.agent.IAgent;
+import org.lightjason.agentspeak.common.CCommon;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.ILiteral;
+import org.lightjason.agentspeak.language.execution.IExecution;
+import org.lightjason.agentspeak.language.execution.assignment.CSingleAssignment;
+import org.lightjason.agentspeak.language.execution.base.CTernaryOperation;
+import org.lightjason.agentspeak.language.execution.expression.CBinaryExpression;
+import org.lightjason.agentspeak.language.execution.expression.CCompiledExpression;
+import org.lightjason.agentspeak.language.execution.expression.CExpressionCompiler;
+import org.lightjason.agentspeak.language.execution.expression.CUnaryExpression;
+import org.lightjason.agentspeak.language.execution.expression.EBinaryOperator;
+import org.lightjason.agentspeak.language.execution.expression.IExpression;
+import org.lightjason.agentspeak.language.execution.instantiable.IInstantiable;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.annotation.EAnnotation;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.annotation.IAnnotation;
+import org.lightjason.agentspeak.language.execution.passing.CPassRaw;
+import org.lightjason.agentspeak.language.execution.passing.CPassVariable;
+import org.lightjason.agentspeak.language.variable.IVariable;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+/**
+ * optimizer of the parsed structure, runs between parsing and
+ * plan / rule construction, folds constant expressions, propagates
+ * constant annotation values, removes dead branches of ternary
+ * operations and simplifies always-true plan conditions
+ *
+ * @note the optimizer works only on expression structures, so the return
+ * value is equal to the generic execution, but a folded expression emits no
+ * fuzzy values, where the generic expression emits the values of its operands,
+ * so expressions are folded only within plan conditions, assignments, ternary
+ * conditions and expressions, which defuzzify the values on their own and do
+ * not pass them to the body result, the defuzzification must handle an empty
+ * input like successful values, the options are passed to the parser, so each
+ * parser can use its own optimizer
+ * @warning variables of the variable builder are not known on parsing and
+ * take precedence over constant annotation values on execution, so constant
+ * annotations must not use the variable names of the variable builder
+ */
+public final class COptimizer
+{
+    /**
+     * enabled optimizer without dump
+     */
+    public static final COptimizer DEFAULT = new COptimizer( true, false );
+    /**
+     * disabled optimizer
+     */
+    public static final COptimizer DISABLED = new COptimizer( false, false );
+    /**
+     * logger
+     */
+    private static final Logger LOGGER = CCommon.logger( COptimizer.class );
+    /**
+     * optimizer is enabled
+     */
+    private final boolean m_enabled;
+    /**
+     * dump optimized structures
+     */
+    private final boolean m_dump;
+
+    /**
+     * ctor
+     *
+     * @param p_enabled enable flag
+     * @param p_dump dump flag
+     */
+    private COptimizer( final boolean p_enabled, final boolean p_dump )
+    {
+        m_enabled = p_enabled;
+        m_dump = p_dump;
+    }
+
+    /**
+     * factory
+     *
+     * @param p_enabled enable flag
+     * @param p_dump dump flag, the dump is written to the logger with info level
+     * @return optimizer
+     */
+    @Nonnull
+    public static COptimizer of( final boolean p_enabled, final boolean p_dump )
+    {
+        return new COptimizer( p_enabled, p_dump );
+    }
+
+    /**
+     * returns if the optimizer is enabled
+     *
+     * @return enable flag
+     */
+    public boolean enabled()
+    {
+        return m_enabled;
+    }
+
+    /**
+     * returns if the dump is enabled
+     *
+     * @return dump flag
+     */
+    public boolean dumped()
+    {
+        return m_dump;
+    }
+
+    /**
+     * dumps an optimized instantiable if the dump is enabled
+     *
+     * @param p_instantiable plan or rule
+     * @tparam T instantiable type
+     * @return input instantiable
+     */
+    @Nonnull
+    public <T extends IInstantiable> T dump( @Nonnull final T p_instantiable )
+    {
+        if ( m_dump && LOGGER.isLoggable( Level.INFO ) )
+            LOGGER.info( p_instantiable.toString() );
+        return p_instantiable;
+    }
+
+    /**
+     * returns the constant values of the annotations
+     *
+     * @param p_annotation annotations
+     * @param p_bound literals, which variables are bound on instantiation e.g. the trigger literal
+     * @return map with variable path and constant value
+     * @note bound variables take precedence over constant annotation values on
+     * execution, so these variables are not propagated
+     */
+    @Nonnull
+    public static Map<IPath, Object> constants( @Nonnull final IAnnotation<?>[] p_annotation, @Nonnull final ILiteral... p_bound )
+    {
+        final Map<IPath, Object> l_constant = new HashMap<>();
+        Arrays.stream( p_annotation )
+              .filter( i -> EAnnotation.CONSTANT.equals( i.id() ) )
+              .flatMap( IAnnotation::variables )
+              .forEach( i -> l_constant.put( i.fqnfunctor(), i.raw() ) );
+
+        Arrays.stream( p_bound )
+              .flatMap( i -> org.lightjason.agentspeak.language.CCommon.flattenrecursive( i.orderedvalues() ) )
+              .filter( i -> i instanceof IVariable<?> )
+              .forEach( i -> l_constant.remove( ( (IVariable<?>) i ).fqnfunctor() ) );
+
+        return Collections.unmodifiableMap( l_constant );
+    }
+
+    /**
+     * optimizes a plan condition
+     *
+     * @param p_condition condition
+     * @param p_constant constant values
+     * @return optimized condition, always-true conditions are replaced by the empty expression
+     */
+    @Nonnull
+    public IExecution condition( @Nonnull final IExecution p_condition, @Nonnull final Map<IPath, Object> p_constant )
+    {
+        if ( !m_enabled )
+            return p_condition;
+
+        final IExecution l_condition = execution( p_condition, p_constant );
+        return Boolean.TRUE.equals( raw( l_condition ) )
+               ? IExpression.EMPTY
+               : l_condition;
+    }
+
+    /**
+     * optimizes a plan or rule body
+     *
+     * @param p_body body
+     * @param p_constant constant values
+     * @return optimized body
+     */
+    @Nonnull
+    public IExecution[] body( @Nonnull final IExecution[] p_body, @Nonnull final Map<IPath, Object> p_constant )
+    {
+        return m_enabled
+               ? Arrays.stream( p_body ).map( i -> statement( i, p_constant ) ).toArray( IExecution[]::new )
+               : p_body;
+    }
+
+    /**
+     * optimizes a body statement
+     *
+     * @param p_execution execution
+     * @param p_constant constant values
+     * @return optimized execution
+     *
+     * @note body statements are not folded to a raw value, because a
+     * statement is executed with an unmodifiable return list
+     */
+    @Nonnull
+    private static IExecution statement( @Nonnull final IExecution p_execution, @Nonnull final Map<IPath, Object> p_constant )
+    {
+        if ( p_execution instanceof CSingleAssignment )
+        {
+            final CSingleAssignment l_assignment = (CSingleAssignment) p_execution;
+            final IExecution l_rhs = execution( l_assignment.rhs(), p_constant );
+            return l_rhs == l_assignment.rhs()
+                   ? p_execution
+                   : new CSingleAssignment( l_assignment.operator(), l_assignment.lhs(), l_rhs );
+        }
+
+        final IExecution l_execution = unwrap( p_execution );
+        if ( !( l_execution instanceof CTernaryOperation ) )
+            return p_execution;
+
+        final CTernaryOperation l_ternary = (CTernaryOperation) l_execution;
+        final IExecution l_condition = execution( l_ternary.condition(), p_constant );
+        final Object l_value = raw( l_condition );
+        if ( l_value instanceof Boolean )
+            return statement( (Boolean) l_value ? l_ternary.truebranch() : l_ternary.falsebranch(), p_constant );
+
+        final IExecution l_true = statement( l_ternary.truebranch(), p_constant );
+        final IExecution l_false = statement( l_ternary.falsebranch(), p_constant );
+        return l_condition == l_ternary.condition() && l_true == l_ternary.truebranch() && l_false == l_ternary.falsebranch()
+               ? p_execution
+               : ternary( l_ternary, l_condition, l_true, l_false );
+    }
+
+    /**
+     * optimizes an expression execution
+     *
+     * @param p_execution execution
+     * @param p_constant constant values
+     * @return optimized execution or the input execution if nothing can be optimized
+     */
+    @Nonnull
+    public static IExecution execution( @Nonnull final IExecution p_execution, @Nonnull final Map<IPath, Object> p_constant )
+    {
+        final IExecution l_execution = unwrap( p_execution );
+
+        if ( l_execution instanceof CPassVariable )
+        {
+            final IVariable<?> l_variable = ( (CPassVariable) l_execution ).value();
+            return p_constant.containsKey( l_variable.fqnfunctor() )
+                   ? new CPassRaw<>( p_constant.get( l_variable.fqnfunctor() ) )
+                   : p_execution;
+        }
+
+        if ( l_execution instanceof CUnaryExpression )
+            return unary( p_execution, (CUnaryExpression) l_execution, p_constant );
+
+        if ( l_execution instanceof CBinaryExpression )
+            return binary( p_execution, (CBinaryExpression) l_execution, p_constant );
+
+        if ( l_execution instanceof CTernaryOperation )
+        {
+            final CTernaryOperation l_ternary = (CTernaryOperation) l_execution;
+            final IExecution l_condition = execution( l_ternary.condition(), p_constant );
+            final Object l_value = raw( l_condition );
+            if ( l_value instanceof Boolean )
+                return execution( (Boolean) l_value ? l_ternary.truebranch() : l_ternary.falsebranch(), p_constant );
+
+            final IExecution l_true = execution( l_ternary.truebranch(), p_constant );
+            final IExecution l_false = execution( l_ternary.falsebranch(), p_constant );
+            return l_condition == l_ternary.condition() && l_true == l_ternary.truebranch() && l_false == l_ternary.falsebranch()
+                   ? p_execution
+                   : ternary( l_ternary, l_condition, l_true, l_false );
+        }
+
+        return p_execution;
+    }
+
+    /**
+     * optimizes an unary expression
+     *
+     * @param p_execution input execution
+     * @param p_expression unary expression
+     * @param p_constant constant values
+     * @return optimized execution
+     */
+    @Nonnull
+    private static IExecution unary( @Nonnull final IExecution p_execution, @Nonnull final CUnaryExpression p_expression,
+                                     @Nonnull final Map<IPath, Object> p_constant )
+    {
+        final IExecution l_element = execution( p_expression.element(), p_constant );
+        if ( l_element instanceof CPassRaw<?> )
+            try
+            {
+                return new CPassRaw<>( p_expression.operator().apply( ( (CPassRaw<?>) l_element ).value(), IAgent.EMPTY ).getLeft() );
+            }
+            catch ( final RuntimeException l_exception )
+            {
+                // the error is thrown on execution
+            }
+
+        return l_element == p_expression.element()
+               ? p_execution
+               : CExpressionCompiler.compile( new CUnaryExpression( p_expression.operator(), l_element ) );
+    }
+
+    /**
+     * optimizes a binary expression
+     *
+     * @param p_execution input execution
+     * @param p_expression binary expression
+     * @param p_constant constant values
+     * @return optimized execution
+     */
+    @Nonnull
+    private static IExecution binary( @Nonnull final IExecution p_execution, @Nonnull final CBinaryExpression p_expression,
+                                      @Nonnull final Map<IPath, Object> p_constant )
+    {
+        final IExecution l_lhs = execution( p_expression.lhs(), p_constant );
+        final Object l_lhsvalue = raw( l_lhs );
+
+        // short-circuit evaluation does not execute the right-hand-side
+        if ( EBinaryOperator.AND.equals( p_expression.operator() ) && Boolean.FALSE.equals( l_lhsvalue ) )
+            return new CPassRaw<>( false );
+        if ( EBinaryOperator.OR.equals( p_expression.operator() ) && Boolean.TRUE.equals( l_lhsvalue ) )
+            return new CPassRaw<>( true );
+
+        final IExecution l_rhs = execution( p_expression.rhs(), p_constant );
+        if ( l_lhs instanceof CPassRaw<?> && l_rhs instanceof CPassRaw<?> )
+            try
+            {
+                return new CPassRaw<>( p_expression.operator().apply( ( (CPassRaw<?>) l_lhs ).value(), ( (CPassRaw<?>) l_rhs ).value() ) );
+            }
+            catch ( final RuntimeException l_exception )
+            {
+                // the error is thrown on execution
+            }
+
+        return l_lhs == p_expression.lhs() && l_rhs == p_expression.rhs()
+               ? p_execution
+               : CExpressionCompiler.compile( new CBinaryExpression( p_expression.operator(), l_lhs, l_rhs ) );
+    }
+
+    /**
+     * rebuilds a ternary operation
+     *
+     * @param p_ternary input ternary operation
+     * @param p_condition optimized condition
+     * @param p_true optimized true execution
+     * @param p_false optimized false execution
+     * @return ternary operation
+     */
+    @Nonnull
+    private static IExecution ternary( @Nonnull final CTernaryOperation p_ternary, @Nonnull final IExecution p_condition,
+                                       @Nonnull final IExecution p_true, @Nonnull final IExecution p_false )
+    {
+        return CExpressionCompiler.compile(
+            new CTernaryOperation(
+                p_condition instanceof IExpression ? (IExpression) p_condition : p_ternary.condition(),
+                p_true,
+                p_false
+            )
+        );
+    }
+
+    /**
+     * returns the generic execution of a compiled expression
+     *
+     * @param p_execution execution
+     * @return generic execution
+     */
+    @Nonnull
+    private static IExecution unwrap( @Nonnull final IExecution p_execution )
+    {
+        return p_execution instanceof CCompiledExpression
+               ? ( (CCompiledExpression) p_execution ).expression()
+               : p_execution;
+    }
+
+    /**
+     * returns the raw value of a folded execution
+     *
+     * @param p_execution execution
+     * @return raw value or null
+     */
+    @Nullable
+    private static Object raw( @Nonnull final IExecution p_execution )
+    {
+        return p_execution instanceof CPassRaw<?>
+               ? ( (CPassRaw<?>) p_execution ).value().raw()
+               : null;
+    }
+
+}
@@ -44,6 +44,7 @@ import org.lightjason.agentspeak.language.execution.instantiable.IInstantiable;
 import org.lightjason.agentspeak.language.execution.instantiable.plan.statistic.IPlanStatistic;
 import org.lightjason.agentspeak.language.execution.instantiable.plan.trigger.ITrigger;
 import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+import org.lightjason.agentspeak.language.fuzzy.defuzzyfication.IDefuzzification;
 import org.lightjason.agentspeak.language.unifier.IUnifier;
 import org.lightjason.agentspeak.language.variable.IVariable;
 
@@ -269,6 +270,66 @@ public final class CCommon
         );
     }
 
+    /**
+     * instantiate the condition context of a plan, which contains only the trigger,
+     * statistic, variable-builder and condition variables, so a failing condition
+     * does not instantiate the variables of the plan body
+     *
+     * @param p_planstatistic plan statistic for instatiation
+     * @param p_agent agent
+     * @param p_variables instantiated variables
+     * @return pair of planstatistic and condition context
+     *
+     * @note the condition context must be completed before the plan is executed
+     */
+    @Nonnull
+    public static Pair<IPlanStatistic, IContext> instantiateplancondition( @Nonnull final IPlanStatistic p_planstatistic,
+                                                                           @Nonnull final IAgent<?> p_agent, @Nonnull final Set<IVariable<?>> p_variables
+    )
+    {
+        return new ImmutablePair<>(
+            p_planstatistic,
+            new CContext(
+                p_agent,
+                p_planstatistic.plan(),
+                Collections.unmodifiableSet(
+                    CCommon.streamconcat(
+                        p_variables.stream(),
+                        p_planstatistic.variables(),
+                        p_agent.variablebuilder().apply( p_agent, p_planstatistic.plan() ),
+                        p_planstatistic.plan().conditionvariables().map( i -> i.shallowcopy() )
+                    ).collect( Collectors.toSet() )
+                )
+            )
+        );
+    }
+
+    /**
+     * completes a condition context with the variables of the plan body,
+     * the variables of the condition context are kept, so values which
+     * are bound by the condition can be used within the body
+     *
+     * @param p_condition pair of planstatistic and condition context
+     * @return pair of planstatistic and context
+     */
+    @Nonnull
+    public static Pair<IPlanStatistic, IContext> instantiateplan( @Nonnull final Pair<IPlanStatistic, IContext> p_condition )
+    {
+        return new ImmutablePair<>(
+            p_condition.getLeft(),
+            new CContext(
+                p_condition.getRight().agent(),
+                p_condition.getLeft().plan(),
+                Collections.unmodifiableSet(
+                    Stream.concat(
+                        p_condition.getRight().instancevariables().values().stream(),
+                        p_condition.getLeft().plan().variables().map( i -> i.shallowcopy() )
+                    ).collect( Collectors.toSet() )
+                )
+            )
+        );
+    }
+
     // --- execution structure ---------------------------------------------------------------------------------------------------------------------------------
 
     /**
@@ -303,6 +364,44 @@ public final class CCommon
             .orElse( new ImmutablePair<>( l_result, l_success.get() ) );
     }
 
+    /**
+     * sequential execute with a loop and incremental defuzzification
+     *
+     * @param p_parallel parallel execution flag
+     * @param p_context execution context
+     * @param p_argument arguments
+     * @param p_return return values
+     * @param p_execution execution elements
+     * @return list with execution results and successful execution
+     *
+     * @note loop is stopped iif an execution is failed
+     */
+    @Nonnull
+    public static Pair<List<IFuzzyValue<?>>, Boolean> executeloop( final boolean p_parallel, @Nonnull final IContext p_context,
+                                                                   @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return,
+                                                                   @Nonnull final IExecution[] p_execution )
+    {
+        final IDefuzzification l_defuzzification = p_context.agent().fuzzy().defuzzification();
+        final IDefuzzification.IAccumulator l_accumulator = l_defuzzification.accumulator();
+        final List<IFuzzyValue<?>> l_result = new ArrayList<>();
+
+        boolean l_success = false;
+        for ( final IExecution i : p_execution )
+        {
+            i.execute( p_parallel, p_context, p_argument, p_return ).forEach( j ->
+            {
+                l_result.add( j );
+                l_accumulator.add( j );
+            } );
+
+            l_success = l_defuzzification.success( l_accumulator.get() );
+            if ( !l_success )
+                break;
+        }
+
+        return new ImmutablePair<>( l_result, l_success );
+    }
+
     /**
      * sequential execute
      *
@@ -0,0 +1,461 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.language;
+
+import com.google.common.io.ByteArrayDataInput;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import org.lightjason.agentspeak.common.CCommon;
+import org.lightjason.agentspeak.common.CPath;
+import org.lightjason.agentspeak.error.CIllegalStateException;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+
+/**
+ * compact binary codec of literals, raw values of primitive
+ * types, strings and literals are encoded directly, all other
+ * terms are passed to a reference codec
+ */
+public final class CLiteralCodec
+{
+    /**
+     * codec which stores references with the java serialization
+     */
+    public static final CLiteralCodec SERIALIZATION = new CLiteralCodec( new IReference()
+    {
+        @Override
+        public void write( @Nonnull final DataOutput p_output, @Nonnull final ITerm p_term ) throws IOException
+        {
+            final ByteArrayOutputStream l_bytes = new ByteArrayOutputStream();
+            try ( ObjectOutputStream l_stream = new ObjectOutputStream( l_bytes ) )
+            {
+                l_stream.writeObject( p_term );
+            }
+
+            writevarint( p_output, l_bytes.size() );
+            p_output.write( l_bytes.toByteArray() );
+        }
+
+        @Nonnull
+        @Override
+        public ITerm read( @Nonnull final DataInput p_input ) throws IOException
+        {
+            final byte[] l_bytes = new byte[readvarint( p_input )];
+            p_input.readFully( l_bytes );
+
+            try ( ObjectInputStream l_stream = new ObjectInputStream( new ByteArrayInputStream( l_bytes ) ) )
+            {
+                return (ITerm) l_stream.readObject();
+            }
+            catch ( final ClassNotFoundException l_exception )
+            {
+                throw new IOException( l_exception );
+            }
+        }
+    } );
+    /**
+     * encoding tags
+     */
+    private static final ETag[] TAGS = ETag.values();
+    /**
+     * reference codec
+     */
+    private final IReference m_reference;
+
+    /**
+     * ctor
+     *
+     * @param p_reference reference codec
+     */
+    public CLiteralCodec( @Nonnull final IReference p_reference )
+    {
+        m_reference = p_reference;
+    }
+
+    /**
+     * encodes a literal
+     *
+     * @param p_literal literal
+     * @return byte data
+     */
+    @Nonnull
+    public byte[] encode( @Nonnull final ILiteral p_literal )
+    {
+        final ByteArrayDataOutput l_output = ByteStreams.newDataOutput();
+        try
+        {
+            this.write( l_output, p_literal );
+        }
+        catch ( final IOException l_exception )
+        {
+            throw new CIllegalStateException( CCommon.languagestring( this, "encode", p_literal, l_exception.getMessage() ), l_exception );
+        }
+        return l_output.toByteArray();
+    }
+
+    /**
+     * decodes a literal
+     *
+     * @param p_data byte data
+     * @return literal
+     */
+    @Nonnull
+    public ILiteral decode( @Nonnull final byte[] p_data )
+    {
+        final ByteArrayDataInput l_input = ByteStreams.newDataInput( p_data );
+        try
+        {
+            return this.read( l_input );
+        }
+        catch ( final IOException l_exception )
+        {
+            throw new CIllegalStateException( CCommon.languagestring( this, "decode", l_exception.getMessage() ), l_exception );
+        }
+    }
+
+    /**
+     * writes a literal
+     *
+     * @param p_output output
+     * @param p_literal literal
+     * @throws IOException on encoding error
+     */
+    public void write( @Nonnull final DataOutput p_output, @Nonnull final ILiteral p_literal ) throws IOException
+    {
+        p_output.writeByte( ( p_literal.hasAt() ? 1 : 0 ) | ( p_literal.negated() ? 2 : 0 ) );
+
+        final List<String> l_path = p_literal.fqnfunctor().stream().collect( Collectors.toList() );
+        writevarint( p_output, l_path.size() );
+        for ( final String i : l_path )
+            writestring( p_output, i );
+
+        final List<ITerm> l_values = p_literal.orderedvalues().collect( Collectors.toList() );
+        writevarint( p_output, l_values.size() );
+        for ( final ITerm i : l_values )
+            this.writeterm( p_output, i );
+    }
+
+    /**
+     * reads a literal
+     *
+     * @param p_input input
+     * @return literal
+     * @throws IOException on decoding error
+     */
+    @Nonnull
+    public ILiteral read( @Nonnull final DataInput p_input ) throws IOException
+    {
+        final byte l_flags = p_input.readByte();
+
+        final String[] l_path = new String[readvarint( p_input )];
+        for ( int i = 0; i < l_path.length; i++ )
+            l_path[i] = readstring( p_input );
+
+        final ITerm[] l_values = new ITerm[readvarint( p_input )];
+        for ( int i = 0; i < l_values.length; i++ )
+            l_values[i] = this.readterm( p_input );
+
+        return CLiteral.of( ( l_flags & 1 ) != 0, ( l_flags & 2 ) != 0, new CPath( Arrays.stream( l_path ) ), l_values );
+    }
+
+    /**
+     * writes a term
+     *
+     * @param p_output output
+     * @param p_term term
+     * @throws IOException on encoding error
+     */
+    public void writeterm( @Nonnull final DataOutput p_output, @Nonnull final ITerm p_term ) throws IOException
+    {
+        if ( p_term instanceof CLiteral )
+        {
+            p_output.writeByte( ETag.LITERAL.ordinal() );
+            this.write( p_output, (ILiteral) p_term );
+            return;
+        }
+
+        final Object l_value = p_term instanceof CRawTerm<?> ? p_term.raw() : p_term;
+        final ETag l_tag = ETag.of( l_value );
+        p_output.writeByte( l_tag.ordinal() );
+
+        switch ( l_tag )
+        {
+            case NULL:
+            case TRUE:
+            case FALSE:
+                return;
+
+            case BYTE:
+                p_output.writeByte( (Byte) l_value );
+                return;
+
+            case SHORT:
+                p_output.writeShort( (Short) l_value );
+                return;
+
+            case INTEGER:
+                p_output.writeInt( (Integer) l_value );
+                return;
+
+            case LONG:
+                p_output.writeLong( (Long) l_value );
+                return;
+
+            case FLOAT:
+                p_output.writeFloat( (Float) l_value );
+                return;
+
+            case DOUBLE:
+                p_output.writeDouble( (Double) l_value );
+                return;
+
+            case STRING:
+                writestring( p_output, (String) l_value );
+                return;
+
+            case REFERENCE:
+                m_reference.write( p_output, p_term );
+                return;
+
+            default:
+                throw new CIllegalStateException( CCommon.languagestring( this, "unknowntag", l_tag ) );
+        }
+    }
+
+    /**
+     * reads a term
+     *
+     * @param p_input input
+     * @return term
+     * @throws IOException on decoding error
+     */
+    @Nonnull
+    public ITerm readterm( @Nonnull final DataInput p_input ) throws IOException
+    {
+        final int l_index = p_input.readByte();
+        if ( l_index < 0 || l_index >= TAGS.length )
+            throw new IOException( CCommon.languagestring( this, "unknowntag", l_index ) );
+
+        switch ( TAGS[l_index] )
+        {
+            case LITERAL:
+                return this.read( p_input );
+
+            case NULL:
+                return CRawTerm.of( null );
+
+            case TRUE:
+                return CRawTerm.of( true );
+
+            case FALSE:
+                return CRawTerm.of( false );
+
+            case BYTE:
+                return CRawTerm.of( p_input.readByte() );
+
+            case SHORT:
+                return CRawTerm.of( p_input.readShort() );
+
+            case INTEGER:
+                return CRawTerm.of( p_input.readInt() );
+
+            case LONG:
+                return CRawTerm.of( p_input.readLong() );
+
+            case FLOAT:
+                return CRawTerm.of( p_input.readFloat() );
+
+            case DOUBLE:
+                return CRawTerm.of( p_input.readDouble() );
+
+            case STRING:
+                return CRawTerm.of( readstring( p_input ) );
+
+            case REFERENCE:
+                return m_reference.read( p_input );
+
+            default:
+                throw new IOException( CCommon.languagestring( this, "unknowntag", TAGS[l_index] ) );
+        }
+    }
+
+
+    // --- primitive encoding ----------------------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * writes a variable-length unsigned integer
+     *
+     * @param p_output output
+     * @param p_value value
+     * @throws IOException on writing error
+     */
+    public static void writevarint( @Nonnull final DataOutput p_output, final int p_value ) throws IOException
+    {
+        int l_value = p_value;
+        while ( ( l_value & ~0x7F ) != 0 )
+        {
+            p_output.writeByte( ( l_value & 0x7F ) | 0x80 );
+            l_value >>>= 7;
+        }
+        p_output.writeByte( l_value );
+    }
+
+    /**
+     * reads a variable-length unsigned integer
+     *
+     * @param p_input input
+     * @return value
+     * @throws IOException on reading error
+     */
+    public static int readvarint( @Nonnull final DataInput p_input ) throws IOException
+    {
+        int l_value = 0;
+        for ( int l_shift = 0; l_shift < Integer.SIZE; l_shift += 7 )
+        {
+            final byte l_byte = p_input.readByte();
+            l_value |= ( l_byte & 0x7F ) << l_shift;
+            if ( ( l_byte & 0x80 ) == 0 )
+                return l_value;
+        }
+        throw new IOException( CCommon.languagestring( CLiteralCodec.class, "varint" ) );
+    }
+
+    /**
+     * writes an utf-8 string
+     *
+     * @param p_output output
+     * @param p_value string
+     * @throws IOException on writing error
+     */
+    public static void writestring( @Nonnull final DataOutput p_output, @Nonnull final String p_value ) throws IOException
+    {
+        final byte[] l_bytes = p_value.getBytes( StandardCharsets.UTF_8 );
+        writevarint( p_output, l_bytes.length );
+        p_output.write( l_bytes );
+    }
+
+    /**
+     * reads an utf-8 string
+     *
+     * @param p_input input
+     * @return string
+     * @throws IOException on reading error
+     */
+    @Nonnull
+    public static String readstring( @Nonnull final DataInput p_input ) throws IOException
+    {
+        final byte[] l_bytes = new byte[readvarint( p_input )];
+        p_input.readFully( l_bytes );
+        return new String( l_bytes, StandardCharsets.UTF_8 );
+    }
+
+
+    /**
+     * codec of terms, which cannot be encoded directly
+     */
+    public interface IReference
+    {
+        /**
+         * writes a term
+         *
+         * @param p_output output
+         * @param p_term term
+         * @throws IOException on encoding error
+         */
+        void write( @Nonnull final DataOutput p_output, @Nonnull final ITerm p_term ) throws IOException;
+
+        /**
+         * reads a term
+         *
+         * @param p_input input
+         * @return term
+         * @throws IOException on decoding error
+         */
+        @Nonnull
+        ITerm read( @Nonnull final DataInput p_input ) throws IOException;
+    }
+
+
+    /**
+     * encoding tag of a term
+     */
+    private enum ETag
+    {
+        LITERAL,
+        NULL,
+        TRUE,
+        FALSE,
+        BYTE,
+        SHORT,
+        INTEGER,
+        LONG,
+        FLOAT,
+        DOUBLE,
+        STRING,
+        REFERENCE;
+
+        /**
+         * returns the tag of a value
+         *
+         * @param p_value value
+         * @return tag
+         */
+        @Nonnull
+        public static ETag of( final Object p_value )
+        {
+            if ( Objects.isNull( p_value ) )
+                return NULL;
+            if ( p_value instanceof Boolean )
+                return (Boolean) p_value ? TRUE : FALSE;
+            if ( p_value instanceof Byte )
+                return BYTE;
+            if ( p_value instanceof Short )
+                return SHORT;
+            if ( p_value instanceof Integer )
+                return INTEGER;
+            if ( p_value instanceof Long )
+                return LONG;
+            if ( p_value instanceof Float )
+                return FLOAT;
+            if ( p_value instanceof Double )
+                return DOUBLE;
+            if ( p_value instanceof String )
+                return STRING;
+            return REFERENCE;
+        }
+    }
+}
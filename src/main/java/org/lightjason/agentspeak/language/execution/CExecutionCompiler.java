@@ -0,0 +1,239 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.language.execution;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.lightjason.agentspeak.error.CIllegalStateException;
+import org.lightjason.agentspeak.error.context.CExecutionIllegalStateException;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.expression.CExpressionCompiler;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+import org.lightjason.agentspeak.language.fuzzy.defuzzyfication.IDefuzzification;
+
+import javax.annotation.Nonnull;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+
+/**
+ * builds a straight-line method handle chain of an execution body,
+ * each element is bound to the execute method of its concrete class and
+ * expressions are passed to the expression compiler, the method handle
+ * chain is spun by the JVM into generated classes
+ *
+ * @note the chain devirtualizes the execute calls only, it does not compile
+ * the plan, so variables are resolved by the context and actions are called
+ * by their execute method
+ *
+ * @note the compiled body is cached by the identity of the execution array
+ */
+final class CExecutionCompiler
+{
+    /**
+     * lookup
+     */
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    /**
+     * execution method type
+     */
+    private static final MethodType EXECUTE = MethodType.methodType( Stream.class, boolean.class, IContext.class, List.class, List.class );
+    /**
+     * generic execution method
+     */
+    private static final MethodHandle GENERIC = find( IExecution.class );
+    /**
+     * step method (execution result, state) -> success
+     */
+    private static final MethodHandle STEP;
+    /**
+     * cache of compiled bodies
+     */
+    private static final LoadingCache<IExecution[], MethodHandle> CACHE = CacheBuilder.newBuilder()
+                                                                                      .weakKeys()
+                                                                                      .build( CacheLoader.from( CExecutionCompiler::compile ) );
+
+    static
+    {
+        try
+        {
+            STEP = LOOKUP.findStatic( CExecutionCompiler.class, "step", MethodType.methodType( boolean.class, Stream.class, CState.class ) );
+        }
+        catch ( final NoSuchMethodException | IllegalAccessException l_exception )
+        {
+            throw new CIllegalStateException( l_exception );
+        }
+    }
+
+    /**
+     * ctor
+     */
+    private CExecutionCompiler()
+    {
+    }
+
+    /**
+     * executes the elements with the compiled body
+     *
+     * @param p_parallel parallel execution flag
+     * @param p_context execution context
+     * @param p_argument arguments
+     * @param p_return return values
+     * @param p_execution execution elements
+     * @return list with execution results and successful execution
+     */
+    @Nonnull
+    static Pair<List<IFuzzyValue<?>>, Boolean> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                                        @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return,
+                                                        @Nonnull final IExecution[] p_execution )
+    {
+        // the chain returns true iif all elements are successful, an empty body is not successful
+        final CState l_state = new CState( p_context.agent().fuzzy().defuzzification() );
+        final boolean l_success;
+        try
+        {
+            l_success = p_execution.length > 0
+                        && (boolean) CACHE.getUnchecked( p_execution ).invokeExact( p_parallel, p_context, p_argument, p_return, l_state );
+        }
+        catch ( final Throwable l_throwable )
+        {
+            Throwables.throwIfUnchecked( l_throwable );
+            throw new CExecutionIllegalStateException( p_context, l_throwable );
+        }
+
+        return new ImmutablePair<>( l_state.m_result, l_success );
+    }
+
+    /**
+     * compiles the execution elements
+     *
+     * @param p_execution execution elements
+     * @return method handle (parallel, context, argument, return, state) -> success
+     */
+    @Nonnull
+    private static MethodHandle compile( @Nonnull final IExecution[] p_execution )
+    {
+        final Class<?>[] l_arguments = { boolean.class, IContext.class, List.class, List.class, CState.class };
+
+        // the chain is build from the last to the first element, a failed element stops the chain
+        MethodHandle l_chain = MethodHandles.dropArguments( MethodHandles.constant( boolean.class, true ), 0, l_arguments );
+        final MethodHandle l_fail = MethodHandles.dropArguments( MethodHandles.constant( boolean.class, false ), 0, l_arguments );
+
+        for ( int i = p_execution.length - 1; i > -1; i-- )
+        {
+            final IExecution l_execution = CExpressionCompiler.compile( p_execution[i] );
+            l_chain = MethodHandles.guardWithTest(
+                MethodHandles.collectArguments( STEP, 0, find( l_execution.getClass() ).bindTo( l_execution ) ),
+                l_chain,
+                l_fail
+            );
+        }
+
+        return l_chain;
+    }
+
+    /**
+     * finds the execution method of a class
+     *
+     * @param p_class class
+     * @return method handle (execution, parallel, context, argument, return) -> stream
+     */
+    @Nonnull
+    private static MethodHandle find( @Nonnull final Class<?> p_class )
+    {
+        if ( !Modifier.isPublic( p_class.getModifiers() ) )
+            return GENERIC;
+
+        try
+        {
+            return LOOKUP.findVirtual( p_class, "execute", EXECUTE ).asType( EXECUTE.insertParameterTypes( 0, IExecution.class ) );
+        }
+        catch ( final NoSuchMethodException | IllegalAccessException l_exception )
+        {
+            if ( IExecution.class.equals( p_class ) )
+                throw new CIllegalStateException( l_exception );
+            return GENERIC;
+        }
+    }
+
+    /**
+     * adds the execution result to the state
+     *
+     * @param p_result execution result
+     * @param p_state execution state
+     * @return success flag
+     */
+    @SuppressWarnings( "unchecked" )
+    private static boolean step( @Nonnull final Stream<?> p_result, @Nonnull final CState p_state )
+    {
+        ( (Stream<IFuzzyValue<?>>) p_result ).forEach( i ->
+        {
+            p_state.m_result.add( i );
+            p_state.m_accumulator.add( i );
+        } );
+
+        return p_state.m_defuzzification.success( p_state.m_accumulator.get() );
+    }
+
+
+    /**
+     * execution state
+     */
+    private static final class CState
+    {
+        /**
+         * defuzzification
+         */
+        private final IDefuzzification m_defuzzification;
+        /**
+         * defuzzification accumulator
+         */
+        private final IDefuzzification.IAccumulator m_accumulator;
+        /**
+         * execution results
+         */
+        private final List<IFuzzyValue<?>> m_result = new ArrayList<>();
+
+        /**
+         * ctor
+         *
+         * @param p_defuzzification defuzzification
+         */
+        CState( @Nonnull final IDefuzzification p_defuzzification )
+        {
+            m_defuzzification = p_defuzzification;
+            m_accumulator = p_defuzzification.accumulator();
+        }
+    }
+
+}
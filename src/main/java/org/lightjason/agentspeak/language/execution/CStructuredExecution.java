@@ -0,0 +1,308 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.language.execution;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+import org.lightjason.agentspeak.language.fuzzy.defuzzyfication.IDefuzzification;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+
+/**
+ * structured parallel execution, which runs all elements
+ * of a scope on a configurable executor and cancels the
+ * pending elements if the scope result cannot be successful anymore
+ *
+ * @note actions can check the cancellation of the
+ * running scope with the static cancelled method
+ * @note the calling thread executes the elements, which are
+ * not started by the executor, so nested scopes cannot dead-lock
+ * on a saturated executor
+ */
+public final class CStructuredExecution implements IParallelExecution
+{
+    /**
+     * scope of the current thread
+     */
+    private static final ThreadLocal<CScope> SCOPE = new ThreadLocal<>();
+    /**
+     * executor
+     */
+    private final Executor m_executor;
+
+    /**
+     * ctor
+     *
+     * @param p_executor executor
+     */
+    public CStructuredExecution( @Nonnull final Executor p_executor )
+    {
+        m_executor = p_executor;
+    }
+
+    /**
+     * returns if the scope of the current thread is cancelled
+     *
+     * @return cancellation flag
+     * @note long running actions can check the flag to stop early
+     */
+    public static boolean cancelled()
+    {
+        final CScope l_scope = SCOPE.get();
+        return Objects.nonNull( l_scope ) && l_scope.cancelled();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @note the pending elements are cancelled if the defuzzification of the
+     * finished results is not successful, even if all pending elements are successful
+     */
+    @Nonnull
+    @Override
+    public Pair<List<IFuzzyValue<?>>, Boolean> execute( @Nonnull final IContext p_context, @Nonnull final IExecution[] p_execution )
+    {
+        final IDefuzzification l_defuzzification = p_context.agent().fuzzy().defuzzification();
+        final IDefuzzification.IAccumulator l_accumulator = l_defuzzification.accumulator();
+        final List<List<IFuzzyValue<?>>> l_result = new ArrayList<>( Collections.nCopies( p_execution.length, Collections.emptyList() ) );
+        final List<IFuzzyValue<?>> l_success = p_context.agent().fuzzy().membership().success().collect( Collectors.toList() );
+        final AtomicInteger l_pending = new AtomicInteger( p_execution.length );
+        final CScope l_scope = new CScope( SCOPE.get() );
+
+        l_scope.run(
+            IntStream.range( 0, p_execution.length )
+                     .mapToObj( i -> (Runnable) () ->
+                     {
+                         final List<IFuzzyValue<?>> l_values = p_execution[i].execute(
+                             false, p_context, Collections.emptyList(), Collections.emptyList()
+                         ).collect( Collectors.toList() );
+
+                         synchronized ( l_accumulator )
+                         {
+                             l_result.set( i, l_values );
+                             l_values.forEach( l_accumulator::add );
+
+                             // the result cannot be successful, if it fails with all pending elements assumed as successful
+                             final IDefuzzification.IAccumulator l_optimistic = l_accumulator.copy();
+                             IntStream.range( 0, l_pending.decrementAndGet() ).forEach( j -> l_success.forEach( l_optimistic::add ) );
+                             if ( !l_defuzzification.success( l_optimistic.get() ) )
+                                 l_scope.cancel();
+                         }
+                     } )
+                     .collect( Collectors.toList() )
+        );
+
+        final List<IFuzzyValue<?>> l_values = l_result.stream().flatMap( List::stream ).collect( Collectors.toList() );
+        return new ImmutablePair<>(
+            l_values,
+            !l_scope.cancelled() && l_defuzzification.success( l_defuzzification.apply( l_values.stream() ) )
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @note the pending tasks are cancelled after the first failing task
+     */
+    @Override
+    public boolean allmatch( @Nonnull final Stream<BooleanSupplier> p_task )
+    {
+        final CScope l_scope = new CScope( SCOPE.get() );
+
+        l_scope.run(
+            p_task.map( i -> (Runnable) () ->
+            {
+                if ( !i.getAsBoolean() )
+                    l_scope.cancel();
+            } )
+                  .collect( Collectors.toList() )
+        );
+
+        return !l_scope.cancelled();
+    }
+
+
+    /**
+     * execution scope
+     */
+    private final class CScope
+    {
+        /**
+         * parent scope
+         */
+        private final CScope m_parent;
+        /**
+         * cancellation flag
+         */
+        private volatile boolean m_cancelled;
+        /**
+         * first error of a task
+         */
+        private final AtomicReference<Throwable> m_error = new AtomicReference<>();
+
+        /**
+         * ctor
+         *
+         * @param p_parent parent scope or null
+         */
+        CScope( @Nullable final CScope p_parent )
+        {
+            m_parent = p_parent;
+        }
+
+        /**
+         * cancels the scope
+         */
+        void cancel()
+        {
+            m_cancelled = true;
+        }
+
+        /**
+         * returns if the scope or a parent scope is cancelled
+         *
+         * @return cancellation flag
+         */
+        boolean cancelled()
+        {
+            return m_cancelled || Objects.nonNull( m_parent ) && m_parent.cancelled();
+        }
+
+        /**
+         * runs the tasks and waits until all tasks are finished
+         *
+         * @param p_task tasks
+         */
+        void run( @Nonnull final List<Runnable> p_task )
+        {
+            final CountDownLatch l_latch = new CountDownLatch( p_task.size() );
+            final List<CTask> l_task = p_task.stream().map( i -> new CTask( i, l_latch ) ).collect( Collectors.toList() );
+
+            l_task.forEach( i ->
+            {
+                try
+                {
+                    m_executor.execute( i );
+                }
+                catch ( final RejectedExecutionException l_exception )
+                {
+                    // task is executed by the calling thread
+                }
+            } );
+
+            // calling thread runs all tasks, which are not started yet
+            l_task.forEach( CTask::run );
+            Uninterruptibles.awaitUninterruptibly( l_latch );
+
+            final Throwable l_error = m_error.get();
+            if ( Objects.isNull( l_error ) )
+                return;
+
+            Throwables.throwIfUnchecked( l_error );
+            throw new UncheckedExecutionException( l_error );
+        }
+
+
+        /**
+         * task of the scope, which is
+         * executed at most once
+         */
+        private final class CTask implements Runnable
+        {
+            /**
+             * task
+             */
+            private final Runnable m_task;
+            /**
+             * latch of the scope
+             */
+            private final CountDownLatch m_latch;
+            /**
+             * started flag
+             */
+            private final AtomicBoolean m_started = new AtomicBoolean();
+
+            /**
+             * ctor
+             *
+             * @param p_task task
+             * @param p_latch latch of the scope
+             */
+            CTask( @Nonnull final Runnable p_task, @Nonnull final CountDownLatch p_latch )
+            {
+                m_task = p_task;
+                m_latch = p_latch;
+            }
+
+            @Override
+            public void run()
+            {
+                if ( !m_started.compareAndSet( false, true ) )
+                    return;
+
+                final CScope l_parent = SCOPE.get();
+                SCOPE.set( CScope.this );
+                try
+                {
+                    if ( !CScope.this.cancelled() )
+                        m_task.run();
+                }
+                catch ( final Throwable l_throwable )
+                {
+                    m_error.compareAndSet( null, l_throwable );
+                    CScope.this.cancel();
+                }
+                finally
+                {
+                    if ( Objects.isNull( l_parent ) )
+                        SCOPE.remove();
+                    else
+                        SCOPE.set( l_parent );
+                    m_latch.countDown();
+                }
+            }
+        }
+    }
+
+}
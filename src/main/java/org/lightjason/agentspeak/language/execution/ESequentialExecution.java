@@ -0,0 +1,224 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.language.execution;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.lightjason.agentspeak.error.context.CExecutionIllegalStateException;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.achievementtest.IAchievementGoal;
+import org.lightjason.agentspeak.language.execution.achievementtest.IAchievementRule;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.IPlan;
+import org.lightjason.agentspeak.language.execution.passing.CPassAction;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+import org.lightjason.agentspeak.language.variable.IVariable;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * strategies for the sequential execution of
+ * plan, rule and lambda bodies
+ */
+public enum ESequentialExecution
+{
+    /**
+     * stream based execution, which defuzzificates
+     * all results after each execution element
+     */
+    STREAM
+    {
+        @Nonnull
+        @Override
+        public Pair<List<IFuzzyValue<?>>, Boolean> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                                            @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return,
+                                                            @Nonnull final IExecution[] p_execution )
+        {
+            return CCommon.executesequential( p_parallel, p_context, p_argument, p_return, Arrays.stream( p_execution ) );
+        }
+    },
+    /**
+     * loop based execution, which defuzzificates
+     * the results incrementally
+     */
+    LOOP
+    {
+        @Nonnull
+        @Override
+        public Pair<List<IFuzzyValue<?>>, Boolean> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                                            @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return,
+                                                            @Nonnull final IExecution[] p_execution )
+        {
+            return CCommon.executeloop( p_parallel, p_context, p_argument, p_return, p_execution );
+        }
+    },
+    /**
+     * execution, which runs a straight-line method handle chain
+     * of the elements, each element is bound to the execute method
+     * of its concrete class
+     *
+     * @note the body is not compiled into code, variables are resolved by
+     * the context and actions are called by their execute method
+     */
+    COMPILED
+    {
+        @Nonnull
+        @Override
+        public Pair<List<IFuzzyValue<?>>, Boolean> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                                            @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return,
+                                                            @Nonnull final IExecution[] p_execution )
+        {
+            return CExecutionCompiler.execute( p_parallel, p_context, p_argument, p_return, p_execution );
+        }
+    },
+    /**
+     * differential execution, which runs the loop as reference on a context
+     * of a forked agent and the method handle chain on the original context
+     * and compares the results
+     *
+     * @note only the outermost body of a plan is compared, nested bodies of
+     * rules, lambdas and plans are executed with the strategy of the surrounding
+     * execution, so each body runs at most twice
+     * @note bodies, which contain actions, immediately executed goals or rule calls
+     * are executed by the method handle chain only, because they can run actions,
+     * belief, storage and goal changes of the reference execution are applied to
+     * the forked agent only, so the original agent is changed once
+     * @warning nested bodies, which are executed in parallel, run on other threads
+     * and are compared on their own, use it for testing only
+     */
+    DIFFERENTIAL
+    {
+        @Nonnull
+        @Override
+        public Pair<List<IFuzzyValue<?>>, Boolean> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                                            @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return,
+                                                            @Nonnull final IExecution[] p_execution )
+        {
+            final ESequentialExecution l_nested = NESTED.get();
+            if ( Objects.nonNull( l_nested ) )
+                return l_nested.execute( p_parallel, p_context, p_argument, p_return, p_execution );
+
+            if ( !( p_context.instance() instanceof IPlan )
+                 || Arrays.stream( p_execution ).flatMap( ESequentialExecution::flatten ).anyMatch( ESequentialExecution::external ) )
+                return COMPILED.execute( p_parallel, p_context, p_argument, p_return, p_execution );
+
+            final List<ITerm> l_return = new ArrayList<>( p_return );
+            final IContext l_reference = new CContext(
+                p_context.agent().fork(),
+                p_context.instance(),
+                p_context.instancevariables().values().stream().map( IVariable::shallowcopy )
+            );
+
+            final Pair<List<IFuzzyValue<?>>, Boolean> l_loop;
+            final Pair<List<IFuzzyValue<?>>, Boolean> l_compiled;
+            try
+            {
+                NESTED.set( LOOP );
+                l_loop = LOOP.execute( p_parallel, l_reference, new ArrayList<>( p_argument ), l_return, p_execution );
+                NESTED.set( COMPILED );
+                l_compiled = COMPILED.execute( p_parallel, p_context, p_argument, p_return, p_execution );
+            }
+            finally
+            {
+                NESTED.remove();
+            }
+
+            if ( !l_loop.equals( l_compiled ) || !raw( l_return ).equals( raw( p_return ) ) )
+                throw new CExecutionIllegalStateException(
+                    p_context,
+                    org.lightjason.agentspeak.common.CCommon.languagestring( ESequentialExecution.class, "differential", l_loop, l_compiled )
+                );
+
+            return l_compiled;
+        }
+    };
+
+    /**
+     * strategy of nested bodies within a differential execution of the current thread
+     */
+    private static final ThreadLocal<ESequentialExecution> NESTED = new ThreadLocal<>();
+
+    /**
+     * executes the elements sequentially
+     *
+     * @param p_parallel parallel execution flag
+     * @param p_context execution context
+     * @param p_argument arguments
+     * @param p_return return values
+     * @param p_execution execution elements
+     * @return list with execution results and successful execution
+     *
+     * @note execution is stopped iif an execution is failed
+     */
+    @Nonnull
+    public abstract Pair<List<IFuzzyValue<?>>, Boolean> execute( boolean p_parallel, @Nonnull IContext p_context,
+                                                                 @Nonnull List<ITerm> p_argument, @Nonnull List<ITerm> p_return,
+                                                                 @Nonnull IExecution[] p_execution );
+
+    /**
+     * flats an execution tree
+     *
+     * @param p_execution execution
+     * @return stream with the execution and all nested executions
+     */
+    @Nonnull
+    private static Stream<IExecution> flatten( @Nonnull final IExecution p_execution )
+    {
+        return Objects.isNull( p_execution )
+               ? Stream.empty()
+               : Stream.concat( Stream.of( p_execution ), p_execution.children().flatMap( ESequentialExecution::flatten ) );
+    }
+
+    /**
+     * checks if an execution can run actions
+     *
+     * @param p_execution execution
+     * @return flag, that the execution is an action, an immediately executed goal or a rule call
+     */
+    private static boolean external( @Nonnull final IExecution p_execution )
+    {
+        return p_execution instanceof CPassAction
+               || p_execution instanceof IAchievementRule<?>
+               || p_execution instanceof IAchievementGoal<?> && ( (IAchievementGoal<?>) p_execution ).immediately();
+    }
+
+    /**
+     * returns the raw values of terms
+     *
+     * @param p_terms terms
+     * @return raw values
+     */
+    @Nonnull
+    private static List<Object> raw( @Nonnull final List<ITerm> p_terms )
+    {
+        return p_terms.stream().map( ITerm::raw ).collect( Collectors.toList() );
+    }
+
+}
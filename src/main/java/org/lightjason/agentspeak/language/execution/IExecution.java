@@ -82,4 +82,16 @@ public interface IExecution extends Serializable
     @Nonnull
     Stream<IVariable<?>> variables();
 
+    /**
+     * returns a stream with the directly nested executions,
+     * which is used for structural analysis
+     *
+     * @return execution stream
+     */
+    @Nonnull
+    default Stream<IExecution> children()
+    {
+        return Stream.empty();
+    }
+
 }
@@ -0,0 +1,82 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.language.execution;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+
+/**
+ * strategy of the parallel execution of
+ * plan, rule and lambda bodies
+ */
+public interface IParallelExecution
+{
+    /**
+     * parallel stream execution, which runs
+     * all elements on the common pool
+     */
+    IParallelExecution STREAM = new IParallelExecution()
+    {
+        @Nonnull
+        @Override
+        public Pair<List<IFuzzyValue<?>>, Boolean> execute( @Nonnull final IContext p_context, @Nonnull final IExecution[] p_execution )
+        {
+            return CCommon.executeparallel( p_context, Arrays.stream( p_execution ) );
+        }
+
+        @Override
+        public boolean allmatch( @Nonnull final Stream<BooleanSupplier> p_task )
+        {
+            return p_task.parallel().allMatch( BooleanSupplier::getAsBoolean );
+        }
+    };
+
+
+    /**
+     * executes the elements in parallel
+     *
+     * @param p_context execution context
+     * @param p_execution execution elements
+     * @return list with execution results and successful execution
+     */
+    @Nonnull
+    Pair<List<IFuzzyValue<?>>, Boolean> execute( @Nonnull final IContext p_context, @Nonnull final IExecution[] p_execution );
+
+    /**
+     * executes the tasks in parallel and checks if all tasks are successful
+     *
+     * @param p_task task stream
+     * @return flag that all tasks are successful
+     */
+    boolean allmatch( @Nonnull final Stream<BooleanSupplier> p_task );
+
+}
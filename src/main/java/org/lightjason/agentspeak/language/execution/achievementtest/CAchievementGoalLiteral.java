@@ -66,6 +66,17 @@ public final class CAchievementGoalLiteral extends IAchievementGoal<ILiteral>
         super( p_type, p_immediately );
     }
 
+    /**
+     * returns the literal
+     *
+     * @return literal
+     */
+    @Nonnull
+    public ILiteral literal()
+    {
+        return m_value;
+    }
+
     @Override
     public String toString()
     {
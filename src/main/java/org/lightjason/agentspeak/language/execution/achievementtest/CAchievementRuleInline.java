@@ -0,0 +1,339 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.language.execution.achievementtest;
+
+import com.google.common.collect.Maps;
+import org.lightjason.agentspeak.agent.IAgent;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.ILiteral;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IBaseExecution;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.execution.IExecution;
+import org.lightjason.agentspeak.language.execution.instantiable.IInstantiable;
+import org.lightjason.agentspeak.language.execution.instantiable.rule.IRule;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+import org.lightjason.agentspeak.language.variable.IRelocateVariable;
+import org.lightjason.agentspeak.language.variable.IVariable;
+import org.lightjason.agentspeak.metric.CProfiler;
+import org.lightjason.agentspeak.metric.CRuleEvent;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * inlined rule call, the rule is bound on creation and its variables
+ * are renamed with a prefix, so they are part of the calling context
+ * without clashing with the variables of the caller
+ *
+ * @note the rule must be the only rule of its functor and must not call
+ * other rules, because the inlined call does not backtrack
+ */
+public final class CAchievementRuleInline extends IBaseExecution<ILiteral>
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 4385063591428735706L;
+    /**
+     * inlined rule
+     */
+    private final IRule m_rule;
+    /**
+     * prefix of the renamed variables
+     */
+    private final IPath m_prefix;
+    /**
+     * variable names of the rule and their renamed names
+     */
+    private final Map<IPath, IPath> m_rename;
+
+    /**
+     * ctor
+     *
+     * @param p_literal literal of the call
+     * @param p_rule inlined rule
+     * @param p_prefix prefix of the renamed rule variables, must be unique within the calling plan or rule
+     */
+    public CAchievementRuleInline( @Nonnull final ILiteral p_literal, @Nonnull final IRule p_rule, @Nonnull final IPath p_prefix )
+    {
+        super( p_literal );
+        m_rule = p_rule;
+        m_prefix = p_prefix;
+        m_rename = Collections.unmodifiableMap(
+            p_rule.variables().map( IVariable::fqnfunctor ).distinct().collect( Collectors.toMap( i -> i, p_prefix::append ) )
+        );
+    }
+
+    /**
+     * returns the literal
+     *
+     * @return literal
+     */
+    @Nonnull
+    public ILiteral literal()
+    {
+        return m_value;
+    }
+
+    /**
+     * returns the inlined rule
+     *
+     * @return rule
+     */
+    @Nonnull
+    public IRule rule()
+    {
+        return m_rule;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                           @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
+    {
+        final Map<IPath, IVariable<?>> l_context = p_context.instancevariables();
+
+        // renamed variables are reset on each call, variable builder values and unified values are set in this order,
+        // so the rule body sees the same values like an instantiated rule
+        m_rename.values().stream().map( l_context::get ).filter( Objects::nonNull ).forEach( i -> i.set( null ) );
+        p_context.agent().variablebuilder().apply( p_context.agent(), m_rule ).forEach( i -> this.assign( l_context, i ) );
+
+        final Set<IVariable<?>> l_variables = p_context.agent().unifier().unify( m_value.bind( p_context ), m_rule.identifier() );
+        l_variables.forEach( i -> this.assign( l_context, i ) );
+
+        final boolean l_profile = CProfiler.push( m_value );
+        final CRuleEvent l_event = CRuleEvent.start( m_rule );
+        try
+        {
+            final boolean l_successful = p_context.agent().fuzzy().defuzzification().success(
+                p_context.agent().fuzzy().defuzzification().apply(
+                    Arrays.stream(
+                        m_rule.execute(
+                            false,
+                            new CContext( p_context, m_rule, m_prefix, m_rename ),
+                            Collections.emptyList(),
+                            Collections.emptyList()
+                        ).toArray( IFuzzyValue[]::new )
+                    )
+                )
+            );
+            if ( Objects.nonNull( l_event ) )
+                l_event.finish( l_successful );
+
+            if ( !l_successful )
+                return p_context.agent().fuzzy().membership().fail();
+
+            l_variables.stream()
+                       .filter( i -> i instanceof IRelocateVariable<?> )
+                       .map( i -> i.<IRelocateVariable<Object>>term() )
+                       .forEach( i ->
+                       {
+                           i.set( l_context.get( m_rename.get( i.fqnfunctor() ) ).raw() );
+                           i.relocate();
+                       } );
+
+            return p_context.agent().fuzzy().membership().success();
+        }
+        finally
+        {
+            if ( l_profile )
+                CProfiler.pop();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IVariable<?>> variables()
+    {
+        return Stream.concat(
+            CCommon.flattenrecursive( m_value.orderedvalues() ).filter( i -> i instanceof IVariable<?> ).map( ITerm::term ),
+            m_rule.variables().map( i -> i.shallowcopy( m_prefix ) )
+        );
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IExecution> children()
+    {
+        return m_rule.children();
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return m_value.hashCode() ^ m_rule.hashCode();
+    }
+
+    @Override
+    public boolean equals( final Object p_object )
+    {
+        return p_object instanceof IExecution && this.hashCode() == p_object.hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        return MessageFormat.format( "${0}", m_value );
+    }
+
+    /**
+     * sets the value of a rule variable to the renamed context variable
+     *
+     * @param p_context context variables
+     * @param p_variable rule variable
+     */
+    private void assign( @Nonnull final Map<IPath, IVariable<?>> p_context, @Nonnull final IVariable<?> p_variable )
+    {
+        final IPath l_name = m_rename.get( p_variable.fqnfunctor() );
+        if ( Objects.isNull( l_name ) )
+            return;
+
+        final IVariable<?> l_variable = p_context.get( l_name );
+        if ( Objects.nonNull( l_variable ) )
+            l_variable.<IVariable<Object>>term().set( p_variable.raw() );
+    }
+
+
+    /**
+     * context of the inlined rule body, which maps
+     * the rule variables to the renamed variables
+     * of the calling context
+     */
+    private static final class CContext implements IContext
+    {
+        /**
+         * serial id
+         */
+        private static final long serialVersionUID = -2917309446071452871L;
+        /**
+         * calling context
+         */
+        private final IContext m_context;
+        /**
+         * rule
+         */
+        private final IInstantiable m_instance;
+        /**
+         * prefix of the renamed variables
+         */
+        private final IPath m_prefix;
+        /**
+         * variable names and their renamed names
+         */
+        private final Map<IPath, IPath> m_rename;
+
+        /**
+         * ctor
+         *
+         * @param p_context calling context
+         * @param p_instance rule
+         * @param p_prefix prefix of the renamed variables
+         * @param p_rename variable names and their renamed names
+         */
+        CContext( @Nonnull final IContext p_context, @Nonnull final IInstantiable p_instance, @Nonnull final IPath p_prefix,
+                  @Nonnull final Map<IPath, IPath> p_rename )
+        {
+            m_context = p_context;
+            m_instance = p_instance;
+            m_prefix = p_prefix;
+            m_rename = p_rename;
+        }
+
+        @Nonnull
+        @Override
+        public IAgent<?> agent()
+        {
+            return m_context.agent();
+        }
+
+        @Nonnull
+        @Override
+        public IInstantiable instance()
+        {
+            return m_instance;
+        }
+
+        @Nonnull
+        @Override
+        public Map<IPath, IVariable<?>> instancevariables()
+        {
+            return Maps.asMap( m_rename.keySet(), i -> m_context.instancevariables().get( m_rename.get( i ) ) );
+        }
+
+        @Nonnull
+        @Override
+        public IContext duplicate( @Nullable final IVariable<?>... p_variables )
+        {
+            return this.duplicate( Objects.nonNull( p_variables ) ? Arrays.stream( p_variables ) : Stream.empty() );
+        }
+
+        @Nonnull
+        @Override
+        public IContext duplicate( @Nonnull final Stream<IVariable<?>> p_variables )
+        {
+            final Map<IPath, IPath> l_rename = new HashMap<>( m_rename );
+            final List<IVariable<?>> l_variables = p_variables.map( i ->
+            {
+                final IVariable<?> l_variable = i.shallowcopy( m_prefix );
+                l_rename.put( i.fqnfunctor(), l_variable.fqnfunctor() );
+                return l_variable;
+            } ).collect( Collectors.toList() );
+
+            return new CContext( m_context.duplicate( l_variables.stream() ), m_instance, m_prefix, Collections.unmodifiableMap( l_rename ) );
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return m_context.hashCode() ^ m_instance.hashCode();
+        }
+
+        @Override
+        public boolean equals( final Object p_object )
+        {
+            return p_object instanceof IContext && this.hashCode() == p_object.hashCode();
+        }
+
+        @Override
+        public String toString()
+        {
+            return MessageFormat.format( "{0} [{1} | {2}]", super.toString(), m_instance, m_context );
+        }
+    }
+
+}
@@ -57,6 +57,17 @@ public final class CAchievementRuleLiteral extends IAchievementRule<ILiteral>
         super( p_literal );
     }
 
+    /**
+     * returns the literal
+     *
+     * @return literal
+     */
+    @Nonnull
+    public ILiteral literal()
+    {
+        return m_value;
+    }
+
     @Nonnull
     @Override
     public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
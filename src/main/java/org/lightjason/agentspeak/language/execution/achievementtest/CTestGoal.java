@@ -66,7 +66,7 @@ public final class CTestGoal extends ITest
                                            @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return
     )
     {
-        return p_context.agent().runningplans().keySet().contains( m_value )
+        return p_context.agent().isrunning( m_value )
                ? p_context.agent().fuzzy().membership().success()
                : p_context.agent().fuzzy().membership().fail();
     }
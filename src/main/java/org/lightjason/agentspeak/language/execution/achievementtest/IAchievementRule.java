@@ -31,6 +31,8 @@ import org.lightjason.agentspeak.language.execution.instantiable.rule.IRule;
 import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
 import org.lightjason.agentspeak.language.variable.IRelocateVariable;
 import org.lightjason.agentspeak.language.variable.IVariable;
+import org.lightjason.agentspeak.metric.CProfiler;
+import org.lightjason.agentspeak.metric.CRuleEvent;
 
 import javax.annotation.Nonnull;
 import java.util.Arrays;
@@ -81,13 +83,22 @@ public abstract class IAchievementRule<T> extends IBaseExecution<T>
         final ILiteral l_allocate = p_value.bind( p_context );
 
         // second step execute backtracking rules sequential
-        return l_rules.stream()
-                      .map( i -> executerule( p_context, l_allocate, i ) )
-                      .filter( i -> i )
-                      .findFirst()
-                      .orElseGet( () -> false )
-                      ? p_context.agent().fuzzy().membership().success()
-                      : p_context.agent().fuzzy().membership().fail();
+        final boolean l_profile = CProfiler.push( p_value );
+        try
+        {
+            return l_rules.stream()
+                          .map( i -> executerule( p_context, l_allocate, i ) )
+                          .filter( i -> i )
+                          .findFirst()
+                          .orElseGet( () -> false )
+                          ? p_context.agent().fuzzy().membership().success()
+                          : p_context.agent().fuzzy().membership().fail();
+        }
+        finally
+        {
+            if ( l_profile )
+                CProfiler.pop();
+        }
     }
 
     /**
@@ -100,6 +111,7 @@ public abstract class IAchievementRule<T> extends IBaseExecution<T>
      */
     private static boolean executerule( @Nonnull final IContext p_context, @Nonnull final ILiteral p_literal, @Nonnull final IRule p_rule )
     {
+        final CRuleEvent l_event = CRuleEvent.start( p_rule );
         final Set<IVariable<?>> l_variables = p_context.agent().unifier().unify( p_literal, p_rule.identifier() );
 
         final IFuzzyValue<?>[] l_result = p_rule.execute(
@@ -109,11 +121,15 @@ public abstract class IAchievementRule<T> extends IBaseExecution<T>
             Collections.emptyList()
         ).toArray( IFuzzyValue[]::new );
 
-        if ( p_context.agent().fuzzy().defuzzification().success(
-                p_context.agent().fuzzy().defuzzification().apply(
-                    Arrays.stream( l_result )
-                )
-            ) )
+        final boolean l_successful = p_context.agent().fuzzy().defuzzification().success(
+            p_context.agent().fuzzy().defuzzification().apply(
+                Arrays.stream( l_result )
+            )
+        );
+        if ( Objects.nonNull( l_event ) )
+            l_event.finish( l_successful );
+
+        if ( l_successful )
         {
             l_variables.parallelStream()
                        .filter( i -> i instanceof IRelocateVariable<?> )
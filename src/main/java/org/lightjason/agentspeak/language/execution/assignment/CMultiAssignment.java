@@ -132,6 +132,13 @@ public final class CMultiAssignment extends IBaseExecution<List<IVariable<?>>>
         return MessageFormat.format( "{0} = {1}", m_value, m_rhs );
     }
 
+    @Nonnull
+    @Override
+    public Stream<IExecution> children()
+    {
+        return Stream.of( m_rhs );
+    }
+
     @Nonnull
     @Override
     public Stream<IVariable<?>> variables()
@@ -71,6 +71,39 @@ public final class CSingleAssignment extends IBaseExecution<IVariable<?>>
         m_rhs = p_rhs;
     }
 
+    /**
+     * returns the assignment operator
+     *
+     * @return operator
+     */
+    @Nonnull
+    public EAssignOperator operator()
+    {
+        return m_operator;
+    }
+
+    /**
+     * returns the left-hand-side variable
+     *
+     * @return variable
+     */
+    @Nonnull
+    public IVariable<?> lhs()
+    {
+        return m_value;
+    }
+
+    /**
+     * returns the right-hand-side
+     *
+     * @return right-hand-side execution
+     */
+    @Nonnull
+    public IExecution rhs()
+    {
+        return m_rhs;
+    }
+
     @Nonnull
     @Override
     public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
@@ -101,7 +134,7 @@ public final class CSingleAssignment extends IBaseExecution<IVariable<?>>
     @Override
     public int hashCode()
     {
-        return super.hashCode() ^ m_operator.hashCode() ^ m_rhs.hashCode();
+        return super.hashCode() ^ m_operator.name().hashCode() ^ m_rhs.hashCode();
     }
 
     @Override
@@ -116,6 +149,13 @@ public final class CSingleAssignment extends IBaseExecution<IVariable<?>>
         return MessageFormat.format( "{0} = {1}", m_value, m_rhs );
     }
 
+    @Nonnull
+    @Override
+    public Stream<IExecution> children()
+    {
+        return Stream.of( m_rhs );
+    }
+
     @Override
     @Nonnull
     public Stream<IVariable<?>> variables()
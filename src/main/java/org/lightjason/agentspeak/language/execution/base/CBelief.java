@@ -65,6 +65,28 @@ public final class CBelief extends IBaseExecution<ILiteral>
         m_action = p_action;
     }
 
+    /**
+     * returns the belief action
+     *
+     * @return action
+     */
+    @Nonnull
+    public EAction action()
+    {
+        return m_action;
+    }
+
+    /**
+     * returns the literal
+     *
+     * @return literal
+     */
+    @Nonnull
+    public ILiteral literal()
+    {
+        return m_value;
+    }
+
     @Override
     public String toString()
     {
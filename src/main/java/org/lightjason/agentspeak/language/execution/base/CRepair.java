@@ -78,6 +78,13 @@ public final class CRepair extends IBaseExecution<IExecution[]>
                      .orElseGet( () -> p_context.agent().fuzzy().membership().fail() );
     }
 
+    @Nonnull
+    @Override
+    public Stream<IExecution> children()
+    {
+        return Arrays.stream( m_value );
+    }
+
     @Nonnull
     @Override
     public Stream<IVariable<?>> variables()
@@ -73,6 +73,39 @@ public final class CTernaryOperation extends IBaseExecution<IExpression>
         m_false = p_false;
     }
 
+    /**
+     * returns the condition
+     *
+     * @return condition expression
+     */
+    @Nonnull
+    public IExpression condition()
+    {
+        return m_value;
+    }
+
+    /**
+     * returns the true execution block
+     *
+     * @return execution
+     */
+    @Nonnull
+    public IExecution truebranch()
+    {
+        return m_true;
+    }
+
+    /**
+     * returns the false execution block
+     *
+     * @return execution
+     */
+    @Nonnull
+    public IExecution falsebranch()
+    {
+        return m_false;
+    }
+
     @Nonnull
     @Override
     public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
@@ -116,6 +149,13 @@ public final class CTernaryOperation extends IBaseExecution<IExpression>
         return MessageFormat.format( "{0} ? {1} : {2}", m_value, m_true, m_false );
     }
 
+    @Nonnull
+    @Override
+    public Stream<IExecution> children()
+    {
+        return Stream.of( m_value, m_true, m_false );
+    }
+
     @Nonnull
     @Override
     public Stream<IVariable<?>> variables()
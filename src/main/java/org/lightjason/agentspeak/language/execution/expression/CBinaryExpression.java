@@ -106,6 +106,39 @@ public final class CBinaryExpression implements IBinaryExpression
 
     }
 
+    /**
+     * returns the operator
+     *
+     * @return operator
+     */
+    @Nonnull
+    public EBinaryOperator operator()
+    {
+        return m_operator;
+    }
+
+    /**
+     * returns the left-hand-side
+     *
+     * @return left-hand-side execution
+     */
+    @Nonnull
+    public IExecution lhs()
+    {
+        return m_lhs;
+    }
+
+    /**
+     * returns the right-hand-side
+     *
+     * @return right-hand-side execution
+     */
+    @Nonnull
+    public IExecution rhs()
+    {
+        return m_rhs;
+    }
+
     @Nonnull
     @Override
     public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
@@ -166,6 +199,13 @@ public final class CBinaryExpression implements IBinaryExpression
                : p_context.agent().fuzzy().membership().fail().toArray( IFuzzyValue[]::new );
     }
 
+    @Nonnull
+    @Override
+    public Stream<IExecution> children()
+    {
+        return Stream.of( m_lhs, m_rhs );
+    }
+
     @Nonnull
     @Override
     public Stream<IVariable<?>> variables()
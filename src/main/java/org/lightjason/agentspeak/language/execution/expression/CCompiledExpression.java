@@ -0,0 +1,179 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.language.execution.expression;
+
+import com.google.common.base.Throwables;
+import org.lightjason.agentspeak.error.context.CExecutionIllegalStateException;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.execution.IExecution;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+import org.lightjason.agentspeak.language.variable.IVariable;
+
+import javax.annotation.Nonnull;
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+
+/**
+ * compiled expression, which evaluates a method handle tree
+ * and falls back to the generic execution on any error
+ *
+ * @note short-circuit expressions on the root evaluate the
+ * left-hand-side twice to create the fuzzy result
+ *
+ * @note if the fallback is used often, e.g. variables are not numeric,
+ * the compiled handle is disabled and only the generic execution is used
+ */
+public final class CCompiledExpression implements IExpression
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -4430532818496484012L;
+    /**
+     * number of fallbacks to disable the compiled handle
+     */
+    private static final int FALLBACKLIMIT = 64;
+    /**
+     * generic execution
+     */
+    private final IExecution m_expression;
+    /**
+     * compiled handle (context) -> object
+     */
+    private final transient MethodHandle m_handle;
+    /**
+     * shape handle (context) -> number of success fuzzy sets
+     */
+    private final transient MethodHandle m_shape;
+    /**
+     * fallback counter
+     */
+    private final transient AtomicInteger m_fallback = new AtomicInteger();
+
+    /**
+     * ctor
+     *
+     * @param p_expression generic expression
+     * @param p_handle compiled handle
+     * @param p_shape shape handle
+     */
+    CCompiledExpression( @Nonnull final IExecution p_expression, @Nonnull final MethodHandle p_handle, @Nonnull final MethodHandle p_shape )
+    {
+        m_expression = p_expression;
+        m_handle = p_handle;
+        m_shape = p_shape;
+    }
+
+    /**
+     * returns the generic expression
+     *
+     * @return expression execution
+     */
+    @Nonnull
+    public IExecution expression()
+    {
+        return m_expression;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                           @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return
+    )
+    {
+        if ( m_fallback.get() > FALLBACKLIMIT )
+            return m_expression.execute( p_parallel, p_context, p_argument, p_return );
+
+        final Object l_result;
+        final int l_shape;
+        try
+        {
+            l_result = (Object) m_handle.invokeExact( p_context );
+            l_shape = (int) m_shape.invokeExact( p_context );
+        }
+        catch ( final RuntimeException l_exception )
+        {
+            m_fallback.incrementAndGet();
+            return m_expression.execute( p_parallel, p_context, p_argument, p_return );
+        }
+        catch ( final Throwable l_throwable )
+        {
+            Throwables.throwIfUnchecked( l_throwable );
+            throw new CExecutionIllegalStateException( p_context, l_throwable );
+        }
+
+        // the fuzzy result is equal to the generic execution
+        p_return.add( CRawTerm.of( l_result ) );
+        return IntStream.range( 0, l_shape ).boxed().flatMap( i -> p_context.agent().fuzzy().membership().success() );
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IExecution> children()
+    {
+        return Stream.of( m_expression );
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IVariable<?>> variables()
+    {
+        return m_expression.variables();
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return m_expression.hashCode();
+    }
+
+    @Override
+    public boolean equals( final Object p_object )
+    {
+        return p_object instanceof IExecution && this.hashCode() == p_object.hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        return m_expression.toString();
+    }
+
+    /**
+     * compiles the expression again after deserialization
+     *
+     * @return compiled expression
+     */
+    private Object readResolve()
+    {
+        return CExpressionCompiler.compile( m_expression );
+    }
+
+}
@@ -0,0 +1,753 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.language.execution.expression;
+
+import org.lightjason.agentspeak.error.CIllegalStateException;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.execution.IExecution;
+import org.lightjason.agentspeak.language.execution.base.CTernaryOperation;
+import org.lightjason.agentspeak.language.execution.passing.CPassRaw;
+import org.lightjason.agentspeak.language.execution.passing.CPassVariable;
+import org.lightjason.agentspeak.language.variable.IVariable;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+
+/**
+ * compiler of arithmetic and boolean expressions into method handle trees,
+ * which works on primitive values and evaluates without argument lists
+ *
+ * @note numeric operators work on double values, modulo on long values,
+ * variables are speculated to be numeric, on a type mismatch the compiled
+ * expression falls back to the generic execution, expressions with
+ * other elements (e.g. actions or literals) are not compiled
+ */
+public final class CExpressionCompiler
+{
+    /**
+     * lookup
+     */
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    /**
+     * variable value
+     */
+    private static final MethodHandle VARIABLE = find( "variable", Object.class, IVariable.class, IContext.class );
+    /**
+     * object to double
+     */
+    private static final MethodHandle ASDOUBLE = find( "asdouble", double.class, Object.class );
+    /**
+     * object to long
+     */
+    private static final MethodHandle ASLONG = find( "aslong", long.class, Object.class );
+    /**
+     * object to boolean
+     */
+    private static final MethodHandle ASBOOLEAN = find( "asboolean", boolean.class, Object.class );
+    /**
+     * generic operator call
+     */
+    private static final MethodHandle GENERIC = find( "generic", Object.class, EBinaryOperator.class, Object.class, Object.class );
+    /**
+     * boolean negation
+     */
+    private static final MethodHandle NOT = find( "not", boolean.class, boolean.class );
+    /**
+     * boolean xor
+     */
+    private static final MethodHandle XOR = find( "xor", boolean.class, boolean.class, boolean.class );
+    /**
+     * long modulo
+     */
+    private static final MethodHandle MODULO = find( "modulo", long.class, long.class, long.class );
+    /**
+     * arithmetic operators on double values
+     */
+    private static final Map<EBinaryOperator, MethodHandle> ARITHMETIC = Collections.unmodifiableMap( new EnumMap<EBinaryOperator, MethodHandle>(
+        Map.of(
+            EBinaryOperator.PLUS, find( "plus", double.class, double.class, double.class ),
+            EBinaryOperator.MINUS, find( "minus", double.class, double.class, double.class ),
+            EBinaryOperator.MULTIPLY, find( "multiply", double.class, double.class, double.class ),
+            EBinaryOperator.DIVIDE, find( "divide", double.class, double.class, double.class ),
+            EBinaryOperator.POWER, find( "power", double.class, double.class, double.class )
+        )
+    ) );
+    /**
+     * compare operators on double values
+     */
+    private static final Map<EBinaryOperator, MethodHandle> COMPARE = Collections.unmodifiableMap( new EnumMap<EBinaryOperator, MethodHandle>(
+        Map.of(
+            EBinaryOperator.EQUAL, find( "equal", boolean.class, double.class, double.class ),
+            EBinaryOperator.NOTEQUAL, find( "notequal", boolean.class, double.class, double.class ),
+            EBinaryOperator.LESS, find( "less", boolean.class, double.class, double.class ),
+            EBinaryOperator.LESSEQUAL, find( "lessequal", boolean.class, double.class, double.class ),
+            EBinaryOperator.GREATER, find( "greater", boolean.class, double.class, double.class ),
+            EBinaryOperator.GREATEREQUAL, find( "greaterequal", boolean.class, double.class, double.class )
+        )
+    ) );
+
+    /**
+     * ctor
+     */
+    private CExpressionCompiler()
+    {
+    }
+
+    /**
+     * compiles an expression
+     *
+     * @param p_expression expression
+     * @return compiled expression or the input expression if it cannot be compiled
+     */
+    @Nonnull
+    public static IExpression compile( @Nonnull final IExpression p_expression )
+    {
+        return (IExpression) compile( (IExecution) p_expression );
+    }
+
+    /**
+     * compiles an expression execution, binary and unary
+     * expressions and ternary operations are supported
+     *
+     * @param p_execution execution
+     * @return compiled expression or the input execution if it cannot be compiled
+     */
+    @Nonnull
+    public static IExecution compile( @Nonnull final IExecution p_execution )
+    {
+        if ( !( p_execution instanceof CBinaryExpression || p_execution instanceof CUnaryExpression || p_execution instanceof CTernaryOperation ) )
+            return p_execution;
+
+        final CNode l_node = node( p_execution );
+        return Objects.isNull( l_node )
+               ? p_execution
+               : new CCompiledExpression( p_execution, l_node.object(), l_node.m_shape );
+    }
+
+    // --- tree building ---------------------------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * builds the node of an execution
+     *
+     * @param p_execution execution
+     * @return node or null if the execution cannot be compiled
+     */
+    @Nullable
+    private static CNode node( @Nonnull final IExecution p_execution )
+    {
+        if ( p_execution instanceof CCompiledExpression )
+            return node( ( (CCompiledExpression) p_execution ).expression() );
+
+        if ( p_execution instanceof CPassRaw<?> )
+            return new CNode( ( (CPassRaw<?>) p_execution ).value().raw() );
+
+        if ( p_execution instanceof CPassVariable )
+            return new CNode( EType.OBJECT, VARIABLE.bindTo( ( (CPassVariable) p_execution ).value() ), constant( int.class, 0 ) );
+
+        if ( p_execution instanceof CUnaryExpression )
+            return unary( (CUnaryExpression) p_execution );
+
+        if ( p_execution instanceof CBinaryExpression )
+            return binary( (CBinaryExpression) p_execution );
+
+        if ( p_execution instanceof CTernaryOperation )
+            return ternary( (CTernaryOperation) p_execution );
+
+        return null;
+    }
+
+    /**
+     * builds an unary expression node
+     *
+     * @param p_expression unary expression
+     * @return node or null
+     */
+    @Nullable
+    private static CNode unary( @Nonnull final CUnaryExpression p_expression )
+    {
+        final CNode l_element = node( p_expression.element() );
+        final MethodHandle l_handle = Objects.isNull( l_element ) ? null : l_element.bool();
+        return Objects.isNull( l_handle )
+               ? null
+               : new CNode( EType.BOOLEAN, MethodHandles.filterReturnValue( l_handle, NOT ), l_element.m_shape );
+    }
+
+    /**
+     * builds a binary expression node
+     *
+     * @param p_expression binary expression
+     * @return node or null
+     */
+    @Nullable
+    @SuppressWarnings( "checkstyle:CyclomaticComplexity" )
+    private static CNode binary( @Nonnull final CBinaryExpression p_expression )
+    {
+        final CNode l_lhs = node( p_expression.lhs() );
+        final CNode l_rhs = node( p_expression.rhs() );
+        if ( Objects.isNull( l_lhs ) || Objects.isNull( l_rhs ) )
+            return null;
+
+        switch ( p_expression.operator() )
+        {
+            case PLUS:
+            case MINUS:
+            case MULTIPLY:
+            case DIVIDE:
+            case POWER:
+                return combine( EType.DOUBLE, ARITHMETIC.get( p_expression.operator() ), l_lhs.real(), l_rhs.real() );
+
+            case MODULO:
+                return combine( EType.LONG, MODULO, l_lhs.integral(), l_rhs.integral() );
+
+            case XOR:
+                return combine( EType.BOOLEAN, XOR, l_lhs.bool(), l_rhs.bool() );
+
+            case AND:
+                return Objects.isNull( l_lhs.bool() ) || Objects.isNull( l_rhs.bool() )
+                       ? null
+                       : new CNode(
+                           EType.BOOLEAN,
+                           MethodHandles.guardWithTest( l_lhs.bool(), l_rhs.bool(), constant( boolean.class, false ) ),
+                           MethodHandles.guardWithTest( l_lhs.bool(), constant( int.class, 2 ), constant( int.class, 0 ) )
+                       );
+
+            case OR:
+                return Objects.isNull( l_lhs.bool() ) || Objects.isNull( l_rhs.bool() )
+                       ? null
+                       : new CNode(
+                           EType.BOOLEAN,
+                           MethodHandles.guardWithTest( l_lhs.bool(), constant( boolean.class, true ), l_rhs.bool() ),
+                           MethodHandles.guardWithTest( l_lhs.bool(), constant( int.class, 0 ), constant( int.class, 2 ) )
+                       );
+
+            default:
+                return l_lhs.numeric() && l_rhs.numeric()
+                       ? combine( EType.BOOLEAN, COMPARE.get( p_expression.operator() ), l_lhs.real(), l_rhs.real() )
+                       : combine( EType.OBJECT, GENERIC.bindTo( p_expression.operator() ), l_lhs.object(), l_rhs.object() );
+        }
+    }
+
+    /**
+     * builds a ternary operation node
+     *
+     * @param p_ternary ternary operation
+     * @return node or null
+     * @note variables are not supported as branches, because
+     * the execution returns the variable term and not the value
+     */
+    @Nullable
+    private static CNode ternary( @Nonnull final CTernaryOperation p_ternary )
+    {
+        if ( p_ternary.truebranch() instanceof CPassVariable || p_ternary.falsebranch() instanceof CPassVariable )
+            return null;
+
+        final CNode l_condition = node( p_ternary.condition() );
+        final CNode l_true = node( p_ternary.truebranch() );
+        final CNode l_false = node( p_ternary.falsebranch() );
+
+        return Objects.isNull( l_condition ) || Objects.isNull( l_condition.bool() ) || Objects.isNull( l_true ) || Objects.isNull( l_false )
+               ? null
+               : new CNode(
+                   EType.OBJECT,
+                   MethodHandles.guardWithTest( l_condition.bool(), l_true.object(), l_false.object() ),
+                   MethodHandles.guardWithTest( l_condition.bool(), l_true.m_shape, l_false.m_shape )
+               );
+    }
+
+    /**
+     * combines an operator with two argument handles
+     *
+     * @param p_type result type
+     * @param p_operator operator handle
+     * @param p_lhs left-hand-side handle
+     * @param p_rhs right-hand-side handle
+     * @return node or null if an argument is null
+     */
+    @Nullable
+    private static CNode combine( @Nonnull final EType p_type, @Nonnull final MethodHandle p_operator,
+                                  @Nullable final MethodHandle p_lhs, @Nullable final MethodHandle p_rhs )
+    {
+        if ( Objects.isNull( p_lhs ) || Objects.isNull( p_rhs ) )
+            return null;
+
+        final MethodHandle l_handle = MethodHandles.filterArguments( p_operator, 0, p_lhs, p_rhs );
+        return new CNode(
+            p_type,
+            MethodHandles.permuteArguments( l_handle, MethodType.methodType( l_handle.type().returnType(), IContext.class ), 0, 0 ),
+            constant( int.class, 2 )
+        );
+    }
+
+    /**
+     * creates a constant handle
+     *
+     * @param p_type type
+     * @param p_value value
+     * @return handle with context argument
+     */
+    @Nonnull
+    private static MethodHandle constant( @Nonnull final Class<?> p_type, @Nullable final Object p_value )
+    {
+        return MethodHandles.dropArguments( MethodHandles.constant( p_type, p_value ), 0, IContext.class );
+    }
+
+    /**
+     * finds a static method of the compiler
+     *
+     * @param p_name method name
+     * @param p_return return type
+     * @param p_arguments argument types
+     * @return method handle
+     */
+    @Nonnull
+    private static MethodHandle find( @Nonnull final String p_name, @Nonnull final Class<?> p_return, @Nonnull final Class<?>... p_arguments )
+    {
+        try
+        {
+            return LOOKUP.findStatic( CExpressionCompiler.class, p_name, MethodType.methodType( p_return, p_arguments ) );
+        }
+        catch ( final NoSuchMethodException | IllegalAccessException l_exception )
+        {
+            throw new CIllegalStateException( l_exception );
+        }
+    }
+
+    // --- runtime methods -------------------------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * returns the value of a variable
+     *
+     * @param p_variable variable
+     * @param p_context execution context
+     * @return raw value
+     */
+    @Nullable
+    private static Object variable( @Nonnull final IVariable<?> p_variable, @Nonnull final IContext p_context )
+    {
+        return CCommon.replacebycontext( p_context, p_variable ).raw();
+    }
+
+    /**
+     * casts a value to double
+     *
+     * @param p_value value
+     * @return double value
+     * @throws ClassCastException if the value is not a number
+     */
+    private static double asdouble( @Nullable final Object p_value )
+    {
+        return ( (Number) p_value ).doubleValue();
+    }
+
+    /**
+     * casts a value to long
+     *
+     * @param p_value value
+     * @return long value
+     * @throws ClassCastException if the value is not a number
+     */
+    private static long aslong( @Nullable final Object p_value )
+    {
+        return ( (Number) p_value ).longValue();
+    }
+
+    /**
+     * casts a value to boolean
+     *
+     * @param p_value value
+     * @return boolean value
+     * @throws ClassCastException if the value is not a boolean
+     */
+    private static boolean asboolean( @Nullable final Object p_value )
+    {
+        return (Boolean) p_value;
+    }
+
+    /**
+     * generic operator call
+     *
+     * @param p_operator operator
+     * @param p_lhs left-hand-side value
+     * @param p_rhs right-hand-side value
+     * @return result
+     */
+    private static Object generic( @Nonnull final EBinaryOperator p_operator, @Nullable final Object p_lhs, @Nullable final Object p_rhs )
+    {
+        return p_operator.apply( CRawTerm.of( p_lhs ), CRawTerm.of( p_rhs ) );
+    }
+
+    /**
+     * boolean negation
+     *
+     * @param p_value value
+     * @return negated value
+     */
+    private static boolean not( final boolean p_value )
+    {
+        return !p_value;
+    }
+
+    /**
+     * boolean xor
+     *
+     * @param p_lhs left-hand-side
+     * @param p_rhs right-hand-side
+     * @return xor value
+     */
+    private static boolean xor( final boolean p_lhs, final boolean p_rhs )
+    {
+        return p_lhs ^ p_rhs;
+    }
+
+    /**
+     * modulo operator, equal to the generic modulo
+     *
+     * @param p_lhs left-hand-side
+     * @param p_rhs right-hand-side
+     * @return modulo
+     */
+    private static long modulo( final long p_lhs, final long p_rhs )
+    {
+        return p_lhs < 0
+               ? Math.abs( ( p_rhs + p_lhs ) % p_rhs )
+               : p_lhs % p_rhs;
+    }
+
+    /**
+     * addition
+     *
+     * @param p_lhs left-hand-side
+     * @param p_rhs right-hand-side
+     * @return sum
+     */
+    private static double plus( final double p_lhs, final double p_rhs )
+    {
+        return p_lhs + p_rhs;
+    }
+
+    /**
+     * subtraction
+     *
+     * @param p_lhs left-hand-side
+     * @param p_rhs right-hand-side
+     * @return difference
+     */
+    private static double minus( final double p_lhs, final double p_rhs )
+    {
+        return p_lhs - p_rhs;
+    }
+
+    /**
+     * multiplication
+     *
+     * @param p_lhs left-hand-side
+     * @param p_rhs right-hand-side
+     * @return product
+     */
+    private static double multiply( final double p_lhs, final double p_rhs )
+    {
+        return p_lhs * p_rhs;
+    }
+
+    /**
+     * division
+     *
+     * @param p_lhs left-hand-side
+     * @param p_rhs right-hand-side
+     * @return quotient
+     */
+    private static double divide( final double p_lhs, final double p_rhs )
+    {
+        return p_lhs / p_rhs;
+    }
+
+    /**
+     * power
+     *
+     * @param p_lhs base
+     * @param p_rhs exponent
+     * @return power
+     */
+    private static double power( final double p_lhs, final double p_rhs )
+    {
+        return Math.pow( p_lhs, p_rhs );
+    }
+
+    /**
+     * equality with the semantic of double objects
+     *
+     * @param p_lhs left-hand-side
+     * @param p_rhs right-hand-side
+     * @return equality flag
+     */
+    private static boolean equal( final double p_lhs, final double p_rhs )
+    {
+        return Double.compare( p_lhs, p_rhs ) == 0;
+    }
+
+    /**
+     * inequality with the semantic of double objects
+     *
+     * @param p_lhs left-hand-side
+     * @param p_rhs right-hand-side
+     * @return inequality flag
+     */
+    private static boolean notequal( final double p_lhs, final double p_rhs )
+    {
+        return Double.compare( p_lhs, p_rhs ) != 0;
+    }
+
+    /**
+     * less comparison
+     *
+     * @param p_lhs left-hand-side
+     * @param p_rhs right-hand-side
+     * @return compare flag
+     */
+    private static boolean less( final double p_lhs, final double p_rhs )
+    {
+        return Double.compare( p_lhs, p_rhs ) < 0;
+    }
+
+    /**
+     * less-equal comparison
+     *
+     * @param p_lhs left-hand-side
+     * @param p_rhs right-hand-side
+     * @return compare flag
+     */
+    private static boolean lessequal( final double p_lhs, final double p_rhs )
+    {
+        return Double.compare( p_lhs, p_rhs ) <= 0;
+    }
+
+    /**
+     * greater comparison
+     *
+     * @param p_lhs left-hand-side
+     * @param p_rhs right-hand-side
+     * @return compare flag
+     */
+    private static boolean greater( final double p_lhs, final double p_rhs )
+    {
+        return Double.compare( p_lhs, p_rhs ) > 0;
+    }
+
+    /**
+     * greater-equal comparison
+     *
+     * @param p_lhs left-hand-side
+     * @param p_rhs right-hand-side
+     * @return compare flag
+     */
+    private static boolean greaterequal( final double p_lhs, final double p_rhs )
+    {
+        return Double.compare( p_lhs, p_rhs ) >= 0;
+    }
+
+    // --- node structure --------------------------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * node result type
+     */
+    private enum EType
+    {
+        DOUBLE,
+        LONG,
+        BOOLEAN,
+        OBJECT
+    }
+
+    /**
+     * node of the compiled tree, the handle gets the
+     * execution context and returns the typed value
+     *
+     * @note the shape handle returns the number of success fuzzy sets,
+     * which the generic execution of the node returns, binary expressions
+     * return two sets, except a short-circuit and leafs return none
+     */
+    private static final class CNode
+    {
+        /**
+         * result type
+         */
+        private final EType m_type;
+        /**
+         * handle
+         */
+        private final MethodHandle m_handle;
+        /**
+         * shape handle
+         */
+        private final MethodHandle m_shape;
+        /**
+         * constant flag
+         */
+        private final boolean m_constant;
+        /**
+         * constant value
+         */
+        private final Object m_value;
+
+        /**
+         * ctor
+         *
+         * @param p_type result type
+         * @param p_handle handle
+         * @param p_shape shape handle
+         */
+        CNode( @Nonnull final EType p_type, @Nonnull final MethodHandle p_handle, @Nonnull final MethodHandle p_shape )
+        {
+            m_type = p_type;
+            m_handle = p_handle;
+            m_shape = p_shape;
+            m_constant = false;
+            m_value = null;
+        }
+
+        /**
+         * ctor of a constant
+         *
+         * @param p_value value
+         */
+        CNode( @Nullable final Object p_value )
+        {
+            m_type = EType.OBJECT;
+            m_handle = constant( Object.class, p_value );
+            m_shape = constant( int.class, 0 );
+            m_constant = true;
+            m_value = p_value;
+        }
+
+        /**
+         * returns if the node is (speculative) numeric
+         *
+         * @return numeric flag
+         */
+        boolean numeric()
+        {
+            return m_type == EType.DOUBLE || m_type == EType.LONG || m_type == EType.OBJECT && ( !m_constant || m_value instanceof Number );
+        }
+
+        /**
+         * returns the handle as double handle
+         *
+         * @return handle or null if it is not numeric
+         */
+        @Nullable
+        MethodHandle real()
+        {
+            if ( m_constant )
+                return m_value instanceof Number ? constant( double.class, ( (Number) m_value ).doubleValue() ) : null;
+
+            switch ( m_type )
+            {
+                case DOUBLE:
+                    return m_handle;
+
+                case LONG:
+                    return m_handle.asType( MethodType.methodType( double.class, IContext.class ) );
+
+                case OBJECT:
+                    return MethodHandles.filterReturnValue( m_handle, ASDOUBLE );
+
+                default:
+                    return null;
+            }
+        }
+
+        /**
+         * returns the handle as long handle
+         *
+         * @return handle or null if it is not numeric
+         */
+        @Nullable
+        MethodHandle integral()
+        {
+            if ( m_constant )
+                return m_value instanceof Number ? constant( long.class, ( (Number) m_value ).longValue() ) : null;
+
+            switch ( m_type )
+            {
+                case LONG:
+                    return m_handle;
+
+                case DOUBLE:
+                    return MethodHandles.explicitCastArguments( m_handle, MethodType.methodType( long.class, IContext.class ) );
+
+                case OBJECT:
+                    return MethodHandles.filterReturnValue( m_handle, ASLONG );
+
+                default:
+                    return null;
+            }
+        }
+
+        /**
+         * returns the handle as boolean handle
+         *
+         * @return handle or null if it is not boolean
+         */
+        @Nullable
+        MethodHandle bool()
+        {
+            if ( m_constant )
+                return m_value instanceof Boolean ? constant( boolean.class, m_value ) : null;
+
+            switch ( m_type )
+            {
+                case BOOLEAN:
+                    return m_handle;
+
+                case OBJECT:
+                    return MethodHandles.filterReturnValue( m_handle, ASBOOLEAN );
+
+                default:
+                    return null;
+            }
+        }
+
+        /**
+         * returns the handle as object handle
+         *
+         * @return handle
+         */
+        @Nonnull
+        MethodHandle object()
+        {
+            return m_handle.asType( MethodType.methodType( Object.class, IContext.class ) );
+        }
+    }
+
+}
@@ -70,6 +70,28 @@ public final class CUnaryExpression implements IUnaryExpression
         m_element = p_element;
     }
 
+    /**
+     * returns the operator
+     *
+     * @return operator
+     */
+    @Nonnull
+    public EUnaryOperator operator()
+    {
+        return m_operator;
+    }
+
+    /**
+     * returns the element
+     *
+     * @return execution element
+     */
+    @Nonnull
+    public IExecution element()
+    {
+        return m_element;
+    }
+
     @Nonnull
     @Override
     public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context, @Nonnull final List<ITerm> p_argument,
@@ -108,6 +130,13 @@ public final class CUnaryExpression implements IUnaryExpression
         return Arrays.stream( l_result );
     }
 
+    @Nonnull
+    @Override
+    public Stream<IExecution> children()
+    {
+        return Stream.of( m_element );
+    }
+
     @Nonnull
     @Override
     public Stream<IVariable<?>> variables()
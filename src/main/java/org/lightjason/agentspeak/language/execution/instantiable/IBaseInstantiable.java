@@ -33,10 +33,12 @@ import org.lightjason.agentspeak.language.execution.instantiable.plan.annotation
 import org.lightjason.agentspeak.language.execution.instantiable.plan.annotation.IAnnotation;
 import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
 import org.lightjason.agentspeak.language.variable.IVariable;
+import org.lightjason.agentspeak.metric.CProfiler;
 
 import javax.annotation.Nonnull;
 import java.text.MessageFormat;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -144,6 +146,28 @@ public abstract class IBaseInstantiable implements IInstantiable
         m_atomic = Arrays.stream( p_annotation ).parallel().anyMatch( i -> EAnnotation.ATOMIC.equals( i.id() ) );
     }
 
+    /**
+     * ctor to replace the execution elements
+     *
+     * @param p_instantiable source instantiable
+     * @param p_execution execution elements
+     *
+     * @note the hash code of the source is kept, so the
+     * execution elements must be semantically equal
+     */
+    protected IBaseInstantiable( @Nonnull final IBaseInstantiable p_instantiable, @Nonnull final IExecution[] p_execution )
+    {
+        m_hash = p_instantiable.m_hash;
+        m_execution = p_execution;
+
+        m_atomic = p_instantiable.m_atomic;
+        m_parallel = p_instantiable.m_parallel;
+        m_description = p_instantiable.m_description;
+        m_tags = p_instantiable.m_tags;
+        m_constant = p_instantiable.m_constant;
+        m_variabledescription = p_instantiable.m_variabledescription;
+    }
+
     @Nonnull
     @Override
     public final String description()
@@ -184,6 +208,24 @@ public abstract class IBaseInstantiable implements IInstantiable
         return CCommon.instantiate( this, p_agent, p_variable );
     }
 
+    @Nonnull
+    @Override
+    public Stream<IExecution> children()
+    {
+        return Arrays.stream( m_execution );
+    }
+
+    /**
+     * returns the execution elements
+     *
+     * @return execution stream
+     */
+    @Nonnull
+    public final Stream<IExecution> body()
+    {
+        return Arrays.stream( m_execution );
+    }
+
     @Nonnull
     @Override
     public Stream<IVariable<?>> variables()
@@ -203,9 +245,19 @@ public abstract class IBaseInstantiable implements IInstantiable
         // execution must be the first call, because all elements must be executed and iif the execution fails the @atomic flag can be checked,
         // each item gets its own parameters, annotation and return stack, so it will be created locally, but the return list did not to be an "empty-list"
         // because we need to allocate memory of any possible element, otherwise an unsupported operation exception is thrown
-        final Pair<List<IFuzzyValue<?>>, Boolean> l_result = m_parallel
-                                                             ? CCommon.executeparallel( p_context, Arrays.stream( m_execution ) )
-                                                             : CCommon.executesequential( p_context, Arrays.stream( m_execution ) );
+        final boolean l_profile = CProfiler.push( this );
+        final Pair<List<IFuzzyValue<?>>, Boolean> l_result;
+        try
+        {
+            l_result = m_parallel
+                       ? p_context.agent().parallelexecution().execute( p_context, m_execution )
+                       : p_context.agent().sequentialexecution().execute( false, p_context, Collections.emptyList(), Collections.emptyList(), m_execution );
+        }
+        finally
+        {
+            if ( l_profile )
+                CProfiler.pop();
+        }
 
         // if atomic flag if exists use this for return value
         return m_atomic
@@ -214,6 +266,17 @@ public abstract class IBaseInstantiable implements IInstantiable
     }
 
 
+    /**
+     * returns the constant variables
+     *
+     * @return variable stream
+     */
+    @Nonnull
+    protected final Stream<IVariable<?>> constants()
+    {
+        return Arrays.stream( m_constant );
+    }
+
     /**
      * returns all data as a string
      *
@@ -24,6 +24,7 @@
 package org.lightjason.agentspeak.language.execution.instantiable.plan;
 
 import org.apache.commons.lang3.StringUtils;
+import org.lightjason.agentspeak.common.IPath;
 import org.lightjason.agentspeak.language.CCommon;
 import org.lightjason.agentspeak.language.ILiteral;
 import org.lightjason.agentspeak.language.ITerm;
@@ -43,6 +44,8 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 
@@ -63,6 +66,10 @@ public final class CPlan extends IBaseInstantiable implements IPlan
      * execution condition / expression
      */
     private final IExecution m_condition;
+    /**
+     * variables of the condition
+     */
+    private final IVariable<?>[] m_conditionvariables;
 
 
     /**
@@ -103,6 +110,31 @@ public final class CPlan extends IBaseInstantiable implements IPlan
 
         m_triggerevent = p_event;
         m_condition = p_condition;
+
+        // constants are used first, so they are not overwritten by the condition variables
+        final Set<IPath> l_condition = p_condition.variables().map( IVariable::fqnfunctor ).collect( Collectors.toSet() );
+        m_conditionvariables = Stream.concat(
+            this.constants().filter( i -> l_condition.contains( i.fqnfunctor() ) ),
+            p_condition.variables()
+        ).toArray( IVariable<?>[]::new );
+    }
+
+    /**
+     * ctor to replace the plan body
+     *
+     * @param p_plan source plan
+     * @param p_body plan body
+     *
+     * @note the plan keeps the hash code of the source plan,
+     * so the body must be semantically equal e.g. with inlined rules
+     */
+    public CPlan( @Nonnull final CPlan p_plan, @Nonnull final IExecution[] p_body )
+    {
+        super( p_plan, p_body );
+
+        m_triggerevent = p_plan.m_triggerevent;
+        m_condition = p_plan.m_condition;
+        m_conditionvariables = p_plan.m_conditionvariables;
     }
 
     @Nonnull
@@ -149,6 +181,13 @@ public final class CPlan extends IBaseInstantiable implements IPlan
         );
     }
 
+    @Nonnull
+    @Override
+    public Stream<IExecution> children()
+    {
+        return Stream.concat( Stream.of( m_condition ), super.children() );
+    }
+
     @Nonnull
     @Override
     public Stream<IVariable<?>> variables()
@@ -160,6 +199,13 @@ public final class CPlan extends IBaseInstantiable implements IPlan
         );
     }
 
+    @Nonnull
+    @Override
+    public Stream<IVariable<?>> conditionvariables()
+    {
+        return Arrays.stream( m_conditionvariables );
+    }
+
     @Override
     public ILiteral literal()
     {
@@ -132,4 +132,17 @@ public interface IPlan extends IInstantiable
      */
     boolean condition( @Nonnull final IContext p_context );
 
+    /**
+     * returns the variables, which are needed to execute the
+     * plan condition, so the condition can be checked before
+     * all body variables are instantiated
+     *
+     * @return variable stream (variables will be cloned on instantiation)
+     */
+    @Nonnull
+    default Stream<IVariable<?>> conditionvariables()
+    {
+        return this.variables();
+    }
+
 }
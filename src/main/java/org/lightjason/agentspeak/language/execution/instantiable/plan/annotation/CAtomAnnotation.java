@@ -55,7 +55,7 @@ public final class CAtomAnnotation<T> extends IBaseAnnotation<T>
     @Override
     public int hashCode()
     {
-        return m_type.hashCode();
+        return m_type.name().hashCode();
     }
 
     @Override
@@ -63,7 +63,7 @@ public final class CConstantAnnotation<T> extends IBaseAnnotation<T>
     @Override
     public int hashCode()
     {
-        return m_type.hashCode() ^ m_name.hashCode();
+        return m_type.name().hashCode() ^ m_name.hashCode();
     }
 
     @Override
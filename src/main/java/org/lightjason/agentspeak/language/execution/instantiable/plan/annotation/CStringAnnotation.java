@@ -50,7 +50,7 @@ public final class CStringAnnotation extends IBaseAnnotation<String>
     @Override
     public int hashCode()
     {
-        return m_type.hashCode();
+        return m_type.name().hashCode();
     }
 
     @Override
@@ -87,7 +87,7 @@ public interface IAnnotation<T> extends IAssignable<T>
         @Override
         public int hashCode()
         {
-            return this.id().hashCode();
+            return this.id().name().hashCode();
         }
 
         @Override
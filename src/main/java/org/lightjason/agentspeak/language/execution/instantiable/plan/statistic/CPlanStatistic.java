@@ -24,45 +24,105 @@
 
 package org.lightjason.agentspeak.language.execution.instantiable.plan.statistic;
 
+import com.google.common.collect.ImmutableMap;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.lightjason.agentspeak.language.execution.instantiable.plan.IPlan;
 import org.lightjason.agentspeak.language.variable.CConstant;
 import org.lightjason.agentspeak.language.variable.IVariable;
+import org.lightjason.agentspeak.metric.CHistogram;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import java.text.MessageFormat;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 
 /**
  * plan statistic to count execution values
+ *
+ * @note counters are striped, so concurrent executions of the plan
+ * do not contend, the duration histogram is created on the first execution
  */
 public final class CPlanStatistic implements IPlanStatistic
 {
+    /**
+     * number of bits of the duration sub-buckets
+     */
+    private static final int DURATIONPRECISION = 4;
+    /**
+     * number of bits of the duration range (about 18 minutes in nanoseconds)
+     */
+    private static final int DURATIONRANGE = 40;
+    /**
+     * empty duration snapshot
+     */
+    private static final CHistogram.CSnapshot EMPTYDURATION = new CHistogram( DURATIONPRECISION, DURATIONRANGE ).snapshot();
+    /**
+     * statistic variables with value function
+     */
+    private static final Map<String, Function<IPlanStatistic, Object>> VARIABLES = ImmutableMap.<String, Function<IPlanStatistic, Object>>builder()
+        .put( "PlanSuccessful", IPlanStatistic::successful )
+        .put( "PlanFail", IPlanStatistic::fail )
+        .put( "PlanRuns", IPlanStatistic::count )
+        .put( "PlanSuccessfulRatio", IPlanStatistic::successfulratio )
+        .put( "PlanFailRatio", IPlanStatistic::failratio )
+        .put( "PlanConditionFail", IPlanStatistic::conditionfail )
+        .put( "PlanLastRun", IPlanStatistic::lastrun )
+        .build();
     /**
      * plan reference
      */
     private final IPlan m_plan;
+    /**
+     * source index of the plan
+     */
+    private final int m_index;
+    /**
+     * names of the statistic variables, which are used by the plan
+     */
+    private final String[] m_variables;
     /**
      * count of successful exeuctions
      */
-    private final AtomicLong m_successful = new AtomicLong();
+    private final LongAdder m_successful = new LongAdder();
     /**
      * count of fail exeuctions
      */
-    private final AtomicLong m_fail = new AtomicLong();
+    private final LongAdder m_fail = new LongAdder();
+    /**
+     * count of failed conditions
+     */
+    private final LongAdder m_conditionfail = new LongAdder();
+    /**
+     * timestamp of the last execution
+     */
+    private volatile long m_lastrun;
+    /**
+     * execution durations
+     */
+    private volatile CHistogram m_duration;
 
 
     /**
      * ctor
      *
      * @param p_plan plan reference
+     * @param p_index source index of the plan
      */
-    private CPlanStatistic( @Nonnull final IPlan p_plan )
+    private CPlanStatistic( @Nonnull final IPlan p_plan, @Nonnegative final int p_index )
     {
         m_plan = p_plan;
+        m_index = p_index;
+        m_variables = p_plan.variables()
+                            .map( i -> i.fqnfunctor().toString() )
+                            .filter( VARIABLES::containsKey )
+                            .distinct()
+                            .toArray( String[]::new );
     }
 
     @Nonnull
@@ -72,51 +132,81 @@ public final class CPlanStatistic implements IPlanStatistic
         return m_plan;
     }
 
+    @Override
+    public int index()
+    {
+        return m_index;
+    }
+
     @Override
     @Nonnegative
     public long count()
     {
-        return m_fail.get() + m_successful.get();
+        return m_fail.sum() + m_successful.sum();
     }
 
     @Override
     @Nonnegative
     public long successful()
     {
-        return m_successful.get();
+        return m_successful.sum();
     }
 
     @Override
     @Nonnegative
     public double successfulratio()
     {
-        final double l_sum = m_successful.get() + m_fail.get();
+        final long l_successful = m_successful.sum();
+        final double l_sum = l_successful + m_fail.sum();
         return l_sum == 0
                ? 0
-               : m_successful.get() / l_sum;
+               : l_successful / l_sum;
     }
 
     @Override
     @Nonnegative
     public long fail()
     {
-        return m_fail.get();
+        return m_fail.sum();
     }
 
     @Override
     public double failratio()
     {
-        final double l_sum = m_successful.get() + m_fail.get();
+        final long l_fail = m_fail.sum();
+        final double l_sum = m_successful.sum() + l_fail;
         return l_sum == 0
                ? 0
-               : m_fail.get() / l_sum;
+               : l_fail / l_sum;
+    }
+
+    @Override
+    @Nonnegative
+    public long conditionfail()
+    {
+        return m_conditionfail.sum();
+    }
+
+    @Override
+    @Nonnegative
+    public long lastrun()
+    {
+        return m_lastrun;
+    }
+
+    @Nonnull
+    @Override
+    public CHistogram.CSnapshot duration()
+    {
+        final CHistogram l_duration = m_duration;
+        return Objects.isNull( l_duration ) ? EMPTYDURATION : l_duration.snapshot();
     }
 
     @Nonnull
     @Override
     public IPlanStatistic incrementsuccessful()
     {
-        m_successful.incrementAndGet();
+        m_successful.increment();
         return this;
     }
 
@@ -124,23 +214,59 @@ public final class CPlanStatistic implements IPlanStatistic
     @Override
     public IPlanStatistic incrementfail()
     {
-        m_fail.incrementAndGet();
+        m_fail.increment();
         return this;
     }
 
     @Nonnull
     @Override
-    public Stream<IVariable<?>> variables()
+    public IPlanStatistic incrementconditionfail()
     {
-        return Stream.of(
-            new CConstant<>( "PlanSuccessful", m_successful.get() ),
-            new CConstant<>( "PlanFail", m_fail.get() ),
-            new CConstant<>( "PlanRuns", m_successful.get() + m_fail.get() ),
+        m_conditionfail.increment();
+        return this;
+    }
 
-            // execution ratio
-            new CConstant<>( "PlanSuccessfulRatio", this.successfulratio() ),
-            new CConstant<>( "PlanFailRatio", this.failratio() )
-        );
+    @Nonnull
+    @Override
+    public IPlanStatistic duration( @Nonnegative final long p_duration )
+    {
+        CHistogram l_duration = m_duration;
+        if ( Objects.isNull( l_duration ) )
+            synchronized ( this )
+            {
+                if ( Objects.isNull( m_duration ) )
+                    m_duration = new CHistogram( DURATIONPRECISION, DURATIONRANGE );
+                l_duration = m_duration;
+            }
+
+        l_duration.record( p_duration );
+        m_lastrun = System.currentTimeMillis();
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public synchronized IPlanStatistic restore( @Nonnegative final long p_successful, @Nonnegative final long p_fail, @Nonnegative final long p_conditionfail,
+                                                @Nonnegative final long p_lastrun, @Nonnull final CHistogram.CSnapshot p_duration )
+    {
+        m_successful.reset();
+        m_successful.add( p_successful );
+        m_fail.reset();
+        m_fail.add( p_fail );
+        m_conditionfail.reset();
+        m_conditionfail.add( p_conditionfail );
+        m_lastrun = p_lastrun;
+        m_duration = p_duration.count() == 0 ? null : CHistogram.of( p_duration );
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IVariable<?>> variables()
+    {
+        return m_variables.length == 0
+               ? Stream.empty()
+               : Arrays.stream( m_variables ).map( i -> new CConstant<>( i, VARIABLES.get( i ).apply( this ) ) );
     }
 
     @Override
@@ -159,13 +285,14 @@ public final class CPlanStatistic implements IPlanStatistic
     @Override
     public String toString()
     {
-        return MessageFormat.format( "successful [{0}], fail [{1}]: {2}", m_successful.get(), m_fail.get(), m_plan );
+        return MessageFormat.format( "successful [{0}], fail [{1}]: {2}", m_successful.sum(), m_fail.sum(), m_plan );
     }
 
     @Override
     public int compareTo( @Nonnull final IPlanStatistic p_other )
     {
-        return Integer.compare( this.hashCode(), p_other.hashCode() );
+        final int l_index = Integer.compare( m_index, p_other.index() );
+        return l_index == 0 ? Integer.compare( this.hashCode(), p_other.hashCode() ) : l_index;
     }
 
     /**
@@ -177,7 +304,20 @@ public final class CPlanStatistic implements IPlanStatistic
     @Nonnull
     public static IPlanStatistic of( @Nonnull final IPlan p_plan )
     {
-        return new CPlanStatistic( p_plan );
+        return of( p_plan, 0 );
+    }
+
+    /**
+     * factory
+     *
+     * @param p_plan plan object
+     * @param p_index source index of the plan
+     * @return statistic object
+     */
+    @Nonnull
+    public static IPlanStatistic of( @Nonnull final IPlan p_plan, @Nonnegative final int p_index )
+    {
+        return new CPlanStatistic( p_plan, p_index );
     }
 
 }
@@ -25,6 +25,7 @@ package org.lightjason.agentspeak.language.execution.instantiable.plan.statistic
 
 import org.lightjason.agentspeak.language.execution.instantiable.plan.IPlan;
 import org.lightjason.agentspeak.language.variable.IVariable;
+import org.lightjason.agentspeak.metric.CHistogram;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
@@ -44,6 +45,15 @@ public interface IPlanStatistic extends Comparable<IPlanStatistic>
     @Nonnull
     IPlan plan();
 
+    /**
+     * returns the source index of the plan,
+     * which defines the plan order
+     *
+     * @return index
+     */
+    @Nonnegative
+    int index();
+
     /**
      * returns the number of executions
      *
@@ -100,11 +110,81 @@ public interface IPlanStatistic extends Comparable<IPlanStatistic>
     @Nonnull
     IPlanStatistic incrementfail();
 
+    /**
+     * returns the number of failed conditions
+     *
+     * @return number of condition fails
+     */
+    @Nonnegative
+    long conditionfail();
+
+    /**
+     * returns the timestamp of the last execution
+     *
+     * @return epoch milliseconds or zero if the plan has not been executed
+     */
+    @Nonnegative
+    long lastrun();
+
+    /**
+     * returns the execution durations
+     *
+     * @return histogram snapshot of the durations in nanoseconds
+     */
+    @Nonnull
+    CHistogram.CSnapshot duration();
+
+    /**
+     * increments the failed conditions
+     *
+     * @return self reference
+     */
+    @Nonnull
+    IPlanStatistic incrementconditionfail();
+
+    /**
+     * records the duration of an execution
+     * and sets the last run timestamp
+     *
+     * @param p_duration duration in nanoseconds
+     * @return self reference
+     */
+    @Nonnull
+    IPlanStatistic duration( @Nonnegative final long p_duration );
+
+    /**
+     * sets all statistic values, e.g. on
+     * restoring an agent snapshot
+     *
+     * @param p_successful number of successful executions
+     * @param p_fail number of failed executions
+     * @param p_conditionfail number of failed conditions
+     * @param p_lastrun timestamp of the last execution
+     * @param p_duration execution durations
+     * @return self reference
+     */
+    @Nonnull
+    IPlanStatistic restore( @Nonnegative final long p_successful, @Nonnegative final long p_fail, @Nonnegative final long p_conditionfail,
+                            @Nonnegative final long p_lastrun, @Nonnull final CHistogram.CSnapshot p_duration );
+
+    /**
+     * sets all statistic values of another statistic
+     *
+     * @param p_statistic statistic
+     * @return self reference
+     */
+    @Nonnull
+    default IPlanStatistic restore( @Nonnull final IPlanStatistic p_statistic )
+    {
+        return this.restore( p_statistic.successful(), p_statistic.fail(), p_statistic.conditionfail(), p_statistic.lastrun(), p_statistic.duration() );
+    }
+
     /**
      * returns a stream with variables of
      * the internal data
      *
      * @return variable stream
+     * @note only the variables, which are used by the plan, are created
      */
     @Nonnull
     Stream<IVariable<?>> variables();
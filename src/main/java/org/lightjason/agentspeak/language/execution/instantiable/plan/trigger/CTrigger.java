@@ -67,8 +67,8 @@ public final class CTrigger implements ITrigger
     {
         m_event = p_event;
         m_literal = p_literal;
-        m_hashcode = m_event.hashCode() ^ m_literal.hashCode();
-        m_structurehash = m_event.hashCode() ^ m_literal.structurehash();
+        m_hashcode = m_event.name().hashCode() ^ m_literal.hashCode();
+        m_structurehash = m_event.name().hashCode() ^ m_literal.structurehash();
     }
 
     /**
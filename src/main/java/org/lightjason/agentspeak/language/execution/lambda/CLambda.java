@@ -23,21 +23,38 @@
 
 package org.lightjason.agentspeak.language.execution.lambda;
 
-import org.apache.commons.lang3.tuple.Pair;
 import org.lightjason.agentspeak.error.context.CExecutionIllegalStateException;
 import org.lightjason.agentspeak.language.CCommon;
 import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.CStructuredExecution;
 import org.lightjason.agentspeak.language.execution.IBaseExecution;
 import org.lightjason.agentspeak.language.execution.IContext;
 import org.lightjason.agentspeak.language.execution.IExecution;
+import org.lightjason.agentspeak.language.execution.assignment.CSingleAssignment;
+import org.lightjason.agentspeak.language.execution.assignment.EAssignOperator;
 import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
 import org.lightjason.agentspeak.language.variable.CMutexVariable;
+import org.lightjason.agentspeak.language.variable.CPrimitiveVariable;
+import org.lightjason.agentspeak.language.variable.CVariable;
 import org.lightjason.agentspeak.language.variable.IVariable;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.stream.BaseStream;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -51,6 +68,20 @@ public final class CLambda extends IBaseExecution<IExecution[]>
      * serial id
      */
     private static final long serialVersionUID = -7221932027365007256L;
+    /**
+     * number of parallel chunks of each processor
+     */
+    private static final int CHUNKFACTOR = 4;
+    /**
+     * chunk size of streams with unknown size
+     */
+    private static final int CHUNKSIZE = 1024;
+    /**
+     * assignment operators, which can be reduced
+     */
+    private static final Set<EAssignOperator> REDUCIBLE = Collections.unmodifiableSet(
+        EnumSet.of( EAssignOperator.INCREMENT, EAssignOperator.DECREMENT, EAssignOperator.MULTIPLY )
+    );
     /**
      * parallel execution
      */
@@ -67,6 +98,11 @@ public final class CLambda extends IBaseExecution<IExecution[]>
      * return variable
      */
     private final IVariable<?> m_return;
+    /**
+     * reduction operator of the return variable on parallel execution
+     */
+    @Nullable
+    private final EAssignOperator m_reduction;
 
 
     /**
@@ -87,6 +123,7 @@ public final class CLambda extends IBaseExecution<IExecution[]>
         m_stream = p_stream;
         m_iterator = p_iterator.term();
         m_parallel = p_parallel;
+        m_reduction = p_parallel ? reduction( m_return, m_value ) : null;
     }
 
     @Nonnull
@@ -107,20 +144,22 @@ public final class CLambda extends IBaseExecution<IExecution[]>
                 org.lightjason.agentspeak.common.CCommon.languagestring( this, "initializationerror" )
             );
 
-        return m_parallel ? this.parallel( p_context, l_init.get( 0 ).raw() ) : this.sequential( p_context, l_init.get( 0 ).raw() );
+        return m_parallel
+               ? this.parallel( p_context, spliterator( l_init.get( 0 ).raw() ) )
+               : this.sequential( p_context, spliterator( l_init.get( 0 ).raw() ) );
     }
 
     /**
      * execute sequential
      *
      * @param p_context execution context
-     * @param p_iterator iterator stream
+     * @param p_iterator iterator spliterator
      * @return execution result
      */
-    private Stream<IFuzzyValue<?>> sequential( @Nonnull final IContext p_context, @Nonnull final Stream<?> p_iterator )
+    private Stream<IFuzzyValue<?>> sequential( @Nonnull final IContext p_context, @Nonnull final Spliterator<?> p_iterator )
     {
         // build iterator variable
-        final IVariable<Object> l_iterator = m_iterator.shallowcopy();
+        final CPrimitiveVariable l_iterator = new CPrimitiveVariable( m_iterator.fqnfunctor() );
 
         // duplicate context, but don't use new variable instances, so use first existing variables
         final IContext l_context = p_context.duplicate(
@@ -132,38 +171,209 @@ public final class CLambda extends IBaseExecution<IExecution[]>
         );
 
         // execute lambda body and calculate result over all loops
-        return p_iterator
-            .peek( l_iterator::set )
-            .allMatch( i -> CCommon.executesequential( l_context, Arrays.stream( m_value ) ).getValue() )
-            ? p_context.agent().fuzzy().membership().success()
-            : p_context.agent().fuzzy().membership().fail();
+        boolean l_success = true;
+        while ( l_success && advance( p_iterator, l_iterator ) )
+            l_success = l_context.agent().sequentialexecution().execute( false, l_context, Collections.emptyList(), Collections.emptyList(), m_value ).getValue();
 
+        return l_success
+               ? p_context.agent().fuzzy().membership().success()
+               : p_context.agent().fuzzy().membership().fail();
     }
 
     /**
      * execute parallel
      *
      * @param p_context execution context
-     * @param p_iterator iterator stream
+     * @param p_iterator iterator spliterator
      * @return execution result
+     * @note the stream is split into chunks and each chunk
+     * is executed within one context
+     */
+    private Stream<IFuzzyValue<?>> parallel( @Nonnull final IContext p_context, @Nonnull final Spliterator<?> p_iterator )
+    {
+        final IVariable<Object> l_return = Objects.isNull( m_reduction ) ? null : CCommon.replacebycontext( p_context, m_return ).term();
+
+        return p_context.agent().parallelexecution().allmatch(
+            chunks( p_iterator ).stream().map( i -> () -> this.chunk( p_context, i, l_return ) )
+        )
+               ? p_context.agent().fuzzy().membership().success()
+               : p_context.agent().fuzzy().membership().fail();
+    }
+
+    /**
+     * execute a chunk with a reusable context
+     *
+     * @param p_context execution context
+     * @param p_chunk chunk
+     * @param p_return return variable of the reduction or null
+     * @return successful execution
+     * @note local body variables are reset on each element, so
+     * each element is executed like in an own context
+     */
+    private boolean chunk( @Nonnull final IContext p_context, @Nonnull final Spliterator<?> p_chunk, @Nullable final IVariable<Object> p_return )
+    {
+        final CPrimitiveVariable l_iterator = new CPrimitiveVariable( m_iterator.fqnfunctor() );
+        final IVariable<Object> l_partial = Objects.isNull( p_return )
+                                            ? null
+                                            : new CVariable<>( m_return.fqnfunctor(), EAssignOperator.MULTIPLY.equals( m_reduction ) ? 1D : 0D );
+
+        final List<IVariable<?>> l_local = Arrays.stream( m_value )
+                                                 .flatMap( IExecution::variables )
+                                                 .filter( i -> !i.fqnfunctor().equals( l_iterator.fqnfunctor() ) )
+                                                 .filter( i -> Objects.isNull( l_partial ) || !i.fqnfunctor().equals( l_partial.fqnfunctor() ) )
+                                                 .filter( i -> !p_context.instancevariables().containsKey( i.fqnfunctor() ) )
+                                                 .collect( Collectors.toMap( IVariable::fqnfunctor, i -> i.shallowcopy(), ( i, j ) -> i ) )
+                                                 .values()
+                                                 .stream()
+                                                 .collect( Collectors.toList() );
+
+        final IContext l_context = p_context.duplicate(
+            CCommon.streamconcatstrict(
+                Stream.of( l_iterator ),
+                Objects.isNull( l_partial ) ? Stream.empty() : Stream.of( l_partial ),
+                p_context.instancevariables().values().stream(),
+                l_local.stream()
+            )
+        );
+
+        boolean l_success = true;
+        try
+        {
+            while ( l_success && !CStructuredExecution.cancelled() && advance( p_chunk, l_iterator ) )
+            {
+                l_local.forEach( i -> i.set( null ) );
+                l_success = l_context.agent().sequentialexecution().execute( false, l_context, Collections.emptyList(), Collections.emptyList(), m_value ).getValue();
+            }
+        }
+        finally
+        {
+            if ( Objects.nonNull( p_return ) )
+                synchronized ( p_return )
+                {
+                    p_return.set( EAssignOperator.MULTIPLY.equals( m_reduction )
+                                  ? EAssignOperator.MULTIPLY.apply( p_return, l_partial )
+                                  : EAssignOperator.INCREMENT.apply( p_return, l_partial )
+                    );
+                }
+        }
+
+        return l_success;
+    }
+
+    /**
+     * returns the spliterator of the lambda source, primitive
+     * streams are used without boxing
+     *
+     * @param p_source stream or primitive stream
+     * @return spliterator
+     */
+    @Nonnull
+    private static Spliterator<?> spliterator( @Nonnull final Object p_source )
+    {
+        return ( (BaseStream<?, ?>) p_source ).spliterator();
+    }
+
+    /**
+     * sets the next element of the spliterator into the
+     * iterator variable, primitive elements are not boxed
+     *
+     * @param p_spliterator spliterator
+     * @param p_iterator iterator variable
+     * @return flag that an element exists
      */
-    private Stream<IFuzzyValue<?>> parallel( @Nonnull final IContext p_context, @Nonnull final Stream<?> p_iterator )
+    private static boolean advance( @Nonnull final Spliterator<?> p_spliterator, @Nonnull final CPrimitiveVariable p_iterator )
     {
-        return p_iterator.parallel()
-                         .map( i -> m_iterator.shallowcopy().set( i ) )
-                         .map( i -> p_context.duplicate(
-                             CCommon.streamconcatstrict(
-                                 Stream.of( i ),
-                                 p_context.instancevariables().values().stream(),
-                                 Arrays.stream( m_value ).flatMap( IExecution::variables )
-                             )
-                         ) )
-                         .map( i -> CCommon.executesequential( i, Arrays.stream( m_value ) ) )
-                         .allMatch( Pair::getValue )
-                         ? p_context.agent().fuzzy().membership().success()
-                         : p_context.agent().fuzzy().membership().fail();
+        if ( p_spliterator instanceof Spliterator.OfLong )
+            return ( (Spliterator.OfLong) p_spliterator ).tryAdvance( (LongConsumer) p_iterator::setlong );
+
+        if ( p_spliterator instanceof Spliterator.OfInt )
+            return ( (Spliterator.OfInt) p_spliterator ).tryAdvance( (IntConsumer) p_iterator::setlong );
+
+        if ( p_spliterator instanceof Spliterator.OfDouble )
+            return ( (Spliterator.OfDouble) p_spliterator ).tryAdvance( (DoubleConsumer) p_iterator::setdouble );
+
+        return p_spliterator.tryAdvance( p_iterator::set );
     }
 
+    /**
+     * splits a stream into chunks, the chunk size is
+     * defined by the stream size and the number of processors
+     *
+     * @param p_spliterator stream spliterator
+     * @return chunks in encounter order
+     */
+    @Nonnull
+    private static List<Spliterator<?>> chunks( @Nonnull final Spliterator<?> p_spliterator )
+    {
+        final long l_size = p_spliterator.estimateSize();
+        final long l_chunk = l_size == Long.MAX_VALUE
+                             ? CHUNKSIZE
+                             : Math.max( 1, l_size / ( (long) Runtime.getRuntime().availableProcessors() * CHUNKFACTOR ) );
+
+        final List<Spliterator<?>> l_chunks = new ArrayList<>();
+        final Deque<Spliterator<?>> l_split = new ArrayDeque<>();
+        l_split.push( p_spliterator );
+
+        while ( !l_split.isEmpty() )
+        {
+            final Spliterator<?> l_current = l_split.pop();
+            final Spliterator<?> l_prefix = l_current.estimateSize() > l_chunk ? l_current.trySplit() : null;
+
+            if ( Objects.isNull( l_prefix ) )
+                l_chunks.add( l_current );
+            else
+            {
+                l_split.push( l_current );
+                l_split.push( l_prefix );
+            }
+        }
+
+        return l_chunks;
+    }
+
+    /**
+     * returns the reduction operator of the return variable, iif
+     * the return variable is only used by compound assignments
+     * on the top-level of the body, which can be combined
+     *
+     * @param p_return return variable
+     * @param p_body body
+     * @return combining operator (increment or multiply) or null
+     */
+    @Nullable
+    private static EAssignOperator reduction( @Nonnull final IVariable<?> p_return, @Nonnull final IExecution[] p_body )
+    {
+        if ( p_return.equals( IVariable.EMPTY ) )
+            return null;
+
+        final Set<EAssignOperator> l_operator = EnumSet.noneOf( EAssignOperator.class );
+        for ( final IExecution i : p_body )
+        {
+            if ( i instanceof CSingleAssignment
+                 && ( (CSingleAssignment) i ).lhs().fqnfunctor().equals( p_return.fqnfunctor() )
+                 && REDUCIBLE.contains( ( (CSingleAssignment) i ).operator() )
+                 && ( (CSingleAssignment) i ).rhs().variables().noneMatch( j -> j.fqnfunctor().equals( p_return.fqnfunctor() ) ) )
+                l_operator.add( ( (CSingleAssignment) i ).operator() );
+
+            else if ( i.variables().anyMatch( j -> j.fqnfunctor().equals( p_return.fqnfunctor() ) ) )
+                return null;
+        }
+
+        if ( l_operator.isEmpty() )
+            return null;
+
+        if ( l_operator.equals( EnumSet.of( EAssignOperator.MULTIPLY ) ) )
+            return EAssignOperator.MULTIPLY;
+
+        return l_operator.contains( EAssignOperator.MULTIPLY ) ? null : EAssignOperator.INCREMENT;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IExecution> children()
+    {
+        return Stream.concat( Stream.of( m_stream ), Arrays.stream( m_value ) );
+    }
 
     @Nonnull
     @Override
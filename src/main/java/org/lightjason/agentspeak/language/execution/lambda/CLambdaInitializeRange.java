@@ -23,8 +23,6 @@
 
 package org.lightjason.agentspeak.language.execution.lambda;
 
-import com.codepoetics.protonpack.Indexed;
-import com.codepoetics.protonpack.StreamUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.lightjason.agentspeak.error.context.CExecutionIllegealArgumentException;
 import org.lightjason.agentspeak.language.CCommon;
@@ -70,7 +68,7 @@ public final class CLambdaInitializeRange extends IBaseExecution<IExecution[]>
                                            @Nonnull final List<ITerm> p_return )
     {
         final List<ITerm> l_range = CCommon.argumentlist();
-        final Pair<List<IFuzzyValue<?>>, Boolean> l_result = CCommon.executesequential( p_parallel, p_context, p_argument, l_range, Arrays.stream( m_value ) );
+        final Pair<List<IFuzzyValue<?>>, Boolean> l_result = p_context.agent().sequentialexecution().execute( p_parallel, p_context, p_argument, l_range, m_value );
         if ( !l_result.getValue() )
             return p_context.agent().fuzzy().membership().fail();
 
@@ -89,23 +87,21 @@ public final class CLambdaInitializeRange extends IBaseExecution<IExecution[]>
      *
      * @param p_range range definition
      * @param p_return return arguments
+     * @note the range is returned as primitive stream, so the
+     * elements are not boxed on iteration
      */
     private static void generate( @Nonnull final List<ITerm> p_range, @Nonnull final List<ITerm> p_return )
     {
         switch ( p_range.size() )
         {
             case 1:
-                p_return.add(
-                    CRawTerm.of(
-                        LongStream.range( 0, p_range.get( 0 ).<Number>raw().longValue() ).boxed()
-                    )
-                );
+                p_return.add( CRawTerm.of( LongStream.range( 0, p_range.get( 0 ).<Number>raw().longValue() ) ) );
                 break;
 
             case 2:
                 p_return.add(
                     CRawTerm.of(
-                        LongStream.range( p_range.get( 0 ).<Number>raw().longValue(), p_range.get( 1 ).<Number>raw().longValue() ).boxed()
+                        LongStream.range( p_range.get( 0 ).<Number>raw().longValue(), p_range.get( 1 ).<Number>raw().longValue() )
                     )
                 );
                 break;
@@ -113,9 +109,7 @@ public final class CLambdaInitializeRange extends IBaseExecution<IExecution[]>
             case 3:
                 p_return.add(
                     CRawTerm.of(
-                        StreamUtils.zipWithIndex(
-                            LongStream.range( p_range.get( 0 ).<Number>raw().longValue(), p_range.get( 1 ).<Number>raw().longValue() ).boxed()
-                        ).filter( i -> i.getIndex() % p_range.get( 2 ).<Number>raw().longValue() == 0 ).map( Indexed::getValue )
+                        range( p_range.get( 0 ).<Number>raw().longValue(), p_range.get( 1 ).<Number>raw().longValue(), p_range.get( 2 ).<Number>raw().longValue() )
                     )
                 );
                 break;
@@ -124,6 +118,28 @@ public final class CLambdaInitializeRange extends IBaseExecution<IExecution[]>
         }
     }
 
+    /**
+     * creates a sized range with step
+     *
+     * @param p_start start value (inclusive)
+     * @param p_end end value (exclusive)
+     * @param p_step step size
+     * @return range stream
+     */
+    @Nonnull
+    private static LongStream range( final long p_start, final long p_end, final long p_step )
+    {
+        final long l_step = Math.abs( p_step );
+        return LongStream.range( 0, ( p_end - p_start + l_step - 1 ) / l_step ).map( i -> p_start + i * l_step );
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IExecution> children()
+    {
+        return Arrays.stream( m_value );
+    }
+
     @Nonnull
     @Override
     public Stream<IVariable<?>> variables()
@@ -35,10 +35,16 @@ import org.lightjason.agentspeak.language.execution.IExecution;
 import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.BaseStream;
 import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 
@@ -75,7 +81,7 @@ public final class CLambdaInitializeStream extends IBaseExecution<IExecution[]>
     )
     {
         final List<ITerm> l_return = CCommon.argumentlist();
-        final Pair<List<IFuzzyValue<?>>, Boolean> l_result = CCommon.executesequential( p_parallel, p_context, p_argument, l_return, Arrays.stream( m_value ) );
+        final Pair<List<IFuzzyValue<?>>, Boolean> l_result = p_context.agent().sequentialexecution().execute( p_parallel, p_context, p_argument, l_return, m_value );
         if ( !l_result.getValue() )
             return p_context.agent().fuzzy().membership().fail();
 
@@ -86,16 +92,72 @@ public final class CLambdaInitializeStream extends IBaseExecution<IExecution[]>
             );
 
 
+        // a single primitive source is passed without boxing
+        final BaseStream<?, ?> l_primitive = l_return.size() == 1 ? primitive( l_return.get( 0 ).raw() ) : null;
         p_return.add(
             CRawTerm.of(
-                l_return.stream()
-                        .flatMap( i -> Objects.isNull( i.raw() ) ? Stream.empty() : m_lambda.apply( i.raw().getClass() ).apply( i.raw() ) )
+                Objects.nonNull( l_primitive )
+                ? l_primitive
+                : l_return.stream().flatMap( this::stream )
             )
         );
 
         return l_result.getKey().stream();
     }
 
+    /**
+     * returns the stream of an argument
+     *
+     * @param p_argument argument
+     * @return boxed stream
+     */
+    @Nonnull
+    private Stream<?> stream( @Nonnull final ITerm p_argument )
+    {
+        if ( Objects.isNull( p_argument.raw() ) )
+            return Stream.empty();
+
+        final BaseStream<?, ?> l_primitive = primitive( p_argument.raw() );
+        if ( l_primitive instanceof LongStream )
+            return ( (LongStream) l_primitive ).boxed();
+        if ( l_primitive instanceof IntStream )
+            return ( (IntStream) l_primitive ).boxed();
+        if ( l_primitive instanceof DoubleStream )
+            return ( (DoubleStream) l_primitive ).boxed();
+
+        return m_lambda.apply( p_argument.raw().getClass() ).apply( p_argument.raw() );
+    }
+
+    /**
+     * returns a primitive stream of primitive arrays,
+     * bit sets and primitive streams
+     *
+     * @param p_value value
+     * @return primitive stream or null
+     */
+    @Nullable
+    private static BaseStream<?, ?> primitive( @Nullable final Object p_value )
+    {
+        if ( p_value instanceof long[] )
+            return Arrays.stream( (long[]) p_value );
+        if ( p_value instanceof int[] )
+            return Arrays.stream( (int[]) p_value );
+        if ( p_value instanceof double[] )
+            return Arrays.stream( (double[]) p_value );
+        if ( p_value instanceof BitSet )
+            return ( (BitSet) p_value ).stream();
+        if ( p_value instanceof LongStream || p_value instanceof IntStream || p_value instanceof DoubleStream )
+            return (BaseStream<?, ?>) p_value;
+
+        return null;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IExecution> children()
+    {
+        return Arrays.stream( m_value );
+    }
 
     @Override
     public String toString()
@@ -24,6 +24,7 @@
 package org.lightjason.agentspeak.language.execution.passing;
 
 import org.apache.commons.lang3.StringUtils;
+import org.lightjason.agentspeak.action.IAction;
 import org.lightjason.agentspeak.language.CCommon;
 import org.lightjason.agentspeak.language.CRawTerm;
 import org.lightjason.agentspeak.language.ITerm;
@@ -31,6 +32,9 @@ import org.lightjason.agentspeak.language.execution.IContext;
 import org.lightjason.agentspeak.language.execution.IExecution;
 import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
 import org.lightjason.agentspeak.language.variable.IVariable;
+import org.lightjason.agentspeak.metric.CActionEvent;
+import org.lightjason.agentspeak.metric.CProfiler;
+import org.lightjason.agentspeak.metric.EMetric;
 
 import javax.annotation.Nonnull;
 import java.text.MessageFormat;
@@ -96,12 +100,37 @@ public final class CPassAction implements IExecution
             return p_context.agent().fuzzy().membership().fail();
 
         final int l_returnsize = p_return.size();
-        final IFuzzyValue<?>[] l_result = m_execution.execute(
-            m_parallel,
-            p_context,
-            Collections.unmodifiableList( l_arguments ),
-            p_return
-        ).toArray( IFuzzyValue[]::new );
+        final CActionEvent l_event = CActionEvent.start( m_execution );
+        final long l_start = p_context.agent().metrics().enabled() ? System.nanoTime() : 0;
+        final boolean l_profile = CProfiler.push( m_execution );
+        final IFuzzyValue<?>[] l_result;
+        try
+        {
+            l_result = m_execution.execute(
+                m_parallel,
+                p_context,
+                Collections.unmodifiableList( l_arguments ),
+                p_return
+            ).toArray( IFuzzyValue[]::new );
+        }
+        finally
+        {
+            if ( l_profile )
+                CProfiler.pop();
+        }
+
+        if ( p_context.agent().metrics().enabled() )
+            p_context.agent().metrics().record(
+                EMetric.ACTION,
+                m_execution instanceof IAction ? ( (IAction) m_execution ).name().toString() : m_execution.toString(),
+                System.nanoTime() - l_start
+            );
+        if ( Objects.nonNull( l_event ) )
+            l_event.finish(
+                p_context.agent().fuzzy().defuzzification().success(
+                    p_context.agent().fuzzy().defuzzification().apply( Arrays.stream( l_result ) )
+                )
+            );
 
         if ( p_return.size() == l_returnsize )
             p_return.add(
@@ -149,6 +178,15 @@ public final class CPassAction implements IExecution
         return Arrays.stream( l_return );
     }
 
+    @Nonnull
+    @Override
+    public Stream<IExecution> children()
+    {
+        return Arrays.stream( m_arguments )
+                     .filter( i -> CCommon.isssignableto( i, IExecution.class ) )
+                     .map( ITerm::<IExecution>raw );
+    }
+
     @Nonnull
     @Override
     public Stream<IVariable<?>> variables()
@@ -57,6 +57,17 @@ public final class CPassRaw<T> extends IBaseExecution<ITerm>
         super( CRawTerm.of( p_value ) );
     }
 
+    /**
+     * returns the raw term
+     *
+     * @return term
+     */
+    @Nonnull
+    public ITerm value()
+    {
+        return m_value;
+    }
+
     @Nonnull
     @Override
     public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context, @Nonnull final List<ITerm> p_argument,
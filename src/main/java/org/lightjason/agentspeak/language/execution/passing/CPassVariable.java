@@ -56,6 +56,17 @@ public final class CPassVariable extends IBaseExecution<IVariable<?>>
         super( p_value );
     }
 
+    /**
+     * returns the variable
+     *
+     * @return variable
+     */
+    @Nonnull
+    public IVariable<?> value()
+    {
+        return m_value;
+    }
+
     @Nonnull
     @Override
     public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context, @Nonnull final List<ITerm> p_argument,
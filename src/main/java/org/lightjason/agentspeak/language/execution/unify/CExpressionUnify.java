@@ -78,6 +78,13 @@ public final class CExpressionUnify extends CDefaultUnify
         return p_context.agent().unifier().unify( p_context, m_value, m_variablenumber, m_expression, m_parallel );
     }
 
+    @Nonnull
+    @Override
+    public Stream<IExecution> children()
+    {
+        return Stream.of( m_expression );
+    }
+
     @Nonnull
     @Override
     public Stream<IVariable<?>> variables()
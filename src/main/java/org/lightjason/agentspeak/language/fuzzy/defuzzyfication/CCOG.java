@@ -75,6 +75,19 @@ public final class CCOG<E extends Enum<?>> extends IBaseDefuzzification<E>
                                           * i.fuzzy().doubleValue() ).sum();
     }
 
+    @Nonnull
+    @Override
+    public IAccumulator accumulator()
+    {
+        return this.weightedaccumulator(
+            i -> m_membership.range( this.index2enum( i.get().ordinal() ) )
+                             .mapToDouble( Number::doubleValue )
+                             .sum()
+                 * i.fuzzy().doubleValue(),
+            i -> m_membership.range( this.index2enum( i.get().ordinal() ) ).count() * i.fuzzy().doubleValue()
+        );
+    }
+
     @Override
     public boolean success( @NonNull final Number p_value )
     {
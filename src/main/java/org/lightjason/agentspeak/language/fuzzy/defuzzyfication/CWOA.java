@@ -65,6 +65,16 @@ public final class CWOA<E extends Enum<?>> extends IBaseDefuzzification<E>
                / Arrays.stream( l_values ).mapToDouble( i -> i.fuzzy().doubleValue() ).sum();
     }
 
+    @Nonnull
+    @Override
+    public IAccumulator accumulator()
+    {
+        return this.weightedaccumulator(
+            i -> i.fuzzy().doubleValue() * ( i.get().ordinal() ),
+            i -> i.fuzzy().doubleValue()
+        );
+    }
+
     @Override
     public boolean success( @NonNull final Number p_value )
     {
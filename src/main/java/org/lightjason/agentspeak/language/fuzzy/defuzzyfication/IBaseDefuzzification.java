@@ -31,7 +31,9 @@ import org.lightjason.agentspeak.language.fuzzy.set.IFuzzySet;
 
 import javax.annotation.Nonnull;
 import java.util.Arrays;
+import java.util.Objects;
 import java.util.OptionalDouble;
+import java.util.function.ToDoubleFunction;
 
 
 /**
@@ -99,10 +101,104 @@ public abstract class IBaseDefuzzification<E extends Enum<?>> implements IDefuzz
                      .max();
     }
 
+    /**
+     * creates an accumulator of a weighted average
+     *
+     * @param p_numerator numerator weight of a value
+     * @param p_denominator denominator weight of a value
+     * @return accumulator
+     */
+    @Nonnull
+    protected final IAccumulator weightedaccumulator( @Nonnull final ToDoubleFunction<IFuzzyValue<?>> p_numerator,
+                                                      @Nonnull final ToDoubleFunction<IFuzzyValue<?>> p_denominator )
+    {
+        return new CWeightedAccumulator( p_numerator, p_denominator );
+    }
+
     @Nonnull
     @Override
     public IAgent<?> update( @Nonnull final IAgent<?> p_agent )
     {
         return p_agent;
     }
+
+    /**
+     * accumulator of a weighted average, which returns for less than two
+     * values the default value or the fuzzy value of the single value
+     */
+    private final class CWeightedAccumulator implements IAccumulator
+    {
+        /**
+         * numerator weight
+         */
+        private final ToDoubleFunction<IFuzzyValue<?>> m_numeratorweight;
+        /**
+         * denominator weight
+         */
+        private final ToDoubleFunction<IFuzzyValue<?>> m_denominatorweight;
+        /**
+         * first value
+         */
+        private IFuzzyValue<?> m_first;
+        /**
+         * number of values
+         */
+        private long m_count;
+        /**
+         * numerator sum
+         */
+        private double m_numerator;
+        /**
+         * denominator sum
+         */
+        private double m_denominator;
+
+        /**
+         * ctor
+         *
+         * @param p_numerator numerator weight
+         * @param p_denominator denominator weight
+         */
+        CWeightedAccumulator( @Nonnull final ToDoubleFunction<IFuzzyValue<?>> p_numerator, @Nonnull final ToDoubleFunction<IFuzzyValue<?>> p_denominator )
+        {
+            m_numeratorweight = p_numerator;
+            m_denominatorweight = p_denominator;
+        }
+
+        @Nonnull
+        @Override
+        public IAccumulator add( @Nonnull final IFuzzyValue<?> p_value )
+        {
+            if ( Objects.isNull( m_first ) )
+                m_first = p_value;
+
+            m_count++;
+            m_numerator += m_numeratorweight.applyAsDouble( p_value );
+            m_denominator += m_denominatorweight.applyAsDouble( p_value );
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public Number get()
+        {
+            if ( m_count < 2 )
+                return m_count == 0 ? m_default.fuzzy() : m_first.fuzzy();
+
+            return m_numerator / m_denominator;
+        }
+
+        @Nonnull
+        @Override
+        public IAccumulator copy()
+        {
+            final CWeightedAccumulator l_copy = new CWeightedAccumulator( m_numeratorweight, m_denominatorweight );
+            l_copy.m_first = m_first;
+            l_copy.m_count = m_count;
+            l_copy.m_numerator = m_numerator;
+            l_copy.m_denominator = m_denominator;
+            return l_copy;
+        }
+    }
+
 }
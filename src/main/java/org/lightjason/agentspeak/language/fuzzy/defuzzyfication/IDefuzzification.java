@@ -28,6 +28,9 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import org.lightjason.agentspeak.agent.IAgentUpdateable;
 import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
 
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -52,5 +55,103 @@ public interface IDefuzzification extends IAgentUpdateable, Function<Stream<IFuz
      */
     boolean success( @NonNull Number p_value );
 
+    /**
+     * creates an accumulator, which defuzzificates
+     * fuzzy values incrementally
+     *
+     * @return accumulator
+     * @note the default accumulator stores all values and
+     * applies the defuzzification on each call
+     */
+    @Nonnull
+    default IAccumulator accumulator()
+    {
+        return new CAccumulator( this );
+    }
+
+
+    /**
+     * accumulator of fuzzy values
+     */
+    interface IAccumulator
+    {
+
+        /**
+         * adds a fuzzy value
+         *
+         * @param p_value fuzzy value
+         * @return self reference
+         */
+        @Nonnull
+        IAccumulator add( @Nonnull IFuzzyValue<?> p_value );
+
+        /**
+         * returns the defuzzificated value
+         * of all added values
+         *
+         * @return defuzzificated value
+         */
+        @Nonnull
+        Number get();
+
+        /**
+         * returns a copy of the accumulator
+         *
+         * @return accumulator with the same values
+         */
+        @Nonnull
+        IAccumulator copy();
+
+    }
+
+    /**
+     * accumulator, which stores all values
+     */
+    final class CAccumulator implements IAccumulator
+    {
+        /**
+         * defuzzification
+         */
+        private final IDefuzzification m_defuzzification;
+        /**
+         * values
+         */
+        private final List<IFuzzyValue<?>> m_values = new ArrayList<>();
+
+        /**
+         * ctor
+         *
+         * @param p_defuzzification defuzzification
+         */
+        public CAccumulator( @Nonnull final IDefuzzification p_defuzzification )
+        {
+            m_defuzzification = p_defuzzification;
+        }
+
+        @Nonnull
+        @Override
+        public IAccumulator add( @Nonnull final IFuzzyValue<?> p_value )
+        {
+            m_values.add( p_value );
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public Number get()
+        {
+            return m_defuzzification.apply( m_values.stream() );
+        }
+
+        @Nonnull
+        @Override
+        public IAccumulator copy()
+        {
+            final CAccumulator l_copy = new CAccumulator( m_defuzzification );
+            l_copy.m_values.addAll( m_values );
+            return l_copy;
+        }
+    }
+
 }
 
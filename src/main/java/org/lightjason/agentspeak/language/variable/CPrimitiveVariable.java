@@ -0,0 +1,229 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.language.variable;
+
+import org.lightjason.agentspeak.common.CPath;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.ITerm;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Objects;
+
+
+/**
+ * variable, which stores long and double
+ * values without boxing, the value is boxed
+ * on reading only
+ *
+ * @note is used as iterator variable of lambda
+ * expressions with primitive streams
+ */
+public final class CPrimitiveVariable extends IBaseVariable<Object>
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 2619468263405925578L;
+    /**
+     * value type
+     */
+    private EType m_type = EType.OBJECT;
+    /**
+     * long value
+     */
+    private long m_long;
+    /**
+     * double value
+     */
+    private double m_double;
+    /**
+     * object value
+     */
+    private Object m_value;
+
+    /**
+     * ctor
+     *
+     * @param p_functor functor
+     */
+    public CPrimitiveVariable( @Nonnull final String p_functor )
+    {
+        super( p_functor );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_functor functor
+     */
+    public CPrimitiveVariable( @Nonnull final IPath p_functor )
+    {
+        super( p_functor );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_functor functor
+     * @param p_variable variable to copy the value
+     * @param p_value object value
+     */
+    private CPrimitiveVariable( @Nonnull final IPath p_functor, @Nonnull final CPrimitiveVariable p_variable, @Nullable final Object p_value )
+    {
+        super( p_functor );
+        m_type = p_variable.m_type;
+        m_long = p_variable.m_long;
+        m_double = p_variable.m_double;
+        m_value = p_value;
+    }
+
+    /**
+     * sets a long value
+     *
+     * @param p_value value
+     * @return self reference
+     */
+    @Nonnull
+    public CPrimitiveVariable setlong( final long p_value )
+    {
+        if ( this.any() )
+            return this;
+
+        m_type = EType.LONG;
+        m_long = p_value;
+        m_value = null;
+        return this;
+    }
+
+    /**
+     * sets a double value
+     *
+     * @param p_value value
+     * @return self reference
+     */
+    @Nonnull
+    public CPrimitiveVariable setdouble( final double p_value )
+    {
+        if ( this.any() )
+            return this;
+
+        m_type = EType.DOUBLE;
+        m_double = p_value;
+        m_value = null;
+        return this;
+    }
+
+    @Override
+    public boolean mutex()
+    {
+        return false;
+    }
+
+    @Nonnull
+    @Override
+    public IVariable<Object> shallowcopy( @Nullable final IPath... p_prefix )
+    {
+        return new CPrimitiveVariable(
+            Objects.isNull( p_prefix ) || p_prefix.length == 0
+            ? m_functor
+            : p_prefix[0].append( m_functor ),
+            this,
+            m_value
+        );
+    }
+
+    @Nonnull
+    @Override
+    public IVariable<Object> shallowcopysuffix()
+    {
+        return new CPrimitiveVariable( CPath.of( m_functor.suffix() ), this, m_value );
+    }
+
+    @Nonnull
+    @Override
+    public IVariable<Object> shallowcopywithoutsuffix()
+    {
+        return new CPrimitiveVariable( m_functor.subpath( 0, m_functor.size() - 1 ), this, m_value );
+    }
+
+    @Nonnull
+    @Override
+    public ITerm deepcopy( @Nullable final IPath... p_prefix )
+    {
+        return new CPrimitiveVariable(
+            Objects.isNull( p_prefix ) || p_prefix.length == 0
+            ? m_functor
+            : p_prefix[0].append( m_functor ),
+            this,
+            CCommon.deepclone( m_value )
+        );
+    }
+
+    @Nonnull
+    @Override
+    public ITerm deepcopysuffix()
+    {
+        return new CPrimitiveVariable( CPath.of( m_functor.suffix() ), this, CCommon.deepclone( m_value ) );
+    }
+
+    @Nonnull
+    @Override
+    protected IVariable<Object> setvalue( @Nullable final Object p_value )
+    {
+        m_type = EType.OBJECT;
+        m_value = p_value;
+        return this;
+    }
+
+    @Nullable
+    @Override
+    protected Object getvalue()
+    {
+        switch ( m_type )
+        {
+            case LONG:
+                return m_long;
+
+            case DOUBLE:
+                return m_double;
+
+            default:
+                return m_value;
+        }
+    }
+
+
+    /**
+     * value type
+     */
+    private enum EType
+    {
+        OBJECT,
+        LONG,
+        DOUBLE
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.metric;
+
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.lightjason.agentspeak.action.IAction;
+import org.lightjason.agentspeak.language.execution.IExecution;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * flight recorder event of the invocation of an action
+ */
+@Name( "org.lightjason.agentspeak.Action" )
+@Label( "Action Invocation" )
+@Description( "Invocation of an action" )
+public final class CActionEvent extends IBaseEvent
+{
+    /**
+     * event type
+     */
+    private static final EventType TYPE = EventType.getEventType( CActionEvent.class );
+    /**
+     * action name
+     */
+    @Name( "action" )
+    @Label( "Action" )
+    private String m_action;
+    /**
+     * action is executed successfully
+     */
+    @Name( "successful" )
+    @Label( "Successful" )
+    private boolean m_successful;
+
+    /**
+     * starts the event
+     *
+     * @param p_execution action execution
+     * @return started event or null if the event is disabled
+     */
+    @Nullable
+    public static CActionEvent start( @Nonnull final IExecution p_execution )
+    {
+        if ( !TYPE.isEnabled() )
+            return null;
+
+        final CActionEvent l_event = new CActionEvent();
+        l_event.m_action = p_execution instanceof IAction ? ( (IAction) p_execution ).name().toString() : p_execution.toString();
+        l_event.begin();
+        return l_event;
+    }
+
+    /**
+     * finishes and commits the event
+     *
+     * @param p_successful execution result
+     */
+    public void finish( final boolean p_successful )
+    {
+        m_successful = p_successful;
+        this.commit();
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.metric;
+
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.lightjason.agentspeak.agent.IAgent;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * flight recorder event of the execution of an agent cycle
+ */
+@Name( "org.lightjason.agentspeak.Cycle" )
+@Label( "Agent Cycle" )
+@Description( "Execution of an agent cycle" )
+public final class CCycleEvent extends IBaseEvent
+{
+    /**
+     * event type
+     */
+    private static final EventType TYPE = EventType.getEventType( CCycleEvent.class );
+    /**
+     * agent name
+     */
+    @Name( "agent" )
+    @Label( "Agent" )
+    private String m_agent;
+    /**
+     * agent was active during the cycle
+     */
+    @Name( "active" )
+    @Label( "Active" )
+    private boolean m_active;
+
+    /**
+     * starts the event
+     *
+     * @param p_agent agent
+     * @return started event or null if the event is disabled
+     */
+    @Nullable
+    public static CCycleEvent start( @Nonnull final IAgent<?> p_agent )
+    {
+        if ( !TYPE.isEnabled() )
+            return null;
+
+        final CCycleEvent l_event = new CCycleEvent();
+        l_event.m_agent = p_agent.getClass().getName() + "@" + Integer.toHexString( p_agent.hashCode() );
+        l_event.begin();
+        return l_event;
+    }
+
+    /**
+     * finishes and commits the event
+     *
+     * @param p_active agent was active
+     */
+    public void finish( final boolean p_active )
+    {
+        m_active = p_active;
+        this.commit();
+    }
+
+}
@@ -0,0 +1,403 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.metric;
+
+import org.checkerframework.checker.index.qual.Positive;
+import org.lightjason.agentspeak.common.CCommon;
+import org.lightjason.agentspeak.error.CIllegalArgumentException;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+
+/**
+ * lock-free histogram with logarithmic buckets (hdr-style), each
+ * power of two is split into linear sub-buckets, so the relative
+ * error of a value is bounded by the number of sub-buckets
+ *
+ * @note recording does not allocate and uses only atomic increments
+ */
+public final class CHistogram
+{
+    /**
+     * default number of bits of the sub-bucket index
+     */
+    public static final int DEFAULTPRECISION = 7;
+    /**
+     * default number of bits of the value range
+     */
+    public static final int DEFAULTRANGE = Long.SIZE - 1;
+    /**
+     * number of bits of the sub-bucket index
+     */
+    private final int m_precision;
+    /**
+     * largest value, which is stored in a bucket
+     */
+    private final long m_maximum;
+    /**
+     * bucket counts
+     */
+    private final AtomicLongArray m_buckets;
+    /**
+     * number of values
+     */
+    private final LongAdder m_count = new LongAdder();
+    /**
+     * sum of values
+     */
+    private final LongAdder m_sum = new LongAdder();
+    /**
+     * minimum value
+     */
+    private final LongAccumulator m_min = new LongAccumulator( Math::min, Long.MAX_VALUE );
+    /**
+     * maximum value
+     */
+    private final LongAccumulator m_max = new LongAccumulator( Math::max, Long.MIN_VALUE );
+
+    /**
+     * ctor
+     */
+    public CHistogram()
+    {
+        this( DEFAULTPRECISION, DEFAULTRANGE );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_precision number of bits of the sub-buckets, the relative error is 2^(1 - precision)
+     * @param p_range number of bits of the value range, larger values are counted in the highest bucket
+     */
+    public CHistogram( @Positive final int p_precision, @Positive final int p_range )
+    {
+        if ( p_precision < 2 || p_precision > 16 || p_range <= p_precision || p_range > DEFAULTRANGE )
+            throw new CIllegalArgumentException( CCommon.languagestring( this, "precision", p_precision, p_range ) );
+
+        m_precision = p_precision;
+        m_maximum = p_range == Long.SIZE - 1 ? Long.MAX_VALUE : ( 1L << p_range ) - 1;
+        m_buckets = new AtomicLongArray( ( 1 << p_precision ) + ( p_range - p_precision ) * ( 1 << ( p_precision - 1 ) ) );
+    }
+
+    /**
+     * records a value
+     *
+     * @param p_value value, negative values are recorded as zero
+     * @return self reference
+     */
+    @Nonnull
+    public CHistogram record( final long p_value )
+    {
+        final long l_value = Math.max( 0, p_value );
+
+        m_buckets.incrementAndGet( index( m_precision, Math.min( l_value, m_maximum ) ) );
+        m_count.increment();
+        m_sum.add( l_value );
+        m_min.accumulate( l_value );
+        m_max.accumulate( l_value );
+        return this;
+    }
+
+    /**
+     * returns a snapshot of the histogram
+     *
+     * @return snapshot
+     */
+    @Nonnull
+    public CSnapshot snapshot()
+    {
+        final long[] l_buckets = new long[m_buckets.length()];
+        IntStream.range( 0, l_buckets.length ).forEach( i -> l_buckets[i] = m_buckets.get( i ) );
+
+        return new CSnapshot( m_precision, l_buckets, m_count.sum(), m_sum.sum(), m_min.get(), m_max.get() );
+    }
+
+    @Override
+    public String toString()
+    {
+        return this.snapshot().toString();
+    }
+
+    /**
+     * creates a histogram with the values of a snapshot
+     *
+     * @param p_snapshot snapshot
+     * @return histogram with the precision and range of the snapshot
+     */
+    @Nonnull
+    public static CHistogram of( @Nonnull final CSnapshot p_snapshot )
+    {
+        final int l_halfcount = 1 << ( p_snapshot.m_precision - 1 );
+        final CHistogram l_histogram = new CHistogram(
+            p_snapshot.m_precision,
+            p_snapshot.m_precision + ( p_snapshot.m_buckets.length - ( l_halfcount << 1 ) ) / l_halfcount
+        );
+
+        IntStream.range( 0, p_snapshot.m_buckets.length ).forEach( i -> l_histogram.m_buckets.set( i, p_snapshot.m_buckets[i] ) );
+        l_histogram.m_count.add( p_snapshot.m_count );
+        l_histogram.m_sum.add( p_snapshot.m_sum );
+        if ( p_snapshot.m_count > 0 )
+        {
+            l_histogram.m_min.accumulate( p_snapshot.m_min );
+            l_histogram.m_max.accumulate( p_snapshot.m_max );
+        }
+        return l_histogram;
+    }
+
+    /**
+     * returns the bucket index of a value
+     *
+     * @param p_precision number of bits of the sub-buckets
+     * @param p_value non-negative value
+     * @return index
+     */
+    private static int index( @Positive final int p_precision, @Nonnegative final long p_value )
+    {
+        final int l_subcount = 1 << p_precision;
+        if ( p_value < l_subcount )
+            return (int) p_value;
+
+        final int l_halfcount = l_subcount >> 1;
+        final int l_shift = Long.SIZE - Long.numberOfLeadingZeros( p_value ) - p_precision;
+        return l_subcount + ( l_shift - 1 ) * l_halfcount + (int) ( p_value >>> l_shift ) - l_halfcount;
+    }
+
+    /**
+     * returns the highest value of a bucket
+     *
+     * @param p_precision number of bits of the sub-buckets
+     * @param p_index bucket index
+     * @return highest value
+     */
+    private static long highest( @Positive final int p_precision, @Nonnegative final int p_index )
+    {
+        final int l_subcount = 1 << p_precision;
+        if ( p_index < l_subcount )
+            return p_index;
+
+        final int l_halfcount = l_subcount >> 1;
+        final int l_shift = ( p_index - l_subcount ) / l_halfcount + 1;
+        final long l_mantissa = ( p_index - l_subcount ) % l_halfcount + l_halfcount;
+        // the highest bucket overflows to the maximum long value
+        return ( ( l_mantissa + 1 ) << l_shift ) - 1;
+    }
+
+
+    /**
+     * immutable snapshot of a histogram
+     */
+    public static final class CSnapshot
+    {
+        /**
+         * number of bits of the sub-buckets
+         */
+        private final int m_precision;
+        /**
+         * bucket counts
+         */
+        private final long[] m_buckets;
+        /**
+         * number of values
+         */
+        private final long m_count;
+        /**
+         * sum of values
+         */
+        private final long m_sum;
+        /**
+         * minimum value
+         */
+        private final long m_min;
+        /**
+         * maximum value
+         */
+        private final long m_max;
+
+        /**
+         * ctor
+         *
+         * @param p_precision number of bits of the sub-buckets
+         * @param p_buckets bucket counts
+         * @param p_count number of values
+         * @param p_sum sum of values
+         * @param p_min minimum value
+         * @param p_max maximum value
+         */
+        private CSnapshot( final int p_precision, @Nonnull final long[] p_buckets, final long p_count, final long p_sum, final long p_min, final long p_max )
+        {
+            m_precision = p_precision;
+            m_buckets = p_buckets;
+            m_count = p_count;
+            m_sum = p_sum;
+            m_min = p_min;
+            m_max = p_max;
+        }
+
+        /**
+         * creates a snapshot, e.g. on restoring
+         * stored histogram values
+         *
+         * @param p_precision number of bits of the sub-buckets
+         * @param p_buckets bucket counts
+         * @param p_count number of values
+         * @param p_sum sum of values
+         * @param p_min minimum value
+         * @param p_max maximum value
+         * @return snapshot
+         */
+        @Nonnull
+        public static CSnapshot of( @Positive final int p_precision, @Nonnull final long[] p_buckets, @Nonnegative final long p_count,
+                                    @Nonnegative final long p_sum, @Nonnegative final long p_min, @Nonnegative final long p_max )
+        {
+            final int l_halfcount = 1 << ( Math.max( 2, p_precision ) - 1 );
+            if ( p_precision < 2 || p_precision > 16 || p_buckets.length <= l_halfcount << 1 || ( p_buckets.length - ( l_halfcount << 1 ) ) % l_halfcount != 0 )
+                throw new CIllegalArgumentException( CCommon.languagestring( CHistogram.class, "buckets", p_precision, p_buckets.length ) );
+
+            return new CSnapshot(
+                p_precision, p_buckets.clone(), p_count, p_sum,
+                p_count == 0 ? Long.MAX_VALUE : p_min,
+                p_count == 0 ? Long.MIN_VALUE : p_max
+            );
+        }
+
+        /**
+         * returns the number of bits of the sub-buckets
+         *
+         * @return precision
+         */
+        @Positive
+        public int precision()
+        {
+            return m_precision;
+        }
+
+        /**
+         * returns the bucket counts
+         *
+         * @return copy of the bucket counts
+         */
+        @Nonnull
+        public long[] buckets()
+        {
+            return m_buckets.clone();
+        }
+
+        /**
+         * returns the number of values
+         *
+         * @return number of values
+         */
+        @Nonnegative
+        public long count()
+        {
+            return m_count;
+        }
+
+        /**
+         * returns the sum of values
+         *
+         * @return sum
+         */
+        @Nonnegative
+        public long sum()
+        {
+            return m_sum;
+        }
+
+        /**
+         * returns the minimum value
+         *
+         * @return minimum or zero on an empty histogram
+         */
+        @Nonnegative
+        public long min()
+        {
+            return m_count == 0 ? 0 : m_min;
+        }
+
+        /**
+         * returns the maximum value
+         *
+         * @return maximum or zero on an empty histogram
+         */
+        @Nonnegative
+        public long max()
+        {
+            return m_count == 0 ? 0 : m_max;
+        }
+
+        /**
+         * returns the mean value
+         *
+         * @return mean or zero on an empty histogram
+         */
+        @Nonnegative
+        public double mean()
+        {
+            return m_count == 0 ? 0 : (double) m_sum / m_count;
+        }
+
+        /**
+         * returns the value at the given quantile
+         *
+         * @param p_quantile quantile in [0, 1]
+         * @return upper bound of the bucket which contains the quantile
+         */
+        @Nonnegative
+        public long quantile( final double p_quantile )
+        {
+            final long l_count = Arrays.stream( m_buckets ).sum();
+            if ( l_count == 0 )
+                return 0;
+
+            final long l_rank = Math.max( 1, (long) Math.ceil( Math.min( 1, Math.max( 0, p_quantile ) ) * l_count ) );
+            long l_cumulative = 0;
+            for ( int i = 0; i < m_buckets.length; i++ )
+            {
+                l_cumulative += m_buckets[i];
+                if ( l_cumulative >= l_rank )
+                    return Math.min( highest( m_precision, i ), this.max() );
+            }
+
+            return this.max();
+        }
+
+        @Override
+        public String toString()
+        {
+            return MessageFormat.format(
+                "count [{0}], mean [{1}], min [{2}], p50 [{3}], p99 [{4}], max [{5}]",
+                m_count, this.mean(), this.min(), this.quantile( 0.5 ), this.quantile( 0.99 ), this.max()
+            );
+        }
+    }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.metric;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+
+/**
+ * immutable snapshot of a metrics registry with
+ * a text exposition, which follows the prometheus format
+ */
+public final class CMetricSnapshot
+{
+    /**
+     * exposed quantiles
+     */
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    /**
+     * counter values
+     */
+    private final Map<EMetric, Long> m_counter;
+    /**
+     * histogram snapshots with label value
+     */
+    private final Map<EMetric, Map<String, CHistogram.CSnapshot>> m_histogram;
+
+    /**
+     * ctor
+     *
+     * @param p_counter counter values
+     * @param p_histogram histogram snapshots
+     */
+    public CMetricSnapshot( @Nonnull final Map<EMetric, Long> p_counter, @Nonnull final Map<EMetric, Map<String, CHistogram.CSnapshot>> p_histogram )
+    {
+        m_counter = Collections.unmodifiableMap( p_counter.isEmpty() ? new EnumMap<>( EMetric.class ) : new EnumMap<>( p_counter ) );
+        m_histogram = Collections.unmodifiableMap( p_histogram.isEmpty() ? new EnumMap<>( EMetric.class ) : new EnumMap<>( p_histogram ) );
+    }
+
+    /**
+     * returns the value of a counter
+     *
+     * @param p_metric counter metric
+     * @return value
+     */
+    public long counter( @Nonnull final EMetric p_metric )
+    {
+        return m_counter.getOrDefault( p_metric, 0L );
+    }
+
+    /**
+     * returns the histogram snapshots of a metric
+     *
+     * @param p_metric histogram metric
+     * @return map with label value and histogram snapshot
+     */
+    @Nonnull
+    public Map<String, CHistogram.CSnapshot> histogram( @Nonnull final EMetric p_metric )
+    {
+        return m_histogram.getOrDefault( p_metric, Collections.emptyMap() );
+    }
+
+    /**
+     * returns the text exposition of all metrics
+     *
+     * @return text
+     */
+    @Nonnull
+    public String exposition()
+    {
+        final StringBuilder l_text = new StringBuilder();
+
+        m_counter.forEach( ( i, j ) ->
+        {
+            l_text.append( "# TYPE " ).append( i.exposition() ).append( " counter\n" );
+            l_text.append( i.exposition() ).append( ' ' ).append( j ).append( '\n' );
+        } );
+
+        m_histogram.forEach( ( i, j ) ->
+        {
+            l_text.append( "# TYPE " ).append( i.exposition() ).append( " summary\n" );
+            new TreeMap<>( j ).forEach( ( n, m ) ->
+            {
+                for ( final double l_quantile : QUANTILES )
+                    l_text.append( i.exposition() )
+                          .append( labels( i, n, Double.toString( l_quantile ) ) )
+                          .append( ' ' ).append( m.quantile( l_quantile ) ).append( '\n' );
+
+                l_text.append( i.exposition() ).append( "_sum" ).append( labels( i, n, null ) ).append( ' ' ).append( m.sum() ).append( '\n' );
+                l_text.append( i.exposition() ).append( "_count" ).append( labels( i, n, null ) ).append( ' ' ).append( m.count() ).append( '\n' );
+            } );
+        } );
+
+        return l_text.toString();
+    }
+
+    @Override
+    public String toString()
+    {
+        return this.exposition();
+    }
+
+    /**
+     * builds the label string of a histogram line
+     *
+     * @param p_metric metric
+     * @param p_value label value
+     * @param p_quantile quantile or null
+     * @return label string
+     */
+    @Nonnull
+    private static String labels( @Nonnull final EMetric p_metric, @Nonnull final String p_value, @Nullable final String p_quantile )
+    {
+        final StringBuilder l_label = new StringBuilder();
+        if ( Objects.nonNull( p_metric.label() ) )
+            l_label.append( p_metric.label() ).append( "=\"" ).append( escape( p_value ) ).append( '"' );
+
+        if ( Objects.nonNull( p_quantile ) )
+            l_label.append( l_label.length() == 0 ? "" : "," ).append( "quantile=\"" ).append( p_quantile ).append( '"' );
+
+        return l_label.length() == 0 ? "" : "{" + l_label + "}";
+    }
+
+    /**
+     * escapes a label value
+     *
+     * @param p_value value
+     * @return escaped value
+     */
+    @Nonnull
+    private static String escape( @Nonnull final String p_value )
+    {
+        return p_value.replace( "\\", "\\\\" ).replace( "\"", "\\\"" ).replace( "\n", "\\n" );
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.metric;
+
+import org.lightjason.agentspeak.common.CCommon;
+import org.lightjason.agentspeak.error.CIllegalArgumentException;
+
+import javax.annotation.Nonnull;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+
+/**
+ * thread-safe metrics registry
+ */
+public final class CMetrics implements IMetrics
+{
+    /**
+     * counters
+     */
+    private final Map<EMetric, LongAdder> m_counter = new EnumMap<>( EMetric.class );
+    /**
+     * histograms with label value
+     */
+    private final Map<EMetric, Map<String, CHistogram>> m_histogram = new EnumMap<>( EMetric.class );
+
+    /**
+     * ctor
+     */
+    public CMetrics()
+    {
+        // maps are filled on construction and read-only afterwards, so they can be read concurrently
+        Arrays.stream( EMetric.values() )
+              .forEach( i ->
+              {
+                  if ( i.histogram() )
+                      m_histogram.put( i, new ConcurrentHashMap<>() );
+                  else
+                      m_counter.put( i, new LongAdder() );
+              } );
+    }
+
+    @Override
+    public boolean enabled()
+    {
+        return true;
+    }
+
+    @Nonnull
+    @Override
+    public IMetrics count( @Nonnull final EMetric p_metric, final long p_value )
+    {
+        final LongAdder l_counter = m_counter.get( p_metric );
+        if ( Objects.isNull( l_counter ) )
+            throw new CIllegalArgumentException( CCommon.languagestring( this, "nocounter", p_metric ) );
+
+        l_counter.add( p_value );
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public IMetrics record( @Nonnull final EMetric p_metric, @Nonnull final String p_label, final long p_value )
+    {
+        final Map<String, CHistogram> l_histogram = m_histogram.get( p_metric );
+        if ( Objects.isNull( l_histogram ) )
+            throw new CIllegalArgumentException( CCommon.languagestring( this, "nohistogram", p_metric ) );
+
+        l_histogram.computeIfAbsent( p_label, i -> new CHistogram() ).record( p_value );
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public CMetricSnapshot snapshot()
+    {
+        return new CMetricSnapshot(
+            m_counter.entrySet().stream().collect( Collectors.toMap( Map.Entry::getKey, i -> i.getValue().sum() ) ),
+            m_histogram.entrySet().stream().collect( Collectors.toMap(
+                Map.Entry::getKey,
+                i -> Collections.unmodifiableMap(
+                    i.getValue().entrySet().stream().collect( Collectors.toMap( Map.Entry::getKey, j -> j.getValue().snapshot() ) )
+                )
+            ) )
+        );
+    }
+
+    @Override
+    public String toString()
+    {
+        return MessageFormat.format( "{0} {1}", super.toString(), this.snapshot() );
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.metric;
+
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.IPlan;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * flight recorder event of the execution of an instantiated plan
+ */
+@Name( "org.lightjason.agentspeak.Plan" )
+@Label( "Plan Execution" )
+@Description( "Execution of an instantiated plan" )
+public final class CPlanEvent extends IBaseEvent
+{
+    /**
+     * event type
+     */
+    private static final EventType TYPE = EventType.getEventType( CPlanEvent.class );
+    /**
+     * trigger literal of the plan
+     */
+    @Name( "trigger" )
+    @Label( "Trigger" )
+    private String m_trigger;
+    /**
+     * hash of the plan
+     */
+    @Name( "plan" )
+    @Label( "Plan Hash" )
+    private int m_plan;
+    /**
+     * plan is executed successfully
+     */
+    @Name( "successful" )
+    @Label( "Successful" )
+    private boolean m_successful;
+
+    /**
+     * starts the event
+     *
+     * @param p_plan plan
+     * @return started event or null if the event is disabled
+     */
+    @Nullable
+    public static CPlanEvent start( @Nonnull final IPlan p_plan )
+    {
+        if ( !TYPE.isEnabled() )
+            return null;
+
+        final CPlanEvent l_event = new CPlanEvent();
+        l_event.m_trigger = p_plan.trigger().toString();
+        l_event.m_plan = p_plan.hashCode();
+        l_event.begin();
+        return l_event;
+    }
+
+    /**
+     * finishes and commits the event
+     *
+     * @param p_successful execution result
+     */
+    public void finish( final boolean p_successful )
+    {
+        m_successful = p_successful;
+        this.commit();
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.metric;
+
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.IPlan;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.trigger.ITrigger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * flight recorder event of the unification of a trigger with a plan and evaluation of the plan condition
+ */
+@Name( "org.lightjason.agentspeak.PlanMatch" )
+@Label( "Plan Matching" )
+@Description( "Unification of a trigger with a plan and evaluation of the plan condition" )
+public final class CPlanMatchEvent extends IBaseEvent
+{
+    /**
+     * event type
+     */
+    private static final EventType TYPE = EventType.getEventType( CPlanMatchEvent.class );
+    /**
+     * trigger literal
+     */
+    @Name( "trigger" )
+    @Label( "Trigger" )
+    private String m_trigger;
+    /**
+     * hash of the plan
+     */
+    @Name( "plan" )
+    @Label( "Plan Hash" )
+    private int m_plan;
+    /**
+     * trigger is unified and condition is true
+     */
+    @Name( "matched" )
+    @Label( "Matched" )
+    private boolean m_matched;
+
+    /**
+     * starts the event
+     *
+     * @param p_trigger trigger
+     * @param p_plan plan
+     * @return started event or null if the event is disabled
+     */
+    @Nullable
+    public static CPlanMatchEvent start( @Nonnull final ITrigger p_trigger, @Nonnull final IPlan p_plan )
+    {
+        if ( !TYPE.isEnabled() )
+            return null;
+
+        final CPlanMatchEvent l_event = new CPlanMatchEvent();
+        l_event.m_trigger = p_trigger.toString();
+        l_event.m_plan = p_plan.hashCode();
+        l_event.begin();
+        return l_event;
+    }
+
+    /**
+     * finishes and commits the event
+     *
+     * @param p_matched plan matches
+     */
+    public void finish( final boolean p_matched )
+    {
+        m_matched = p_matched;
+        this.commit();
+    }
+
+}
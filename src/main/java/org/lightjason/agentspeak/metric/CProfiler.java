@@ -0,0 +1,344 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.metric;
+
+import org.checkerframework.checker.index.qual.Positive;
+import org.lightjason.agentspeak.action.IAction;
+import org.lightjason.agentspeak.common.CCommon;
+import org.lightjason.agentspeak.error.CIllegalStateException;
+import org.lightjason.agentspeak.language.ILiteral;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.IPlan;
+import org.lightjason.agentspeak.language.execution.instantiable.rule.IRule;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+
+/**
+ * sampling profiler of agentspeak programs, each thread keeps a
+ * stack of the executed plans, rules and actions, which is sampled
+ * periodically, the result is written as collapsed stacks, which
+ * can be read by flame-graph tools
+ *
+ * @note frames are pushed only if a profiler is running, so the
+ * instrumentation costs a single check otherwise, parallel executions
+ * of a plan body run on other threads and are sampled without the plan frame
+ */
+public final class CProfiler implements Closeable
+{
+    /**
+     * running profiler
+     */
+    private static final AtomicReference<CProfiler> RUNNING = new AtomicReference<>();
+    /**
+     * stacks of all threads
+     */
+    private static final Map<Thread, CStack> STACKS = Collections.synchronizedMap( new WeakHashMap<>() );
+    /**
+     * stack of the current thread
+     */
+    private static final ThreadLocal<CStack> STACK = ThreadLocal.withInitial( () ->
+    {
+        final CStack l_stack = new CStack();
+        STACKS.put( Thread.currentThread(), l_stack );
+        return l_stack;
+    } );
+    /**
+     * sampled stacks with count
+     */
+    private final Map<String, LongAdder> m_samples = new ConcurrentHashMap<>();
+    /**
+     * frame labels, used by the sampling thread only
+     */
+    private final Map<Object, String> m_labels = new IdentityHashMap<>();
+    /**
+     * sampling executor
+     */
+    private final ScheduledExecutorService m_executor;
+
+    /**
+     * ctor
+     *
+     * @param p_interval sampling interval
+     * @param p_unit time unit of the interval
+     */
+    private CProfiler( @Positive final long p_interval, @Nonnull final TimeUnit p_unit )
+    {
+        m_executor = Executors.newSingleThreadScheduledExecutor( i ->
+        {
+            final Thread l_thread = new Thread( i, "agentspeak-profiler" );
+            l_thread.setDaemon( true );
+            return l_thread;
+        } );
+        m_executor.scheduleAtFixedRate( this::sample, p_interval, p_interval, p_unit );
+    }
+
+    /**
+     * starts a profiler
+     *
+     * @param p_interval sampling interval
+     * @param p_unit time unit of the interval
+     * @return profiler
+     * @throws CIllegalStateException if a profiler is running
+     */
+    @Nonnull
+    public static CProfiler start( @Positive final long p_interval, @Nonnull final TimeUnit p_unit )
+    {
+        synchronized ( RUNNING )
+        {
+            if ( Objects.nonNull( RUNNING.get() ) )
+                throw new CIllegalStateException( CCommon.languagestring( CProfiler.class, "running" ) );
+
+            final CProfiler l_profiler = new CProfiler( p_interval, p_unit );
+            RUNNING.set( l_profiler );
+            return l_profiler;
+        }
+    }
+
+    /**
+     * pushes a frame onto the stack of the current thread
+     *
+     * @param p_frame plan, rule, rule literal or action
+     * @return true if the frame is pushed and must be popped
+     */
+    public static boolean push( @Nonnull final Object p_frame )
+    {
+        if ( Objects.isNull( RUNNING.get() ) )
+            return false;
+
+        STACK.get().push( p_frame );
+        return true;
+    }
+
+    /**
+     * pops the top frame of the stack of the current thread
+     */
+    public static void pop()
+    {
+        STACK.get().pop();
+    }
+
+    /**
+     * returns the sampled stacks
+     *
+     * @return map with collapsed stack and number of samples
+     */
+    @Nonnull
+    public Map<String, Long> samples()
+    {
+        return Collections.unmodifiableMap(
+            m_samples.entrySet().stream().collect( Collectors.toMap( Map.Entry::getKey, i -> i.getValue().sum(), ( i, j ) -> i, TreeMap::new ) )
+        );
+    }
+
+    /**
+     * writes the collapsed stacks, each line
+     * contains the frames separated by semicolon
+     * and the number of samples
+     *
+     * @param p_writer writer
+     * @return self reference
+     * @throws IOException on writing error
+     */
+    @Nonnull
+    public CProfiler write( @Nonnull final Writer p_writer ) throws IOException
+    {
+        for ( final Map.Entry<String, Long> i : this.samples().entrySet() )
+            p_writer.write( MessageFormat.format( "{0} {1}\n", i.getKey(), Long.toString( i.getValue() ) ) );
+
+        p_writer.flush();
+        return this;
+    }
+
+    @Override
+    public void close()
+    {
+        m_executor.shutdownNow();
+        try
+        {
+            m_executor.awaitTermination( 1, TimeUnit.SECONDS );
+        }
+        catch ( final InterruptedException l_exception )
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        RUNNING.compareAndSet( this, null );
+    }
+
+    @Override
+    public String toString()
+    {
+        return MessageFormat.format( "{0} ({1} stacks)", super.toString(), m_samples.size() );
+    }
+
+    /**
+     * samples the stacks of all threads
+     */
+    private void sample()
+    {
+        final List<CStack> l_stacks;
+        synchronized ( STACKS )
+        {
+            l_stacks = new ArrayList<>( STACKS.values() );
+        }
+
+        l_stacks.stream()
+                .map( i -> i.collapse( this::label ) )
+                .filter( i -> !i.isEmpty() )
+                .forEach( i -> m_samples.computeIfAbsent( i, j -> new LongAdder() ).increment() );
+    }
+
+    /**
+     * returns the label of a frame
+     *
+     * @param p_frame frame
+     * @return label
+     * @note rule literals are bound on each call, so
+     * only the labels of plans, rules and actions are cached
+     */
+    @Nonnull
+    private String label( @Nonnull final Object p_frame )
+    {
+        return p_frame instanceof ILiteral
+               ? escape( "$" + ( (ILiteral) p_frame ).fqnfunctor() )
+               : m_labels.computeIfAbsent( p_frame, i ->
+               {
+                   if ( i instanceof IPlan )
+                       return escape( ( (IPlan) i ).trigger().type().sequence() + ( (IPlan) i ).trigger().literal().fqnfunctor() );
+                   if ( i instanceof IRule )
+                       return escape( "rule " + ( (IRule) i ).identifier().fqnfunctor() );
+                   if ( i instanceof IAction )
+                       return escape( "." + ( (IAction) i ).name() );
+                   return escape( i.toString() );
+               } );
+    }
+
+    /**
+     * removes the separator characters of the collapsed format
+     *
+     * @param p_label label
+     * @return escaped label
+     */
+    @Nonnull
+    private static String escape( @Nonnull final String p_label )
+    {
+        return p_label.replace( ';', ':' ).replace( '\n', ' ' ).replace( '\r', ' ' );
+    }
+
+
+    /**
+     * stack of a thread, the stack is written by
+     * the owning thread only and read by the sampling thread
+     */
+    private static final class CStack
+    {
+        /**
+         * frames
+         */
+        private volatile Object[] m_frames = new Object[16];
+        /**
+         * number of frames
+         */
+        private volatile int m_depth;
+
+        /**
+         * pushes a frame
+         *
+         * @param p_frame frame
+         */
+        void push( @Nonnull final Object p_frame )
+        {
+            Object[] l_frames = m_frames;
+            if ( m_depth == l_frames.length )
+            {
+                l_frames = Arrays.copyOf( l_frames, l_frames.length * 2 );
+                m_frames = l_frames;
+            }
+
+            l_frames[m_depth] = p_frame;
+            m_depth = m_depth + 1;
+        }
+
+        /**
+         * pops a frame
+         */
+        void pop()
+        {
+            if ( m_depth == 0 )
+                return;
+
+            m_depth = m_depth - 1;
+            m_frames[m_depth] = null;
+        }
+
+        /**
+         * builds the collapsed stack
+         *
+         * @param p_label label function
+         * @return frames separated by semicolon or empty string
+         */
+        @Nonnull
+        String collapse( @Nonnull final Function<Object, String> p_label )
+        {
+            final int l_depth = m_depth;
+            final Object[] l_frames = m_frames;
+            final StringBuilder l_stack = new StringBuilder();
+
+            for ( int i = 0; i < Math.min( l_depth, l_frames.length ); i++ )
+            {
+                final Object l_frame = l_frames[i];
+                if ( Objects.isNull( l_frame ) )
+                    break;
+
+                if ( i > 0 )
+                    l_stack.append( ';' );
+                l_stack.append( p_label.apply( l_frame ) );
+            }
+
+            return l_stack.toString();
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.metric;
+
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.lightjason.agentspeak.language.execution.instantiable.rule.IRule;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * flight recorder event of the evaluation of a rule
+ */
+@Name( "org.lightjason.agentspeak.Rule" )
+@Label( "Rule Evaluation" )
+@Description( "Evaluation of a rule" )
+public final class CRuleEvent extends IBaseEvent
+{
+    /**
+     * event type
+     */
+    private static final EventType TYPE = EventType.getEventType( CRuleEvent.class );
+    /**
+     * rule identifier
+     */
+    @Name( "rule" )
+    @Label( "Rule" )
+    private String m_rule;
+    /**
+     * rule is evaluated successfully
+     */
+    @Name( "successful" )
+    @Label( "Successful" )
+    private boolean m_successful;
+
+    /**
+     * starts the event
+     *
+     * @param p_rule rule
+     * @return started event or null if the event is disabled
+     */
+    @Nullable
+    public static CRuleEvent start( @Nonnull final IRule p_rule )
+    {
+        if ( !TYPE.isEnabled() )
+            return null;
+
+        final CRuleEvent l_event = new CRuleEvent();
+        l_event.m_rule = p_rule.identifier().toString();
+        l_event.begin();
+        return l_event;
+    }
+
+    /**
+     * finishes and commits the event
+     *
+     * @param p_successful evaluation result
+     */
+    public void finish( final boolean p_successful )
+    {
+        m_successful = p_successful;
+        this.commit();
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.metric;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * metrics of the agent execution
+ */
+public enum EMetric
+{
+    CYCLE( "agent_cycle_nanoseconds", true, null ),
+    PLAN( "agent_plan_execution_nanoseconds", true, "plan" ),
+    ACTION( "agent_action_execution_nanoseconds", true, "action" ),
+    UNIFICATION( "agent_unification_attempts_total", false, null ),
+    UNIFICATIONHIT( "agent_unification_hits_total", false, null ),
+    TRIGGERQUEUED( "agent_trigger_queued_total", false, null ),
+    TRIGGERDROPPED( "agent_trigger_dropped_total", false, null ),
+    BELIEFADD( "agent_belief_add_total", false, null ),
+    BELIEFREMOVE( "agent_belief_remove_total", false, null );
+
+    /**
+     * exposition name
+     */
+    private final String m_name;
+    /**
+     * metric is a histogram
+     */
+    private final boolean m_histogram;
+    /**
+     * name of the label
+     */
+    private final String m_label;
+
+    /**
+     * ctor
+     *
+     * @param p_name exposition name
+     * @param p_histogram metric is a histogram, otherwise a counter
+     * @param p_label name of the label or null
+     */
+    EMetric( @Nonnull final String p_name, final boolean p_histogram, @Nullable final String p_label )
+    {
+        m_name = p_name;
+        m_histogram = p_histogram;
+        m_label = p_label;
+    }
+
+    /**
+     * returns the exposition name
+     *
+     * @return name
+     */
+    @Nonnull
+    public final String exposition()
+    {
+        return m_name;
+    }
+
+    /**
+     * checks if the metric is a histogram
+     *
+     * @return histogram flag
+     */
+    public final boolean histogram()
+    {
+        return m_histogram;
+    }
+
+    /**
+     * returns the label name
+     *
+     * @return label name or null
+     */
+    @Nullable
+    public final String label()
+    {
+        return m_label;
+    }
+}
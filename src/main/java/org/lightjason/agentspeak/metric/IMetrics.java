@@ -0,0 +1,109 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.metric;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+
+
+/**
+ * metrics registry, the registry can be shared
+ * between agents to aggregate the values
+ *
+ * @note instrumented code checks enabled() before
+ * measuring, so a disabled registry does not create
+ * any overhead except the check
+ */
+public interface IMetrics
+{
+    /**
+     * disabled registry
+     */
+    IMetrics EMPTY = new IMetrics()
+    {
+        @Override
+        public boolean enabled()
+        {
+            return false;
+        }
+
+        @Nonnull
+        @Override
+        public IMetrics count( @Nonnull final EMetric p_metric, final long p_value )
+        {
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public IMetrics record( @Nonnull final EMetric p_metric, @Nonnull final String p_label, final long p_value )
+        {
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public CMetricSnapshot snapshot()
+        {
+            return new CMetricSnapshot( Collections.emptyMap(), Collections.emptyMap() );
+        }
+    };
+
+    /**
+     * returns if the metrics are recorded
+     *
+     * @return enabled flag
+     */
+    boolean enabled();
+
+    /**
+     * increments a counter
+     *
+     * @param p_metric counter metric
+     * @param p_value increment
+     * @return self reference
+     */
+    @Nonnull
+    IMetrics count( @Nonnull final EMetric p_metric, final long p_value );
+
+    /**
+     * records a value of a histogram
+     *
+     * @param p_metric histogram metric
+     * @param p_label label value, an empty string is used for unlabeled metrics
+     * @param p_value value
+     * @return self reference
+     */
+    @Nonnull
+    IMetrics record( @Nonnull final EMetric p_metric, @Nonnull final String p_label, final long p_value );
+
+    /**
+     * creates a snapshot of all metrics
+     *
+     * @return snapshot
+     */
+    @Nonnull
+    CMetricSnapshot snapshot();
+
+}
@@ -0,0 +1,242 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.agent;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.lightjason.agentspeak.beliefbase.CBeliefbase;
+import org.lightjason.agentspeak.beliefbase.IBaseBeliefbase;
+import org.lightjason.agentspeak.beliefbase.storage.CClassStorage;
+import org.lightjason.agentspeak.beliefbase.storage.CMultiStorage;
+import org.lightjason.agentspeak.beliefbase.view.IViewGenerator;
+import org.lightjason.agentspeak.common.CPath;
+import org.lightjason.agentspeak.configuration.CDefaultAgentConfiguration;
+import org.lightjason.agentspeak.configuration.IAgentConfiguration;
+import org.lightjason.agentspeak.error.CIllegalStateException;
+import org.lightjason.agentspeak.generator.IAgentGenerator;
+import org.lightjason.agentspeak.language.CLiteral;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ILiteral;
+import org.lightjason.agentspeak.language.execution.IExecution;
+import org.lightjason.agentspeak.language.execution.expression.IExpression;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.CPlan;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.IPlan;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.annotation.IAnnotation;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.statistic.IPlanStatistic;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.trigger.ITrigger;
+import org.lightjason.agentspeak.testing.IBaseTest;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * test of agent forks
+ */
+public final class TestCAgentFork extends IBaseTest
+{
+    /**
+     * view generator
+     */
+    private static final IViewGenerator GENERATOR = ( i, j ) -> new CBeliefbase( new CMultiStorage<>() ).create( i, j );
+
+    /**
+     * test fork contains the state
+     */
+    @Test
+    public void fork()
+    {
+        final IAgent<?> l_agent = new CAgent( configuration() );
+
+        l_agent.beliefbase()
+               .generate( GENERATOR, CPath.of( "first/sub" ) )
+               .add( CLiteral.of( "toplevel", CRawTerm.of( 5 ) ) )
+               .add( CLiteral.of( "first/sub/value", CRawTerm.of( "text" ) ) );
+        l_agent.storage().put( "counter", 42L );
+        l_agent.sleep( 5, CRawTerm.of( "alarm" ) );
+        statistic( l_agent ).incrementsuccessful().incrementfail();
+
+        final IAgent<?> l_fork = l_agent.fork();
+
+        Assertions.assertNotSame( l_agent, l_fork );
+        Assertions.assertTrue( l_fork instanceof CAgent );
+        Assertions.assertEquals( beliefs( l_agent ), beliefs( l_fork ) );
+        Assertions.assertEquals( 42L, l_fork.storage().get( "counter" ) );
+        Assertions.assertTrue( l_fork.sleeping() );
+        Assertions.assertEquals( ( (IBaseAgent<?>) l_agent ).m_trigger, ( (IBaseAgent<?>) l_fork ).m_trigger );
+        Assertions.assertEquals( 1, statistic( l_fork ).successful() );
+        Assertions.assertEquals( 1, statistic( l_fork ).fail() );
+        Assertions.assertSame( statistic( l_agent ).plan(), statistic( l_fork ).plan() );
+
+        Assertions.assertEquals(
+            l_agent.beliefbase().trigger().collect( Collectors.toSet() ),
+            l_fork.beliefbase().trigger().collect( Collectors.toSet() )
+        );
+    }
+
+    /**
+     * test fork is independent
+     */
+    @Test
+    public void forkindependent()
+    {
+        final IAgent<?> l_agent = new CAgent( configuration() );
+        l_agent.beliefbase().generate( GENERATOR, CPath.of( "first" ) );
+        final Set<ILiteral> l_beliefs = beliefs( l_agent );
+
+        final IAgent<?> l_fork = l_agent.fork();
+        l_fork.beliefbase()
+              .add( CLiteral.of( "forked" ) )
+              .add( CLiteral.of( "first/forked" ) )
+              .remove( CLiteral.of( "initial" ) );
+        l_fork.storage().put( "forked", 1 );
+        l_fork.trigger( ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "bar" ) ) );
+        l_fork.trigger( ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "foo" ) ), true ).collect( Collectors.toList() );
+
+        Assertions.assertEquals( l_beliefs, beliefs( l_agent ) );
+        Assertions.assertEquals( 2, beliefs( l_fork ).size() );
+        Assertions.assertFalse( l_agent.storage().containsKey( "forked" ) );
+        Assertions.assertEquals( 1, ( (IBaseAgent<?>) l_agent ).m_trigger.size() );
+        Assertions.assertEquals( 2, ( (IBaseAgent<?>) l_fork ).m_trigger.size() );
+        Assertions.assertEquals( 1, statistic( l_fork ).successful() );
+        Assertions.assertEquals( 0, statistic( l_agent ).successful() );
+
+        l_agent.beliefbase().add( CLiteral.of( "origin" ) );
+        Assertions.assertFalse( l_fork.beliefbase().containsliteral( CPath.of( "origin" ) ) );
+    }
+
+    /**
+     * test fork shares the structures until the first write
+     */
+    @Test
+    public void forkshared()
+    {
+        final IAgent<?> l_agent = new CAgent( configuration() );
+        l_agent.storage().put( "value", 1 );
+
+        final IAgent<?> l_fork = l_agent.fork();
+        Assertions.assertEquals( l_agent.plans(), l_fork.plans() );
+        Assertions.assertEquals( l_agent.storage(), l_fork.storage() );
+
+        l_agent.storage().put( "value", 2 );
+        l_fork.storage().put( "value", 3 );
+        Assertions.assertEquals( 2, l_agent.storage().get( "value" ) );
+        Assertions.assertEquals( 3, l_fork.storage().get( "value" ) );
+
+        Assertions.assertSame( statistic( l_agent ), statistic( l_fork ) );
+
+        l_fork.trigger( ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "foo" ) ), true ).collect( Collectors.toList() );
+        Assertions.assertNotSame( statistic( l_agent ), statistic( l_fork ) );
+        Assertions.assertSame( statistic( l_agent ).plan(), statistic( l_fork ).plan() );
+        Assertions.assertEquals( 0, statistic( l_agent ).successful() );
+        Assertions.assertEquals( 1, statistic( l_fork ).successful() );
+    }
+
+    /**
+     * test fork of a storage without fork support
+     */
+    @Test
+    public void forkunsupported()
+    {
+        final IAgent<?> l_agent = new CAgent( configuration() );
+        l_agent.beliefbase().generate( ( i, j ) -> new CBeliefbase( new CClassStorage<>( new Object() ) ).create( i, j ), CPath.of( "data" ) );
+
+        Assertions.assertThrows( CIllegalStateException.class, l_agent::fork );
+    }
+
+    /**
+     * returns the statistic of the goal foo
+     *
+     * @param p_agent agent
+     * @return plan statistic
+     */
+    private static IPlanStatistic statistic( final IAgent<?> p_agent )
+    {
+        return p_agent.plans().values().stream()
+                      .filter( i -> "foo".equals( i.plan().trigger().literal().functor() ) )
+                      .findFirst()
+                      .orElseThrow();
+    }
+
+    /**
+     * returns all beliefs of an agent
+     *
+     * @param p_agent agent
+     * @return belief set
+     */
+    private static Set<ILiteral> beliefs( final IAgent<?> p_agent )
+    {
+        return IBaseBeliefbase.beliefs( p_agent.beliefbase() ).collect( Collectors.toSet() );
+    }
+
+    /**
+     * creates a configuration with empty plans
+     *
+     * @return configuration
+     */
+    private static IAgentConfiguration<IAgent<?>> configuration()
+    {
+        final Set<IPlan> l_plans = Stream.of( "foo", "bar" )
+                                         .map( i -> new CPlan(
+                                             new IAnnotation<?>[0],
+                                             ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( i ) ),
+                                             IExpression.EMPTY,
+                                             new IExecution[0]
+                                         ) )
+                                         .collect( Collectors.toSet() );
+
+        return new CDefaultAgentConfiguration<>(
+            IAgentGenerator.DEFAULTFUZZYBUNDLE,
+            Collections.singleton( CLiteral.of( "initial" ) ),
+            l_plans,
+            Collections.emptySet(),
+            ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "foo" ) ),
+            IAgentGenerator.DEFAULTUNIFIER
+        );
+    }
+
+    /**
+     * agent class
+     */
+    private static final class CAgent extends IBaseAgent<IAgent<?>>
+    {
+        /**
+         * serial id
+         */
+        private static final long serialVersionUID = 4108374052866421734L;
+
+        /**
+         * ctor
+         *
+         * @param p_configuration agent configuration
+         */
+        CAgent( final IAgentConfiguration<IAgent<?>> p_configuration )
+        {
+            super( p_configuration );
+        }
+    }
+
+}
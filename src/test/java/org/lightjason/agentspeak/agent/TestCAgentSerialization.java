@@ -0,0 +1,276 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.agent;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.lightjason.agentspeak.configuration.CDefaultAgentConfiguration;
+import org.lightjason.agentspeak.configuration.IAgentConfiguration;
+import org.lightjason.agentspeak.generator.IAgentGenerator;
+import org.lightjason.agentspeak.language.CLiteral;
+import org.lightjason.agentspeak.language.execution.ESequentialExecution;
+import org.lightjason.agentspeak.language.execution.IExecution;
+import org.lightjason.agentspeak.language.execution.IParallelExecution;
+import org.lightjason.agentspeak.language.execution.expression.IExpression;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.CPlan;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.annotation.IAnnotation;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.trigger.ITrigger;
+import org.lightjason.agentspeak.metric.CMetrics;
+import org.lightjason.agentspeak.metric.IMetrics;
+import org.lightjason.agentspeak.testing.IBaseTest;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+
+/**
+ * test of agent serialization
+ */
+public final class TestCAgentSerialization extends IBaseTest
+{
+    /**
+     * trigger of the test plan
+     */
+    private static final ITrigger TRIGGER = ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "foo" ) );
+
+    /**
+     * test round-trip of the agent fields
+     *
+     * @throws Exception on serialization error
+     */
+    @Test
+    public void roundtrip() throws Exception
+    {
+        final IAgent<?> l_agent = new CAgent( configuration() );
+        l_agent.trigger( TRIGGER );
+
+        final IAgent<?> l_copy = roundtrip( l_agent );
+
+        Assertions.assertEquals( IMetrics.EMPTY, l_copy.metrics() );
+        Assertions.assertEquals( ESequentialExecution.STREAM, l_copy.sequentialexecution() );
+        Assertions.assertEquals( IParallelExecution.STREAM, l_copy.parallelexecution() );
+        Assertions.assertEquals( ( (IBaseAgent<?>) l_agent ).m_trigger, ( (IBaseAgent<?>) l_copy ).m_trigger );
+        Assertions.assertEquals( 1, l_copy.plans().size() );
+        Assertions.assertTrue( l_copy.runningplans().isEmpty() );
+        Assertions.assertTrue(
+            l_copy.fuzzy().defuzzification().success(
+                l_copy.fuzzy().defuzzification().apply( l_copy.trigger( TRIGGER ) )
+            )
+        );
+        Assertions.assertTrue(
+            l_copy.fuzzy().defuzzification().success(
+                l_copy.fuzzy().defuzzification().apply( l_copy.trigger( TRIGGER, true ) )
+            )
+        );
+    }
+
+    /**
+     * serializes and deserializes an agent, objects which are
+     * not serializable e.g. the beliefbase are passed by reference
+     *
+     * @param p_agent agent
+     * @return deserialized agent
+     * @throws Exception on serialization error
+     */
+    private static IAgent<?> roundtrip( @Nonnull final IAgent<?> p_agent ) throws Exception
+    {
+        final List<Object> l_references = new ArrayList<>();
+        final ByteArrayOutputStream l_output = new ByteArrayOutputStream();
+        try ( ObjectOutputStream l_stream = new CReferenceOutputStream( l_output, l_references ) )
+        {
+            l_stream.writeObject( p_agent );
+        }
+
+        try ( ObjectInputStream l_stream = new CReferenceInputStream( new ByteArrayInputStream( l_output.toByteArray() ), l_references ) )
+        {
+            return (IAgent<?>) l_stream.readObject();
+        }
+    }
+
+    /**
+     * creates a configuration with one plan
+     *
+     * @return configuration
+     */
+    private static IAgentConfiguration<IAgent<?>> configuration()
+    {
+        return new CDefaultAgentConfiguration<>(
+            IAgentGenerator.DEFAULTFUZZYBUNDLE,
+            Collections.emptySet(),
+            Collections.singleton( new CPlan( new IAnnotation<?>[0], TRIGGER, IExpression.EMPTY, new IExecution[0] ) ),
+            Collections.emptySet(),
+            ITrigger.EMPTY,
+            IAgentGenerator.DEFAULTUNIFIER
+        )
+        {
+            @Nonnull
+            @Override
+            public IMetrics metrics()
+            {
+                return new CMetrics();
+            }
+
+            @Nonnull
+            @Override
+            public ESequentialExecution sequentialexecution()
+            {
+                return ESequentialExecution.STREAM;
+            }
+
+            @Nonnull
+            @Override
+            public EPlanSelection planselection()
+            {
+                return EPlanSelection.FIRST;
+            }
+        };
+    }
+
+    /**
+     * reference of a non-serializable object
+     */
+    private static final class CReference implements Serializable
+    {
+        /**
+         * serial id
+         */
+        private static final long serialVersionUID = 3209418530432157384L;
+        /**
+         * index of the object
+         */
+        private final int m_index;
+
+        /**
+         * ctor
+         *
+         * @param p_index index of the object
+         */
+        CReference( final int p_index )
+        {
+            m_index = p_index;
+        }
+    }
+
+    /**
+     * object output stream, which writes references
+     * of the non-serializable objects
+     */
+    private static final class CReferenceOutputStream extends ObjectOutputStream
+    {
+        /**
+         * referenced objects
+         */
+        private final List<Object> m_references;
+
+        /**
+         * ctor
+         *
+         * @param p_output output stream
+         * @param p_references referenced objects
+         * @throws IOException on stream error
+         */
+        CReferenceOutputStream( @Nonnull final OutputStream p_output, @Nonnull final List<Object> p_references ) throws IOException
+        {
+            super( p_output );
+            m_references = p_references;
+            this.enableReplaceObject( true );
+        }
+
+        @Override
+        protected Object replaceObject( final Object p_object )
+        {
+            if ( Objects.isNull( p_object ) || p_object instanceof Serializable )
+                return p_object;
+
+            m_references.add( p_object );
+            return new CReference( m_references.size() - 1 );
+        }
+    }
+
+    /**
+     * object input stream, which resolves the references
+     */
+    private static final class CReferenceInputStream extends ObjectInputStream
+    {
+        /**
+         * referenced objects
+         */
+        private final List<Object> m_references;
+
+        /**
+         * ctor
+         *
+         * @param p_input input stream
+         * @param p_references referenced objects
+         * @throws IOException on stream error
+         */
+        CReferenceInputStream( @Nonnull final InputStream p_input, @Nonnull final List<Object> p_references ) throws IOException
+        {
+            super( p_input );
+            m_references = p_references;
+            this.enableResolveObject( true );
+        }
+
+        @Override
+        protected Object resolveObject( final Object p_object )
+        {
+            return p_object instanceof CReference
+                   ? m_references.get( ( (CReference) p_object ).m_index )
+                   : p_object;
+        }
+    }
+
+    /**
+     * agent class
+     */
+    private static final class CAgent extends IBaseAgent<IAgent<?>>
+    {
+        /**
+         * serial id
+         */
+        private static final long serialVersionUID = -2170460329453126373L;
+
+        /**
+         * ctor
+         *
+         * @param p_configuration agent configuration
+         */
+        CAgent( final IAgentConfiguration<IAgent<?>> p_configuration )
+        {
+            super( p_configuration );
+        }
+    }
+
+}
@@ -0,0 +1,213 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.agent;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.lightjason.agentspeak.beliefbase.CBeliefbase;
+import org.lightjason.agentspeak.beliefbase.IBaseBeliefbase;
+import org.lightjason.agentspeak.beliefbase.storage.CMultiStorage;
+import org.lightjason.agentspeak.beliefbase.view.IViewGenerator;
+import org.lightjason.agentspeak.common.CPath;
+import org.lightjason.agentspeak.configuration.CDefaultAgentConfiguration;
+import org.lightjason.agentspeak.configuration.IAgentConfiguration;
+import org.lightjason.agentspeak.error.CIllegalArgumentException;
+import org.lightjason.agentspeak.generator.IAgentGenerator;
+import org.lightjason.agentspeak.language.CLiteral;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ILiteral;
+import org.lightjason.agentspeak.language.execution.IExecution;
+import org.lightjason.agentspeak.language.execution.expression.IExpression;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.CPlan;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.IPlan;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.annotation.IAnnotation;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.statistic.IPlanStatistic;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.trigger.ITrigger;
+import org.lightjason.agentspeak.testing.IBaseTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * test of agent snapshots
+ */
+public final class TestCAgentSnapshot extends IBaseTest
+{
+    /**
+     * view generator
+     */
+    private static final IViewGenerator GENERATOR = ( i, j ) -> new CBeliefbase( new CMultiStorage<>() ).create( i, j );
+
+    /**
+     * test writing and restoring a snapshot
+     */
+    @Test
+    public void snapshot()
+    {
+        final IAgentConfiguration<IAgent<?>> l_configuration = configuration( "foo", "bar" );
+        final IAgent<?> l_agent = new CAgent( l_configuration );
+
+        l_agent.beliefbase()
+               .generate( GENERATOR, CPath.of( "first/sub" ) )
+               .add( CLiteral.of( "toplevel", CRawTerm.of( 5 ) ) )
+               .add( CLiteral.of( "first/sub/value", CRawTerm.of( "text" ) ) )
+               .remove( CLiteral.of( "initial" ) );
+        l_agent.beliefbase().trigger().forEach( i -> { } );
+
+        l_agent.storage().put( "counter", 42L );
+        l_agent.storage().put( "term", CLiteral.of( "stored" ) );
+        l_agent.storage().put( "runtime", new Object() );
+
+        l_agent.trigger( ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "bar" ) ) );
+        l_agent.sleep( 5, CRawTerm.of( "alarm" ) );
+
+        final IPlanStatistic l_statistic = l_agent.plans().values().stream()
+                                                  .filter( i -> "bar".equals( i.plan().trigger().literal().functor() ) )
+                                                  .findFirst()
+                                                  .orElseThrow();
+        l_statistic.incrementsuccessful().incrementsuccessful().incrementfail().incrementconditionfail().duration( 1000 ).duration( 3000 );
+
+        final ByteArrayOutputStream l_output = new ByteArrayOutputStream();
+        new CAgentSnapshot( GENERATOR ).write( l_agent, l_output );
+
+        final IAgent<?> l_restored = new CAgentSnapshot( GENERATOR ).read(
+            new CAgent( l_configuration ),
+            new ByteArrayInputStream( l_output.toByteArray() )
+        );
+
+        Assertions.assertEquals( beliefs( l_agent ), beliefs( l_restored ) );
+        Assertions.assertEquals( 0, l_restored.beliefbase().trigger().count() );
+
+        Assertions.assertEquals( 42L, l_restored.storage().get( "counter" ) );
+        Assertions.assertEquals( CLiteral.of( "stored" ), l_restored.storage().get( "term" ) );
+        Assertions.assertFalse( l_restored.storage().containsKey( "runtime" ) );
+
+        Assertions.assertEquals(
+            ( (IBaseAgent<?>) l_agent ).m_trigger,
+            ( (IBaseAgent<?>) l_restored ).m_trigger
+        );
+
+        Assertions.assertTrue( l_restored.sleeping() );
+        Assertions.assertEquals( ( (IBaseAgent<?>) l_agent ).sleepingcycles(), ( (IBaseAgent<?>) l_restored ).sleepingcycles() );
+        Assertions.assertEquals(
+            ( (IBaseAgent<?>) l_agent ).sleepingterm().collect( Collectors.toSet() ),
+            ( (IBaseAgent<?>) l_restored ).sleepingterm().collect( Collectors.toSet() )
+        );
+
+        final IPlanStatistic l_restoredstatistic = l_restored.plans().values().stream()
+                                                             .filter( i -> "bar".equals( i.plan().trigger().literal().functor() ) )
+                                                             .findFirst()
+                                                             .orElseThrow();
+        Assertions.assertEquals( 2, l_restoredstatistic.successful() );
+        Assertions.assertEquals( 1, l_restoredstatistic.fail() );
+        Assertions.assertEquals( 1, l_restoredstatistic.conditionfail() );
+        Assertions.assertEquals( l_statistic.lastrun(), l_restoredstatistic.lastrun() );
+        Assertions.assertEquals( 2, l_restoredstatistic.duration().count() );
+        Assertions.assertEquals( 4000, l_restoredstatistic.duration().sum() );
+        Assertions.assertEquals( l_statistic.duration().quantile( 0.5 ), l_restoredstatistic.duration().quantile( 0.5 ) );
+    }
+
+    /**
+     * test restoring a snapshot into an agent of a different program
+     */
+    @Test
+    public void differentprogram()
+    {
+        final ByteArrayOutputStream l_output = new ByteArrayOutputStream();
+        new CAgentSnapshot( GENERATOR ).write( new CAgent( configuration( "foo", "bar" ) ), l_output );
+
+        Assertions.assertThrows(
+            CIllegalArgumentException.class,
+            () -> new CAgentSnapshot( GENERATOR ).read(
+                new CAgent( configuration( "foo" ) ),
+                new ByteArrayInputStream( l_output.toByteArray() )
+            )
+        );
+    }
+
+    /**
+     * returns all beliefs of an agent
+     *
+     * @param p_agent agent
+     * @return belief set
+     */
+    private static Set<ILiteral> beliefs( final IAgent<?> p_agent )
+    {
+        return IBaseBeliefbase.beliefs( p_agent.beliefbase() ).collect( Collectors.toSet() );
+    }
+
+    /**
+     * creates a configuration with empty plans
+     *
+     * @param p_goals goal names
+     * @return configuration
+     */
+    private static IAgentConfiguration<IAgent<?>> configuration( final String... p_goals )
+    {
+        final Set<IPlan> l_plans = Stream.of( p_goals )
+                                         .map( i -> new CPlan(
+                                             new IAnnotation<?>[0],
+                                             ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( i ) ),
+                                             IExpression.EMPTY,
+                                             new IExecution[0]
+                                         ) )
+                                         .collect( Collectors.toSet() );
+
+        return new CDefaultAgentConfiguration<>(
+            IAgentGenerator.DEFAULTFUZZYBUNDLE,
+            Collections.singleton( CLiteral.of( "initial" ) ),
+            l_plans,
+            Collections.emptySet(),
+            ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "foo" ) ),
+            IAgentGenerator.DEFAULTUNIFIER
+        );
+    }
+
+    /**
+     * agent class
+     */
+    private static final class CAgent extends IBaseAgent<IAgent<?>>
+    {
+        /**
+         * serial id
+         */
+        private static final long serialVersionUID = -2206425893128549733L;
+
+        /**
+         * ctor
+         *
+         * @param p_configuration agent configuration
+         */
+        CAgent( final IAgentConfiguration<IAgent<?>> p_configuration )
+        {
+            super( p_configuration );
+        }
+    }
+
+}
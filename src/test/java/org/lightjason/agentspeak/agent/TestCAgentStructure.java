@@ -336,6 +336,7 @@ public final class TestCAgentStructure extends IBaseTest
         Assertions.assertTrue( IAgent.EMPTY.rules().isEmpty() );
         Assertions.assertTrue( IAgent.EMPTY.plans().isEmpty() );
         Assertions.assertTrue( IAgent.EMPTY.runningplans().isEmpty() );
+        Assertions.assertFalse( IAgent.EMPTY.isrunning( CPath.of( "foo" ) ) );
         Assertions.assertTrue( IAgent.EMPTY.storage().isEmpty() );
 
         IAgent.EMPTY.sleep( 10 );
@@ -0,0 +1,75 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.agent;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.lightjason.agentspeak.common.CPath;
+import org.lightjason.agentspeak.language.CLiteral;
+import org.lightjason.agentspeak.language.ILiteral;
+import org.lightjason.agentspeak.language.execution.CContext;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.IPlan;
+import org.lightjason.agentspeak.language.variable.CVariable;
+import org.lightjason.agentspeak.language.variable.IVariable;
+import org.lightjason.agentspeak.testing.IBaseTest;
+
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * test of running plans registry
+ */
+public final class TestCRunningPlans extends IBaseTest
+{
+
+    /**
+     * test running plan lookup and allocation on start
+     */
+    @Test
+    public void runningplans()
+    {
+        final IVariable<Object> l_variable = new CVariable<>( "X" );
+        final IContext l_context = new CContext( IAgent.EMPTY, IPlan.EMPTY, Stream.of( l_variable ) );
+        final CRunningPlans l_running = new CRunningPlans();
+
+        l_variable.set( 5 );
+        l_running.add( CLiteral.of( "foo/bar", new CVariable<>( "X" ) ), l_context );
+        l_variable.set( 7 );
+
+        Assertions.assertTrue( l_running.contains( CPath.of( "foo/bar" ) ) );
+        Assertions.assertFalse( l_running.contains( CPath.of( "foo" ) ) );
+        Assertions.assertEquals( 1, l_running.paths().size() );
+
+        final ILiteral l_literal = l_running.literals().findFirst().orElseThrow( IllegalStateException::new );
+        Assertions.assertEquals( 5, l_literal.orderedvalues().findFirst().orElseThrow( IllegalStateException::new ).<Number>raw().intValue() );
+        Assertions.assertEquals( 1, l_running.multimap().get( CPath.of( "foo/bar" ) ).size() );
+
+        l_running.clear();
+        Assertions.assertFalse( l_running.contains( CPath.of( "foo/bar" ) ) );
+        Assertions.assertEquals( 0, l_running.literals().collect( Collectors.toList() ).size() );
+    }
+
+}
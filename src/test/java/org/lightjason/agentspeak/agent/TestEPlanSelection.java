@@ -0,0 +1,336 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.agent;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.lightjason.agentspeak.configuration.CDefaultAgentConfiguration;
+import org.lightjason.agentspeak.configuration.IAgentConfiguration;
+import org.lightjason.agentspeak.generator.IAgentGenerator;
+import org.lightjason.agentspeak.language.CLiteral;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.execution.IExecution;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.CPlan;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.IPlan;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.annotation.IAnnotation;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.statistic.CPlanStatistic;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.statistic.IPlanStatistic;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.trigger.ITrigger;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+import org.lightjason.agentspeak.language.variable.IVariable;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+
+/**
+ * test plan selection strategies
+ */
+public final class TestEPlanSelection
+{
+    /**
+     * plan statistics, the first plan is not applicable
+     */
+    private final List<IPlanStatistic> m_plans = IntStream.range( 0, 4 )
+                                                          .mapToObj( i -> new CPlan(
+                                                              new IAnnotation<?>[0],
+                                                              ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "goal" ) ),
+                                                              IntStream.range( 0, i ).mapToObj( j -> IExecution.EMPTY ).toArray( IExecution[]::new )
+                                                          ) )
+                                                          .map( CPlanStatistic::of )
+                                                          .collect( Collectors.toList() );
+    /**
+     * instantiated plans
+     */
+    private final List<IPlanStatistic> m_instantiated = new ArrayList<>();
+    /**
+     * names of the executed plans
+     */
+    private final List<String> m_executed = Collections.synchronizedList( new ArrayList<>() );
+
+
+    /**
+     * test all plans
+     */
+    @Test
+    public void all()
+    {
+        Assertions.assertEquals( 3, EPlanSelection.ALL.select( m_plans, this.instantiation() ).count() );
+        Assertions.assertEquals( 4, m_instantiated.size() );
+    }
+
+    /**
+     * test first applicable plan and lazy instantiation
+     */
+    @Test
+    public void first()
+    {
+        Assertions.assertEquals(
+            List.of( m_plans.get( 1 ) ),
+            EPlanSelection.FIRST.select( m_plans, this.instantiation() ).map( Pair::getLeft ).collect( Collectors.toList() )
+        );
+        Assertions.assertEquals( m_plans.subList( 0, 2 ), m_instantiated );
+    }
+
+    /**
+     * test best applicable plan
+     */
+    @Test
+    public void best()
+    {
+        m_plans.get( 0 ).incrementsuccessful();
+        m_plans.get( 1 ).incrementfail();
+        m_plans.get( 3 ).incrementsuccessful();
+        m_plans.get( 3 ).incrementfail();
+        m_plans.get( 2 ).incrementsuccessful();
+
+        Assertions.assertEquals(
+            List.of( m_plans.get( 2 ) ),
+            EPlanSelection.BEST.select( m_plans, this.instantiation() ).map( Pair::getLeft ).collect( Collectors.toList() )
+        );
+        Assertions.assertEquals( List.of( m_plans.get( 0 ), m_plans.get( 2 ) ), m_instantiated );
+    }
+
+    /**
+     * test weighted random plan
+     */
+    @Test
+    public void weightedrandom()
+    {
+        IntStream.range( 0, 50 ).forEach( i -> m_plans.get( 3 ).incrementsuccessful() );
+        IntStream.range( 0, 50 ).forEach( i -> m_plans.get( 2 ).incrementfail() );
+
+        final Set<IPlanStatistic> l_selected = IntStream.range( 0, 100 )
+                                                        .mapToObj( i -> EPlanSelection.WEIGHTEDRANDOM.select( m_plans, this.instantiation() ) )
+                                                        .flatMap( i -> i.map( Pair::getLeft ) )
+                                                        .collect( Collectors.toSet() );
+
+        Assertions.assertFalse( l_selected.contains( m_plans.get( 0 ) ) );
+        Assertions.assertTrue( l_selected.contains( m_plans.get( 3 ) ) );
+    }
+
+    /**
+     * test the first and best plan of an agent, the plans are used in
+     * source order and a failing condition does not use the less specific plan
+     */
+    @Test
+    public void agentsourceorder()
+    {
+        final IPlan l_fail = this.plan( "goal/sub", false, "fail" );
+        final IPlan l_first = this.plan( "goal/sub", true, "first" );
+        final IPlan l_second = this.plan( "goal/sub", true, "second" );
+        final IPlan l_fallback = this.plan( "goal", true, "fallback" );
+
+        Stream.of( EPlanSelection.FIRST, EPlanSelection.BEST ).forEach( i ->
+        {
+            Assertions.assertEquals( List.of( "first" ), this.execute( i, l_fail, l_first, l_second, l_fallback ), i.toString() );
+            Assertions.assertEquals( List.of( "second" ), this.execute( i, l_fail, l_second, l_first, l_fallback ), i.toString() );
+        } );
+    }
+
+    /**
+     * test the less specific plan of an agent, which is
+     * used iif no plan of the trigger is applicable
+     */
+    @Test
+    public void agentfallback()
+    {
+        final IPlan l_fail = this.plan( "goal/sub", false, "fail" );
+        final IPlan l_fallback = this.plan( "goal", true, "fallback" );
+
+        Stream.of( EPlanSelection.values() ).forEach( i ->
+            Assertions.assertEquals( List.of( "fallback" ), this.execute( i, l_fail, l_fallback ), i.toString() )
+        );
+    }
+
+    /**
+     * test the less specific plan of an agent with all plans,
+     * which is used for each plan with a failed condition
+     */
+    @Test
+    public void agentfallbackall()
+    {
+        final IPlan l_fail = this.plan( "goal/sub", false, "fail" );
+        final IPlan l_first = this.plan( "goal/sub", true, "first" );
+        final IPlan l_fallback = this.plan( "goal", true, "fallback" );
+
+        Assertions.assertEquals(
+            Set.of( "first", "fallback" ),
+            new HashSet<>( this.execute( EPlanSelection.ALL, l_fail, l_first, l_fallback ) )
+        );
+        Stream.of( EPlanSelection.FIRST, EPlanSelection.BEST, EPlanSelection.WEIGHTEDRANDOM ).forEach( i ->
+            Assertions.assertEquals( List.of( "first" ), this.execute( i, l_fail, l_first, l_fallback ), i.toString() )
+        );
+    }
+
+    /**
+     * creates an agent, triggers the goal and
+     * returns the names of the executed plans
+     *
+     * @param p_selection plan selection
+     * @param p_plans plans in source order
+     * @return names of the executed plans
+     */
+    @Nonnull
+    private List<String> execute( @Nonnull final EPlanSelection p_selection, @Nonnull final IPlan... p_plans )
+    {
+        m_executed.clear();
+
+        final IAgent<?> l_agent = new CAgent( new CDefaultAgentConfiguration<>(
+            IAgentGenerator.DEFAULTFUZZYBUNDLE,
+            Collections.emptySet(),
+            new LinkedHashSet<>( List.of( p_plans ) ),
+            Collections.emptySet(),
+            ITrigger.EMPTY,
+            IAgentGenerator.DEFAULTUNIFIER
+        )
+        {
+            @Nonnull
+            @Override
+            public EPlanSelection planselection()
+            {
+                return p_selection;
+            }
+        } );
+
+        l_agent.trigger( ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "goal/sub" ) ), true ).collect( Collectors.toList() );
+        return new ArrayList<>( m_executed );
+    }
+
+    /**
+     * creates a plan, which records its name on execution
+     *
+     * @param p_trigger trigger functor
+     * @param p_condition condition result
+     * @param p_name name of the plan
+     * @return plan
+     */
+    @Nonnull
+    private IPlan plan( @Nonnull final String p_trigger, final boolean p_condition, @Nonnull final String p_name )
+    {
+        return new CPlan(
+            new IAnnotation<?>[0],
+            ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( p_trigger ) ),
+            condition( p_condition ),
+            new IExecution[]{execution( i -> m_executed.add( p_name ) )}
+        );
+    }
+
+    /**
+     * creates a plan condition
+     *
+     * @param p_result condition result
+     * @return condition
+     */
+    @Nonnull
+    private static IExecution condition( final boolean p_result )
+    {
+        return execution( i ->
+        {
+            i.add( CRawTerm.of( p_result ) );
+            return p_result;
+        } );
+    }
+
+    /**
+     * creates an execution
+     *
+     * @param p_function function of the return values, which returns the execution result
+     * @return execution
+     */
+    @Nonnull
+    private static IExecution execution( @Nonnull final Function<List<ITerm>, Boolean> p_function )
+    {
+        return new IExecution()
+        {
+            @Nonnull
+            @Override
+            public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                                   @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return
+            )
+            {
+                return p_function.apply( p_return ) ? p_context.agent().fuzzy().membership().success() : p_context.agent().fuzzy().membership().fail();
+            }
+
+            @Nonnull
+            @Override
+            public Stream<IVariable<?>> variables()
+            {
+                return Stream.empty();
+            }
+        };
+    }
+
+    /**
+     * instantiation function, which records the instantiated
+     * plans and fails on the first plan
+     *
+     * @return function
+     */
+    @Nonnull
+    private Function<IPlanStatistic, Stream<Pair<IPlanStatistic, IContext>>> instantiation()
+    {
+        return i ->
+        {
+            m_instantiated.add( i );
+            return i == m_plans.get( 0 ) ? Stream.empty() : Stream.of( new ImmutablePair<>( i, IContext.EMPTYPLAN ) );
+        };
+    }
+
+
+    /**
+     * agent class
+     */
+    private static final class CAgent extends IBaseAgent<IAgent<?>>
+    {
+        /**
+         * serial id
+         */
+        private static final long serialVersionUID = -2260489546370151893L;
+
+        /**
+         * ctor
+         *
+         * @param p_configuration agent configuration
+         */
+        CAgent( final IAgentConfiguration<IAgent<?>> p_configuration )
+        {
+            super( p_configuration );
+        }
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.beliefbase;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.lightjason.agentspeak.beliefbase.journal.CJournal;
+import org.lightjason.agentspeak.beliefbase.journal.IJournal;
+import org.lightjason.agentspeak.beliefbase.storage.CMultiStorage;
+import org.lightjason.agentspeak.beliefbase.view.IView;
+import org.lightjason.agentspeak.beliefbase.view.IViewGenerator;
+import org.lightjason.agentspeak.common.CPath;
+import org.lightjason.agentspeak.error.CIllegalStateException;
+import org.lightjason.agentspeak.language.CLiteral;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ILiteral;
+import org.lightjason.agentspeak.testing.IBaseTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+
+/**
+ * test of beliefbase journal
+ */
+public final class TestCJournal extends IBaseTest
+{
+    /**
+     * view generator
+     */
+    private static final IViewGenerator GENERATOR = ( i, j ) -> new CBeliefbase( new CMultiStorage<>() ).create( i, j );
+
+    /**
+     * test restoring of the change log
+     *
+     * @throws IOException on io error
+     */
+    @Test
+    public void restorelog() throws IOException
+    {
+        final Path l_directory = Files.createTempDirectory( "journal" );
+
+        try ( IJournal l_journal = new CJournal( l_directory, 4, true, 0 ) )
+        {
+            final IView l_view = l_journal.attach( new CBeliefbase( new CMultiStorage<>() ).create( "root" ) );
+            l_view.generate( GENERATOR, CPath.of( "first/sub" ) )
+                  .add( CLiteral.of( "toplevel", CRawTerm.of( 5 ) ) )
+                  .add( CLiteral.of( "first/value", CRawTerm.of( "text" ) ) )
+                  .add( CLiteral.of( "first/sub/value", CRawTerm.of( 1.5 ) ) )
+                  .add( CLiteral.of( "first/sub/removed" ) )
+                  .remove( CLiteral.of( "first/sub/removed" ) );
+        }
+
+        final IView l_view = new CBeliefbase( new CMultiStorage<>() ).create( "root" );
+        try ( IJournal l_journal = new CJournal( l_directory, 4, true, 0 ) )
+        {
+            l_journal.restore( l_view, GENERATOR );
+        }
+
+        Assertions.assertEquals( 3, l_view.size() );
+        Assertions.assertTrue( l_view.containsliteral( CPath.of( "toplevel" ) ) );
+        Assertions.assertTrue( l_view.containsliteral( CPath.of( "first/sub/value" ) ) );
+        Assertions.assertFalse( l_view.containsliteral( CPath.of( "first/sub/removed" ) ) );
+        Assertions.assertEquals(
+            CLiteral.of( "value", CRawTerm.of( 1.5 ) ),
+            l_view.stream( CPath.of( "first/sub/value" ) ).findFirst().orElseThrow().shallowcopysuffix()
+        );
+        Assertions.assertEquals( 0, l_view.trigger().count() );
+    }
+
+    /**
+     * test checkpoint with log tail and a torn record
+     *
+     * @throws IOException on io error
+     */
+    @Test
+    public void restorecheckpoint() throws IOException
+    {
+        final Path l_directory = Files.createTempDirectory( "journal" );
+
+        try ( IJournal l_journal = new CJournal( l_directory, 1, false, 0 ) )
+        {
+            final IView l_view = l_journal.attach( new CBeliefbase( new CMultiStorage<>() ).create( "root" ) );
+            l_view.generate( GENERATOR, CPath.of( "data" ) );
+            IntStream.range( 0, 100 ).forEach( i -> l_view.add( CLiteral.of( "data/item", CRawTerm.of( i ) ) ) );
+
+            l_journal.checkpoint( l_view );
+
+            IntStream.range( 0, 50 ).forEach( i -> l_view.remove( CLiteral.of( "data/item", CRawTerm.of( i ) ) ) );
+            l_view.add( CLiteral.of( "data/item", CRawTerm.of( 1000 ) ) );
+        }
+
+        Files.write( l_directory.resolve( "beliefbase.log" ), new byte[]{0, 0, 0, 100, 1, 2}, StandardOpenOption.APPEND );
+
+        final IView l_view = new CBeliefbase( new CMultiStorage<>() ).create( "root" );
+        try ( IJournal l_journal = new CJournal( l_directory, 1, false, 0 ) )
+        {
+            l_journal.restore( l_view, GENERATOR );
+        }
+
+        final Set<ILiteral> l_expected = Stream.concat( IntStream.range( 50, 100 ).boxed(), Stream.of( 1000 ) )
+                                               .map( i -> CLiteral.of( "item", CRawTerm.of( i ) ) )
+                                               .collect( Collectors.toSet() );
+
+        Assertions.assertEquals( 51, l_view.size() );
+        Assertions.assertEquals(
+            l_expected,
+            l_view.stream( CPath.of( "data/item" ) ).map( ILiteral::shallowcopysuffix ).collect( Collectors.toSet() )
+        );
+    }
+
+    /**
+     * test journal on a beliefbase with multiple views
+     *
+     * @throws IOException on io error
+     */
+    @Test
+    public void multipleviews() throws IOException
+    {
+        final Path l_directory = Files.createTempDirectory( "journal" );
+        final CBeliefbase l_beliefbase = new CBeliefbase( new CMultiStorage<>() );
+        final IView l_view = l_beliefbase.create( "root" );
+        l_beliefbase.create( "other" );
+
+        try ( IJournal l_journal = new CJournal( l_directory, 1, false, 0 ) )
+        {
+            Assertions.assertThrows( CIllegalStateException.class, () -> l_journal.attach( l_view ) );
+        }
+
+        try ( IJournal l_journal = new CJournal( l_directory, 1, false, 0 ) )
+        {
+            final CBeliefbase l_single = new CBeliefbase( new CMultiStorage<>() );
+            l_journal.attach( l_single.create( "root" ) );
+            Assertions.assertThrows( CIllegalStateException.class, () -> l_single.create( "other" ) );
+        }
+    }
+}
@@ -23,21 +23,32 @@
 
 package org.lightjason.agentspeak.beliefbase;
 
+import com.google.common.collect.ImmutableSetMultimap;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.lightjason.agentspeak.agent.IAgent;
 import org.lightjason.agentspeak.beliefbase.storage.CClassStorage;
+import org.lightjason.agentspeak.beliefbase.storage.CCopyOnWriteStorage;
 import org.lightjason.agentspeak.beliefbase.storage.CMultiStorage;
+import org.lightjason.agentspeak.beliefbase.storage.COffHeapStorage;
 import org.lightjason.agentspeak.beliefbase.storage.CSingleOnlyStorage;
 import org.lightjason.agentspeak.beliefbase.storage.CSingleStorage;
+import org.lightjason.agentspeak.beliefbase.storage.CVersionedStorage;
 import org.lightjason.agentspeak.beliefbase.storage.IStorage;
 import org.lightjason.agentspeak.beliefbase.view.CView;
 import org.lightjason.agentspeak.beliefbase.view.IView;
+import org.lightjason.agentspeak.error.CIllegalStateException;
 import org.lightjason.agentspeak.language.CLiteral;
 import org.lightjason.agentspeak.language.CRawTerm;
 import org.lightjason.agentspeak.language.ILiteral;
 import org.lightjason.agentspeak.testing.IBaseTest;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 
@@ -266,6 +277,71 @@ public final class TestCStorage extends IBaseTest
     }
 
 
+    /**
+     * test off-heap storage
+     */
+    @Test
+    public void offheapstorage()
+    {
+        final IStorage<ILiteral, IView> l_storage = new COffHeapStorage<>();
+
+        final ILiteral l_literal = CLiteral.of(
+            "foo/bar",
+            CRawTerm.of( 5 ), CRawTerm.of( 7.5 ), CRawTerm.of( "text" ), CRawTerm.of( true ),
+            CLiteral.of( "inner", CRawTerm.of( 3L ) ),
+            CRawTerm.of( new ArrayList<>() )
+        );
+        Assertions.assertTrue( l_storage.putmulti( l_literal.functor(), l_literal ) );
+        Assertions.assertFalse( l_storage.putmulti( l_literal.functor(), l_literal ) );
+
+        final IView l_view = new CView( "foobar", IBeliefbase.EMPY );
+        Assertions.assertTrue( l_storage.putsingle( l_view.name(), l_view ) );
+
+        Assertions.assertEquals( 1, l_storage.size() );
+        Assertions.assertEquals( l_storage.size(), l_storage.streammulti().count() );
+        Assertions.assertEquals( 1, l_storage.streamsingle().count() );
+        Assertions.assertEquals( l_literal, l_storage.multi( l_literal.functor() ).iterator().next() );
+        Assertions.assertEquals( l_literal.toString(), l_storage.streammulti().findFirst().get().toString() );
+
+        Assertions.assertTrue( l_storage.removemulti( l_literal.functor(), l_literal ) );
+        Assertions.assertFalse( l_storage.containsmulti( l_literal.functor() ) );
+        Assertions.assertTrue( l_storage.removesingle( l_view.name() ) );
+        Assertions.assertTrue( l_storage.isempty() );
+    }
+
+    /**
+     * test off-heap storage growing and compaction
+     */
+    @Test
+    public void offheapstoragecapacity()
+    {
+        final COffHeapStorage<IView> l_storage = new COffHeapStorage<>( 64, 4 );
+
+        Assertions.assertTrue(
+            IntStream.range( 0, 5000 )
+                     .mapToObj( i -> CLiteral.of( "item" + i % 10, CRawTerm.of( i ) ) )
+                     .allMatch( i -> l_storage.putmulti( i.functor(), i ) )
+        );
+        Assertions.assertEquals( 5000, l_storage.size() );
+        Assertions.assertEquals( 500, l_storage.multi( "item3" ).size() );
+        Assertions.assertTrue( l_storage.capacity() >= l_storage.used() );
+        Assertions.assertTrue( l_storage.slots() >= 5000 );
+
+        Assertions.assertTrue(
+            IntStream.range( 0, 4500 )
+                     .mapToObj( i -> CLiteral.of( "item" + i % 10, CRawTerm.of( i ) ) )
+                     .allMatch( i -> l_storage.removemulti( i.functor(), i ) )
+        );
+        Assertions.assertEquals( 500, l_storage.size() );
+        Assertions.assertEquals( 500, l_storage.streammulti().count() );
+        Assertions.assertTrue( l_storage.garbage() <= l_storage.used() );
+        Assertions.assertTrue( l_storage.multi( "item3" ).contains( CLiteral.of( "item3", CRawTerm.of( 4503 ) ) ) );
+
+        Assertions.assertTrue( l_storage.clear().isempty() );
+        Assertions.assertEquals( 64, l_storage.capacity() );
+    }
+
+
     /**
      * test class storage
      */
@@ -304,6 +380,295 @@ public final class TestCStorage extends IBaseTest
     }
 
 
+    /**
+     * test copy-on-write storage shares the template
+     */
+    @Test
+    public void copyonwritestorageshare()
+    {
+        final ILiteral l_literal1 = CLiteral.of( "foo", CRawTerm.of( 1 ) );
+        final ILiteral l_literal2 = CLiteral.of( "foo", CRawTerm.of( 2 ) );
+        final ImmutableSetMultimap<String, ILiteral> l_template = ImmutableSetMultimap.of( l_literal1.functor(), l_literal1, l_literal2.functor(), l_literal2 );
+
+        final IStorage<ILiteral, IView> l_storage1 = new CCopyOnWriteStorage<>( l_template );
+        final IStorage<ILiteral, IView> l_storage2 = new CCopyOnWriteStorage<>( l_template );
+
+        Assertions.assertEquals( 2, l_storage1.size() );
+        Assertions.assertTrue( l_storage1.containsmulti( "foo" ) );
+        Assertions.assertFalse( l_storage1.putmulti( l_literal1.functor(), l_literal1 ) );
+
+        final ILiteral l_literal3 = CLiteral.of( "foo", CRawTerm.of( 3 ) );
+        Assertions.assertTrue( l_storage1.putmulti( l_literal3.functor(), l_literal3 ) );
+
+        Assertions.assertEquals( 3, l_storage1.size() );
+        Assertions.assertEquals( 3, l_storage1.streammulti().count() );
+        Assertions.assertEquals( 2, l_storage2.size() );
+        Assertions.assertFalse( l_storage2.multi( "foo" ).contains( l_literal3 ) );
+        Assertions.assertEquals( 2, l_template.size() );
+    }
+
+    /**
+     * test copy-on-write storage remove & clear
+     */
+    @Test
+    public void copyonwritestorageremove()
+    {
+        final ILiteral l_literal1 = CLiteral.of( "bar" );
+        final ILiteral l_literal2 = CLiteral.of( "baz" );
+        final ImmutableSetMultimap<String, ILiteral> l_template = ImmutableSetMultimap.of( l_literal1.functor(), l_literal1, l_literal2.functor(), l_literal2 );
+
+        final IStorage<ILiteral, IView> l_storage1 = new CCopyOnWriteStorage<>( l_template );
+        final IStorage<ILiteral, IView> l_storage2 = new CCopyOnWriteStorage<>( l_template );
+
+        Assertions.assertFalse( l_storage1.removemulti( "bar", l_literal2 ) );
+        Assertions.assertTrue( l_storage1.removemulti( "bar", l_literal1 ) );
+        Assertions.assertFalse( l_storage1.containsmulti( "bar" ) );
+        Assertions.assertEquals( 1, l_storage1.streammulti().count() );
+        Assertions.assertTrue( l_storage2.containsmulti( "bar" ) );
+
+        Assertions.assertTrue( l_storage1.clear().isempty() );
+        Assertions.assertFalse( l_storage2.isempty() );
+        Assertions.assertEquals( 2, l_storage2.size() );
+    }
+
+    /**
+     * test copy-on-write storage fork
+     */
+    @Test
+    public void copyonwritestoragefork()
+    {
+        final ILiteral l_literal1 = CLiteral.of( "foo" );
+        final ILiteral l_literal2 = CLiteral.of( "bar" );
+        final CCopyOnWriteStorage<ILiteral, IView> l_storage = new CCopyOnWriteStorage<>( ImmutableSetMultimap.of( l_literal1.functor(), l_literal1 ) );
+        Assertions.assertTrue( l_storage.putmulti( l_literal2.functor(), l_literal2 ) );
+
+        final IStorage<ILiteral, IView> l_fork = l_storage.fork();
+        Assertions.assertEquals( 2, l_fork.size() );
+
+        Assertions.assertTrue( l_fork.removemulti( l_literal2.functor(), l_literal2 ) );
+        Assertions.assertTrue( l_storage.removemulti( l_literal1.functor(), l_literal1 ) );
+
+        Assertions.assertTrue( l_fork.containsmulti( l_literal1.functor() ) );
+        Assertions.assertFalse( l_fork.containsmulti( l_literal2.functor() ) );
+        Assertions.assertFalse( l_storage.containsmulti( l_literal1.functor() ) );
+        Assertions.assertTrue( l_storage.containsmulti( l_literal2.functor() ) );
+    }
+
+    /**
+     * test copy-on-write storage writes a key in-place
+     */
+    @Test
+    public void copyonwritestoragewrite()
+    {
+        final ILiteral l_literal = CLiteral.of( "foo" );
+        final CCopyOnWriteStorage<ILiteral, IView> l_storage = new CCopyOnWriteStorage<>( ImmutableSetMultimap.of( l_literal.functor(), l_literal ) );
+
+        IntStream.range( 0, 100 ).forEach( i -> Assertions.assertTrue( l_storage.putmulti( "foo", CLiteral.of( "foo", CRawTerm.of( i ) ) ) ) );
+        final Collection<ILiteral> l_values = l_storage.multi( "foo" );
+        Assertions.assertEquals( 101, l_values.size() );
+        Assertions.assertThrows( UnsupportedOperationException.class, () -> l_values.add( l_literal ) );
+
+        IntStream.range( 0, 100 ).forEach( i -> Assertions.assertTrue( l_storage.removemulti( "foo", CLiteral.of( "foo", CRawTerm.of( i ) ) ) ) );
+        Assertions.assertTrue( l_storage.removemulti( "foo", l_literal ) );
+        Assertions.assertFalse( l_storage.containsmulti( "foo" ) );
+        Assertions.assertTrue( l_storage.isempty() );
+        Assertions.assertTrue( l_storage.fork().isempty() );
+    }
+
+    /**
+     * test copy-on-write storage keeps the insertion order
+     */
+    @Test
+    public void copyonwritestorageorder()
+    {
+        final CCopyOnWriteStorage<ILiteral, IView> l_storage = new CCopyOnWriteStorage<>(
+            ImmutableSetMultimap.of( "foo", CLiteral.of( "foo", CRawTerm.of( 0 ) ), "bar", CLiteral.of( "bar" ) )
+        );
+
+        l_storage.putmulti( "xyz", CLiteral.of( "xyz" ) );
+        IntStream.range( 1, 10 ).forEach( i -> l_storage.putmulti( "foo", CLiteral.of( "foo", CRawTerm.of( i ) ) ) );
+
+        final List<ILiteral> l_expected = new ArrayList<>();
+        IntStream.range( 0, 10 ).forEach( i -> l_expected.add( CLiteral.of( "foo", CRawTerm.of( i ) ) ) );
+        l_expected.add( CLiteral.of( "bar" ) );
+        l_expected.add( CLiteral.of( "xyz" ) );
+
+        Assertions.assertEquals( l_expected, l_storage.streammulti().collect( Collectors.toList() ) );
+        Assertions.assertEquals( l_expected.subList( 0, 10 ), new ArrayList<>( l_storage.multi( "foo" ) ) );
+        Assertions.assertEquals( l_expected, l_storage.fork().streammulti().collect( Collectors.toList() ) );
+    }
+
+    /**
+     * test fork of the structure-sharing storages,
+     * which are written on both sides after the fork
+     */
+    @Test
+    public void storageforkshared()
+    {
+        final ILiteral l_foo = CLiteral.of( "foo" );
+        final ILiteral l_bar = CLiteral.of( "bar" );
+        final ILiteral l_baz = CLiteral.of( "baz" );
+
+        Stream.<IStorage<ILiteral, IView>>of(
+            new CMultiStorage<>(),
+            new CCopyOnWriteStorage<>( ImmutableSetMultimap.of( l_foo.functor(), l_foo ) )
+        ).forEach( i ->
+        {
+            i.putmulti( l_foo.functor(), l_foo );
+            i.putmulti( l_bar.functor(), l_bar );
+
+            final IStorage<ILiteral, IView> l_fork = i.fork();
+            final IStorage<ILiteral, IView> l_second = l_fork.fork();
+
+            Assertions.assertTrue( i.putmulti( l_foo.functor(), CLiteral.of( "foo", CRawTerm.of( 1 ) ) ), i.toString() );
+            Assertions.assertTrue( l_fork.removemulti( l_bar.functor(), l_bar ), i.toString() );
+            Assertions.assertTrue( l_second.putmulti( l_baz.functor(), l_baz ), i.toString() );
+
+            Assertions.assertEquals( 3, i.size(), i.toString() );
+            Assertions.assertEquals( 1, l_fork.size(), l_fork.toString() );
+            Assertions.assertEquals( 3, l_second.size(), l_second.toString() );
+            Assertions.assertTrue( i.containsmulti( l_bar.functor() ), i.toString() );
+            Assertions.assertFalse( l_fork.containsmulti( l_baz.functor() ), l_fork.toString() );
+            Assertions.assertEquals( 1, l_second.multi( l_foo.functor() ).size(), l_second.toString() );
+        } );
+    }
+
+    /**
+     * test fork of the storages
+     */
+    @Test
+    public void storagefork()
+    {
+        final ILiteral l_literal = CLiteral.of( "foo" );
+
+        Stream.<IStorage<ILiteral, IView>>of(
+            new CMultiStorage<>(),
+            new CSingleStorage<>(),
+            new COffHeapStorage<>(),
+            new CCopyOnWriteStorage<>(),
+            new CVersionedStorage<>()
+        ).forEach( i ->
+        {
+            i.putmulti( l_literal.functor(), l_literal );
+            i.update( IAgent.EMPTY );
+
+            final IStorage<ILiteral, IView> l_fork = i.fork();
+            Assertions.assertEquals( i.getClass(), l_fork.getClass() );
+            Assertions.assertTrue( l_fork.containsmulti( l_literal.functor() ), i.toString() );
+
+            Assertions.assertTrue( l_fork.removemulti( l_literal.functor(), l_literal ), i.toString() );
+            l_fork.update( IAgent.EMPTY );
+            Assertions.assertFalse( l_fork.containsmulti( l_literal.functor() ), i.toString() );
+            Assertions.assertTrue( i.containsmulti( l_literal.functor() ), i.toString() );
+        } );
+
+        Assertions.assertThrows( CIllegalStateException.class, () -> new CClassStorage<>( new Object() ).fork() );
+    }
+
+    /**
+     * test bulk put and remove of the storages
+     */
+    @Test
+    public void bulkstorage()
+    {
+        Stream.<IStorage<ILiteral, IView>>of(
+            new CMultiStorage<>(),
+            new CCopyOnWriteStorage<>( ImmutableSetMultimap.of( "foo", CLiteral.of( "foo" ) ) )
+        ).forEach( i ->
+        {
+            i.putmulti( "foo", CLiteral.of( "foo" ) );
+            Assertions.assertEquals(
+                1,
+                i.putmulti( "foo", List.of( CLiteral.of( "foo" ), CLiteral.of( "foo", CRawTerm.of( 1 ) ), CLiteral.of( "foo", CRawTerm.of( 1 ) ) ) ).size(),
+                i.toString()
+            );
+            Assertions.assertEquals(
+                1,
+                i.removemulti( "foo", List.of( CLiteral.of( "foo" ), CLiteral.of( "bar" ) ) ).size(),
+                i.toString()
+            );
+        } );
+    }
+
+    /**
+     * test versioned storage reads the snapshot until commit
+     */
+    @Test
+    public void versionedstorage()
+    {
+        final CVersionedStorage<ILiteral, IView> l_storage = new CVersionedStorage<>();
+        final ILiteral l_literal1 = CLiteral.of( "foo", CRawTerm.of( 1 ) );
+        final ILiteral l_literal2 = CLiteral.of( "foo", CRawTerm.of( 2 ) );
+
+        Assertions.assertTrue( l_storage.putmulti( l_literal1.functor(), l_literal1 ) );
+        Assertions.assertFalse( l_storage.putmulti( l_literal1.functor(), l_literal1 ) );
+        Assertions.assertTrue( l_storage.putmulti( l_literal2.functor(), l_literal2 ) );
+
+        Assertions.assertTrue( l_storage.isempty() );
+        Assertions.assertFalse( l_storage.containsmulti( "foo" ) );
+        Assertions.assertEquals( 0, l_storage.version() );
+
+        Assertions.assertEquals( 2, l_storage.commit().size() );
+        Assertions.assertEquals( 1, l_storage.version() );
+        Assertions.assertEquals( 2, l_storage.multi( "foo" ).size() );
+
+        Assertions.assertTrue( l_storage.removemulti( l_literal1.functor(), l_literal1 ) );
+        Assertions.assertFalse( l_storage.removemulti( l_literal1.functor(), l_literal1 ) );
+        Assertions.assertEquals( 2, l_storage.streammulti().count() );
+
+        l_storage.update( IAgent.EMPTY );
+        Assertions.assertEquals( 2, l_storage.version() );
+        Assertions.assertEquals( l_literal2, l_storage.streammulti().findFirst().get() );
+
+        l_storage.commit();
+        Assertions.assertEquals( 2, l_storage.version() );
+    }
+
+    /**
+     * test versioned storage buffers the changes of a key
+     */
+    @Test
+    public void versionedstoragedelta()
+    {
+        final CVersionedStorage<ILiteral, IView> l_storage = new CVersionedStorage<>();
+        IntStream.range( 0, 100 ).forEach( i -> Assertions.assertTrue( l_storage.putmulti( "foo", CLiteral.of( "foo", CRawTerm.of( i ) ) ) ) );
+        Assertions.assertEquals( 100, l_storage.commit().size() );
+
+        final Collection<ILiteral> l_elements = l_storage.multi( "foo" );
+        Assertions.assertTrue( l_storage.removemulti( "foo", CLiteral.of( "foo", CRawTerm.of( 0 ) ) ) );
+        Assertions.assertTrue( l_storage.putmulti( "foo", CLiteral.of( "foo", CRawTerm.of( 0 ) ) ) );
+        Assertions.assertFalse( l_storage.putmulti( "foo", CLiteral.of( "foo", CRawTerm.of( 1 ) ) ) );
+        Assertions.assertTrue( l_storage.putmulti( "foo", CLiteral.of( "foo", CRawTerm.of( 100 ) ) ) );
+        Assertions.assertTrue( l_storage.removemulti( "foo", CLiteral.of( "foo", CRawTerm.of( 100 ) ) ) );
+        Assertions.assertEquals( 1, l_storage.commit().version() );
+
+        Assertions.assertEquals( 100, l_storage.removemulti( "foo", new ArrayList<>( l_elements ) ).size() );
+        Assertions.assertEquals( 100, l_storage.multi( "foo" ).size() );
+        Assertions.assertTrue( l_storage.commit().isempty() );
+        Assertions.assertEquals( 100, l_elements.size() );
+        Assertions.assertFalse( l_storage.containsmulti( "foo" ) );
+        Assertions.assertEquals( 2, l_storage.version() );
+    }
+
+    /**
+     * test versioned storage clear
+     */
+    @Test
+    public void versionedstorageclear()
+    {
+        final CVersionedStorage<ILiteral, IView> l_storage = new CVersionedStorage<>();
+        final ILiteral l_literal1 = CLiteral.of( "foo" );
+        final ILiteral l_literal2 = CLiteral.of( "bar" );
+
+        l_storage.putmulti( l_literal1.functor(), l_literal1 );
+        l_storage.commit();
+        l_storage.putmulti( l_literal2.functor(), l_literal2 );
+
+        l_storage.clear();
+        Assertions.assertEquals( 1, l_storage.size() );
+        Assertions.assertTrue( l_storage.commit().isempty() );
+    }
+
     /**
      * test storage class
      */
@@ -113,6 +113,99 @@ public final class TestCView extends IBaseTest
         Assertions.assertTrue( l_view.isempty() );
     }
 
+    /**
+     * test batch of adds and removes
+     */
+    @Test
+    public void batch()
+    {
+        final IView l_view = buildview();
+        l_view.trigger().forEach( i -> { } );
+
+        l_view.batch(
+            Stream.of(
+                CLiteral.of( "first/sub1", CRawTerm.of( 3 ) ),
+                CLiteral.of( "first/sub1", CRawTerm.of( 3 ) ),
+                CLiteral.of( "first/sub2" ),
+                CLiteral.of( "second/sub/sub6" ),
+                CLiteral.of( "toplevel" ),
+                CLiteral.of( "unknown/sub7" )
+            ),
+            Stream.of(
+                CLiteral.of( "first/sub1" ),
+                CLiteral.of( "first/sub1", CRawTerm.of( 1 ) ),
+                CLiteral.of( "toplevel" ),
+                CLiteral.of( "nothing" )
+            )
+        );
+
+        Assertions.assertEquals( 8, l_view.size() );
+        Assertions.assertArrayEquals(
+            Stream.of( "sub1[2]", "sub1[3]" ).toArray(),
+            l_view.stream( CPath.of( "first/sub1" ) ).map( Object::toString ).sorted().toArray()
+        );
+        Assertions.assertTrue( l_view.containsliteral( CPath.of( "toplevel" ) ) );
+        Assertions.assertTrue( l_view.containsliteral( CPath.of( "second/sub/sub6" ) ) );
+        Assertions.assertEquals( 6, l_view.trigger().count() );
+    }
+
+    /**
+     * test replacing the literals
+     */
+    @Test
+    public void replace()
+    {
+        final IView l_view = buildview();
+        l_view.trigger().forEach( i -> { } );
+
+        l_view.replace(
+            Stream.of(
+                CLiteral.of( "toplevel" ),
+                CLiteral.of( "first/sub1" ),
+                CLiteral.of( "first/sub1", CRawTerm.of( 3 ) ),
+                CLiteral.of( "second/sub3" ),
+                CLiteral.of( "second/sub/sub5" ),
+                CLiteral.of( "unknown/sub6" )
+            )
+        );
+
+        Assertions.assertEquals( 5, l_view.size() );
+        Assertions.assertArrayEquals(
+            Stream.of( "sub1[3]", "sub1[]" ).toArray(),
+            l_view.stream( CPath.of( "first/sub1" ) ).map( Object::toString ).sorted().toArray()
+        );
+        Assertions.assertFalse( l_view.containsliteral( CPath.of( "first/sub2" ) ) );
+        Assertions.assertTrue( l_view.containsview( CPath.of( "second/sub" ) ) );
+
+        // removed sub1[1], sub1[2], sub2[], sub4[] and added sub1[3]
+        Assertions.assertEquals( 5, l_view.trigger().count() );
+
+        l_view.replace( Stream.empty() );
+        Assertions.assertEquals( 0, l_view.size() );
+    }
+
+    /**
+     * test view path and path resolving
+     */
+    @Test
+    public void path()
+    {
+        final IView l_view = buildview();
+        final IView l_sub = l_view.walk( CPath.of( "second/sub" ) ).reduce( ( i, j ) -> j ).orElse( IView.EMPTY );
+
+        Assertions.assertEquals( CPath.of( "second/sub" ), l_sub.path() );
+        Assertions.assertNotSame( l_sub.path(), l_sub.path() );
+
+        l_sub.path().remove( 0 );
+        Assertions.assertEquals( CPath.of( "second/sub" ), l_sub.path() );
+
+        Assertions.assertTrue( l_view.containsview( CPath.of( "second/sub" ) ) );
+        Assertions.assertTrue( l_view.containsliteral( CPath.of( "second/sub/sub5" ) ) );
+        Assertions.assertFalse( l_view.containsview( CPath.of( "unknown/sub" ) ) );
+        Assertions.assertFalse( l_view.containsliteral( CPath.of( "unknown/sub5" ) ) );
+        Assertions.assertEquals( 0, l_view.stream( CPath.of( "unknown/sub1" ) ).count() );
+    }
+
     /**
      * test ctor exception
      */
@@ -0,0 +1,328 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.configuration;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.lightjason.agentspeak.agent.IAgent;
+import org.lightjason.agentspeak.agent.IBaseAgent;
+import org.lightjason.agentspeak.common.CPath;
+import org.lightjason.agentspeak.generator.IAgentGenerator;
+import org.lightjason.agentspeak.language.CLiteral;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.execution.IExecution;
+import org.lightjason.agentspeak.language.execution.achievementtest.CAchievementGoalLiteral;
+import org.lightjason.agentspeak.language.execution.achievementtest.CAchievementRuleInline;
+import org.lightjason.agentspeak.language.execution.achievementtest.CAchievementRuleLiteral;
+import org.lightjason.agentspeak.language.execution.base.CBelief;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.CPlan;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.IPlan;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.annotation.IAnnotation;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.trigger.ITrigger;
+import org.lightjason.agentspeak.language.execution.instantiable.rule.CRule;
+import org.lightjason.agentspeak.language.execution.instantiable.rule.IRule;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+import org.lightjason.agentspeak.language.variable.CVariable;
+import org.lightjason.agentspeak.language.variable.IVariable;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * test plan library analysis
+ */
+public final class TestCPlanLibraryAnalysis
+{
+    /**
+     * main plan, calls the sub goal and the rule
+     */
+    private static final IPlan MAIN = plan(
+        ITrigger.EType.ADDGOAL, "main",
+        new CAchievementGoalLiteral( CLiteral.of( "sub" ) ),
+        new CAchievementRuleLiteral( CLiteral.of( "simple" ) )
+    );
+    /**
+     * sub goal plan
+     */
+    private static final IPlan SUB = plan( ITrigger.EType.ADDGOAL, "sub", new CBelief( CBelief.EAction.ADD, CLiteral.of( "done" ) ) );
+    /**
+     * sub goal failure plan
+     */
+    private static final IPlan SUBFAIL = plan( ITrigger.EType.DELETEGOAL, "sub" );
+    /**
+     * belief plan, calls the recursive rule
+     */
+    private static final IPlan BELIEF = plan( ITrigger.EType.ADDBELIEF, "done", new CAchievementRuleLiteral( CLiteral.of( "recursive" ) ) );
+    /**
+     * plan which is never triggered
+     */
+    private static final IPlan UNUSED = plan( ITrigger.EType.ADDGOAL, "unused", new CAchievementRuleLiteral( CLiteral.of( "orphan" ) ) );
+    /**
+     * simple rule
+     */
+    private static final IRule SIMPLE = new CRule( CLiteral.of( "simple" ), new IExecution[]{IExecution.EMPTY} );
+    /**
+     * recursive rule
+     */
+    private static final IRule RECURSIVE = new CRule( CLiteral.of( "recursive" ), new IExecution[]{new CAchievementRuleLiteral( CLiteral.of( "recursive" ) )} );
+    /**
+     * rule which is never called
+     */
+    private static final IRule ORPHAN = new CRule( CLiteral.of( "orphan" ), new IExecution[]{IExecution.EMPTY} );
+
+
+    /**
+     * test reachable plans and rules
+     */
+    @Test
+    public void reachable()
+    {
+        final CPlanLibraryAnalysis l_analysis = analysis();
+
+        Assertions.assertEquals( Set.of( MAIN, SUB, SUBFAIL, BELIEF ), l_analysis.plans() );
+        Assertions.assertEquals( Set.of( SIMPLE, RECURSIVE ), l_analysis.rules() );
+        Assertions.assertEquals( Set.of( UNUSED ), l_analysis.unreachableplans().collect( Collectors.toSet() ) );
+        Assertions.assertEquals( Set.of( ORPHAN ), l_analysis.unreachablerules().collect( Collectors.toSet() ) );
+    }
+
+    /**
+     * test additional root trigger
+     */
+    @Test
+    public void root()
+    {
+        final CPlanLibraryAnalysis l_analysis = CPlanLibraryAnalysis.of(
+            Set.of( MAIN, SUB, SUBFAIL, BELIEF, UNUSED ),
+            Set.of( SIMPLE, RECURSIVE, ORPHAN ),
+            Set.of( ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "main" ) ), ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "unused" ) ) )
+        );
+
+        Assertions.assertEquals( 5, l_analysis.plans().size() );
+        Assertions.assertEquals( 3, l_analysis.rules().size() );
+    }
+
+    /**
+     * test recursive rules and inline candidates
+     */
+    @Test
+    public void rules()
+    {
+        final CPlanLibraryAnalysis l_analysis = analysis();
+
+        Assertions.assertEquals( Set.of( RECURSIVE ), l_analysis.recursiverules().collect( Collectors.toSet() ) );
+        Assertions.assertEquals( Set.of( SIMPLE ), l_analysis.inlinecandidates().collect( Collectors.toSet() ) );
+        Assertions.assertEquals( Set.of( CPath.of( "sub" ) ), l_analysis.goalcalls().get( MAIN ) );
+        Assertions.assertEquals( Set.of( CPath.of( "recursive" ) ), l_analysis.rulecalls().get( RECURSIVE ) );
+    }
+
+    /**
+     * test pruning of an agent configuration
+     */
+    @Test
+    public void prune()
+    {
+        final IAgentConfiguration<IAgent<?>> l_configuration = configuration( Set.of( MAIN, SUB, SUBFAIL, BELIEF, UNUSED ), Set.of( SIMPLE, RECURSIVE, ORPHAN ) );
+        final IAgentConfiguration<IAgent<?>> l_pruned = CPlanLibraryAnalysis.prune( l_configuration );
+
+        Assertions.assertEquals( Set.of( MAIN, SUB, SUBFAIL, BELIEF ), l_pruned.plans() );
+        Assertions.assertEquals( Set.of( SIMPLE, RECURSIVE ), l_pruned.rules() );
+        Assertions.assertEquals( l_configuration.initialgoal(), l_pruned.initialgoal() );
+        Assertions.assertSame( l_pruned, CPlanLibraryAnalysis.prune( l_pruned ) );
+    }
+
+    /**
+     * test inlining of an agent configuration
+     */
+    @Test
+    public void inline()
+    {
+        final IAgentConfiguration<IAgent<?>> l_inlined = CPlanLibraryAnalysis.inline(
+            configuration( Set.of( MAIN, SUB, SUBFAIL, BELIEF, UNUSED ), Set.of( SIMPLE, RECURSIVE, ORPHAN ) )
+        );
+
+        final IPlan l_main = l_inlined.plans().stream().filter( i -> i.trigger().equals( MAIN.trigger() ) ).findFirst().orElseThrow();
+        Assertions.assertNotSame( MAIN, l_main );
+        Assertions.assertTrue( ( (CPlan) l_main ).body().anyMatch( i -> i instanceof CAchievementRuleInline ) );
+        Assertions.assertTrue( l_inlined.plans().contains( BELIEF ) );
+
+        Assertions.assertEquals( Set.of( RECURSIVE ), CPlanLibraryAnalysis.prune( l_inlined ).rules() );
+    }
+
+    /**
+     * test execution of an inlined rule, the rule variables
+     * have the same names like the caller variables
+     */
+    @Test
+    public void inlineexecution()
+    {
+        final Map<String, Object> l_result = new ConcurrentHashMap<>();
+        final IPlan l_plan = new CPlan(
+            new IAnnotation<?>[0],
+            ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "run", new CVariable<>( "X" ) ) ),
+            new IExecution[]{
+                new CAchievementRuleLiteral( CLiteral.of( "inc", new CVariable<>( "X" ), new CVariable<>( "Y" ) ) ),
+                execution( i ->
+                {
+                    l_result.put( "X", i.instancevariables().get( CPath.of( "X" ) ).raw() );
+                    l_result.put( "Y", i.instancevariables().get( CPath.of( "Y" ) ).raw() );
+                } )
+            }
+        );
+        final IRule l_rule = new CRule(
+            CLiteral.of( "inc", new CVariable<>( "Y" ), new CVariable<>( "X" ) ),
+            new IExecution[]{
+                execution( i -> i.instancevariables().get( CPath.of( "X" ) ).<IVariable<Object>>term().set(
+                    i.instancevariables().get( CPath.of( "Y" ) ).<Number>raw().longValue() + 1
+                ) )
+            }
+        );
+
+        final ITrigger l_root = ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "run", CRawTerm.of( 5 ) ) );
+        final IAgentConfiguration<IAgent<?>> l_configuration = CPlanLibraryAnalysis.prune(
+            CPlanLibraryAnalysis.inline( configuration( Set.of( l_plan ), Set.of( l_rule ) ), l_root ),
+            l_root
+        );
+        Assertions.assertEquals( 1, l_configuration.plans().size() );
+        Assertions.assertTrue( l_configuration.rules().isEmpty() );
+
+        Assertions.assertTrue( l_configuration.plans().stream().allMatch( i -> ( (CPlan) i ).body().anyMatch( j -> j instanceof CAchievementRuleInline ) ) );
+
+        new CAgent( l_configuration ).trigger( l_root, true ).collect( Collectors.toList() );
+
+        Assertions.assertEquals( 5L, ( (Number) l_result.get( "X" ) ).longValue() );
+        Assertions.assertEquals( 6L, ( (Number) l_result.get( "Y" ) ).longValue() );
+    }
+
+    /**
+     * builds the analysis with the main goal as root
+     *
+     * @return analysis
+     */
+    @Nonnull
+    private static CPlanLibraryAnalysis analysis()
+    {
+        return CPlanLibraryAnalysis.of(
+            Set.of( MAIN, SUB, SUBFAIL, BELIEF, UNUSED ),
+            Set.of( SIMPLE, RECURSIVE, ORPHAN ),
+            Set.of( ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "main" ) ) )
+        );
+    }
+
+    /**
+     * builds a plan
+     *
+     * @param p_type trigger type
+     * @param p_functor trigger functor
+     * @param p_body body
+     * @return plan
+     */
+    @Nonnull
+    private static IPlan plan( @Nonnull final ITrigger.EType p_type, @Nonnull final String p_functor, @Nonnull final IExecution... p_body )
+    {
+        return new CPlan( new IAnnotation<?>[0], p_type.builddefault( CLiteral.of( p_functor ) ), p_body );
+    }
+
+    /**
+     * builds an agent configuration with the main goal as initial goal
+     *
+     * @param p_plans plans
+     * @param p_rules rules
+     * @return configuration
+     */
+    @Nonnull
+    private static IAgentConfiguration<IAgent<?>> configuration( @Nonnull final Set<IPlan> p_plans, @Nonnull final Set<IRule> p_rules )
+    {
+        return new CDefaultAgentConfiguration<>(
+            IAgentGenerator.DEFAULTFUZZYBUNDLE,
+            Collections.emptySet(),
+            p_plans,
+            p_rules,
+            ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "main" ) ),
+            IAgentGenerator.DEFAULTUNIFIER
+        );
+    }
+
+    /**
+     * builds a successful execution
+     *
+     * @param p_consumer consumer of the context
+     * @return execution
+     */
+    @Nonnull
+    private static IExecution execution( @Nonnull final Consumer<IContext> p_consumer )
+    {
+        return new IExecution()
+        {
+            @Nonnull
+            @Override
+            public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                                   @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return
+            )
+            {
+                p_consumer.accept( p_context );
+                return p_context.agent().fuzzy().membership().success();
+            }
+
+            @Nonnull
+            @Override
+            public Stream<IVariable<?>> variables()
+            {
+                return Stream.empty();
+            }
+        };
+    }
+
+
+    /**
+     * agent class
+     */
+    private static final class CAgent extends IBaseAgent<IAgent<?>>
+    {
+        /**
+         * serial id
+         */
+        private static final long serialVersionUID = -6143937151466815476L;
+
+        /**
+         * ctor
+         *
+         * @param p_configuration agent configuration
+         */
+        CAgent( final IAgentConfiguration<IAgent<?>> p_configuration )
+        {
+            super( p_configuration );
+        }
+    }
+
+}
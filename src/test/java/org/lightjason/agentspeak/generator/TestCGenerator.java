@@ -133,6 +133,20 @@ public final class TestCGenerator extends IBaseTest
         Assertions.assertEquals( l_object.<Number>raw().intValue(), l_generator.apply( l_object.raw().getClass() ).apply( l_object.raw() ).findFirst().get() );
     }
 
+    /**
+     * test lambda streaming resolution cache
+     */
+    @Test
+    public void lambdastreamingcache()
+    {
+        final ILambdaStreamingGenerator l_generator = new CLambdaStreamingGenerator( "org.lightjason.agentspeak.generator" );
+
+        Assertions.assertTrue( l_generator.apply( Double.class ) instanceof CTestLambda );
+        Assertions.assertSame( l_generator.apply( Double.class ), l_generator.apply( Integer.class ) );
+        Assertions.assertEquals( ILambdaStreaming.EMPTY, l_generator.apply( String.class ) );
+        Assertions.assertSame( l_generator.apply( String.class ), l_generator.apply( String.class ) );
+    }
+
     /**
      * test plan-bundle generator
      *
@@ -0,0 +1,223 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.grammar.builder;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.lightjason.agentspeak.common.CPath;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.CLiteral;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.execution.IExecution;
+import org.lightjason.agentspeak.language.execution.assignment.CSingleAssignment;
+import org.lightjason.agentspeak.language.execution.assignment.EAssignOperator;
+import org.lightjason.agentspeak.language.execution.base.CTernaryOperation;
+import org.lightjason.agentspeak.language.execution.expression.CBinaryExpression;
+import org.lightjason.agentspeak.language.execution.expression.CExpressionCompiler;
+import org.lightjason.agentspeak.language.execution.expression.EBinaryOperator;
+import org.lightjason.agentspeak.language.execution.expression.IExpression;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.annotation.EAnnotation;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.annotation.IAnnotation;
+import org.lightjason.agentspeak.language.execution.passing.CPassRaw;
+import org.lightjason.agentspeak.language.execution.passing.CPassVariable;
+import org.lightjason.agentspeak.language.variable.CVariable;
+import org.lightjason.agentspeak.language.variable.IVariable;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * test parse-time optimizer
+ */
+public final class TestCOptimizer
+{
+
+    /**
+     * test constant folding
+     */
+    @Test
+    public void folding()
+    {
+        final IExecution l_execution = COptimizer.execution(
+            CExpressionCompiler.compile(
+                new CBinaryExpression(
+                    EBinaryOperator.PLUS,
+                    new CPassRaw<>( 2 ),
+                    new CBinaryExpression( EBinaryOperator.MULTIPLY, new CPassRaw<>( 3 ), new CPassRaw<>( 4 ) )
+                )
+            ),
+            Collections.emptyMap()
+        );
+
+        Assertions.assertTrue( l_execution instanceof CPassRaw<?> );
+        Assertions.assertEquals( 14.0, TestCOptimizer.<Number>execute( l_execution ).doubleValue() );
+    }
+
+    /**
+     * test short-circuit folding
+     */
+    @Test
+    public void shortcircuit()
+    {
+        final IExecution l_variable = new CPassVariable( new CVariable<>( "Y" ) );
+
+        Assertions.assertEquals(
+            false,
+            execute( COptimizer.execution( new CBinaryExpression( EBinaryOperator.AND, new CPassRaw<>( false ), l_variable ), Collections.emptyMap() ) )
+        );
+        Assertions.assertEquals(
+            true,
+            execute( COptimizer.execution( new CBinaryExpression( EBinaryOperator.OR, new CPassRaw<>( true ), l_variable ), Collections.emptyMap() ) )
+        );
+    }
+
+    /**
+     * test non-foldable expressions
+     */
+    @Test
+    public void nonfoldable()
+    {
+        final IExecution l_variable = new CBinaryExpression( EBinaryOperator.PLUS, new CPassRaw<>( 1 ), new CPassVariable( new CVariable<>( "Y" ) ) );
+        Assertions.assertSame( l_variable, COptimizer.execution( l_variable, Collections.emptyMap() ) );
+
+        final IExecution l_error = new CBinaryExpression( EBinaryOperator.PLUS, new CPassRaw<>( "a" ), new CPassRaw<>( 1 ) );
+        Assertions.assertSame( l_error, COptimizer.execution( l_error, Collections.emptyMap() ) );
+    }
+
+    /**
+     * test constant propagation
+     */
+    @Test
+    public void propagation()
+    {
+        final Map<IPath, Object> l_constant = COptimizer.constants( new IAnnotation<?>[]{EAnnotation.CONSTANT.apply( "X", 5 )} );
+        final IVariable<?> l_result = new CVariable<>( "R" );
+
+        final IExecution[] l_body = COptimizer.DEFAULT.body(
+            new IExecution[]{
+                new CSingleAssignment(
+                    EAssignOperator.ASSIGN,
+                    l_result,
+                    new CBinaryExpression( EBinaryOperator.MULTIPLY, new CPassVariable( new CVariable<>( "X" ) ), new CPassRaw<>( 2 ) )
+                )
+            },
+            l_constant
+        );
+
+        Assertions.assertTrue( ( (CSingleAssignment) l_body[0] ).rhs() instanceof CPassRaw<?> );
+        Assertions.assertEquals( 10.0, TestCOptimizer.<Number>execute( ( (CSingleAssignment) l_body[0] ).rhs() ).doubleValue() );
+    }
+
+    /**
+     * test dead branch removal of ternary operations
+     */
+    @Test
+    public void deadbranch()
+    {
+        final Map<IPath, Object> l_constant = COptimizer.constants( new IAnnotation<?>[]{EAnnotation.CONSTANT.apply( "X", 5 )} );
+
+        final IExecution l_execution = COptimizer.execution(
+            new CTernaryOperation(
+                new CBinaryExpression( EBinaryOperator.GREATER, new CPassVariable( new CVariable<>( "X" ) ), new CPassRaw<>( 3 ) ),
+                new CPassRaw<>( "yes" ),
+                new CPassRaw<>( "no" )
+            ),
+            l_constant
+        );
+
+        Assertions.assertTrue( l_execution instanceof CPassRaw<?> );
+        Assertions.assertEquals( "yes", execute( l_execution ) );
+    }
+
+    /**
+     * test plan condition simplification
+     */
+    @Test
+    public void condition()
+    {
+        Assertions.assertSame(
+            IExpression.EMPTY,
+            COptimizer.DEFAULT.condition( new CBinaryExpression( EBinaryOperator.LESS, new CPassRaw<>( 1 ), new CPassRaw<>( 2 ) ), Collections.emptyMap() )
+        );
+
+        Assertions.assertEquals(
+            false,
+            execute( COptimizer.DEFAULT.condition( new CBinaryExpression( EBinaryOperator.LESS, new CPassRaw<>( 3 ), new CPassRaw<>( 2 ) ), Collections.emptyMap() ) )
+        );
+    }
+
+    /**
+     * test disabled optimizer
+     */
+    @Test
+    public void disabled()
+    {
+        final IExecution l_execution = new CBinaryExpression( EBinaryOperator.LESS, new CPassRaw<>( 1 ), new CPassRaw<>( 2 ) );
+
+        Assertions.assertSame( l_execution, COptimizer.DISABLED.condition( l_execution, Collections.emptyMap() ) );
+        Assertions.assertSame( IExpression.EMPTY, COptimizer.DEFAULT.condition( l_execution, Collections.emptyMap() ) );
+        Assertions.assertFalse( COptimizer.of( false, true ).enabled() );
+        Assertions.assertTrue( COptimizer.of( false, true ).dumped() );
+    }
+
+    /**
+     * test constants are not propagated
+     * for variables of the trigger literal
+     */
+    @Test
+    public void boundconstant()
+    {
+        final Map<IPath, Object> l_constant = COptimizer.constants(
+            new IAnnotation<?>[]{EAnnotation.CONSTANT.apply( "X", 5 ), EAnnotation.CONSTANT.apply( "Y", 3 )},
+            CLiteral.of( "goal", CLiteral.of( "inner", new CVariable<>( "X" ) ) )
+        );
+
+        Assertions.assertFalse( l_constant.containsKey( CPath.of( "X" ) ) );
+        Assertions.assertEquals( 3, ( (Number) l_constant.get( CPath.of( "Y" ) ) ).intValue() );
+
+        final IExecution l_condition = new CBinaryExpression( EBinaryOperator.GREATER, new CPassVariable( new CVariable<>( "X" ) ), new CPassRaw<>( 3 ) );
+        Assertions.assertSame( l_condition, COptimizer.DEFAULT.condition( l_condition, l_constant ) );
+    }
+
+    /**
+     * executes an execution and returns the raw value
+     *
+     * @param p_execution execution
+     * @tparam T raw type
+     * @return raw value
+     */
+    private static <T> T execute( @Nonnull final IExecution p_execution )
+    {
+        final List<ITerm> l_return = CCommon.argumentlist();
+        p_execution.execute( false, IContext.EMPTYPLAN, Collections.emptyList(), l_return );
+        Assertions.assertEquals( 1, l_return.size() );
+        return l_return.get( 0 ).raw();
+    }
+
+}
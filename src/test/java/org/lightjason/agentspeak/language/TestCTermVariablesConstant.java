@@ -33,6 +33,7 @@ import org.lightjason.agentspeak.error.CTypeNotAssignable;
 import org.lightjason.agentspeak.language.execution.IContext;
 import org.lightjason.agentspeak.language.variable.CConstant;
 import org.lightjason.agentspeak.language.variable.CMutexVariable;
+import org.lightjason.agentspeak.language.variable.CPrimitiveVariable;
 import org.lightjason.agentspeak.language.variable.CRelocateMutexVariable;
 import org.lightjason.agentspeak.language.variable.CRelocateVariable;
 import org.lightjason.agentspeak.language.variable.CVariable;
@@ -258,6 +259,31 @@ public final class TestCTermVariablesConstant extends IBaseTest
         Assertions.assertFalse( l_variable.allocated() );
     }
 
+    /**
+     * check the primitive variable
+     */
+    @Test
+    public void variableprimitive()
+    {
+        final CPrimitiveVariable l_variable = new CPrimitiveVariable( "P" );
+        Assertions.assertFalse( l_variable.allocated() );
+        Assertions.assertFalse( l_variable.mutex() );
+
+        l_variable.setlong( 5 );
+        Assertions.assertTrue( l_variable.allocated() );
+        Assertions.assertEquals( 5L, l_variable.<Number>raw().longValue() );
+        Assertions.assertEquals( 5L, l_variable.shallowcopy().<Number>raw().longValue() );
+
+        l_variable.setdouble( 0.5 );
+        Assertions.assertEquals( 0.5, l_variable.<Number>raw().doubleValue() );
+
+        l_variable.set( "text" );
+        Assertions.assertEquals( "text", l_variable.raw() );
+        Assertions.assertEquals( "text", l_variable.deepcopy().<IVariable<?>>term().raw() );
+
+        Assertions.assertFalse( new CPrimitiveVariable( "_" ).setlong( 3 ).allocated() );
+    }
+
     /**
      * test shallow- and deep-copy
      */
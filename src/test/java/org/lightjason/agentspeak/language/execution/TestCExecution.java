@@ -23,16 +23,34 @@
 
 package org.lightjason.agentspeak.language.execution;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.lightjason.agentspeak.agent.IAgent;
+import org.lightjason.agentspeak.agent.IBaseAgent;
+import org.lightjason.agentspeak.configuration.CDefaultAgentConfiguration;
+import org.lightjason.agentspeak.generator.IAgentGenerator;
+import org.lightjason.agentspeak.language.CLiteral;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.expression.CBinaryExpression;
+import org.lightjason.agentspeak.language.execution.expression.EBinaryOperator;
 import org.lightjason.agentspeak.language.execution.instantiable.plan.IPlan;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.trigger.ITrigger;
 import org.lightjason.agentspeak.language.execution.instantiable.rule.IRule;
+import org.lightjason.agentspeak.language.execution.passing.CPassAction;
+import org.lightjason.agentspeak.language.execution.passing.CPassRaw;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
 import org.lightjason.agentspeak.language.variable.CMutexVariable;
 import org.lightjason.agentspeak.language.variable.CVariable;
+import org.lightjason.agentspeak.language.variable.IVariable;
 import org.lightjason.agentspeak.testing.IBaseTest;
 
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -104,4 +122,209 @@ public final class TestCExecution extends IBaseTest
             new CContext( IAgent.EMPTY, IPlan.EMPTY, Stream.of( new CVariable<>( "X" ) ).collect( Collectors.toSet() ) )
         );
     }
+
+    /**
+     * test compiled execution against loop execution
+     */
+    @Test
+    public void compiledexecution()
+    {
+        Stream.of(
+            new IExecution[0],
+            new IExecution[]{result( true ), new CBinaryExpression( EBinaryOperator.PLUS, new CPassRaw<>( 2 ), new CPassRaw<>( 3 ) ), result( true )},
+            new IExecution[]{result( true ), result( false ), result( true )}
+        ).forEach( i ->
+        {
+            final List<ITerm> l_loopreturn = new ArrayList<>();
+            final List<ITerm> l_compiledreturn = new ArrayList<>();
+            final Pair<List<IFuzzyValue<?>>, Boolean> l_loop = ESequentialExecution.LOOP.execute(
+                false, IContext.EMPTYPLAN, Collections.emptyList(), l_loopreturn, i
+            );
+
+            Assertions.assertEquals(
+                l_loop,
+                ESequentialExecution.COMPILED.execute( false, IContext.EMPTYPLAN, Collections.emptyList(), l_compiledreturn, i )
+            );
+            Assertions.assertEquals(
+                l_loopreturn.stream().map( ITerm::raw ).collect( Collectors.toList() ),
+                l_compiledreturn.stream().map( ITerm::raw ).collect( Collectors.toList() )
+            );
+            Assertions.assertEquals(
+                l_loop,
+                ESequentialExecution.DIFFERENTIAL.execute( false, IContext.EMPTYPLAN, Collections.emptyList(), new ArrayList<>(), i )
+            );
+        } );
+    }
+
+    /**
+     * test differential execution changes the agent once
+     */
+    @Test
+    public void differentialexecution()
+    {
+        final IAgent<?> l_agent = new CAgent();
+        final IExecution l_increment = new IExecution()
+        {
+            @Nonnull
+            @Override
+            public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                                   @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return
+            )
+            {
+                p_context.agent().storage().merge( "counter", 1L, ( i, j ) -> (Long) i + (Long) j );
+                p_context.agent().beliefbase().add( CLiteral.of( "changed" ) );
+                return p_context.agent().fuzzy().membership().success();
+            }
+
+            @Nonnull
+            @Override
+            public Stream<IVariable<?>> variables()
+            {
+                return Stream.empty();
+            }
+        };
+
+        Assertions.assertTrue(
+            ESequentialExecution.DIFFERENTIAL.execute(
+                false, new CContext( l_agent, IPlan.EMPTY, Stream.empty() ), Collections.emptyList(), new ArrayList<>(), new IExecution[]{l_increment}
+            ).getRight()
+        );
+        Assertions.assertEquals( 1L, l_agent.storage().get( "counter" ) );
+        Assertions.assertEquals( 1, l_agent.beliefbase().size() );
+    }
+
+    /**
+     * test differential execution compares the outermost body only
+     * and does not run actions twice
+     */
+    @Test
+    public void differentialnested()
+    {
+        final AtomicInteger l_counter = new AtomicInteger();
+        final IExecution l_increment = counter( l_counter );
+        final IExecution l_nested = new IExecution()
+        {
+            @Nonnull
+            @Override
+            public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                                   @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return
+            )
+            {
+                return ESequentialExecution.DIFFERENTIAL.execute(
+                    p_parallel, p_context, Collections.emptyList(), new ArrayList<>(), new IExecution[]{l_increment}
+                ).getLeft().stream();
+            }
+
+            @Nonnull
+            @Override
+            public Stream<IVariable<?>> variables()
+            {
+                return Stream.empty();
+            }
+        };
+        final IContext l_context = new CContext( new CAgent(), IPlan.EMPTY, Stream.empty() );
+
+        Assertions.assertTrue(
+            ESequentialExecution.DIFFERENTIAL.execute( false, l_context, Collections.emptyList(), new ArrayList<>(), new IExecution[]{l_nested} ).getRight()
+        );
+        Assertions.assertEquals( 2, l_counter.get() );
+
+        l_counter.set( 0 );
+        Assertions.assertTrue(
+            ESequentialExecution.DIFFERENTIAL.execute(
+                false, l_context, Collections.emptyList(), new ArrayList<>(), new IExecution[]{new CPassAction( false, l_increment, Stream.empty() )}
+            ).getRight()
+        );
+        Assertions.assertEquals( 1, l_counter.get() );
+    }
+
+    /**
+     * creates an execution, which counts its calls
+     *
+     * @param p_counter counter
+     * @return execution
+     */
+    @Nonnull
+    private static IExecution counter( @Nonnull final AtomicInteger p_counter )
+    {
+        return new IExecution()
+        {
+            @Nonnull
+            @Override
+            public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                                   @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return
+            )
+            {
+                p_counter.incrementAndGet();
+                return p_context.agent().fuzzy().membership().success();
+            }
+
+            @Nonnull
+            @Override
+            public Stream<IVariable<?>> variables()
+            {
+                return Stream.empty();
+            }
+        };
+    }
+
+    /**
+     * creates an execution with a fixed result
+     *
+     * @param p_success success flag
+     * @return execution
+     */
+    @Nonnull
+    private static IExecution result( final boolean p_success )
+    {
+        return new IExecution()
+        {
+            @Nonnull
+            @Override
+            public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                                   @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return
+            )
+            {
+                p_return.add( CRawTerm.of( p_success ) );
+                return p_success ? p_context.agent().fuzzy().membership().success() : p_context.agent().fuzzy().membership().fail();
+            }
+
+            @Nonnull
+            @Override
+            public Stream<IVariable<?>> variables()
+            {
+                return Stream.empty();
+            }
+        };
+    }
+
+
+    /**
+     * agent class
+     */
+    private static final class CAgent extends IBaseAgent<IAgent<?>>
+    {
+        /**
+         * serial id
+         */
+        private static final long serialVersionUID = -4390505034924185347L;
+
+        /**
+         * ctor
+         */
+        CAgent()
+        {
+            super(
+                new CDefaultAgentConfiguration<>(
+                    IAgentGenerator.DEFAULTFUZZYBUNDLE,
+                    Collections.emptySet(),
+                    Collections.emptySet(),
+                    Collections.emptySet(),
+                    ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "main" ) ),
+                    IAgentGenerator.DEFAULTUNIFIER
+                )
+            );
+        }
+    }
+
 }
@@ -0,0 +1,245 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.language.execution;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+import org.lightjason.agentspeak.language.variable.IVariable;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+
+/**
+ * test structured parallel execution
+ */
+public final class TestCStructuredExecution
+{
+    /**
+     * structured execution with a direct executor
+     */
+    private static final IParallelExecution DIRECT = new CStructuredExecution( Runnable::run );
+    /**
+     * execution counter
+     */
+    private final AtomicInteger m_counter = new AtomicInteger();
+
+
+    /**
+     * test successful tasks
+     */
+    @Test
+    public void allmatch()
+    {
+        Assertions.assertTrue( DIRECT.allmatch( IntStream.range( 0, 5 ).mapToObj( i -> this.task( true ) ) ) );
+        Assertions.assertEquals( 5, m_counter.get() );
+    }
+
+    /**
+     * test cancellation of pending tasks
+     */
+    @Test
+    public void allmatchcancel()
+    {
+        Assertions.assertFalse( DIRECT.allmatch( Stream.of( this.task( true ), this.task( false ), this.task( true ), this.task( true ) ) ) );
+        Assertions.assertEquals( 2, m_counter.get() );
+    }
+
+    /**
+     * test cancellation of a plan body, which
+     * cannot be successful after two failing elements
+     */
+    @Test
+    public void executecancel()
+    {
+        final Pair<List<IFuzzyValue<?>>, Boolean> l_result = DIRECT.execute(
+            IContext.EMPTYPLAN,
+            new IExecution[]{this.execution( false ), this.execution( false ), this.execution( true ), this.execution( true )}
+        );
+
+        Assertions.assertFalse( l_result.getRight() );
+        Assertions.assertEquals( 2, m_counter.get() );
+        Assertions.assertEquals( 2 * IContext.EMPTYPLAN.agent().fuzzy().membership().fail().count(), l_result.getLeft().size() );
+    }
+
+    /**
+     * test a plan body with a failing element, which is finished first,
+     * the result must be equal to the default parallel execution
+     */
+    @Test
+    public void executepartialfail()
+    {
+        final IExecution[] l_execution = new IExecution[]{this.execution( false ), this.execution( true ), this.execution( true )};
+        final Pair<List<IFuzzyValue<?>>, Boolean> l_result = DIRECT.execute( IContext.EMPTYPLAN, l_execution );
+
+        Assertions.assertTrue( l_result.getRight() );
+        Assertions.assertEquals( 3, m_counter.get() );
+        Assertions.assertEquals( IParallelExecution.STREAM.execute( IContext.EMPTYPLAN, l_execution ).getRight(), l_result.getRight() );
+    }
+
+    /**
+     * test plan body on an executor
+     *
+     * @throws InterruptedException is thrown on shutdown error
+     */
+    @Test
+    public void execute() throws InterruptedException
+    {
+        final ExecutorService l_executor = Executors.newFixedThreadPool( 2 );
+        final Pair<List<IFuzzyValue<?>>, Boolean> l_result = new CStructuredExecution( l_executor ).execute(
+            IContext.EMPTYPLAN,
+            IntStream.range( 0, 8 ).mapToObj( i -> this.execution( true ) ).toArray( IExecution[]::new )
+        );
+        l_executor.shutdown();
+        Assertions.assertTrue( l_executor.awaitTermination( 5, TimeUnit.SECONDS ) );
+
+        Assertions.assertTrue( l_result.getRight() );
+        Assertions.assertEquals( 8, m_counter.get() );
+        Assertions.assertEquals( 8 * IContext.EMPTYPLAN.agent().fuzzy().membership().success().count(), l_result.getLeft().size() );
+    }
+
+    /**
+     * test cancellation flag inside a running task
+     *
+     * @throws InterruptedException is thrown on shutdown error
+     */
+    @Test
+    public void cancelled() throws InterruptedException
+    {
+        final ExecutorService l_executor = Executors.newFixedThreadPool( 2 );
+        final AtomicBoolean l_cancelled = new AtomicBoolean();
+
+        Assertions.assertFalse( CStructuredExecution.cancelled() );
+        Assertions.assertFalse( new CStructuredExecution( l_executor ).allmatch( Stream.of(
+            () ->
+            {
+                final long l_end = System.currentTimeMillis() + 5000;
+                while ( !CStructuredExecution.cancelled() && System.currentTimeMillis() < l_end )
+                    Thread.onSpinWait();
+                l_cancelled.set( CStructuredExecution.cancelled() );
+                return true;
+            },
+            () -> false
+        ) ) );
+        l_executor.shutdown();
+        Assertions.assertTrue( l_executor.awaitTermination( 5, TimeUnit.SECONDS ) );
+
+        Assertions.assertTrue( l_cancelled.get() );
+        Assertions.assertFalse( CStructuredExecution.cancelled() );
+    }
+
+    /**
+     * test nested scopes on a saturated executor
+     *
+     * @throws InterruptedException is thrown on shutdown error
+     */
+    @Test
+    public void nested() throws InterruptedException
+    {
+        final ExecutorService l_executor = Executors.newSingleThreadExecutor();
+        final IParallelExecution l_execution = new CStructuredExecution( l_executor );
+
+        Assertions.assertTrue( l_execution.allmatch(
+            IntStream.range( 0, 4 ).mapToObj( i -> () -> l_execution.allmatch( IntStream.range( 0, 4 ).mapToObj( j -> this.task( true ) ) ) )
+        ) );
+        l_executor.shutdown();
+        Assertions.assertTrue( l_executor.awaitTermination( 5, TimeUnit.SECONDS ) );
+
+        Assertions.assertEquals( 16, m_counter.get() );
+    }
+
+    /**
+     * test error propagation
+     */
+    @Test
+    public void error()
+    {
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> DIRECT.allmatch( Stream.of( () ->
+            {
+                throw new IllegalStateException();
+            }, this.task( true ) ) )
+        );
+        Assertions.assertEquals( 0, m_counter.get() );
+    }
+
+
+    /**
+     * creates a counting task
+     *
+     * @param p_result task result
+     * @return task
+     */
+    @Nonnull
+    private BooleanSupplier task( final boolean p_result )
+    {
+        return () ->
+        {
+            m_counter.incrementAndGet();
+            return p_result;
+        };
+    }
+
+    /**
+     * creates a counting execution
+     *
+     * @param p_result execution result
+     * @return execution
+     */
+    @Nonnull
+    private IExecution execution( final boolean p_result )
+    {
+        return new IExecution()
+        {
+            @Nonnull
+            @Override
+            public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                                   @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
+            {
+                m_counter.incrementAndGet();
+                return p_result ? p_context.agent().fuzzy().membership().success() : p_context.agent().fuzzy().membership().fail();
+            }
+
+            @Nonnull
+            @Override
+            public Stream<IVariable<?>> variables()
+            {
+                return Stream.empty();
+            }
+        };
+    }
+
+}
@@ -187,6 +187,47 @@ public final class TestCBinaryExpression extends IBaseTest
         Assertions.assertEquals( p_result, l_return.get( 0 ).raw() );
     }
 
+    /**
+     * test compiled expression with variables
+     *
+     * @param p_lhs left-hand-side argument
+     * @param p_rhs right-hand-side argument
+     * @param p_operator operator
+     * @param p_result result
+     */
+    @ParameterizedTest
+    @MethodSource( "operator" )
+    public void compiled( @Nonnull final Object p_lhs, @Nonnull final Object p_rhs, @Nonnull final EBinaryOperator p_operator, @Nonnull final Object p_result )
+    {
+        final List<ITerm> l_return = new ArrayList<>();
+
+        final IVariable<Object> l_lhs = new CVariable<>( "Lhs" ).set( p_lhs );
+        final IVariable<Object> l_rhs = new CVariable<>( "Rhs" ).set( p_rhs );
+
+        final IExpression l_expression = CExpressionCompiler.compile(
+            new CBinaryExpression(
+                p_operator,
+                new CPassVariable( l_lhs ),
+                new CPassVariable( l_rhs )
+            )
+        );
+        Assertions.assertTrue( l_expression instanceof CCompiledExpression );
+
+        Assertions.assertTrue(
+            execute(
+                l_expression,
+                false,
+                Collections.emptyList(),
+                l_return,
+                l_lhs,
+                l_rhs
+            )
+        );
+
+        Assertions.assertEquals( 1, l_return.size() );
+        Assertions.assertEquals( p_result, l_return.get( 0 ).raw() );
+    }
+
     /**
      * test comparable
      */
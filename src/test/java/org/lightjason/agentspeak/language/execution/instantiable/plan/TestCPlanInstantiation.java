@@ -0,0 +1,166 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.language.execution.instantiable.plan;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.lightjason.agentspeak.agent.IAgent;
+import org.lightjason.agentspeak.common.CPath;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.CLiteral;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.execution.IExecution;
+import org.lightjason.agentspeak.language.execution.assignment.CSingleAssignment;
+import org.lightjason.agentspeak.language.execution.assignment.EAssignOperator;
+import org.lightjason.agentspeak.language.execution.expression.CBinaryExpression;
+import org.lightjason.agentspeak.language.execution.expression.EBinaryOperator;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.annotation.EAnnotation;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.annotation.IAnnotation;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.statistic.CPlanStatistic;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.statistic.IPlanStatistic;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.trigger.ITrigger;
+import org.lightjason.agentspeak.language.execution.passing.CPassRaw;
+import org.lightjason.agentspeak.language.execution.passing.CPassVariable;
+import org.lightjason.agentspeak.language.variable.CVariable;
+import org.lightjason.agentspeak.language.variable.IVariable;
+import org.lightjason.agentspeak.testing.IBaseTest;
+
+import javax.annotation.Nonnull;
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+
+/**
+ * test two-phase plan instantiation
+ */
+public final class TestCPlanInstantiation extends IBaseTest
+{
+
+    /**
+     * test condition context contains only the condition variables
+     */
+    @Test
+    public void conditioncontext()
+    {
+        final IPlanStatistic l_plan = CPlanStatistic.of( plan( new IAnnotation<?>[0], new CPassVariable( new CVariable<>( "Y" ) ), 3 ) );
+        final Pair<IPlanStatistic, IContext> l_condition = CCommon.instantiateplancondition( l_plan, IAgent.EMPTY, Set.of( new CVariable<>( "X", 5 ) ) );
+
+        Assertions.assertEquals( Set.of( CPath.of( "X" ), CPath.of( "Y" ) ), l_condition.getRight().instancevariables().keySet() );
+        l_condition.getRight().instancevariables().get( CPath.of( "Y" ) ).<IVariable<Object>>term().set( 3 );
+        Assertions.assertTrue( l_plan.plan().condition( l_condition.getRight() ) );
+
+        final Pair<IPlanStatistic, IContext> l_body = CCommon.instantiateplan( l_condition );
+        Assertions.assertEquals(
+            Set.of( CPath.of( "X" ), CPath.of( "Y" ), CPath.of( "B0" ), CPath.of( "B1" ), CPath.of( "B2" ) ),
+            l_body.getRight().instancevariables().keySet()
+        );
+        Assertions.assertSame( l_condition.getRight().instancevariables().get( CPath.of( "X" ) ), l_body.getRight().instancevariables().get( CPath.of( "X" ) ) );
+        Assertions.assertEquals( 3, l_body.getRight().instancevariables().get( CPath.of( "Y" ) ).<Number>raw().intValue() );
+    }
+
+    /**
+     * test constants within the condition context
+     */
+    @Test
+    public void conditionconstant()
+    {
+        final IPlanStatistic l_plan = CPlanStatistic.of(
+            plan( new IAnnotation<?>[]{EAnnotation.CONSTANT.apply( "Y", 7 ), EAnnotation.CONSTANT.apply( "Z", 1 )}, new CPassVariable( new CVariable<>( "Y" ) ), 1 )
+        );
+        final IContext l_condition = CCommon.instantiateplancondition( l_plan, IAgent.EMPTY, Set.of( new CVariable<>( "X", 5 ) ) ).getRight();
+
+        Assertions.assertEquals( 7, l_condition.instancevariables().get( CPath.of( "Y" ) ).<Number>raw().intValue() );
+        Assertions.assertFalse( l_condition.instancevariables().containsKey( CPath.of( "Z" ) ) );
+        Assertions.assertFalse( l_plan.plan().condition( l_condition ) );
+    }
+
+    /**
+     * benchmark of the single- and two-phase instantiation
+     * with a plan library, which conditions fail
+     */
+    @Test
+    public void benchmark()
+    {
+        final List<IPlanStatistic> l_plans = IntStream.range( 0, 250 )
+                                                      .mapToObj( i -> plan( new IAnnotation<?>[0], new CPassRaw<>( 10 + i ), 50 ) )
+                                                      .map( CPlanStatistic::of )
+                                                      .collect( Collectors.toList() );
+
+        final long l_singlestart = System.nanoTime();
+        final long l_single = IntStream.range( 0, 20 )
+                                       .mapToLong( j -> l_plans.stream()
+                                                               .map( i -> CCommon.instantiateplan( i, IAgent.EMPTY, Set.of( new CVariable<>( "X", 5 ) ) ) )
+                                                               .filter( i -> i.getLeft().plan().condition( i.getRight() ) )
+                                                               .count() )
+                                       .sum();
+        final long l_singletime = System.nanoTime() - l_singlestart;
+
+        final long l_twostart = System.nanoTime();
+        final long l_two = IntStream.range( 0, 20 )
+                                    .mapToLong( j -> l_plans.stream()
+                                                            .map( i -> CCommon.instantiateplancondition( i, IAgent.EMPTY, Set.of( new CVariable<>( "X", 5 ) ) ) )
+                                                            .filter( i -> i.getLeft().plan().condition( i.getRight() ) )
+                                                            .map( CCommon::instantiateplan )
+                                                            .count() )
+                                    .sum();
+        final long l_twotime = System.nanoTime() - l_twostart;
+
+        Assertions.assertEquals( 0, l_single );
+        Assertions.assertEquals( l_single, l_two );
+
+        if ( PRINTENABLE )
+            System.out.println( MessageFormat.format(
+                "single-phase instantiation: {0} ms, two-phase instantiation: {1} ms",
+                TimeUnit.NANOSECONDS.toMillis( l_singletime ),
+                TimeUnit.NANOSECONDS.toMillis( l_twotime )
+            ) );
+    }
+
+    /**
+     * builds a plan with the condition "X > rhs"
+     *
+     * @param p_annotation annotations
+     * @param p_rhs right-hand-side of the condition
+     * @param p_body number of body assignments
+     * @return plan
+     */
+    @Nonnull
+    private static IPlan plan( @Nonnull final IAnnotation<?>[] p_annotation, @Nonnull final IExecution p_rhs, final int p_body )
+    {
+        return new CPlan(
+            p_annotation,
+            ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "goal", new CVariable<>( "X" ) ) ),
+            new CBinaryExpression( EBinaryOperator.GREATER, new CPassVariable( new CVariable<>( "X" ) ), p_rhs ),
+            IntStream.range( 0, p_body )
+                     .mapToObj( i -> new CSingleAssignment( EAssignOperator.ASSIGN, new CVariable<>( "B" + i ), new CPassRaw<>( i ) ) )
+                     .toArray( IExecution[]::new )
+        );
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.language.execution.instantiable.plan.statistic;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.lightjason.agentspeak.language.CLiteral;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.execution.IExecution;
+import org.lightjason.agentspeak.language.execution.expression.IExpression;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.CPlan;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.IPlan;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.annotation.IAnnotation;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.trigger.ITrigger;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+import org.lightjason.agentspeak.language.variable.CVariable;
+import org.lightjason.agentspeak.language.variable.IVariable;
+import org.lightjason.agentspeak.testing.IBaseTest;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * test of plan statistic
+ */
+public final class TestCPlanStatistic extends IBaseTest
+{
+
+    /**
+     * test statistic variables are only
+     * created if the plan uses them
+     */
+    @Test
+    public void variables()
+    {
+        Assertions.assertEquals( 0, CPlanStatistic.of( plan( Stream.empty() ) ).variables().count() );
+
+        final IPlanStatistic l_statistic = CPlanStatistic.of( plan( Stream.of( new CVariable<>( "PlanRuns" ), new CVariable<>( "X" ) ) ) );
+        l_statistic.incrementsuccessful().incrementfail();
+
+        final Map<String, Object> l_variables = l_statistic.variables().collect( Collectors.toMap( ITerm::functor, ITerm::raw ) );
+        Assertions.assertEquals( 1, l_variables.size() );
+        Assertions.assertEquals( Long.valueOf( 2 ), l_variables.get( "PlanRuns" ) );
+    }
+
+    /**
+     * test counters and duration
+     */
+    @Test
+    public void counter()
+    {
+        final IPlanStatistic l_statistic = CPlanStatistic.of( plan( Stream.empty() ) );
+        Assertions.assertEquals( 0, l_statistic.duration().count() );
+        Assertions.assertEquals( 0, l_statistic.lastrun() );
+
+        l_statistic.incrementconditionfail()
+                   .incrementconditionfail()
+                   .incrementsuccessful()
+                   .duration( 1000 )
+                   .duration( 3000 );
+
+        Assertions.assertEquals( 2, l_statistic.conditionfail() );
+        Assertions.assertEquals( 1, l_statistic.count() );
+        Assertions.assertEquals( 2, l_statistic.duration().count() );
+        Assertions.assertEquals( 4000, l_statistic.duration().sum() );
+        Assertions.assertTrue( l_statistic.lastrun() > 0 );
+
+        l_statistic.restore( 5, 7, 3, 42, l_statistic.duration() );
+        Assertions.assertEquals( 12, l_statistic.count() );
+        Assertions.assertEquals( 3, l_statistic.conditionfail() );
+        Assertions.assertEquals( 42, l_statistic.lastrun() );
+        Assertions.assertEquals( 4000, l_statistic.duration().sum() );
+        Assertions.assertEquals( 3000, l_statistic.duration().max() );
+
+        final IPlanStatistic l_copy = CPlanStatistic.of( l_statistic.plan() ).restore( l_statistic );
+        Assertions.assertEquals( 2, l_copy.duration().count() );
+        Assertions.assertEquals( 1000, l_copy.duration().min() );
+    }
+
+    /**
+     * creates a plan which uses the given variables
+     *
+     * @param p_variables variables
+     * @return plan
+     */
+    @Nonnull
+    private static IPlan plan( @Nonnull final Stream<IVariable<?>> p_variables )
+    {
+        final List<IVariable<?>> l_variables = p_variables.collect( Collectors.toList() );
+        return new CPlan(
+            new IAnnotation<?>[0],
+            ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "foo" ) ),
+            IExpression.EMPTY,
+            new IExecution[]{
+                new IExecution()
+                {
+                    @Nonnull
+                    @Override
+                    public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                                           @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return
+                    )
+                    {
+                        return p_context.agent().fuzzy().membership().success();
+                    }
+
+                    @Nonnull
+                    @Override
+                    public Stream<IVariable<?>> variables()
+                    {
+                        return l_variables.stream();
+                    }
+                }
+            }
+        );
+    }
+
+}
@@ -25,14 +25,20 @@ package org.lightjason.agentspeak.language.execution.lambda;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.lightjason.agentspeak.agent.IAgent;
 import org.lightjason.agentspeak.generator.ILambdaStreamingGenerator;
 import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.CContext;
 import org.lightjason.agentspeak.language.execution.IContext;
 import org.lightjason.agentspeak.language.execution.IExecution;
+import org.lightjason.agentspeak.language.execution.assignment.CSingleAssignment;
+import org.lightjason.agentspeak.language.execution.assignment.EAssignOperator;
 import org.lightjason.agentspeak.language.execution.base.CRepair;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.IPlan;
 import org.lightjason.agentspeak.language.execution.passing.CPassRaw;
 import org.lightjason.agentspeak.language.execution.passing.CPassVariable;
 import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+import org.lightjason.agentspeak.language.variable.CMutexVariable;
 import org.lightjason.agentspeak.language.variable.CVariable;
 import org.lightjason.agentspeak.language.variable.IVariable;
 import org.lightjason.agentspeak.testing.IBaseTest;
@@ -41,6 +47,7 @@ import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
@@ -71,7 +78,7 @@ public final class TestCLambda extends IBaseTest
         Assertions.assertEquals( 1, l_return.size() );
         Assertions.assertArrayEquals(
             LongStream.range( 0, 3 ).boxed().toArray(),
-            l_return.get( 0 ).<Stream<?>>raw().toArray()
+            l_return.get( 0 ).<LongStream>raw().boxed().toArray()
         );
     }
 
@@ -95,7 +102,7 @@ public final class TestCLambda extends IBaseTest
         Assertions.assertEquals( 1, l_return.size() );
         Assertions.assertArrayEquals(
             LongStream.range( 4, 12 ).boxed().toArray(),
-            l_return.get( 0 ).<Stream<?>>raw().toArray()
+            l_return.get( 0 ).<LongStream>raw().boxed().toArray()
         );
     }
 
@@ -119,7 +126,7 @@ public final class TestCLambda extends IBaseTest
         Assertions.assertEquals( 1, l_return.size() );
         Assertions.assertArrayEquals(
             Stream.of( 5L, 7L, 9L, 11L ).toArray(),
-            l_return.get( 0 ).<Stream<?>>raw().toArray()
+            l_return.get( 0 ).<LongStream>raw().boxed().toArray()
         );
     }
 
@@ -317,6 +324,138 @@ public final class TestCLambda extends IBaseTest
         );
     }
 
+    /**
+     * test lambda parallel reduction of the return variable
+     */
+    @Test
+    public void lambdaparallelreduction()
+    {
+        final IVariable<Object> l_return = new CMutexVariable<>( "R", 5 );
+        final IContext l_context = new CContext( IAgent.EMPTY, IPlan.EMPTY, Stream.of( l_return ) );
+
+        Assertions.assertTrue(
+            executecontext(
+                l_context,
+                new CLambda(
+                    true,
+                    new CLambdaInitializeRange( Stream.of( new CPassRaw<>( 10000 ) ) ),
+                    new CVariable<>( "I" ),
+                    Stream.of( new CSingleAssignment( EAssignOperator.INCREMENT, new CVariable<>( "R" ), new CPassVariable( new CVariable<>( "I" ) ) ) ),
+                    new CVariable<>( "R" )
+                )
+            )
+        );
+
+        Assertions.assertEquals( 5 + LongStream.range( 0, 10000 ).sum(), l_return.<Number>raw().longValue() );
+    }
+
+    /**
+     * test lambda parallel multiply reduction of the return variable
+     */
+    @Test
+    public void lambdaparallelreductionmultiply()
+    {
+        final IVariable<Object> l_return = new CMutexVariable<>( "R", 2 );
+        final IContext l_context = new CContext( IAgent.EMPTY, IPlan.EMPTY, Stream.of( l_return ) );
+
+        Assertions.assertTrue(
+            executecontext(
+                l_context,
+                new CLambda(
+                    true,
+                    new CLambdaInitializeRange( Stream.of( new CPassRaw<>( 1 ), new CPassRaw<>( 10 ) ) ),
+                    new CVariable<>( "I" ),
+                    Stream.of( new CSingleAssignment( EAssignOperator.MULTIPLY, new CVariable<>( "R" ), new CPassVariable( new CVariable<>( "I" ) ) ) ),
+                    new CVariable<>( "R" )
+                )
+            )
+        );
+
+        Assertions.assertEquals( 2 * 362880L, l_return.<Number>raw().longValue() );
+    }
+
+    /**
+     * test lambda sequential execution over a primitive range
+     */
+    @Test
+    public void lambdaprimitive()
+    {
+        final IVariable<Object> l_return = new CVariable<>( "R", 0 );
+        final IContext l_context = new CContext( IAgent.EMPTY, IPlan.EMPTY, Stream.of( l_return ) );
+
+        Assertions.assertTrue(
+            executecontext(
+                l_context,
+                new CLambda(
+                    false,
+                    new CLambdaInitializeRange( Stream.of( new CPassRaw<>( 2 ), new CPassRaw<>( 10 ), new CPassRaw<>( 3 ) ) ),
+                    new CVariable<>( "I" ),
+                    Stream.of( new CSingleAssignment( EAssignOperator.INCREMENT, new CVariable<>( "R" ), new CPassVariable( new CVariable<>( "I" ) ) ) ),
+                    IVariable.EMPTY
+                )
+            )
+        );
+
+        Assertions.assertEquals( 2 + 5 + 8, l_return.<Number>raw().intValue() );
+    }
+
+    /**
+     * test lambda-initialize with primitive arrays
+     */
+    @Test
+    public void initializeprimitive()
+    {
+        final List<ITerm> l_return = new ArrayList<>();
+
+        Assertions.assertTrue(
+            executecontext(
+                IContext.EMPTYPLAN,
+                new CLambdaInitializeStream( Stream.of( new CPassRaw<>( new int[]{3, 1, 2} ) ), ILambdaStreamingGenerator.EMPTY ),
+                l_return
+            )
+        );
+        Assertions.assertArrayEquals( new int[]{3, 1, 2}, l_return.get( 0 ).<IntStream>raw().toArray() );
+
+        l_return.clear();
+        Assertions.assertTrue(
+            executecontext(
+                IContext.EMPTYPLAN,
+                new CLambdaInitializeStream( Stream.of( new CPassRaw<>( new long[]{4, 5} ), new CPassRaw<>( new double[]{0.5} ) ), ILambdaStreamingGenerator.EMPTY ),
+                l_return
+            )
+        );
+        Assertions.assertArrayEquals( Stream.of( 4L, 5L, 0.5 ).toArray(), l_return.get( 0 ).<Stream<?>>raw().toArray() );
+    }
+
+    /**
+     * executes an execution within a context
+     *
+     * @param p_context context
+     * @param p_execution execution
+     * @return successful execution
+     */
+    private static boolean executecontext( @Nonnull final IContext p_context, @Nonnull final IExecution p_execution )
+    {
+        return executecontext( p_context, p_execution, Collections.emptyList() );
+    }
+
+    /**
+     * executes an execution within a context
+     *
+     * @param p_context context
+     * @param p_execution execution
+     * @param p_return return arguments
+     * @return successful execution
+     */
+    private static boolean executecontext( @Nonnull final IContext p_context, @Nonnull final IExecution p_execution, @Nonnull final List<ITerm> p_return )
+    {
+        return p_context.agent().fuzzy().defuzzification().success(
+            p_context.agent().fuzzy().defuzzification().apply(
+                p_execution.execute( false, p_context, Collections.emptyList(), p_return )
+            )
+        );
+    }
+
 
     /**
      * fail execution
@@ -26,9 +26,18 @@ package org.lightjason.agentspeak.language.fuzzy;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.lightjason.agentspeak.language.fuzzy.bundle.EFuzzyBundleFactory;
+import org.lightjason.agentspeak.language.fuzzy.defuzzyfication.CCOG;
+import org.lightjason.agentspeak.language.fuzzy.defuzzyfication.CWOA;
+import org.lightjason.agentspeak.language.fuzzy.defuzzyfication.IDefuzzification;
+import org.lightjason.agentspeak.language.fuzzy.membership.CCrisp;
 import org.lightjason.agentspeak.language.fuzzy.set.ECrisp;
 import org.lightjason.agentspeak.testing.IBaseTest;
 
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
 
 /**
  * test fuzzy bundle
@@ -48,4 +57,55 @@ public final class TestCFuzzyBundle extends IBaseTest
         );
     }
 
+    /**
+     * test incremental defuzzification
+     */
+    @Test
+    public void accumulator()
+    {
+        final CCrisp<ECrisp> l_membership = new CCrisp<>( ECrisp.class );
+        Stream.of(
+            new CWOA<>( ECrisp.class, l_membership, ECrisp.TRUE.apply( 1 ) ),
+            new CCOG<>( ECrisp.class, l_membership, ECrisp.TRUE.apply( 1 ) )
+        ).forEach( i ->
+        {
+            accumulate( i, i.accumulator() );
+            accumulate( i, new IDefuzzification.CAccumulator( i ) );
+        } );
+    }
+
+    /**
+     * compares accumulated values with the defuzzification
+     *
+     * @param p_defuzzification defuzzification
+     * @param p_accumulator accumulator
+     */
+    private static void accumulate( @Nonnull final IDefuzzification p_defuzzification, @Nonnull final IDefuzzification.IAccumulator p_accumulator )
+    {
+        final List<IFuzzyValue<?>> l_values = new ArrayList<>();
+        Assertions.assertEquals( p_defuzzification.apply( Stream.empty() ).doubleValue(), p_accumulator.get().doubleValue(), 0.0001 );
+
+        Stream.of(
+            ECrisp.TRUE.apply( 0.75 ),
+            ECrisp.TRUE.apply( 1 ),
+            ECrisp.FALSE.apply( 0.5 ),
+            ECrisp.TRUE.apply( 0.25 ),
+            ECrisp.FALSE.apply( 1 )
+        ).forEach( i ->
+        {
+            l_values.add( i );
+            p_accumulator.add( i );
+
+            final Number l_expected = p_defuzzification.apply( l_values.stream() );
+            Assertions.assertEquals( l_expected.doubleValue(), p_accumulator.get().doubleValue(), 0.0001 );
+            Assertions.assertEquals( p_defuzzification.success( l_expected ), p_defuzzification.success( p_accumulator.get() ) );
+        } );
+
+        // a copy is independent of the source accumulator
+        final IDefuzzification.IAccumulator l_copy = p_accumulator.copy().add( ECrisp.TRUE.apply( 1 ) );
+        Assertions.assertEquals( p_defuzzification.apply( l_values.stream() ).doubleValue(), p_accumulator.get().doubleValue(), 0.0001 );
+        l_values.add( ECrisp.TRUE.apply( 1 ) );
+        Assertions.assertEquals( p_defuzzification.apply( l_values.stream() ).doubleValue(), l_copy.get().doubleValue(), 0.0001 );
+    }
+
 }
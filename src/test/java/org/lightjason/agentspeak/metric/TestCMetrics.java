@@ -0,0 +1,244 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.metric;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.lightjason.agentspeak.agent.IAgent;
+import org.lightjason.agentspeak.agent.IBaseAgent;
+import org.lightjason.agentspeak.configuration.CDefaultAgentConfiguration;
+import org.lightjason.agentspeak.configuration.IAgentConfiguration;
+import org.lightjason.agentspeak.error.CIllegalArgumentException;
+import org.lightjason.agentspeak.generator.IAgentGenerator;
+import org.lightjason.agentspeak.language.CLiteral;
+import org.lightjason.agentspeak.language.execution.IExecution;
+import org.lightjason.agentspeak.language.execution.expression.IExpression;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.CPlan;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.annotation.IAnnotation;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.trigger.ITrigger;
+import org.lightjason.agentspeak.testing.IBaseTest;
+
+import javax.annotation.Nonnull;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+
+/**
+ * test of metrics
+ */
+public final class TestCMetrics extends IBaseTest
+{
+    /**
+     * test histogram values
+     */
+    @Test
+    public void histogram()
+    {
+        final CHistogram l_histogram = new CHistogram();
+        LongStream.rangeClosed( 1, 100000 ).forEach( l_histogram::record );
+
+        final CHistogram.CSnapshot l_snapshot = l_histogram.snapshot();
+        Assertions.assertEquals( 100000, l_snapshot.count() );
+        Assertions.assertEquals( 1, l_snapshot.min() );
+        Assertions.assertEquals( 100000, l_snapshot.max() );
+        Assertions.assertEquals( 50000.5, l_snapshot.mean(), 0.0001 );
+        Assertions.assertEquals( 50000, l_snapshot.quantile( 0.5 ), 50000 / 64.0 );
+        Assertions.assertEquals( 99000, l_snapshot.quantile( 0.99 ), 99000 / 64.0 );
+        Assertions.assertEquals( 100000, l_snapshot.quantile( 1 ) );
+    }
+
+    /**
+     * test histogram bounds
+     */
+    @Test
+    public void histogrambounds()
+    {
+        final CHistogram.CSnapshot l_snapshot = new CHistogram().record( -5 ).record( Long.MAX_VALUE ).snapshot();
+
+        Assertions.assertEquals( 0, l_snapshot.min() );
+        Assertions.assertEquals( Long.MAX_VALUE, l_snapshot.max() );
+        Assertions.assertEquals( 0, l_snapshot.quantile( 0.5 ) );
+        Assertions.assertEquals( Long.MAX_VALUE, l_snapshot.quantile( 1 ) );
+        Assertions.assertEquals( 0, new CHistogram().snapshot().quantile( 0.5 ) );
+    }
+
+    /**
+     * test registry and exposition
+     */
+    @Test
+    public void registry()
+    {
+        final IMetrics l_metrics = new CMetrics()
+            .count( EMetric.BELIEFADD, 3 )
+            .record( EMetric.PLAN, "+!foo[]", 10 )
+            .record( EMetric.PLAN, "+!\"bar\"[]", 20 )
+            .record( EMetric.CYCLE, "", 5 );
+
+        final CMetricSnapshot l_snapshot = l_metrics.snapshot();
+        Assertions.assertEquals( 3, l_snapshot.counter( EMetric.BELIEFADD ) );
+        Assertions.assertEquals( 0, l_snapshot.counter( EMetric.BELIEFREMOVE ) );
+        Assertions.assertEquals( 2, l_snapshot.histogram( EMetric.PLAN ).size() );
+
+        final String l_text = l_snapshot.exposition();
+        Assertions.assertTrue( l_text.contains( "# TYPE agent_belief_add_total counter\nagent_belief_add_total 3\n" ) );
+        Assertions.assertTrue( l_text.contains( "agent_plan_execution_nanoseconds{plan=\"+!foo[]\",quantile=\"0.5\"} 10\n" ) );
+        Assertions.assertTrue( l_text.contains( "agent_plan_execution_nanoseconds_count{plan=\"+!\\\"bar\\\"[]\"} 1\n" ) );
+        Assertions.assertTrue( l_text.contains( "agent_cycle_nanoseconds_sum 5\n" ) );
+
+        Assertions.assertThrows( CIllegalArgumentException.class, () -> l_metrics.count( EMetric.PLAN, 1 ) );
+        Assertions.assertThrows( CIllegalArgumentException.class, () -> l_metrics.record( EMetric.BELIEFADD, "", 1 ) );
+    }
+
+    /**
+     * test metrics of an agent
+     *
+     * @throws Exception on execution error
+     */
+    @Test
+    public void agent() throws Exception
+    {
+        final IMetrics l_metrics = new CMetrics();
+        final IAgent<?> l_agent = new CAgent( new CConfiguration( l_metrics ) );
+
+        l_agent.beliefbase().add( CLiteral.of( "value" ) );
+        l_agent.trigger( ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "foo" ) ) );
+        l_agent.trigger( ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "foo" ) ) );
+        l_agent.call();
+
+        final CMetricSnapshot l_snapshot = l_metrics.snapshot();
+        Assertions.assertEquals( 1, l_snapshot.counter( EMetric.TRIGGERQUEUED ) );
+        Assertions.assertEquals( 1, l_snapshot.counter( EMetric.TRIGGERDROPPED ) );
+        Assertions.assertEquals( 1, l_snapshot.counter( EMetric.BELIEFADD ) );
+        Assertions.assertEquals( 1, l_snapshot.counter( EMetric.UNIFICATION ) );
+        Assertions.assertEquals( 1, l_snapshot.counter( EMetric.UNIFICATIONHIT ) );
+        Assertions.assertEquals( 1, l_snapshot.histogram( EMetric.CYCLE ).get( "" ).count() );
+    }
+
+    /**
+     * test flight recorder events of an agent
+     *
+     * @throws Exception on execution error
+     */
+    @Test
+    public void flightrecorder() throws Exception
+    {
+        final IAgent<?> l_agent = new CAgent( new CConfiguration( IMetrics.EMPTY ) );
+        Assertions.assertNull( CCycleEvent.start( l_agent ) );
+
+        final Path l_file = Files.createTempFile( "agent", ".jfr" );
+        try ( Recording l_recording = new Recording() )
+        {
+            l_recording.enable( "org.lightjason.agentspeak.Cycle" );
+            l_recording.enable( "org.lightjason.agentspeak.PlanMatch" );
+            l_recording.start();
+
+            l_agent.trigger( ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "foo" ) ) );
+            l_agent.call();
+
+            l_recording.stop();
+            l_recording.dump( l_file );
+        }
+
+        final Map<String, List<RecordedEvent>> l_events = RecordingFile.readAllEvents( l_file ).stream()
+                                                                     .collect( Collectors.groupingBy( i -> i.getEventType().getName() ) );
+        Files.deleteIfExists( l_file );
+
+        Assertions.assertEquals( 1, l_events.get( "org.lightjason.agentspeak.Cycle" ).size() );
+        Assertions.assertTrue( l_events.get( "org.lightjason.agentspeak.Cycle" ).get( 0 ).getBoolean( "active" ) );
+        Assertions.assertEquals( 1, l_events.get( "org.lightjason.agentspeak.PlanMatch" ).size() );
+        Assertions.assertEquals( "+!foo[]", l_events.get( "org.lightjason.agentspeak.PlanMatch" ).get( 0 ).getString( "trigger" ) );
+        Assertions.assertFalse( l_events.containsKey( "org.lightjason.agentspeak.Plan" ) );
+    }
+
+    /**
+     * configuration with metrics
+     */
+    private static final class CConfiguration extends CDefaultAgentConfiguration<IAgent<?>>
+    {
+        /**
+         * metrics
+         */
+        private final IMetrics m_metrics;
+
+        /**
+         * ctor
+         *
+         * @param p_metrics metrics
+         */
+        CConfiguration( @Nonnull final IMetrics p_metrics )
+        {
+            super(
+                IAgentGenerator.DEFAULTFUZZYBUNDLE,
+                Collections.emptySet(),
+                Collections.singleton( new CPlan(
+                    new IAnnotation<?>[0],
+                    ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "foo" ) ),
+                    IExpression.EMPTY,
+                    new IExecution[0]
+                ) ),
+                Collections.emptySet(),
+                ITrigger.EMPTY,
+                IAgentGenerator.DEFAULTUNIFIER
+            );
+            m_metrics = p_metrics;
+        }
+
+        @Nonnull
+        @Override
+        public IMetrics metrics()
+        {
+            return m_metrics;
+        }
+    }
+
+    /**
+     * agent class
+     */
+    private static final class CAgent extends IBaseAgent<IAgent<?>>
+    {
+        /**
+         * serial id
+         */
+        private static final long serialVersionUID = 7683291436012836421L;
+
+        /**
+         * ctor
+         *
+         * @param p_configuration agent configuration
+         */
+        CAgent( final IAgentConfiguration<IAgent<?>> p_configuration )
+        {
+            super( p_configuration );
+        }
+    }
+
+}
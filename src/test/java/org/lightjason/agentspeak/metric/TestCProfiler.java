@@ -0,0 +1,90 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.metric;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.lightjason.agentspeak.error.CIllegalStateException;
+import org.lightjason.agentspeak.language.CLiteral;
+import org.lightjason.agentspeak.language.execution.IExecution;
+import org.lightjason.agentspeak.language.execution.expression.IExpression;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.CPlan;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.annotation.IAnnotation;
+import org.lightjason.agentspeak.language.execution.instantiable.plan.trigger.ITrigger;
+import org.lightjason.agentspeak.testing.IBaseTest;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * test of the sampling profiler
+ */
+public final class TestCProfiler extends IBaseTest
+{
+    /**
+     * test sampling of frames
+     *
+     * @throws IOException on writing error
+     */
+    @Test
+    public void sampling() throws IOException
+    {
+        Assertions.assertFalse( CProfiler.push( "unused" ) );
+
+        final CPlan l_plan = new CPlan(
+            new IAnnotation<?>[0],
+            ITrigger.EType.ADDGOAL.builddefault( CLiteral.of( "foo/bar" ) ),
+            IExpression.EMPTY,
+            new IExecution[0]
+        );
+
+        final StringWriter l_output = new StringWriter();
+        try ( CProfiler l_profiler = CProfiler.start( 1, TimeUnit.MILLISECONDS ) )
+        {
+            Assertions.assertThrows( CIllegalStateException.class, () -> CProfiler.start( 1, TimeUnit.MILLISECONDS ) );
+
+            Assertions.assertTrue( CProfiler.push( l_plan ) );
+            Assertions.assertTrue( CProfiler.push( CLiteral.of( "rule" ) ) );
+            Assertions.assertTrue( CProfiler.push( "a;b" ) );
+
+            final long l_end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos( 200 );
+            while ( System.nanoTime() < l_end )
+                Thread.onSpinWait();
+
+            CProfiler.pop();
+            CProfiler.pop();
+            CProfiler.pop();
+
+            l_profiler.close();
+            Assertions.assertTrue( l_profiler.samples().getOrDefault( "+!foo/bar;$rule;a:b", 0L ) > 0 );
+            l_profiler.write( l_output );
+        }
+
+        Assertions.assertTrue( l_output.toString().matches( "(?s).*\\+!foo/bar;\\$rule;a:b \\d+\n.*" ) );
+        Assertions.assertFalse( CProfiler.push( "unused" ) );
+    }
+
+}